@@ -0,0 +1,74 @@
+package com.sep.f7.benchmarks;
+
+import com.sep.f7.AccuracyTier;
+import com.sep.f7.PowerFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of every {@link AccuracyTier} on the scalar
+ * path. Scores are operations per microsecond.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AccuracyTierBenchmark {
+
+    /** Number of (x, y) pairs evaluated per invocation. */
+    static final int SIZE = 1024;
+
+    /** The tier under test. */
+    @Param
+    private AccuracyTier tier;
+
+    /** The input distribution under test. */
+    @Param({"SMALL_EXPONENTS", "NEAR_ONE"})
+    private InputDistribution distribution;
+
+    /** The bases. */
+    private final double[] xs = new double[SIZE];
+
+    /** The exponents. */
+    private final double[] ys = new double[SIZE];
+
+    /** The function of the tier under test. */
+    private PowerFunction function;
+
+    /**
+     * Generates the inputs and resolves the tier.
+     */
+    @Setup
+    public void setUp() {
+        distribution.generate(xs, ys);
+        function = tier.getFunction();
+    }
+
+    /**
+     * One call per pair.
+     *
+     * @param blackhole Sink for the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void calculatePower(final Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(function.calculatePower(xs[i], ys[i]));
+        }
+    }
+}
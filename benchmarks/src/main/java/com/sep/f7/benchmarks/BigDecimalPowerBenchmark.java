@@ -0,0 +1,96 @@
+package com.sep.f7.benchmarks;
+
+import com.sep.f7.BigDecimalPowerCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link BigDecimalPowerCalculator} at several precisions.
+ * Scores are microseconds per call. The cached ln 2 and ln 10 are
+ * computed during warm-up, so the scores exclude them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BigDecimalPowerBenchmark {
+
+    /** Number of significant decimal digits. */
+    @Param({"50", "500", "5000"})
+    private int digits;
+
+    /** A base with a fractional logarithm. */
+    private final BigDecimal base = new BigDecimal("3.14159265358979");
+
+    /** A fractional exponent. */
+    private final BigDecimal exponent = new BigDecimal("2.718281828");
+
+    /** An integral exponent. */
+    private final BigDecimal integerExponent = BigDecimal.valueOf(1000);
+
+    /** The calculator under test. */
+    private BigDecimalPowerCalculator calculator;
+
+    /**
+     * Creates the calculator for the precision under test.
+     */
+    @Setup
+    public void setUp() {
+        calculator = new BigDecimalPowerCalculator(new MathContext(digits));
+    }
+
+    /**
+     * x^y with a fractional exponent, through exp and log.
+     *
+     * @return The result.
+     */
+    @Benchmark
+    public BigDecimal calculatePower() {
+        return calculator.calculatePower(base, exponent);
+    }
+
+    /**
+     * x^y with an integral exponent, by squaring.
+     *
+     * @return The result.
+     */
+    @Benchmark
+    public BigDecimal calculatePowerIntegerExponent() {
+        return calculator.calculatePower(base, integerExponent);
+    }
+
+    /**
+     * e^x alone.
+     *
+     * @return The result.
+     */
+    @Benchmark
+    public BigDecimal exp() {
+        return calculator.exp(exponent);
+    }
+
+    /**
+     * ln x alone.
+     *
+     * @return The result.
+     */
+    @Benchmark
+    public BigDecimal log() {
+        return calculator.log(base);
+    }
+}
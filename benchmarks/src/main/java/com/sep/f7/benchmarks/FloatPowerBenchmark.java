@@ -0,0 +1,120 @@
+package com.sep.f7.benchmarks;
+
+import com.sep.f7.FloatPowerCalculator;
+import com.sep.f7.PowerCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link FloatPowerCalculator} against {@code (float) Math.pow}
+ * and the double {@link PowerCalculator} on float data: bases in
+ * [1e-3, 1e3] and exponents in [-4, 4]. Scores are operations per
+ * microsecond.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FloatPowerBenchmark {
+
+    /** Number of (x, y) pairs evaluated per invocation. */
+    static final int SIZE = 1024;
+
+    /** Seed of the inputs, fixed so runs are comparable. */
+    private static final long SEED = 42L;
+
+    /** The bases. */
+    private final float[] xs = new float[SIZE];
+
+    /** The exponents. */
+    private final float[] ys = new float[SIZE];
+
+    /** The results of the batch calls. */
+    private final float[] out = new float[SIZE];
+
+    /** The float calculator under test. */
+    private final FloatPowerCalculator floatCalculator =
+            new FloatPowerCalculator();
+
+    /** The double calculator, for the cost of widening. */
+    private final PowerCalculator doubleCalculator = new PowerCalculator();
+
+    /**
+     * Generates the inputs.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < SIZE; i++) {
+            xs[i] = (float) Math.exp(random.nextDouble() * 13.8 - 6.9);
+            ys[i] = (float) (random.nextDouble() * 8 - 4);
+        }
+    }
+
+    /**
+     * The JDK baseline, rounded to float.
+     *
+     * @param blackhole Sink for the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void mathPow(final Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume((float) Math.pow(xs[i], ys[i]));
+        }
+    }
+
+    /**
+     * The double calculator, rounded to float.
+     *
+     * @param blackhole Sink for the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void doubleCalculator(final Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(
+                    (float) doubleCalculator.calculatePower(xs[i], ys[i]));
+        }
+    }
+
+    /**
+     * One scalar float call per pair.
+     *
+     * @param blackhole Sink for the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void floatScalar(final Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(floatCalculator.calculatePower(xs[i], ys[i]));
+        }
+    }
+
+    /**
+     * The float batch call.
+     *
+     * @return The results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public float[] floatBatch() {
+        floatCalculator.calculatePower(xs, ys, out);
+        return out;
+    }
+}
@@ -0,0 +1,89 @@
+package com.sep.f7.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Realistic (x, y) input distributions shared by the benchmarks.
+ * Every distribution is generated from a fixed seed so runs are
+ * comparable between releases.
+ */
+public enum InputDistribution {
+
+    /** Bases in (0, 100] with exponents in [-10, 10]. */
+    SMALL_EXPONENTS {
+        @Override
+        void fill(final Random random, final double[] xs, final double[] ys) {
+            for (int i = 0; i < xs.length; i++) {
+                xs[i] = 0.01 + random.nextDouble() * 100.0;
+                ys[i] = random.nextDouble() * 20.0 - 10.0;
+            }
+        }
+    },
+
+    /** Bases close to one with exponents up to 1e9, half of them integral. */
+    HUGE_EXPONENTS {
+        @Override
+        void fill(final Random random, final double[] xs, final double[] ys) {
+            for (int i = 0; i < xs.length; i++) {
+                xs[i] = 1.0 + (random.nextDouble() - 0.5) * 1e-6;
+                double y = (random.nextDouble() * 2.0 - 1.0) * 1e9;
+                ys[i] = (i & 1) == 0 ? Math.rint(y) : y;
+            }
+        }
+    },
+
+    /** Bases within 1e-9 of one, where log is closest to cancellation. */
+    NEAR_ONE {
+        @Override
+        void fill(final Random random, final double[] xs, final double[] ys) {
+            for (int i = 0; i < xs.length; i++) {
+                xs[i] = 1.0 + (random.nextDouble() - 0.5) * 1e-9;
+                ys[i] = (random.nextDouble() - 0.5) * 100.0;
+            }
+        }
+    },
+
+    /** Subnormal bases with small fractional exponents. */
+    SUBNORMAL {
+        @Override
+        void fill(final Random random, final double[] xs, final double[] ys) {
+            for (int i = 0; i < xs.length; i++) {
+                xs[i] = random.nextDouble() * Double.MIN_NORMAL;
+                ys[i] = 0.05 + random.nextDouble() * 0.5;
+            }
+        }
+    },
+
+    /** Negative bases with negative integral exponents. */
+    NEGATIVE_INTEGRAL {
+        @Override
+        void fill(final Random random, final double[] xs, final double[] ys) {
+            for (int i = 0; i < xs.length; i++) {
+                xs[i] = -(0.5 + random.nextDouble() * 4.0);
+                ys[i] = -(1 + random.nextInt(64));
+            }
+        }
+    };
+
+    /** Seed used for every distribution. */
+    public static final long SEED = 6011L;
+
+    /**
+     * Fills the arrays with samples of this distribution.
+     *
+     * @param random The random source.
+     * @param xs The array receiving bases.
+     * @param ys The array receiving exponents.
+     */
+    abstract void fill(Random random, double[] xs, double[] ys);
+
+    /**
+     * Generates bases and exponents from the fixed seed.
+     *
+     * @param xs The array receiving bases.
+     * @param ys The array receiving exponents.
+     */
+    public void generate(final double[] xs, final double[] ys) {
+        fill(new Random(SEED), xs, ys);
+    }
+}
@@ -0,0 +1,87 @@
+package com.sep.f7.benchmarks;
+
+import com.sep.f7.PowerCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link PowerCalculator#calculatePowerIntegerExponent(double, long)}
+ * against {@link Math#pow(double, double)}. Exponents are the distribution's
+ * exponents rounded to the nearest integer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IntegerExponentBenchmark {
+
+    /** Number of (x, n) pairs evaluated per invocation. */
+    static final int SIZE = 1024;
+
+    /** The input distribution under test. */
+    @Param({"SMALL_EXPONENTS", "HUGE_EXPONENTS", "NEGATIVE_INTEGRAL"})
+    private InputDistribution distribution;
+
+    /** The bases. */
+    private final double[] xs = new double[SIZE];
+
+    /** The integral exponents. */
+    private final long[] ns = new long[SIZE];
+
+    /** The calculator under test. */
+    private final PowerCalculator calculator = new PowerCalculator();
+
+    /**
+     * Generates the inputs.
+     */
+    @Setup
+    public void setUp() {
+        double[] ys = new double[SIZE];
+        distribution.generate(xs, ys);
+        for (int i = 0; i < SIZE; i++) {
+            ns[i] = (long) Math.rint(ys[i]);
+        }
+    }
+
+    /**
+     * Exponentiation by squaring.
+     *
+     * @param blackhole Sink for the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void calculatePowerIntegerExponent(final Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(
+                    calculator.calculatePowerIntegerExponent(xs[i], ns[i]));
+        }
+    }
+
+    /**
+     * JDK baseline.
+     *
+     * @param blackhole Sink for the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void mathPow(final Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(Math.pow(xs[i], ns[i]));
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.sep.f7.benchmarks;
+
+import com.sep.f7.PowerCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link PowerCalculator#log(double)} and
+ * {@link PowerCalculator#exp(double)} against the JDK. The log arguments
+ * are |x| and the exp arguments y&middot;ln|x| of each distribution, i.e.
+ * exactly what {@code calculatePower} feeds the two kernels.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LogExpBenchmark {
+
+    /** Number of arguments evaluated per invocation. */
+    static final int SIZE = 1024;
+
+    /** The input distribution under test. */
+    @Param
+    private InputDistribution distribution;
+
+    /** Arguments of log. */
+    private final double[] logArguments = new double[SIZE];
+
+    /** Arguments of exp. */
+    private final double[] expArguments = new double[SIZE];
+
+    /** The calculator under test. */
+    private final PowerCalculator calculator = new PowerCalculator();
+
+    /**
+     * Generates the inputs.
+     */
+    @Setup
+    public void setUp() {
+        double[] xs = new double[SIZE];
+        double[] ys = new double[SIZE];
+        distribution.generate(xs, ys);
+        for (int i = 0; i < SIZE; i++) {
+            logArguments[i] = Math.abs(xs[i]);
+            expArguments[i] = ys[i] * Math.log(logArguments[i]);
+        }
+    }
+
+    /**
+     * Custom logarithm.
+     *
+     * @param blackhole Sink for the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void log(final Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(calculator.log(logArguments[i]));
+        }
+    }
+
+    /**
+     * JDK logarithm baseline.
+     *
+     * @param blackhole Sink for the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void mathLog(final Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(Math.log(logArguments[i]));
+        }
+    }
+
+    /**
+     * Custom exponential.
+     *
+     * @param blackhole Sink for the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void exp(final Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(calculator.exp(expArguments[i]));
+        }
+    }
+
+    /**
+     * JDK exponential baseline.
+     *
+     * @param blackhole Sink for the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void mathExp(final Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(Math.exp(expArguments[i]));
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.sep.f7.benchmarks;
+
+import com.sep.f7.IntegerPower;
+import com.sep.f7.MontgomeryModulus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link MontgomeryModulus} and {@link IntegerPower#modPow}
+ * against {@link BigInteger#modPow} for odd moduli of several sizes, with
+ * full-width random exponents. Scores are operations per microsecond.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ModPowBenchmark {
+
+    /** Number of (base, exponent) pairs evaluated per invocation. */
+    static final int SIZE = 1024;
+
+    /** Seed of the inputs, fixed so runs are comparable. */
+    private static final long SEED = 42L;
+
+    /** Bit length of the modulus. */
+    @Param({"31", "61", "63"})
+    private int modulusBits;
+
+    /** The bases. */
+    private final long[] bases = new long[SIZE];
+
+    /** The exponents. */
+    private final long[] exponents = new long[SIZE];
+
+    /** The results of the batch call. */
+    private final long[] out = new long[SIZE];
+
+    /** The bases as BigIntegers. */
+    private final BigInteger[] bigBases = new BigInteger[SIZE];
+
+    /** The exponents as BigIntegers. */
+    private final BigInteger[] bigExponents = new BigInteger[SIZE];
+
+    /** The modulus. */
+    private long modulus;
+
+    /** The modulus as a BigInteger. */
+    private BigInteger bigModulus;
+
+    /** The precomputed modulus. */
+    private MontgomeryModulus montgomery;
+
+    /**
+     * Generates the inputs and precomputes the modulus.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(SEED);
+        modulus = (1L << (modulusBits - 1)) | random.nextLong()
+                & ((1L << (modulusBits - 1)) - 1) | 1L;
+        bigModulus = BigInteger.valueOf(modulus);
+        montgomery = new MontgomeryModulus(modulus);
+        for (int i = 0; i < SIZE; i++) {
+            bases[i] = Math.floorMod(random.nextLong(), modulus);
+            exponents[i] = random.nextLong() & Long.MAX_VALUE;
+            bigBases[i] = BigInteger.valueOf(bases[i]);
+            bigExponents[i] = BigInteger.valueOf(exponents[i]);
+        }
+    }
+
+    /**
+     * The batch call, sharing one precomputed modulus.
+     *
+     * @return The results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public long[] montgomeryBatch() {
+        montgomery.modPow(bases, exponents, out);
+        return out;
+    }
+
+    /**
+     * One scalar call per pair, precomputing the modulus every time.
+     *
+     * @param blackhole Sink for the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void integerPowerModPow(final Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(
+                    IntegerPower.modPow(bases[i], exponents[i], modulus));
+        }
+    }
+
+    /**
+     * The JDK baseline.
+     *
+     * @param blackhole Sink for the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void bigIntegerModPow(final Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(bigBases[i].modPow(bigExponents[i], bigModulus));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.sep.f7.benchmarks;
+
+import com.sep.f7.PowerCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link PowerCalculator#calculatePower(double, double)} against
+ * {@link Math#pow(double, double)} for every {@link InputDistribution}.
+ * Scores are nanoseconds per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PowerBenchmark {
+
+    /** Number of (x, y) pairs evaluated per invocation. */
+    static final int SIZE = 1024;
+
+    /** The input distribution under test. */
+    @Param
+    private InputDistribution distribution;
+
+    /** The bases. */
+    private final double[] xs = new double[SIZE];
+
+    /** The exponents. */
+    private final double[] ys = new double[SIZE];
+
+    /** The calculator under test. */
+    private final PowerCalculator calculator = new PowerCalculator();
+
+    /**
+     * Generates the inputs.
+     */
+    @Setup
+    public void setUp() {
+        distribution.generate(xs, ys);
+    }
+
+    /**
+     * Custom implementation.
+     *
+     * @param blackhole Sink for the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void calculatePower(final Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(calculator.calculatePower(xs[i], ys[i]));
+        }
+    }
+
+    /**
+     * JDK baseline.
+     *
+     * @param blackhole Sink for the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void mathPow(final Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(Math.pow(xs[i], ys[i]));
+        }
+    }
+}
@@ -0,0 +1,777 @@
+package com.sep.f7;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Differential accuracy harness comparing a {@link PowerFunction} with a
+ * reference over millions of generated inputs.
+ * <p>
+ * Inputs come from the {@link Stratum strata}: uniformly random pairs
+ * plus subnormal bases, bases near one, huge exponents, exponents at
+ * integral boundaries and special values. Each stratum is cut into
+ * chunks of {@value #CHUNK_SIZE} pairs; every chunk draws from its own
+ * {@link SplittableRandom} seeded from the harness seed, the stratum and
+ * the chunk index, and the chunks run in parallel on a
+ * {@link ForkJoinPool}. Chunk reports are merged in chunk order, so a
+ * run is reproducible from its seed whatever the number of threads.
+ * <p>
+ * Each pair is evaluated with the scalar
+ * {@link PowerFunction#calculatePower(double, double)} of both functions.
+ * When either result is zero, infinite or NaN, the two must have the
+ * same bits, except that every NaN counts as equal; otherwise the pair
+ * is a special-value mismatch. Finite results are binned by their error
+ * in units in the last place of the reference result, in a histogram
+ * with power-of-two bounds. The report keeps the
+ * {@value #WORST_COUNT} pairs with the largest errors and the first
+ * {@value #MISMATCH_EXAMPLES} special-value mismatches.
+ */
+public final class AccuracyHarness {
+
+    /** Seed used when none is given. */
+    public static final long DEFAULT_SEED = 6011L;
+
+    /** Pairs per stratum used when no count is given. */
+    public static final int DEFAULT_SAMPLES = 2_000_000;
+
+    /** Number of pairs generated and evaluated per task. */
+    static final int CHUNK_SIZE = 1 << 16;
+
+    /** Number of largest errors kept by a report. */
+    public static final int WORST_COUNT = 10;
+
+    /** Number of special-value mismatches kept as examples. */
+    public static final int MISMATCH_EXAMPLES = 10;
+
+    /**
+     * Number of histogram buckets: exact, then at most 2^-1, 2^0, ...,
+     * 2^18 ulp, then anything larger.
+     */
+    public static final int BUCKETS = 22;
+
+    /** Power of two bounding bucket 1. */
+    private static final int FIRST_BOUND_EXPONENT = -1;
+
+    /** Odd constant spreading the stratum and chunk over the seed. */
+    private static final long SEED_STRIDE = 0x9E3779B97F4A7C15L;
+
+    /** First multiplier of the seed finalizer. */
+    private static final long MIX_1 = 0xFF51AFD7ED558CCDL;
+
+    /** Second multiplier of the seed finalizer. */
+    private static final long MIX_2 = 0xC4CEB9FE1A85EC53L;
+
+    /** Shift of the seed finalizer. */
+    private static final int MIX_SHIFT = 33;
+
+    /** Significant digits of the exact reference. */
+    static final int EXACT_DIGITS = 40;
+
+    /** Largest |y log2 x| aimed for by random pairs, past the range. */
+    private static final double RANDOM_REACH = 1100.0;
+
+    /** Largest |y ln x| aimed for by pairs near one, about the range. */
+    private static final double LOG_REACH = 700.0;
+
+    /** Largest magnitude of small integral exponents. */
+    private static final int SMALL_INTEGER = 64;
+
+    /** Powers of two where integral exponent paths change. */
+    private static final double[] INTEGRAL_BOUNDARIES = {
+        0x1.0p31, 0x1.0p32, 0x1.0p52, 0x1.0p53, 0x1.0p63, 0x1.0p64,
+    };
+
+    /** Values combined by the special stratum. */
+    private static final double[] SPECIAL_VALUES = {
+        0.0, -0.0, Double.NaN, Double.POSITIVE_INFINITY,
+        Double.NEGATIVE_INFINITY, 1.0, -1.0, 0.5, -0.5, 2.0, -3.0,
+        Double.MIN_VALUE, -Double.MIN_VALUE, Double.MIN_NORMAL,
+        Double.MAX_VALUE, -Double.MAX_VALUE, Math.nextUp(1.0),
+        Math.nextDown(1.0),
+    };
+
+    /** Families of generated inputs. */
+    public enum Stratum {
+
+        /**
+         * Bases across the whole exponent range, exponents scaled so
+         * results cover the range and spill past both ends; one in ten
+         * bases is negative with an integral exponent.
+         */
+        RANDOM {
+            @Override
+            void fill(final SplittableRandom random, final double[] xs,
+                      final double[] ys, final int count) {
+                for (int i = 0; i < count; i++) {
+                    int e = random.nextInt(Double.MIN_EXPONENT,
+                            Double.MAX_EXPONENT + 1);
+                    double x = Math.scalb(1.0 + random.nextDouble(), e);
+                    double y = signedUniform(random)
+                            * RANDOM_REACH / Math.max(1, Math.abs(e));
+                    if (random.nextInt(10) == 0) {
+                        x = -x;
+                        y = Math.rint(y);
+                    }
+                    xs[i] = x;
+                    ys[i] = y;
+                }
+            }
+        },
+
+        /** Subnormal bases with exponents in (-1.1, 1.1). */
+        SUBNORMAL {
+            @Override
+            void fill(final SplittableRandom random, final double[] xs,
+                      final double[] ys, final int count) {
+                for (int i = 0; i < count; i++) {
+                    xs[i] = Double.longBitsToDouble(
+                            random.nextLong(1L, 1L << 52));
+                    double y = signedUniform(random) * 1.1;
+                    ys[i] = random.nextInt(8) == 0 ? Math.rint(3 * y) : y;
+                }
+            }
+        },
+
+        /**
+         * Bases 1 &plusmn; d with d spread over every power of two down to
+         * 2^-52, exponents chosen so |y ln x| reaches about 700.
+         */
+        NEAR_ONE {
+            @Override
+            void fill(final SplittableRandom random, final double[] xs,
+                      final double[] ys, final int count) {
+                for (int i = 0; i < count; i++) {
+                    double d = Math.scalb(random.nextDouble(),
+                            -1 - random.nextInt(52));
+                    double x = random.nextBoolean() ? 1.0 + d : 1.0 - d;
+                    double log = Math.log(x);
+                    double t = signedUniform(random) * LOG_REACH;
+                    xs[i] = x;
+                    ys[i] = log == 0.0 ? t : t / log;
+                }
+            }
+        },
+
+        /**
+         * Exponents of magnitude 2^30 to 2^1024, mostly with bases close
+         * enough to one for a finite result; some bases are negative and
+         * some far from one.
+         */
+        HUGE_EXPONENT {
+            @Override
+            void fill(final SplittableRandom random, final double[] xs,
+                      final double[] ys, final int count) {
+                for (int i = 0; i < count; i++) {
+                    double y = Math.scalb(1.0 + random.nextDouble(),
+                            random.nextInt(30, Double.MAX_EXPONENT + 1));
+                    y = random.nextBoolean() ? y : -y;
+                    double x;
+                    switch (random.nextInt(4)) {
+                        case 0:
+                            x = Math.scalb(1.0 + random.nextDouble(),
+                                    random.nextInt(-32, 32));
+                            break;
+                        case 1:
+                            x = -Math.exp(signedUniform(random)
+                                    * LOG_REACH / y);
+                            break;
+                        default:
+                            x = Math.exp(signedUniform(random)
+                                    * LOG_REACH / y);
+                            break;
+                    }
+                    xs[i] = x;
+                    ys[i] = y;
+                }
+            }
+        },
+
+        /**
+         * Exponents on and next to integers: small integers and the
+         * powers of two where the integral paths switch (2^31, 2^52,
+         * 2^53, 2^63, ...), their neighbours and half-integers, with
+         * bases of either sign.
+         */
+        INTEGRAL_BOUNDARY {
+            @Override
+            void fill(final SplittableRandom random, final double[] xs,
+                      final double[] ys, final int count) {
+                for (int i = 0; i < count; i++) {
+                    double n;
+                    if (random.nextBoolean()) {
+                        n = random.nextInt(-SMALL_INTEGER, SMALL_INTEGER + 1);
+                    } else {
+                        n = INTEGRAL_BOUNDARIES[random.nextInt(
+                                INTEGRAL_BOUNDARIES.length)];
+                        n = random.nextBoolean() ? n : -n;
+                    }
+                    double y;
+                    switch (random.nextInt(4)) {
+                        case 0:
+                            y = Math.nextUp(n);
+                            break;
+                        case 1:
+                            y = Math.nextDown(n);
+                            break;
+                        case 2:
+                            y = n + 0.5;
+                            break;
+                        default:
+                            y = n;
+                            break;
+                    }
+                    double magnitude = Math.abs(y) <= SMALL_INTEGER
+                            ? 0.5 + 1.5 * random.nextDouble()
+                            : Math.exp(signedUniform(random) * LOG_REACH
+                                    / Math.abs(y));
+                    xs[i] = random.nextBoolean() ? magnitude : -magnitude;
+                    ys[i] = y;
+                }
+            }
+        },
+
+        /** Every combination of zeros, infinities, NaN and edge values. */
+        SPECIAL {
+            @Override
+            void fill(final SplittableRandom random, final double[] xs,
+                      final double[] ys, final int count) {
+                for (int i = 0; i < count; i++) {
+                    xs[i] = SPECIAL_VALUES[random.nextInt(
+                            SPECIAL_VALUES.length)];
+                    ys[i] = SPECIAL_VALUES[random.nextInt(
+                            SPECIAL_VALUES.length)];
+                }
+            }
+        };
+
+        /**
+         * Generates pairs of this stratum.
+         *
+         * @param random The random source.
+         * @param xs The array receiving bases.
+         * @param ys The array receiving exponents.
+         * @param count The number of pairs to generate.
+         */
+        abstract void fill(SplittableRandom random, double[] xs,
+                           double[] ys, int count);
+    }
+
+    /** One evaluated pair. */
+    public static final class Sample {
+
+        /** The base. */
+        private final double x;
+
+        /** The exponent. */
+        private final double y;
+
+        /** The result of the function under test. */
+        private final double actual;
+
+        /** The result of the reference. */
+        private final double expected;
+
+        /** The error in ulp of expected; NaN for a special mismatch. */
+        private final double ulpError;
+
+        /**
+         * Records a pair.
+         *
+         * @param x The base.
+         * @param y The exponent.
+         * @param actual The result under test.
+         * @param expected The reference result.
+         * @param ulpError The error in ulp.
+         */
+        Sample(final double x, final double y, final double actual,
+               final double expected, final double ulpError) {
+            this.x = x;
+            this.y = y;
+            this.actual = actual;
+            this.expected = expected;
+            this.ulpError = ulpError;
+        }
+
+        /**
+         * Returns the base.
+         *
+         * @return x.
+         */
+        public double getX() {
+            return x;
+        }
+
+        /**
+         * Returns the exponent.
+         *
+         * @return y.
+         */
+        public double getY() {
+            return y;
+        }
+
+        /**
+         * Returns the result of the function under test.
+         *
+         * @return The actual result.
+         */
+        public double getActual() {
+            return actual;
+        }
+
+        /**
+         * Returns the result of the reference.
+         *
+         * @return The expected result.
+         */
+        public double getExpected() {
+            return expected;
+        }
+
+        /**
+         * Returns the error in units in the last place of the reference.
+         *
+         * @return The error, NaN for a special-value mismatch.
+         */
+        public double getUlpError() {
+            return ulpError;
+        }
+
+        @Override
+        public String toString() {
+            String error = Double.isNaN(ulpError) ? "special"
+                    : String.format(Locale.ROOT, "%.3g ulp", ulpError);
+            return "pow(" + x + ", " + y + ") = " + actual + ", expected "
+                    + expected + " (" + error + ")";
+        }
+    }
+
+    /** Accumulated results of a set of pairs. */
+    public static final class Report {
+
+        /** Number of pairs compared. */
+        private long count;
+
+        /** Number of pairs per error bucket. */
+        private final long[] histogram = new long[BUCKETS];
+
+        /** Largest finite error in ulp. */
+        private double maxUlp;
+
+        /** Number of special-value mismatches. */
+        private long specialMismatches;
+
+        /** Largest errors, in decreasing order. */
+        private final List<Sample> worst = new ArrayList<>();
+
+        /** First special-value mismatches. */
+        private final List<Sample> mismatchExamples = new ArrayList<>();
+
+        /**
+         * Creates an empty report.
+         */
+        Report() {
+            // Filled by record and merge
+        }
+
+        /**
+         * Compares one pair of results.
+         *
+         * @param x The base.
+         * @param y The exponent.
+         * @param actual The result under test.
+         * @param expected The reference result.
+         */
+        void record(final double x, final double y, final double actual,
+                    final double expected) {
+            count++;
+            if (isSpecial(actual) || isSpecial(expected)) {
+                if (Double.doubleToLongBits(actual)
+                        == Double.doubleToLongBits(expected)) {
+                    histogram[0]++;
+                } else {
+                    specialMismatches++;
+                    if (mismatchExamples.size() < MISMATCH_EXAMPLES) {
+                        mismatchExamples.add(new Sample(x, y, actual,
+                                expected, Double.NaN));
+                    }
+                }
+                return;
+            }
+            double error = Math.abs(actual - expected) / Math.ulp(expected);
+            histogram[bucket(error)]++;
+            maxUlp = Math.max(maxUlp, error);
+            if (error > 0.0) {
+                offerWorst(new Sample(x, y, actual, expected, error));
+            }
+        }
+
+        /**
+         * Adds the pairs of another report, which come after this one's.
+         *
+         * @param other The report to add.
+         */
+        void merge(final Report other) {
+            count += other.count;
+            for (int i = 0; i < BUCKETS; i++) {
+                histogram[i] += other.histogram[i];
+            }
+            maxUlp = Math.max(maxUlp, other.maxUlp);
+            specialMismatches += other.specialMismatches;
+            for (Sample sample : other.worst) {
+                offerWorst(sample);
+            }
+            for (Sample sample : other.mismatchExamples) {
+                if (mismatchExamples.size() < MISMATCH_EXAMPLES) {
+                    mismatchExamples.add(sample);
+                }
+            }
+        }
+
+        /**
+         * Keeps a sample if it is among the largest errors and its pair is
+         * not kept already; on ties the earlier sample wins.
+         *
+         * @param sample The sample.
+         */
+        private void offerWorst(final Sample sample) {
+            for (Sample kept : worst) {
+                if (kept.x == sample.x && kept.y == sample.y) {
+                    return;
+                }
+            }
+            int position = worst.size();
+            while (position > 0
+                    && worst.get(position - 1).ulpError < sample.ulpError) {
+                position--;
+            }
+            if (position < WORST_COUNT) {
+                worst.add(position, sample);
+                if (worst.size() > WORST_COUNT) {
+                    worst.remove(WORST_COUNT);
+                }
+            }
+        }
+
+        /**
+         * Returns the number of pairs compared.
+         *
+         * @return The count.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Returns the number of pairs in a bucket: 0 holds identical
+         * results, bucket b in [1, {@value #BUCKETS} - 2] errors of at
+         * most 2^(b - 2) ulp, and the last bucket anything larger.
+         *
+         * @param bucket The bucket index.
+         * @return The number of pairs.
+         */
+        public long getCount(final int bucket) {
+            return histogram[bucket];
+        }
+
+        /**
+         * Returns the largest error between finite results.
+         *
+         * @return The error in ulp.
+         */
+        public double getMaxUlp() {
+            return maxUlp;
+        }
+
+        /**
+         * Returns the number of special-value mismatches.
+         *
+         * @return The count.
+         */
+        public long getSpecialMismatches() {
+            return specialMismatches;
+        }
+
+        /**
+         * Returns the pairs with the largest errors.
+         *
+         * @return Up to {@value #WORST_COUNT} samples, largest first.
+         */
+        public List<Sample> getWorst() {
+            return Collections.unmodifiableList(worst);
+        }
+
+        /**
+         * Returns the first special-value mismatches.
+         *
+         * @return Up to {@value #MISMATCH_EXAMPLES} samples.
+         */
+        public List<Sample> getMismatchExamples() {
+            return Collections.unmodifiableList(mismatchExamples);
+        }
+
+        /**
+         * Formats the report as text.
+         *
+         * @param title The name of the pairs, e.g. a stratum.
+         * @return Several lines ending with a line separator.
+         */
+        public String format(final String title) {
+            StringBuilder text = new StringBuilder(String.format(
+                    Locale.ROOT, "%s: %d pairs, max %.3g ulp, %d special"
+                            + " mismatches%n", title, count, maxUlp,
+                    specialMismatches));
+            for (int b = 0; b < BUCKETS; b++) {
+                if (histogram[b] != 0) {
+                    text.append(String.format(Locale.ROOT,
+                            "  %-16s %12d %8.4f%%%n", bucketLabel(b),
+                            histogram[b], 100.0 * histogram[b] / count));
+                }
+            }
+            for (Sample sample : worst) {
+                text.append("  worst     ").append(sample)
+                        .append(System.lineSeparator());
+            }
+            for (Sample sample : mismatchExamples) {
+                text.append("  mismatch  ").append(sample)
+                        .append(System.lineSeparator());
+            }
+            return text.toString();
+        }
+    }
+
+    /** The function under test. */
+    private final PowerFunction function;
+
+    /** The function assumed correct. */
+    private final PowerFunction reference;
+
+    /** The seed all inputs derive from. */
+    private final long seed;
+
+    /** Number of pairs per stratum. */
+    private final int samples;
+
+    /** Number of worker threads. */
+    private final int parallelism;
+
+    /**
+     * Creates a harness.
+     *
+     * @param function The function under test.
+     * @param reference The function assumed correct.
+     * @param seed The seed all inputs derive from.
+     * @param samples The number of pairs per stratum.
+     * @param parallelism The number of worker threads.
+     * @throws IllegalArgumentException If a function is null, or samples
+     *         or parallelism is not positive.
+     */
+    public AccuracyHarness(final PowerFunction function,
+                           final PowerFunction reference, final long seed,
+                           final int samples, final int parallelism) {
+        if (function == null || reference == null) {
+            throw new IllegalArgumentException(
+                    "Function and reference are required"
+            );
+        }
+        if (samples <= 0 || parallelism <= 0) {
+            throw new IllegalArgumentException(
+                    "Samples and parallelism must be positive"
+            );
+        }
+        this.function = function;
+        this.reference = reference;
+        this.seed = seed;
+        this.samples = samples;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Evaluates every stratum.
+     *
+     * @return A report per stratum, in declaration order.
+     */
+    public Map<Stratum, Report> run() {
+        List<Callable<Report>> tasks = new ArrayList<>();
+        List<Stratum> owners = new ArrayList<>();
+        for (Stratum stratum : Stratum.values()) {
+            for (int from = 0; from < samples; from += CHUNK_SIZE) {
+                int chunk = from / CHUNK_SIZE;
+                int count = Math.min(CHUNK_SIZE, samples - from);
+                tasks.add(() -> evaluate(stratum, chunk, count));
+                owners.add(stratum);
+            }
+        }
+        Map<Stratum, Report> reports = new EnumMap<>(Stratum.class);
+        for (Stratum stratum : Stratum.values()) {
+            reports.put(stratum, new Report());
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<Future<Report>> results = pool.invokeAll(tasks);
+            for (int i = 0; i < results.size(); i++) {
+                reports.get(owners.get(i)).merge(results.get(i).get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Accuracy run interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            pool.shutdown();
+        }
+        return reports;
+    }
+
+    /**
+     * Merges the reports of every stratum.
+     *
+     * @param reports The reports of a run.
+     * @return The combined report.
+     */
+    public static Report total(final Map<Stratum, Report> reports) {
+        Report total = new Report();
+        for (Report report : reports.values()) {
+            total.merge(report);
+        }
+        return total;
+    }
+
+    /**
+     * Returns a reference computing every finite, non-zero result with
+     * {@link BigDecimalPowerCalculator} at {@value #EXACT_DIGITS} digits
+     * and rounding it once to double. Special cases follow
+     * {@link PowerEngine#MATH}. It is far slower than the double engines
+     * and suits runs of up to about a million pairs.
+     *
+     * @return The correctly rounded reference.
+     */
+    public static PowerFunction exactReference() {
+        BigDecimalPowerCalculator exact = new BigDecimalPowerCalculator(
+                new MathContext(EXACT_DIGITS));
+        PowerFunction math = PowerEngine.MATH.getFunction();
+        return (x, y) -> {
+            double approximate = math.calculatePower(x, y);
+            if (isSpecial(approximate) || isSpecial(x) || isSpecial(y)) {
+                return approximate;
+            }
+            try {
+                return exact.calculatePower(new BigDecimal(x),
+                        new BigDecimal(y)).doubleValue();
+            } catch (ArithmeticException e) {
+                // Beyond the range of BigDecimal; far beyond double's.
+                return approximate;
+            }
+        };
+    }
+
+    /**
+     * Evaluates one chunk of a stratum.
+     *
+     * @param stratum The stratum.
+     * @param chunk The chunk index, which selects the random stream.
+     * @param count The number of pairs.
+     * @return The report of the chunk.
+     */
+    private Report evaluate(final Stratum stratum, final int chunk,
+                            final int count) {
+        long chunkSeed = mix(seed + SEED_STRIDE
+                * (((long) stratum.ordinal() << Integer.SIZE) + chunk + 1));
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        stratum.fill(new SplittableRandom(chunkSeed), xs, ys, count);
+        Report report = new Report();
+        for (int i = 0; i < count; i++) {
+            report.record(xs[i], ys[i], function.calculatePower(xs[i], ys[i]),
+                    reference.calculatePower(xs[i], ys[i]));
+        }
+        return report;
+    }
+
+    /**
+     * Scrambles a chunk seed. {@link SplittableRandom} steps its seed by
+     * {@link #SEED_STRIDE}, so unmixed seeds of neighbouring chunks would
+     * give the same stream shifted by one value.
+     *
+     * @param z The seed.
+     * @return The scrambled seed.
+     */
+    private static long mix(final long z) {
+        long h = (z ^ (z >>> MIX_SHIFT)) * MIX_1;
+        h = (h ^ (h >>> MIX_SHIFT)) * MIX_2;
+        return h ^ (h >>> MIX_SHIFT);
+    }
+
+    /**
+     * Returns the histogram bucket of a finite error.
+     *
+     * @param error The error in ulp; not negative.
+     * @return The bucket index.
+     */
+    static int bucket(final double error) {
+        if (error == 0.0) {
+            return 0;
+        }
+        if (!(error <= Math.scalb(1.0, BUCKETS - 3 + FIRST_BOUND_EXPONENT))) {
+            return BUCKETS - 1;
+        }
+        int exponent = Math.getExponent(error);
+        if (error != Math.scalb(1.0, exponent)) {
+            exponent++;
+        }
+        return Math.max(1, exponent - FIRST_BOUND_EXPONENT + 1);
+    }
+
+    /**
+     * Describes the bounds of a bucket.
+     *
+     * @param bucket The bucket index.
+     * @return A label such as "&lt;= 2 ulp".
+     */
+    static String bucketLabel(final int bucket) {
+        if (bucket == 0) {
+            return "exact";
+        }
+        boolean last = bucket == BUCKETS - 1;
+        double bound = Math.scalb(1.0, (last ? bucket - 1 : bucket)
+                + FIRST_BOUND_EXPONENT - 1);
+        String number = bound < 1.0 ? Double.toString(bound)
+                : Long.toString((long) bound);
+        return (last ? "> " : "<= ") + number + " ulp";
+    }
+
+    /**
+     * Tells whether a value is compared bit for bit.
+     *
+     * @param value The value.
+     * @return true for zeros, infinities and NaN.
+     */
+    private static boolean isSpecial(final double value) {
+        return value == 0.0 || value - value != 0.0;
+    }
+
+    /**
+     * Returns a uniform value in [-1, 1).
+     *
+     * @param random The random source.
+     * @return The value.
+     */
+    private static double signedUniform(final SplittableRandom random) {
+        return 2.0 * random.nextDouble() - 1.0;
+    }
+}
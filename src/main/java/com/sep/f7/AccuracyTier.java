@@ -0,0 +1,58 @@
+package com.sep.f7;
+
+/**
+ * Accuracy tiers trading precision for throughput.
+ * <p>
+ * Every tier keeps the special cases of
+ * {@link PowerCalculator#calculatePower(double, double)} and its path for
+ * integral exponents; the tiers differ only in the
+ * logarithm and exponential behind fractional exponents. The documented
+ * bounds are relative errors of x^y for fractional y.
+ */
+public enum AccuracyTier {
+
+    /**
+     * The full-precision kernels of {@link PowerCalculator}: below
+     * (3 + 3&middot;|y ln x|)&middot;2^-52 relative error, i.e. about
+     * 1e-15 for moderate exponents.
+     */
+    EXACT(PowerEngine.FAST.getFunction()),
+
+    /**
+     * Degree-3 polynomials on the same reduced arguments: below 1e-7
+     * relative error for every input.
+     *
+     * @see ReducedPrecisionPowerCalculator
+     */
+    REDUCED(new ReducedPrecisionPowerCalculator()),
+
+    /**
+     * IEEE-754 bit manipulation with cubic corrections: below
+     * (1 + 1.1e-4)&middot;e^(6.1e-4&middot;|y|) - 1 relative error, which
+     * is about 1.1e-4 + 6.1e-4&middot;|y| and under 1% for |y| &lt;= 15.
+     *
+     * @see ApproximatePowerCalculator
+     */
+    APPROXIMATE(new ApproximatePowerCalculator());
+
+    /** The shared instance of this tier. */
+    private final PowerFunction function;
+
+    /**
+     * Binds a tier to its shared instance.
+     *
+     * @param function The stateless implementation.
+     */
+    AccuracyTier(final PowerFunction function) {
+        this.function = function;
+    }
+
+    /**
+     * Returns the shared instance of this tier.
+     *
+     * @return A thread-safe power function.
+     */
+    public PowerFunction getFunction() {
+        return function;
+    }
+}
@@ -0,0 +1,122 @@
+package com.sep.f7;
+
+/**
+ * The {@link AccuracyTier#APPROXIMATE} power function, built on the
+ * IEEE-754 bit layout.
+ * <p>
+ * The raw bits of x already hold its binary exponent e and mantissa
+ * 1 + f, so log2(x) = e + log2(1 + f), and log2(1 + f) is replaced by the
+ * cubic f + f(1 - f)(a + b f). In the other direction 2^t is assembled by
+ * adding the integer part of t to the exponent bits of a cubic
+ * approximation of 2^frac(t). No table, division or polynomial beyond
+ * degree 3 is involved.
+ * <p>
+ * The logarithm is within 6.1e-4 absolutely and the exponential within
+ * 1.1e-4 relatively, so a fractional power is within
+ * (1 + 1.1e-4)&middot;e^(6.1e-4&middot;|y|) - 1 relative error: about
+ * 1.1e-4 + 6.1e-4&middot;|y|, and under 1% for |y| &lt;= 15.
+ * Subnormal, infinite and NaN arguments use the exact kernels, and
+ * integral exponents are computed exactly as in {@link PowerCalculator}.
+ * The batch methods evaluate every element with this scalar path rather
+ * than the shared {@link BatchKernels}.
+ */
+final class ApproximatePowerCalculator extends PowerCalculator {
+
+    /** Coefficient a of the log2 correction f(1 - f)(a + b f). */
+    private static final double LOG2_A = 0.42286328125;
+
+    /** Coefficient b of the log2 correction f(1 - f)(a + b f). */
+    private static final double LOG2_B = -0.15921484375;
+
+    /** Coefficient a of the exp2 correction f(1 - f)(a + b f). */
+    private static final double EXP2_A = 0.30457421875;
+
+    /** Coefficient b of the exp2 correction f(1 - f)(a + b f). */
+    private static final double EXP2_B = 0.07826953125;
+
+    /** ln2, rounded to double. */
+    private static final double LN2 = 0x1.62e42fefa39efp-1;
+
+    /** 1/ln2, rounded to double. */
+    private static final double INV_LN2 = 0x1.71547652b82fep0;
+
+    /** Number of explicit mantissa bits in a double. */
+    private static final int MANTISSA_BITS = 52;
+
+    /** Mask selecting the explicit mantissa bits of a double. */
+    private static final long MANTISSA_MASK = (1L << MANTISSA_BITS) - 1;
+
+    /** Raw exponent field of 1.0, i.e. the exponent bias. */
+    private static final long ONE_EXPONENT_BITS = 1023L << MANTISSA_BITS;
+
+    /** Exponent bias of a double. */
+    private static final int EXPONENT_BIAS = 1023;
+
+    /** Smallest power of two whose result is still normal. */
+    private static final double MIN_EXP2 = -1022.0;
+
+    /** Powers of two from here on overflow. */
+    private static final double MAX_EXP2 = 1024.0;
+
+    /**
+     * Creates the calculator; use {@link AccuracyTier#APPROXIMATE}.
+     */
+    ApproximatePowerCalculator() {
+        super();
+    }
+
+    /**
+     * Evaluates batches with the scalar path of this tier.
+     *
+     * @return true.
+     */
+    @Override
+    protected boolean isScalarBatch() {
+        return true;
+    }
+
+    /**
+     * Approximates ln(x) to within 6.1e-4 absolute error.
+     *
+     * @param exp The value for which logarithm is to be calculated.
+     * @return The approximate natural logarithm of x.
+     * @throws IllegalArgumentException If x is non-positive.
+     */
+    @Override
+    public double log(final double exp) {
+        if (exp <= 0.0) {
+            throw new IllegalArgumentException(
+                    "Logarithm undefined for non-positive values"
+            );
+        }
+        if (!(exp >= Double.MIN_NORMAL && exp < Double.POSITIVE_INFINITY)) {
+            return LogKernel.log(exp);
+        }
+        long bits = Double.doubleToRawLongBits(exp);
+        int exponent = (int) (bits >>> MANTISSA_BITS) - EXPONENT_BIAS;
+        double f = Double.longBitsToDouble(
+                (bits & MANTISSA_MASK) | ONE_EXPONENT_BITS) - 1.0;
+        double log2 = exponent + f + f * (1.0 - f) * (LOG2_A + LOG2_B * f);
+        return log2 * LN2;
+    }
+
+    /**
+     * Approximates e^x to within 1.1e-4 relative error.
+     *
+     * @param x The exponent value.
+     * @return The approximate value of e raised to the power of x.
+     */
+    @Override
+    public double exp(final double x) {
+        double t = x * INV_LN2;
+        if (!(t >= MIN_EXP2 && t < MAX_EXP2)) {
+            return ExpKernel.exp(x);
+        }
+        double whole = Math.floor(t);
+        double f = t - whole;
+        double p = 1.0 + f - f * (1.0 - f) * (EXP2_A + EXP2_B * f);
+        // p lies in [1, 2], so adding to its exponent field scales it.
+        return Double.longBitsToDouble(Double.doubleToRawLongBits(p)
+                + ((long) whole << MANTISSA_BITS));
+    }
+}
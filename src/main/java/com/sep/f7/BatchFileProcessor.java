@@ -0,0 +1,409 @@
+package com.sep.f7;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Evaluates x^y over files of (x, y) pairs without loading them onto the
+ * heap.
+ * <p>
+ * The input is a headerless sequence of little-endian IEEE-754 doubles,
+ * x0 y0 x1 y1 ..., i.e. {@value #PAIR_BYTES} bytes per pair. The output
+ * receives one little-endian double per pair, in the same order. Both
+ * files are memory-mapped with {@link FileChannel#map} in windows of at
+ * most {@code windowPairs} pairs, so files of any size can be processed
+ * with a bounded address-space footprint; within a window the pairs are
+ * copied through small heap arrays in chunks of {@code chunkPairs} and
+ * handed to the batch path of the {@link PowerFunction}.
+ * <p>
+ * Files in the {@link ColumnarFormat} are evaluated in place with
+ * {@link #processColumnar(Path)}; their columns are mapped in the same
+ * windows and need no de-interleaving.
+ * <p>
+ * A pair counts as an error when its result is NaN, e.g. a negative base
+ * with a fractional exponent. Instances are immutable and thread-safe.
+ */
+public final class BatchFileProcessor {
+
+    /** Bytes per input pair. */
+    public static final int PAIR_BYTES = 2 * Double.BYTES;
+
+    /** Bytes per result. */
+    public static final int RESULT_BYTES = Double.BYTES;
+
+    /** Nanoseconds per second. */
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    /** Default number of pairs mapped at a time (64 MiB of input). */
+    public static final int DEFAULT_WINDOW_PAIRS = 1 << 22;
+
+    /** The function evaluating each pair. */
+    private final PowerFunction function;
+
+    /** Number of pairs mapped at a time. */
+    private final int windowPairs;
+
+    /** Number of pairs copied to the heap at a time. */
+    private final int chunkPairs;
+
+    /**
+     * Creates a processor with default window and chunk sizes.
+     *
+     * @param function The function evaluating each pair.
+     */
+    public BatchFileProcessor(final PowerFunction function) {
+        this(function, DEFAULT_WINDOW_PAIRS,
+                ParallelPowerEvaluator.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a processor.
+     *
+     * @param function The function evaluating each pair.
+     * @param windowPairs The number of pairs mapped at a time.
+     * @param chunkPairs The number of pairs evaluated per batch call.
+     * @throws IllegalArgumentException If function is null or a size is
+     * not positive.
+     */
+    public BatchFileProcessor(final PowerFunction function,
+                              final int windowPairs, final int chunkPairs) {
+        if (function == null) {
+            throw new IllegalArgumentException("Function must not be null");
+        }
+        if (windowPairs <= 0 || chunkPairs <= 0) {
+            throw new IllegalArgumentException(
+                    "Window and chunk sizes must be positive");
+        }
+        this.function = function;
+        this.windowPairs = windowPairs;
+        this.chunkPairs = Math.min(chunkPairs, windowPairs);
+    }
+
+    /**
+     * Evaluates every pair of the input file into the output file, which
+     * is created or truncated.
+     *
+     * @param input The file of (x, y) pairs.
+     * @param output The file receiving the results.
+     * @return The number of pairs and errors and the time taken.
+     * @throws IOException If a file cannot be read or written, or the
+     * input length is not a multiple of {@value #PAIR_BYTES} bytes.
+     */
+    public Summary process(final Path input, final Path output)
+            throws IOException {
+        long start = System.nanoTime();
+        try (FileChannel in = FileChannel.open(input,
+                StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output,
+                     StandardOpenOption.CREATE, StandardOpenOption.READ,
+                     StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            long size = in.size();
+            if (size % PAIR_BYTES != 0) {
+                throw new IOException("Input length " + size
+                        + " is not a multiple of " + PAIR_BYTES + " bytes");
+            }
+            long pairs = size / PAIR_BYTES;
+            Chunk chunk = new Chunk(chunkPairs);
+            long errors = 0;
+            for (long first = 0; first < pairs; first += windowPairs) {
+                int count = (int) Math.min(windowPairs, pairs - first);
+                DoubleBuffer source = map(in, FileChannel.MapMode.READ_ONLY,
+                        first * PAIR_BYTES, (long) count * PAIR_BYTES)
+                        .asDoubleBuffer();
+                DoubleBuffer target = map(out,
+                        FileChannel.MapMode.READ_WRITE, first * RESULT_BYTES,
+                        (long) count * RESULT_BYTES).asDoubleBuffer();
+                errors += processWindow(source, target, chunk);
+            }
+            return new Summary(pairs, errors, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Evaluates a {@link ColumnarFormat} file in place, filling its result
+     * and status columns.
+     *
+     * @param file The columnar file; its inputs are left untouched.
+     * @return The number of rows and errors and the time taken.
+     * @throws IOException If the file cannot be read or written, or is
+     * not a valid columnar file.
+     */
+    public Summary processColumnar(final Path file) throws IOException {
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long rows = readRowCount(channel);
+            if (channel.size() < ColumnarFormat.fileSize(rows)) {
+                throw new IOException("Columnar file truncated: " + rows
+                        + " rows need " + ColumnarFormat.fileSize(rows)
+                        + " bytes");
+            }
+            Chunk chunk = new Chunk(chunkPairs);
+            long errors = 0;
+            for (long first = 0; first < rows; first += windowPairs) {
+                int count = (int) Math.min(windowPairs, rows - first);
+                long doubles = (long) count * Double.BYTES;
+                long offset = first * Double.BYTES;
+                DoubleBuffer bases = map(channel,
+                        FileChannel.MapMode.READ_ONLY,
+                        ColumnarFormat.HEADER_BYTES + offset, doubles)
+                        .asDoubleBuffer();
+                DoubleBuffer exponents = map(channel,
+                        FileChannel.MapMode.READ_ONLY,
+                        ColumnarFormat.exponentsOffset(rows) + offset,
+                        doubles).asDoubleBuffer();
+                DoubleBuffer results = map(channel,
+                        FileChannel.MapMode.READ_WRITE,
+                        ColumnarFormat.resultsOffset(rows) + offset,
+                        doubles).asDoubleBuffer();
+                ByteBuffer statuses = map(channel,
+                        FileChannel.MapMode.READ_WRITE,
+                        ColumnarFormat.statusOffset(rows) + first, count);
+                errors += processColumns(bases, exponents, results,
+                        statuses, chunk);
+            }
+            return new Summary(rows, errors, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Tells whether a file starts with the magic bytes of the
+     * {@link ColumnarFormat}.
+     *
+     * @param file The file to inspect.
+     * @return true if the file looks like a columnar file.
+     * @throws IOException If the file cannot be read.
+     */
+    public static boolean isColumnar(final Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.READ)) {
+            return ColumnarFormat.hasMagic(readHeader(channel));
+        }
+    }
+
+    /**
+     * Reads the header of a columnar file.
+     *
+     * @param channel The open file.
+     * @return The header bytes, flipped for reading.
+     * @throws IOException If the file cannot be read.
+     */
+    private static ByteBuffer readHeader(final FileChannel channel)
+            throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(ColumnarFormat.HEADER_BYTES);
+        int read = 0;
+        while (header.hasRemaining() && read >= 0) {
+            read = channel.read(header, header.position());
+        }
+        // Through Buffer: JDK 9+ links ByteBuffer.flip() to an override
+        // that Java 8 lacks.
+        ((Buffer) header).flip();
+        return header;
+    }
+
+    /**
+     * Reads and validates the row count of a columnar file.
+     *
+     * @param channel The open file.
+     * @return The row count.
+     * @throws IOException If the header is missing or invalid.
+     */
+    private static long readRowCount(final FileChannel channel)
+            throws IOException {
+        try {
+            return ColumnarFormat.readRowCount(readHeader(channel));
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Maps a little-endian region of a file.
+     *
+     * @param channel The open file.
+     * @param mode The mapping mode.
+     * @param position The byte offset of the region.
+     * @param size The length of the region in bytes.
+     * @return The mapped region.
+     * @throws IOException If the mapping fails.
+     */
+    private static ByteBuffer map(final FileChannel channel,
+                                  final FileChannel.MapMode mode,
+                                  final long position, final long size)
+            throws IOException {
+        return channel.map(mode, position, size)
+                .order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Streams one mapped window of columns through the function.
+     *
+     * @param bases The bases of the window.
+     * @param exponents The exponents of the window.
+     * @param results The results of the window.
+     * @param statuses The status bytes of the window.
+     * @param chunk The heap arrays used for each chunk.
+     * @return The number of NaN results.
+     */
+    private long processColumns(final DoubleBuffer bases,
+                                final DoubleBuffer exponents,
+                                final DoubleBuffer results,
+                                final ByteBuffer statuses,
+                                final Chunk chunk) {
+        long errors = 0;
+        while (bases.hasRemaining()) {
+            int n = Math.min(chunkPairs, bases.remaining());
+            Chunk c = n == chunkPairs ? chunk : new Chunk(n);
+            bases.get(c.xs, 0, n);
+            exponents.get(c.ys, 0, n);
+            function.calculatePower(c.xs, c.ys, c.results);
+            for (int i = 0; i < n; i++) {
+                c.statuses[i] = ColumnarFormat.status(c.results[i]);
+                if (c.statuses[i] == ColumnarFormat.STATUS_UNDEFINED) {
+                    errors++;
+                }
+            }
+            results.put(c.results, 0, n);
+            statuses.put(c.statuses, 0, n);
+        }
+        return errors;
+    }
+
+    /**
+     * Streams one mapped window through the function chunk by chunk.
+     *
+     * @param source The interleaved pairs of the window.
+     * @param target The results of the window.
+     * @param chunk The heap arrays used for each chunk.
+     * @return The number of NaN results.
+     */
+    private long processWindow(final DoubleBuffer source,
+                               final DoubleBuffer target, final Chunk chunk) {
+        long errors = 0;
+        while (source.hasRemaining()) {
+            int n = Math.min(chunkPairs, source.remaining() / 2);
+            Chunk c = n == chunkPairs ? chunk : new Chunk(n);
+            source.get(c.pairs, 0, 2 * n);
+            for (int i = 0; i < n; i++) {
+                c.xs[i] = c.pairs[2 * i];
+                c.ys[i] = c.pairs[2 * i + 1];
+            }
+            function.calculatePower(c.xs, c.ys, c.results);
+            for (int i = 0; i < n; i++) {
+                if (c.results[i] != c.results[i]) {
+                    errors++;
+                }
+            }
+            target.put(c.results, 0, n);
+        }
+        return errors;
+    }
+
+    /**
+     * Reusable heap arrays for one chunk of pairs.
+     */
+    private static final class Chunk {
+
+        /** The interleaved pairs as read from the file. */
+        private final double[] pairs;
+
+        /** The bases. */
+        private final double[] xs;
+
+        /** The exponents. */
+        private final double[] ys;
+
+        /** The results. */
+        private final double[] results;
+
+        /** The status bytes of the results. */
+        private final byte[] statuses;
+
+        /**
+         * Allocates the arrays.
+         *
+         * @param size The number of pairs per chunk.
+         */
+        Chunk(final int size) {
+            pairs = new double[2 * size];
+            xs = new double[size];
+            ys = new double[size];
+            results = new double[size];
+            statuses = new byte[size];
+        }
+    }
+
+    /**
+     * The outcome of {@link #process(Path, Path)} and
+     * {@link #processColumnar(Path)}.
+     */
+    public static final class Summary {
+
+        /** Number of pairs evaluated. */
+        private final long pairs;
+
+        /** Number of NaN results. */
+        private final long errors;
+
+        /** Wall-clock time in nanoseconds. */
+        private final long elapsedNanos;
+
+        /**
+         * Creates a summary.
+         *
+         * @param pairs The number of pairs evaluated.
+         * @param errors The number of NaN results.
+         * @param elapsedNanos The wall-clock time in nanoseconds.
+         */
+        Summary(final long pairs, final long errors,
+                final long elapsedNanos) {
+            this.pairs = pairs;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * Returns the number of pairs evaluated.
+         *
+         * @return The pair count.
+         */
+        public long getPairs() {
+            return pairs;
+        }
+
+        /**
+         * Returns the number of pairs whose result is NaN.
+         *
+         * @return The error count.
+         */
+        public long getErrors() {
+            return errors;
+        }
+
+        /**
+         * Returns the wall-clock time of the run.
+         *
+         * @return The elapsed time in nanoseconds.
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * Returns the throughput of the run.
+         *
+         * @return Pairs per second, or 0 if no time was measured.
+         */
+        public double getPairsPerSecond() {
+            return elapsedNanos == 0 ? 0.0
+                    : pairs * NANOS_PER_SECOND / elapsedNanos;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.sep.f7;
+
+/**
+ * A kernel that evaluates x^y over ranges of arrays.
+ * <p>
+ * Every method writes {@code out[i]} for {@code from <= i < to} only and
+ * never allocates, so callers may split one array into several ranges
+ * and evaluate them independently.
+ */
+interface BatchKernel {
+
+    /**
+     * Evaluates {@code out[i] = xs[i]^ys[i]} over a range.
+     *
+     * @param xs The base values.
+     * @param ys The exponent values.
+     * @param out The array receiving the results.
+     * @param from The first index, inclusive.
+     * @param to The last index, exclusive.
+     */
+    void power(double[] xs, double[] ys, double[] out, int from, int to);
+
+    /**
+     * Evaluates {@code out[i] = x^ys[i]} over a range.
+     *
+     * @param x The base value shared by every element.
+     * @param ys The exponent values.
+     * @param out The array receiving the results.
+     * @param from The first index, inclusive.
+     * @param to The last index, exclusive.
+     */
+    void power(double x, double[] ys, double[] out, int from, int to);
+
+    /**
+     * Evaluates {@code out[i] = xs[i]^y} over a range.
+     *
+     * @param xs The base values.
+     * @param y The exponent value shared by every element.
+     * @param out The array receiving the results.
+     * @param from The first index, inclusive.
+     * @param to The last index, exclusive.
+     */
+    void power(double[] xs, double y, double[] out, int from, int to);
+}
@@ -0,0 +1,114 @@
+package com.sep.f7;
+
+/**
+ * Selects the {@link BatchKernel} used by the batch entry points of
+ * {@link PowerCalculator}.
+ * <p>
+ * The scalar kernel simply loops over
+ * {@link PowerCalculator#calculatePower(double, double)} and works on every
+ * JDK. On JDK 17 and later the multi-release jar also carries
+ * {@code VectorBatchKernel}, which evaluates the fractional-exponent path
+ * with the {@code jdk.incubator.vector} API; it is picked up when the
+ * class is present and the incubator module has been added with
+ * {@code --add-modules jdk.incubator.vector}. Setting the system property
+ * {@value #VECTOR_PROPERTY} to {@code false} forces the scalar kernel.
+ */
+final class BatchKernels {
+
+    /** System property that can disable the vector kernel. */
+    static final String VECTOR_PROPERTY = "power.vector";
+
+    /** Name of the optional vector kernel in the multi-release layer. */
+    private static final String VECTOR_KERNEL =
+            "com.sep.f7.VectorBatchKernel";
+
+    /** The portable kernel, available on every JDK. */
+    static final BatchKernel SCALAR = new ScalarBatchKernel();
+
+    /** The fastest kernel available in this runtime. */
+    static final BatchKernel PREFERRED = loadPreferred();
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private BatchKernels() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Reports whether {@link #PREFERRED} is the vector kernel.
+     *
+     * @return true if batch evaluation uses SIMD instructions.
+     */
+    static boolean isVectorized() {
+        return PREFERRED != SCALAR;
+    }
+
+    /**
+     * Checks that the arrays of a batch call line up.
+     *
+     * @param inputLength The length of an input array.
+     * @param out The output array.
+     * @throws IllegalArgumentException If the lengths differ.
+     */
+    static void checkLengths(final int inputLength, final double[] out) {
+        if (inputLength != out.length) {
+            throw new IllegalArgumentException(
+                    "Input and output arrays must have the same length"
+            );
+        }
+    }
+
+    /**
+     * Loads the vector kernel if this runtime can run it.
+     *
+     * @return The vector kernel, or {@link #SCALAR} as a fallback.
+     */
+    private static BatchKernel loadPreferred() {
+        if (!Boolean.parseBoolean(
+                System.getProperty(VECTOR_PROPERTY, "true"))) {
+            return SCALAR;
+        }
+        try {
+            return (BatchKernel) Class.forName(VECTOR_KERNEL)
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // Java 8 layer, or the incubator module is not resolved.
+            return SCALAR;
+        }
+    }
+
+    /**
+     * Element-by-element kernel built on the scalar
+     * {@link PowerCalculator}.
+     */
+    private static final class ScalarBatchKernel implements BatchKernel {
+
+        /** The scalar calculator; it holds no state. */
+        private final PowerCalculator calculator = new PowerCalculator();
+
+        @Override
+        public void power(final double[] xs, final double[] ys,
+                          final double[] out, final int from, final int to) {
+            for (int i = from; i < to; i++) {
+                out[i] = calculator.calculatePower(xs[i], ys[i]);
+            }
+        }
+
+        @Override
+        public void power(final double x, final double[] ys,
+                          final double[] out, final int from, final int to) {
+            for (int i = from; i < to; i++) {
+                out[i] = calculator.calculatePower(x, ys[i]);
+            }
+        }
+
+        @Override
+        public void power(final double[] xs, final double y,
+                          final double[] out, final int from, final int to) {
+            for (int i = from; i < to; i++) {
+                out[i] = calculator.calculatePower(xs[i], y);
+            }
+        }
+    }
+}
@@ -0,0 +1,559 @@
+package com.sep.f7;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Arbitrary-precision power function on {@link BigDecimal}.
+ * <p>
+ * Results are rounded to the caller's {@link MathContext} and are within
+ * one unit in the last place of that precision; every step is carried
+ * out with {@value #GUARD_DIGITS} or more guard digits. Integral
+ * exponents use exponentiation by squaring, so results that fit the
+ * precision, such as 3^100 at 50 digits, are exact. Other exponents use
+ * exp(y&middot;ln x):
+ * <ul>
+ *   <li>exp reduces its argument by multiples of ln 2 and splits the
+ *   remainder r into chunks of 8, 16, 32, ... bits, r = r1 + r2 + ...,
+ *   each with a short numerator and a small magnitude. The Taylor series
+ *   of every e^ri is summed exactly with binary splitting, which turns
+ *   the term-by-term loop into a balanced tree of integer products that
+ *   the multiplication algorithms of {@link BigInteger} handle in
+ *   quasi-linear time (the bit-burst algorithm).</li>
+ *   <li>ln runs Halley's iteration on exp starting from the double
+ *   logarithm, tripling the number of correct digits per step, after
+ *   splitting off a power of ten.</li>
+ *   <li>ln 2 = 2 atanh(1/3) and ln 10 = 3 ln 2 + 2 atanh(1/9) are also
+ *   summed with binary splitting and cached per precision for the
+ *   lifetime of the JVM.</li>
+ * </ul>
+ * Instances are immutable and thread-safe. Unlike the double engines,
+ * results that are not finite real numbers raise an
+ * {@link ArithmeticException}: zero to a negative power, a negative base
+ * with a fractional exponent, and results beyond the exponent range of
+ * {@link BigDecimal}.
+ */
+public final class BigDecimalPowerCalculator {
+
+    /** Extra decimal digits carried by every intermediate step. */
+    static final int GUARD_DIGITS = 10;
+
+    /** Cached constants are computed at multiples of this precision. */
+    private static final int CACHE_STEP = 32;
+
+    /** Bits of the first chunk of an exp argument; later chunks double. */
+    private static final int FIRST_CHUNK_BITS = 8;
+
+    /** log2(10), to convert digits to bits. */
+    private static final double BITS_PER_DIGIT = 3.321928094887362;
+
+    /** Decimal digits a double logarithm starts Halley's iteration with. */
+    private static final int DOUBLE_DIGITS = 15;
+
+    /** Factor by which each Halley step multiplies the correct digits. */
+    private static final int HALLEY_ORDER = 3;
+
+    /** Bases whose logarithm is taken directly, without a power of ten. */
+    private static final BigDecimal LOG_DIRECT_MIN = new BigDecimal("0.1");
+
+    /** Upper end of the direct logarithm range. */
+    private static final BigDecimal LOG_DIRECT_MAX = BigDecimal.TEN;
+
+    /** Two. */
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+    /** Upper bound of |ln x| per decimal digit of the exponent of x. */
+    private static final double LN_PER_DIGIT = 2.31;
+
+    /** ln 2 by cache precision. */
+    private static final ConcurrentMap<Integer, BigDecimal> LN2 =
+            new ConcurrentHashMap<>();
+
+    /** ln 10 by cache precision. */
+    private static final ConcurrentMap<Integer, BigDecimal> LN10 =
+            new ConcurrentHashMap<>();
+
+    /** The precision and rounding of every result. */
+    private final MathContext mathContext;
+
+    /**
+     * A hypergeometric-like series summed by {@link #split}:
+     * the sum over n of (1/b(n)) &middot; p(0)...p(n) / (q(0)...q(n)).
+     */
+    private interface Series {
+        /**
+         * Numerator factor of term n.
+         *
+         * @param n The term index.
+         * @return p(n).
+         */
+        BigInteger p(long n);
+
+        /**
+         * Denominator factor of term n.
+         *
+         * @param n The term index.
+         * @return q(n).
+         */
+        BigInteger q(long n);
+
+        /**
+         * Extra denominator of term n only.
+         *
+         * @param n The term index.
+         * @return b(n).
+         */
+        BigInteger b(long n);
+    }
+
+    /**
+     * Creates a calculator rounding to the given context.
+     *
+     * @param mathContext The precision and rounding of the results.
+     * @throws IllegalArgumentException If the context is null or has
+     *         unlimited precision.
+     */
+    public BigDecimalPowerCalculator(final MathContext mathContext) {
+        if (mathContext == null || mathContext.getPrecision() == 0) {
+            throw new IllegalArgumentException(
+                    "A math context with a finite precision is required"
+            );
+        }
+        this.mathContext = mathContext;
+    }
+
+    /**
+     * Returns the context results are rounded to.
+     *
+     * @return The math context.
+     */
+    public MathContext getMathContext() {
+        return mathContext;
+    }
+
+    /**
+     * Calculates x raised to the power of y.
+     *
+     * @param x The base value.
+     * @param y The exponent value.
+     * @return x^y rounded to the math context.
+     * @throws ArithmeticException If x is zero and y negative, if x is
+     *         negative and y not an integer, or if the result is outside
+     *         the range of {@link BigDecimal}.
+     */
+    public BigDecimal calculatePower(final BigDecimal x, final BigDecimal y) {
+        if (x.signum() == 0) {
+            if (y.signum() == 0) {
+                return BigDecimal.ONE;
+            } else if (y.signum() < 0) {
+                throw new ArithmeticException(
+                        "Zero raised to a negative power is infinite"
+                );
+            }
+            return BigDecimal.ZERO;
+        }
+        if (isIntegral(y)) {
+            BigInteger n = y.toBigIntegerExact();
+            if (n.bitLength() < Long.SIZE) {
+                return calculatePowerIntegerExponent(x, n.longValue());
+            }
+            BigDecimal magnitude = expOfProduct(x.abs(), y);
+            return x.signum() < 0 && n.testBit(0)
+                    ? magnitude.negate() : magnitude;
+        }
+        if (x.signum() < 0) {
+            throw new ArithmeticException(
+                    "Negative base with a fractional exponent"
+            );
+        }
+        return expOfProduct(x, y);
+    }
+
+    /**
+     * Calculates x raised to a long exponent by squaring, carrying
+     * {@value #GUARD_DIGITS} guard digits plus the digits of n.
+     *
+     * @param x The base value.
+     * @param n The exponent; {@link Long#MIN_VALUE} is supported.
+     * @return x^n rounded to the math context.
+     * @throws ArithmeticException If x is zero and n negative, or if the
+     *         result is outside the range of {@link BigDecimal}.
+     */
+    public BigDecimal calculatePowerIntegerExponent(final BigDecimal x,
+                                                    final long n) {
+        if (n < 0 && x.signum() == 0) {
+            throw new ArithmeticException(
+                    "Zero raised to a negative power is infinite"
+            );
+        }
+        // Each squaring doubles the relative error, so about log10|n|
+        // digits are lost on top of the guard digits.
+        MathContext working = widen(mathContext, GUARD_DIGITS
+                + integerDigits(BigDecimal.valueOf(n)));
+        // As in PowerCalculator, -Long.MIN_VALUE read unsigned is 2^63.
+        long remaining = n < 0 ? -n : n;
+        BigDecimal result = BigDecimal.ONE;
+        BigDecimal base = x;
+        while (remaining != 0) {
+            if ((remaining & 1L) != 0) {
+                result = result.multiply(base, working);
+            }
+            remaining >>>= 1;
+            if (remaining != 0) {
+                base = base.multiply(base, working);
+            }
+        }
+        if (n < 0) {
+            result = BigDecimal.ONE.divide(result, working);
+        }
+        return result.round(mathContext);
+    }
+
+    /**
+     * Computes the natural logarithm.
+     *
+     * @param x The value; must be positive.
+     * @return ln x rounded to the math context.
+     * @throws IllegalArgumentException If x is not positive.
+     */
+    public BigDecimal log(final BigDecimal x) {
+        if (x.signum() <= 0) {
+            throw new IllegalArgumentException(
+                    "Logarithm undefined for non-positive values"
+            );
+        }
+        return log(x, widen(mathContext, GUARD_DIGITS)).round(mathContext);
+    }
+
+    /**
+     * Computes the exponential function.
+     *
+     * @param x The exponent value.
+     * @return e^x rounded to the math context.
+     * @throws ArithmeticException If the result is outside the range of
+     *         {@link BigDecimal}.
+     */
+    public BigDecimal exp(final BigDecimal x) {
+        return exp(x, widen(mathContext, GUARD_DIGITS)).round(mathContext);
+    }
+
+    /**
+     * Returns ln 2, computed once per cache precision.
+     *
+     * @param mc The precision required.
+     * @return ln 2 rounded to mc.
+     */
+    static BigDecimal ln2(final MathContext mc) {
+        int key = cachePrecision(mc);
+        return LN2.computeIfAbsent(key, p -> atanhInverse(3, p)
+                .multiply(TWO)).round(mc);
+    }
+
+    /**
+     * Returns ln 10, computed once per cache precision.
+     *
+     * @param mc The precision required.
+     * @return ln 10 rounded to mc.
+     */
+    static BigDecimal ln10(final MathContext mc) {
+        int key = cachePrecision(mc);
+        return LN10.computeIfAbsent(key, p -> {
+            MathContext exact = new MathContext(p + GUARD_DIGITS);
+            BigDecimal threeLn2 = ln2(exact).multiply(BigDecimal.valueOf(3));
+            BigDecimal ln5over4 = atanhInverse(9, p).multiply(TWO);
+            return threeLn2.add(ln5over4, exact);
+        }).round(mc);
+    }
+
+    /**
+     * Tells whether a decimal is an integer.
+     *
+     * @param y The value.
+     * @return true if y has no fractional part.
+     */
+    static boolean isIntegral(final BigDecimal y) {
+        return y.signum() == 0 || y.stripTrailingZeros().scale() <= 0;
+    }
+
+    /**
+     * Computes e^(y ln x) for positive x. The logarithm gets enough extra
+     * digits that its error, multiplied by y, stays below the guard
+     * digits of the result.
+     *
+     * @param x The base; positive.
+     * @param y The exponent.
+     * @return x^y rounded to the math context.
+     */
+    private BigDecimal expOfProduct(final BigDecimal x, final BigDecimal y) {
+        int exponentDigits = integerDigits(y);
+        double lnBound = LN_PER_DIGIT * (Math.abs(decimalExponent(x)) + 1);
+        int lnDigits = (int) Math.ceil(Math.log10(lnBound + 1));
+        MathContext logContext = widen(mathContext,
+                GUARD_DIGITS + exponentDigits + lnDigits);
+        BigDecimal product = y.multiply(log(x, logContext), logContext);
+        return exp(product, widen(mathContext, GUARD_DIGITS))
+                .round(mathContext);
+    }
+
+    /**
+     * Natural logarithm at a working precision.
+     *
+     * @param x The value; positive.
+     * @param mc The working precision.
+     * @return ln x to about mc's precision.
+     */
+    private static BigDecimal log(final BigDecimal x, final MathContext mc) {
+        if (x.compareTo(LOG_DIRECT_MIN) >= 0
+                && x.compareTo(LOG_DIRECT_MAX) <= 0) {
+            return logDirect(x, mc);
+        }
+        // x = m * 10^e with m in [1, 10); |e| >= 1 here, and e = -1 is
+        // excluded, so the two terms never cancel badly.
+        int e = decimalExponent(x);
+        BigDecimal m = x.movePointLeft(e);
+        MathContext wide = widen(mc, integerDigits(BigDecimal.valueOf(e)));
+        return logDirect(m, wide)
+                .add(ln10(wide).multiply(BigDecimal.valueOf(e)), mc);
+    }
+
+    /**
+     * Natural logarithm of a value in [0.1, 10] by Halley's iteration
+     * y := y + 2(x - e^y)/(x + e^y), starting from the double logarithm.
+     *
+     * @param x The value.
+     * @param mc The working precision.
+     * @return ln x to about mc's precision.
+     */
+    private static BigDecimal logDirect(final BigDecimal x,
+                                        final MathContext mc) {
+        if (x.compareTo(BigDecimal.ONE) == 0) {
+            return BigDecimal.ZERO;
+        }
+        // Near 1, ln x is about x - 1 and its leading digits cancel in
+        // x - e^y; carry as many extra digits as cancel.
+        int cancelled = Math.max(0,
+                -decimalExponent(x.subtract(BigDecimal.ONE)));
+        int target = mc.getPrecision() + cancelled;
+        BigDecimal y = new BigDecimal(Math.log(x.doubleValue()));
+        // The double start is correct to about 15 digits after the point;
+        // each step triples that.
+        int digits = DOUBLE_DIGITS;
+        do {
+            digits = Math.min(target, digits * HALLEY_ORDER);
+            MathContext step = new MathContext(digits + GUARD_DIGITS);
+            BigDecimal ey = exp(y, step);
+            BigDecimal correction = x.subtract(ey, step).multiply(TWO)
+                    .divide(x.add(ey, step), step);
+            y = y.add(correction, step);
+        } while (digits < target);
+        return y.round(mc);
+    }
+
+    /**
+     * Exponential at a working precision.
+     *
+     * @param x The exponent value.
+     * @param mc The working precision.
+     * @return e^x to about mc's precision.
+     */
+    private static BigDecimal exp(final BigDecimal x, final MathContext mc) {
+        if (x.signum() == 0) {
+            return BigDecimal.ONE;
+        }
+        // x = k ln 2 + r with |r| <= ln2 / 2; r is needed to mc's
+        // absolute precision, so ln 2 needs the digits of k as well.
+        int kDigits = integerDigits(x);
+        MathContext wide = widen(mc, kDigits);
+        BigDecimal ln2 = ln2(wide);
+        BigInteger k = x.divide(ln2, new MathContext(kDigits + GUARD_DIGITS))
+                .setScale(0, RoundingMode.HALF_EVEN).toBigIntegerExact();
+        if (k.bitLength() >= Integer.SIZE) {
+            throw new ArithmeticException(
+                    (k.signum() > 0 ? "Overflow" : "Underflow")
+                            + " in exp(" + x + ")");
+        }
+        BigDecimal r = x.subtract(ln2.multiply(new BigDecimal(k)), wide);
+
+        int bits = (int) Math.ceil(mc.getPrecision() * BITS_PER_DIGIT);
+        BigInteger fixed = r.abs().multiply(new BigDecimal(
+                        BigInteger.ONE.shiftLeft(bits)))
+                .setScale(0, RoundingMode.HALF_EVEN).toBigIntegerExact();
+        BigDecimal result = BigDecimal.ONE;
+        int chunk = FIRST_CHUNK_BITS;
+        for (int low = 0; low < bits; low += chunk, chunk *= 2) {
+            int high = Math.min(bits, low + chunk);
+            BigInteger numerator = fixed.shiftRight(bits - high)
+                    .and(BigInteger.ONE.shiftLeft(high - low)
+                            .subtract(BigInteger.ONE));
+            if (numerator.signum() != 0) {
+                result = result.multiply(expSplit(numerator, high, mc), mc);
+            }
+        }
+        if (r.signum() < 0) {
+            result = BigDecimal.ONE.divide(result, mc);
+        }
+        int powerOfTwo = k.intValue();
+        BigDecimal scale = TWO.pow(Math.abs(powerOfTwo), mc);
+        return powerOfTwo >= 0 ? result.multiply(scale, mc)
+                : result.divide(scale, mc);
+    }
+
+    /**
+     * Computes e^(a / 2^shift) for a small a / 2^shift by summing its
+     * Taylor series with binary splitting.
+     *
+     * @param a The numerator; positive, less than 2^shift.
+     * @param shift The power of two of the denominator.
+     * @param mc The working precision.
+     * @return e^(a / 2^shift) to about mc's precision.
+     */
+    private static BigDecimal expSplit(final BigInteger a, final int shift,
+                                       final MathContext mc) {
+        // Smallest N with (a/2^shift)^N / N! below 2^-(bits + guard).
+        double target = mc.getPrecision() * BITS_PER_DIGIT + GUARD_DIGITS;
+        double log2Ratio = a.bitLength() - shift;
+        double log2Term = 0.0;
+        long terms = 1;
+        while (log2Term > -target) {
+            log2Term += log2Ratio - Math.log(terms) / Math.log(2);
+            terms++;
+        }
+        Series series = new Series() {
+            @Override
+            public BigInteger p(final long n) {
+                return n == 0 ? BigInteger.ONE : a;
+            }
+
+            @Override
+            public BigInteger q(final long n) {
+                return n == 0 ? BigInteger.ONE
+                        : BigInteger.valueOf(n).shiftLeft(shift);
+            }
+
+            @Override
+            public BigInteger b(final long n) {
+                return BigInteger.ONE;
+            }
+        };
+        return quotient(split(series, 0, terms), mc);
+    }
+
+    /**
+     * Computes atanh(1/q) = sum of 1 / ((2n+1) q^(2n+1)) with binary
+     * splitting.
+     *
+     * @param q The inverse of the argument; at least 2.
+     * @param precision The number of correct digits required.
+     * @return atanh(1/q) with precision + {@value #GUARD_DIGITS} digits.
+     */
+    private static BigDecimal atanhInverse(final int q, final int precision) {
+        MathContext mc = new MathContext(precision + GUARD_DIGITS);
+        BigInteger inverse = BigInteger.valueOf(q);
+        BigInteger inverseSquared = inverse.multiply(inverse);
+        long terms = (long) Math.ceil(mc.getPrecision() * Math.log(10)
+                / (2 * Math.log(q))) + 1;
+        Series series = new Series() {
+            @Override
+            public BigInteger p(final long n) {
+                return BigInteger.ONE;
+            }
+
+            @Override
+            public BigInteger q(final long n) {
+                return n == 0 ? inverse : inverseSquared;
+            }
+
+            @Override
+            public BigInteger b(final long n) {
+                return BigInteger.valueOf(2 * n + 1);
+            }
+        };
+        return quotient(split(series, 0, terms), mc);
+    }
+
+    /**
+     * Sums terms [n1, n2) of a series exactly.
+     *
+     * @param series The series.
+     * @param n1 The first term.
+     * @param n2 One past the last term.
+     * @return {P, Q, B, T} such that the partial sum is T / (B Q).
+     */
+    private static BigInteger[] split(final Series series, final long n1,
+                                      final long n2) {
+        if (n2 - n1 == 1) {
+            BigInteger p = series.p(n1);
+            return new BigInteger[] {p, series.q(n1), series.b(n1), p};
+        }
+        long mid = (n1 + n2) >>> 1;
+        BigInteger[] left = split(series, n1, mid);
+        BigInteger[] right = split(series, mid, n2);
+        BigInteger p = left[0].multiply(right[0]);
+        BigInteger q = left[1].multiply(right[1]);
+        BigInteger b = left[2].multiply(right[2]);
+        BigInteger t = right[2].multiply(right[1]).multiply(left[3])
+                .add(left[2].multiply(left[0]).multiply(right[3]));
+        return new BigInteger[] {p, q, b, t};
+    }
+
+    /**
+     * Evaluates T / (B Q) of a binary splitting result.
+     *
+     * @param pqbt The result of {@link #split}.
+     * @param mc The precision.
+     * @return The partial sum.
+     */
+    private static BigDecimal quotient(final BigInteger[] pqbt,
+                                       final MathContext mc) {
+        return new BigDecimal(pqbt[3])
+                .divide(new BigDecimal(pqbt[2].multiply(pqbt[1])), mc);
+    }
+
+    /**
+     * Returns the cache precision covering a context.
+     *
+     * @param mc The context.
+     * @return Its precision rounded up to a multiple of
+     *         {@value #CACHE_STEP}.
+     */
+    private static int cachePrecision(final MathContext mc) {
+        return (mc.getPrecision() + CACHE_STEP - 1) / CACHE_STEP * CACHE_STEP;
+    }
+
+    /**
+     * Returns the position of the leading digit: x = m &middot; 10^e with
+     * 1 &lt;= |m| &lt; 10.
+     *
+     * @param x A non-zero value.
+     * @return e.
+     */
+    private static int decimalExponent(final BigDecimal x) {
+        return x.precision() - x.scale() - 1;
+    }
+
+    /**
+     * Returns the number of digits before the decimal point.
+     *
+     * @param x The value.
+     * @return The digit count, 0 if |x| &lt; 1.
+     */
+    private static int integerDigits(final BigDecimal x) {
+        return x.signum() == 0 ? 0 : Math.max(0, decimalExponent(x) + 1);
+    }
+
+    /**
+     * Returns a context with more digits and the same rounding.
+     *
+     * @param mc The context.
+     * @param extra The digits to add.
+     * @return The wider context.
+     */
+    private static MathContext widen(final MathContext mc, final int extra) {
+        return new MathContext(mc.getPrecision() + extra,
+                mc.getRoundingMode());
+    }
+}
@@ -0,0 +1,204 @@
+package com.sep.f7;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+
+/**
+ * Layout of the binary columnar format for bulk power evaluation.
+ * <p>
+ * A file of n rows is laid out as follows, every number little-endian:
+ * <pre>
+ * offset        size  content
+ * 0             4     magic bytes "POWC"
+ * 4             4     format version, currently 1
+ * 8             8     row count n
+ * 16            16    reserved, zero
+ * 32            8n    bases x, IEEE-754 doubles
+ * 32 + 8n       8n    exponents y
+ * 32 + 16n      8n    results x^y, 0.0 until evaluated
+ * 32 + 24n      n     status bytes, see {@link #STATUS_PENDING} etc.
+ * </pre>
+ * Every double column starts at a multiple of eight bytes, so a mapped
+ * file can be viewed as {@link DoubleBuffer}s without copying.
+ * {@link ColumnarReader} and {@link ColumnarWriter} work on such buffers,
+ * {@link BatchFileProcessor#processColumnar(java.nio.file.Path)} evaluates
+ * a file in place and {@link CsvConverter} creates one from text.
+ */
+public final class ColumnarFormat {
+
+    /** Size of the header in bytes. */
+    public static final int HEADER_BYTES = 32;
+
+    /** The current format version. */
+    public static final int VERSION = 1;
+
+    /** Status of a row that has not been evaluated. */
+    public static final byte STATUS_PENDING = 0;
+
+    /** Status of a finite result. */
+    public static final byte STATUS_OK = 1;
+
+    /** Status of a NaN result, e.g. a negative base with a fraction. */
+    public static final byte STATUS_UNDEFINED = 2;
+
+    /** Status of an infinite result. */
+    public static final byte STATUS_OVERFLOW = 3;
+
+    /** Bytes per row over all four columns. */
+    static final int ROW_BYTES = 3 * Double.BYTES + 1;
+
+    /** The magic bytes "POWC" read as a little-endian int. */
+    private static final int MAGIC = 'P' | 'O' << 8 | 'W' << 16 | 'C' << 24;
+
+    /** Offset of the version field. */
+    private static final int VERSION_OFFSET = 4;
+
+    /** Offset of the row count field. */
+    private static final int ROWS_OFFSET = 8;
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private ColumnarFormat() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Returns the size of a file of the given number of rows.
+     *
+     * @param rows The row count.
+     * @return The file size in bytes.
+     */
+    public static long fileSize(final long rows) {
+        return HEADER_BYTES + rows * ROW_BYTES;
+    }
+
+    /**
+     * Returns the offset of the exponent column.
+     *
+     * @param rows The row count.
+     * @return The byte offset of the first exponent.
+     */
+    static long exponentsOffset(final long rows) {
+        return HEADER_BYTES + rows * Double.BYTES;
+    }
+
+    /**
+     * Returns the offset of the result column.
+     *
+     * @param rows The row count.
+     * @return The byte offset of the first result.
+     */
+    static long resultsOffset(final long rows) {
+        return HEADER_BYTES + 2 * rows * Double.BYTES;
+    }
+
+    /**
+     * Returns the offset of the status column.
+     *
+     * @param rows The row count.
+     * @return The byte offset of the first status byte.
+     */
+    static long statusOffset(final long rows) {
+        return HEADER_BYTES + 3 * rows * Double.BYTES;
+    }
+
+    /**
+     * Classifies a result.
+     *
+     * @param result The evaluated x^y.
+     * @return {@link #STATUS_OK}, {@link #STATUS_UNDEFINED} or
+     * {@link #STATUS_OVERFLOW}.
+     */
+    public static byte status(final double result) {
+        if (result != result) {
+            return STATUS_UNDEFINED;
+        }
+        return result - result == 0.0 ? STATUS_OK : STATUS_OVERFLOW;
+    }
+
+    /**
+     * Writes a header at the start of a buffer, leaving its position
+     * unchanged.
+     *
+     * @param buffer The buffer receiving the header.
+     * @param rows The row count.
+     */
+    static void writeHeader(final ByteBuffer buffer, final long rows) {
+        ByteBuffer header = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(0, MAGIC);
+        header.putInt(VERSION_OFFSET, VERSION);
+        header.putLong(ROWS_OFFSET, rows);
+        for (int i = ROWS_OFFSET + Long.BYTES; i < HEADER_BYTES; i++) {
+            header.put(i, (byte) 0);
+        }
+    }
+
+    /**
+     * Tells whether a buffer starts with the magic bytes of the format.
+     *
+     * @param buffer The buffer to inspect, from index 0.
+     * @return true if it looks like a columnar file.
+     */
+    static boolean hasMagic(final ByteBuffer buffer) {
+        return buffer.limit() >= Integer.BYTES
+                && buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN)
+                .getInt(0) == MAGIC;
+    }
+
+    /**
+     * Validates a header and returns its row count.
+     *
+     * @param buffer The buffer holding the header from index 0.
+     * @return The row count.
+     * @throws IllegalArgumentException If the magic, version or row count
+     * is invalid.
+     */
+    static long readRowCount(final ByteBuffer buffer) {
+        if (buffer.limit() < HEADER_BYTES || !hasMagic(buffer)) {
+            throw new IllegalArgumentException("Not a columnar power file");
+        }
+        ByteBuffer header = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int version = header.getInt(VERSION_OFFSET);
+        if (version != VERSION) {
+            throw new IllegalArgumentException(
+                    "Unsupported columnar format version " + version);
+        }
+        long rows = header.getLong(ROWS_OFFSET);
+        if (rows < 0 || rows > (Long.MAX_VALUE - HEADER_BYTES) / ROW_BYTES) {
+            throw new IllegalArgumentException("Invalid row count " + rows);
+        }
+        return rows;
+    }
+
+    /**
+     * Returns a little-endian view of a region of a buffer.
+     *
+     * @param buffer The whole file.
+     * @param offset The byte offset of the region.
+     * @param length The length of the region in bytes.
+     * @return A view sharing the content of buffer.
+     */
+    static ByteBuffer region(final ByteBuffer buffer, final long offset,
+                             final long length) {
+        ByteBuffer view = buffer.duplicate();
+        // Through Buffer, which keeps the call linkable on Java 8.
+        ((Buffer) view).limit((int) (offset + length)).position((int) offset);
+        return view.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Returns a view of a double column.
+     *
+     * @param buffer The whole file.
+     * @param offset The byte offset of the column.
+     * @param rows The row count.
+     * @return A view sharing the content of buffer.
+     */
+    static DoubleBuffer column(final ByteBuffer buffer, final long offset,
+                               final long rows) {
+        return region(buffer, offset, rows * Double.BYTES).asDoubleBuffer();
+    }
+}
@@ -0,0 +1,143 @@
+package com.sep.f7;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+
+/**
+ * Zero-copy reader of the {@link ColumnarFormat} over a
+ * {@link ByteBuffer}, typically a {@link java.nio.MappedByteBuffer} of a
+ * whole file.
+ * <p>
+ * The column accessors return views sharing the content of the buffer;
+ * nothing is copied until the caller reads from them. A reader is not
+ * thread-safe, but the views it hands out are independent and may be
+ * read by different threads.
+ */
+public final class ColumnarReader {
+
+    /** The row count from the header. */
+    private final int rows;
+
+    /** The base column. */
+    private final DoubleBuffer bases;
+
+    /** The exponent column. */
+    private final DoubleBuffer exponents;
+
+    /** The result column. */
+    private final DoubleBuffer results;
+
+    /** The status column. */
+    private final ByteBuffer statuses;
+
+    /**
+     * Validates the header and creates the column views.
+     *
+     * @param buffer The file content from index 0.
+     * @throws IllegalArgumentException If the header is invalid, the
+     * buffer is shorter than the header claims or the file holds more
+     * rows than a buffer can address.
+     */
+    public ColumnarReader(final ByteBuffer buffer) {
+        long rowCount = ColumnarFormat.readRowCount(buffer);
+        if (ColumnarFormat.fileSize(rowCount) > buffer.limit()) {
+            throw new IllegalArgumentException("Columnar file truncated: "
+                    + rowCount + " rows need "
+                    + ColumnarFormat.fileSize(rowCount) + " bytes");
+        }
+        this.rows = (int) rowCount;
+        bases = ColumnarFormat.column(buffer, ColumnarFormat.HEADER_BYTES,
+                rows);
+        exponents = ColumnarFormat.column(buffer,
+                ColumnarFormat.exponentsOffset(rows), rows);
+        results = ColumnarFormat.column(buffer,
+                ColumnarFormat.resultsOffset(rows), rows);
+        statuses = ColumnarFormat.region(buffer,
+                ColumnarFormat.statusOffset(rows), rows);
+    }
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return The row count.
+     */
+    public int getRowCount() {
+        return rows;
+    }
+
+    /**
+     * Returns the base of a row.
+     *
+     * @param row The row index.
+     * @return x of that row.
+     */
+    public double getBase(final int row) {
+        return bases.get(row);
+    }
+
+    /**
+     * Returns the exponent of a row.
+     *
+     * @param row The row index.
+     * @return y of that row.
+     */
+    public double getExponent(final int row) {
+        return exponents.get(row);
+    }
+
+    /**
+     * Returns the result of a row.
+     *
+     * @param row The row index.
+     * @return x^y of that row, or 0.0 if it is still pending.
+     */
+    public double getResult(final int row) {
+        return results.get(row);
+    }
+
+    /**
+     * Returns the status of a row.
+     *
+     * @param row The row index.
+     * @return One of the status constants of {@link ColumnarFormat}.
+     */
+    public byte getStatus(final int row) {
+        return statuses.get(row);
+    }
+
+    /**
+     * Returns a fresh view of the base column.
+     *
+     * @return A read-only view positioned at row 0.
+     */
+    public DoubleBuffer bases() {
+        return bases.asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns a fresh view of the exponent column.
+     *
+     * @return A read-only view positioned at row 0.
+     */
+    public DoubleBuffer exponents() {
+        return exponents.asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns a fresh view of the result column.
+     *
+     * @return A read-only view positioned at row 0.
+     */
+    public DoubleBuffer results() {
+        return results.asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns a fresh view of the status column.
+     *
+     * @return A read-only view positioned at row 0.
+     */
+    public ByteBuffer statuses() {
+        return statuses.asReadOnlyBuffer();
+    }
+}
@@ -0,0 +1,133 @@
+package com.sep.f7;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+
+/**
+ * Zero-copy writer of the {@link ColumnarFormat} into a writable
+ * {@link ByteBuffer}, typically a {@link java.nio.MappedByteBuffer}.
+ * <p>
+ * The constructor writes the header and marks every row pending; rows
+ * are then filled individually or in bulk through the column views. A
+ * writer is not thread-safe, but the views it hands out are independent
+ * and may be filled by different threads over disjoint rows.
+ */
+public final class ColumnarWriter {
+
+    /** The row count. */
+    private final int rows;
+
+    /** The base column. */
+    private final DoubleBuffer bases;
+
+    /** The exponent column. */
+    private final DoubleBuffer exponents;
+
+    /** The result column. */
+    private final DoubleBuffer results;
+
+    /** The status column. */
+    private final ByteBuffer statuses;
+
+    /**
+     * Writes the header for the given number of rows.
+     *
+     * @param buffer The buffer receiving the file from index 0; at least
+     * {@link ColumnarFormat#fileSize(long)} bytes long.
+     * @param rows The row count.
+     * @throws IllegalArgumentException If rows is negative or the buffer
+     * is too small.
+     */
+    public ColumnarWriter(final ByteBuffer buffer, final int rows) {
+        if (rows < 0) {
+            throw new IllegalArgumentException(
+                    "Row count must not be negative");
+        }
+        if (ColumnarFormat.fileSize(rows) > buffer.limit()) {
+            throw new IllegalArgumentException("Buffer too small for "
+                    + rows + " rows");
+        }
+        this.rows = rows;
+        ColumnarFormat.writeHeader(buffer, rows);
+        bases = ColumnarFormat.column(buffer, ColumnarFormat.HEADER_BYTES,
+                rows);
+        exponents = ColumnarFormat.column(buffer,
+                ColumnarFormat.exponentsOffset(rows), rows);
+        results = ColumnarFormat.column(buffer,
+                ColumnarFormat.resultsOffset(rows), rows);
+        statuses = ColumnarFormat.region(buffer,
+                ColumnarFormat.statusOffset(rows), rows);
+        for (int i = 0; i < rows; i++) {
+            statuses.put(i, ColumnarFormat.STATUS_PENDING);
+        }
+    }
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return The row count.
+     */
+    public int getRowCount() {
+        return rows;
+    }
+
+    /**
+     * Stores the inputs of a row.
+     *
+     * @param row The row index.
+     * @param x The base value.
+     * @param y The exponent value.
+     */
+    public void setPair(final int row, final double x, final double y) {
+        bases.put(row, x);
+        exponents.put(row, y);
+    }
+
+    /**
+     * Stores the result of a row together with its status.
+     *
+     * @param row The row index.
+     * @param result The evaluated x^y.
+     */
+    public void setResult(final int row, final double result) {
+        results.put(row, result);
+        statuses.put(row, ColumnarFormat.status(result));
+    }
+
+    /**
+     * Returns a fresh writable view of the base column.
+     *
+     * @return A view positioned at row 0.
+     */
+    public DoubleBuffer bases() {
+        return bases.duplicate();
+    }
+
+    /**
+     * Returns a fresh writable view of the exponent column.
+     *
+     * @return A view positioned at row 0.
+     */
+    public DoubleBuffer exponents() {
+        return exponents.duplicate();
+    }
+
+    /**
+     * Returns a fresh writable view of the result column. Statuses are
+     * not updated by bulk writes; use {@link #statuses()} as well.
+     *
+     * @return A view positioned at row 0.
+     */
+    public DoubleBuffer results() {
+        return results.duplicate();
+    }
+
+    /**
+     * Returns a fresh writable view of the status column.
+     *
+     * @return A view positioned at row 0.
+     */
+    public ByteBuffer statuses() {
+        return statuses.duplicate();
+    }
+}
@@ -0,0 +1,275 @@
+package com.sep.f7;
+
+/**
+ * Principal-branch powers with complex results.
+ * <p>
+ * {@link PowerCalculator#calculatePower(double, double)} returns NaN for a
+ * negative base with a fractional exponent. This class returns the
+ * principal value instead: for x &lt; 0,
+ * x^y = |x|^y &middot; (cos(&pi;y) + i sin(&pi;y)), and for a complex base
+ * z = a + bi, z^y = e^(y ln|z|) &middot; (cos(y arg z) + i sin(y arg z))
+ * with arg z in (-&pi;, &pi;]. Real bases with a real result, and
+ * negative bases with integral exponents, go through the real path and
+ * have a zero imaginary part. Magnitudes use the same {@link LogKernel}
+ * and {@link ExpKernel} as the real path; angles that are multiples of
+ * &pi;/2 are exact, so (-4)^0.5 is exactly 2i.
+ * <p>
+ * Results are stored as separate real and imaginary arrays
+ * (struct-of-arrays), and the batch methods allocate nothing per
+ * element. Every output array may alias an input array. Instances are
+ * stateless and therefore thread-safe.
+ */
+public final class ComplexPowerCalculator {
+
+    /** Integral exponents up to this magnitude use complex squaring. */
+    static final int MAX_SQUARING_EXPONENT = 64;
+
+    /** Real path shared with {@link PowerCalculator}. */
+    private final PowerCalculator calculator = new PowerCalculator();
+
+    /**
+     * Returns the real part of the principal value of x^y.
+     *
+     * @param x The base value.
+     * @param y The exponent value.
+     * @return Re(x^y).
+     */
+    public double realPart(final double x, final double y) {
+        if (!(x < 0.0) || PowerCalculator.isIntegral(y)) {
+            return calculator.calculatePower(x, y);
+        }
+        double magnitude = calculator.calculatePower(-x, y);
+        return scale(magnitude, cosPi(y));
+    }
+
+    /**
+     * Returns the imaginary part of the principal value of x^y.
+     *
+     * @param x The base value.
+     * @param y The exponent value.
+     * @return Im(x^y); zero unless x is negative and y is not an integer,
+     *         NaN if the real part is NaN.
+     */
+    public double imaginaryPart(final double x, final double y) {
+        if (!(x < 0.0) || PowerCalculator.isIntegral(y)) {
+            return imaginaryOfReal(calculator.calculatePower(x, y));
+        }
+        double magnitude = calculator.calculatePower(-x, y);
+        return scale(magnitude, sinPi(y));
+    }
+
+    /**
+     * Calculates xs[i]^ys[i] for real bases, with complex results.
+     *
+     * @param xs The base values.
+     * @param ys The exponent values.
+     * @param outRe The array receiving the real parts.
+     * @param outIm The array receiving the imaginary parts.
+     * @throws IllegalArgumentException If the array lengths differ.
+     */
+    public void calculatePower(final double[] xs, final double[] ys,
+                               final double[] outRe, final double[] outIm) {
+        BatchKernels.checkLengths(xs.length, outRe);
+        BatchKernels.checkLengths(ys.length, outRe);
+        BatchKernels.checkLengths(outIm.length, outRe);
+        for (int i = 0; i < outRe.length; i++) {
+            double x = xs[i];
+            double y = ys[i];
+            if (!(x < 0.0) || PowerCalculator.isIntegral(y)) {
+                outRe[i] = calculator.calculatePower(x, y);
+                outIm[i] = imaginaryOfReal(outRe[i]);
+            } else {
+                double magnitude = calculator.calculatePower(-x, y);
+                outRe[i] = scale(magnitude, cosPi(y));
+                outIm[i] = scale(magnitude, sinPi(y));
+            }
+        }
+    }
+
+    /**
+     * Calculates (re[i] + i&middot;im[i])^ys[i] for complex bases.
+     *
+     * @param re The real parts of the bases.
+     * @param im The imaginary parts of the bases.
+     * @param ys The exponent values.
+     * @param outRe The array receiving the real parts.
+     * @param outIm The array receiving the imaginary parts.
+     * @throws IllegalArgumentException If the array lengths differ.
+     */
+    public void calculatePower(final double[] re, final double[] im,
+                               final double[] ys, final double[] outRe,
+                               final double[] outIm) {
+        BatchKernels.checkLengths(re.length, outRe);
+        BatchKernels.checkLengths(im.length, outRe);
+        BatchKernels.checkLengths(ys.length, outRe);
+        BatchKernels.checkLengths(outIm.length, outRe);
+        for (int i = 0; i < outRe.length; i++) {
+            double a = re[i];
+            double b = im[i];
+            double y = ys[i];
+            if (b == 0.0) {
+                if (!(a < 0.0) || PowerCalculator.isIntegral(y)) {
+                    outRe[i] = calculator.calculatePower(a, y);
+                    outIm[i] = imaginaryOfReal(outRe[i]);
+                } else {
+                    double magnitude = calculator.calculatePower(-a, y);
+                    outRe[i] = scale(magnitude, cosPi(y));
+                    outIm[i] = scale(magnitude, sinPi(y));
+                }
+            } else if (a != a || b != b || y != y) {
+                outRe[i] = Double.NaN;
+                outIm[i] = Double.NaN;
+            } else if (y == 0.0) {
+                outRe[i] = 1.0;
+                outIm[i] = 0.0;
+            } else if (PowerCalculator.isIntegral(y)
+                    && Math.abs(y) <= MAX_SQUARING_EXPONENT) {
+                powerBySquaring(a, b, (int) y, outRe, outIm, i);
+            } else {
+                double magnitude = ExpKernel.exp(y * logModulus(a, b));
+                double angle = y * Math.atan2(b, a);
+                outRe[i] = scale(magnitude, Math.cos(angle));
+                outIm[i] = scale(magnitude, Math.sin(angle));
+            }
+        }
+    }
+
+    /**
+     * Raises a + bi to a small integral power by complex squaring, which
+     * keeps Gaussian integer results such as i^2 = -1 exact. Negative
+     * powers take the reciprocal of the result with Smith's method.
+     *
+     * @param a The real part of the base.
+     * @param b The imaginary part of the base.
+     * @param n The exponent; |n| &lt;= {@value #MAX_SQUARING_EXPONENT}.
+     * @param outRe The array receiving the real part.
+     * @param outIm The array receiving the imaginary part.
+     * @param i The index to store at.
+     */
+    private static void powerBySquaring(final double a, final double b,
+                                        final int n, final double[] outRe,
+                                        final double[] outIm, final int i) {
+        double resultRe = 1.0;
+        double resultIm = 0.0;
+        double squareRe = a;
+        double squareIm = b;
+        for (int remaining = Math.abs(n); remaining != 0; remaining >>>= 1) {
+            if ((remaining & 1) != 0) {
+                double t = resultRe * squareRe - resultIm * squareIm;
+                resultIm = resultRe * squareIm + resultIm * squareRe;
+                resultRe = t;
+            }
+            if (remaining > 1) {
+                double t = squareRe * squareRe - squareIm * squareIm;
+                squareIm = 2.0 * squareRe * squareIm;
+                squareRe = t;
+            }
+        }
+        if (n > 0) {
+            outRe[i] = resultRe;
+            outIm[i] = resultIm;
+        } else if (Math.abs(resultRe) >= Math.abs(resultIm)) {
+            double ratio = resultIm / resultRe;
+            double denominator = resultRe + resultIm * ratio;
+            outRe[i] = 1.0 / denominator;
+            outIm[i] = -ratio / denominator;
+        } else {
+            double ratio = resultRe / resultIm;
+            double denominator = resultRe * ratio + resultIm;
+            outRe[i] = ratio / denominator;
+            outIm[i] = -1.0 / denominator;
+        }
+    }
+
+    /**
+     * Computes ln|a + bi| without overflow in a^2 + b^2.
+     *
+     * @param a The real part.
+     * @param b The imaginary part; not zero.
+     * @return The natural logarithm of the modulus.
+     */
+    static double logModulus(final double a, final double b) {
+        double large = Math.max(Math.abs(a), Math.abs(b));
+        double small = Math.min(Math.abs(a), Math.abs(b));
+        if (large == Double.POSITIVE_INFINITY) {
+            return large;
+        }
+        double ratio = small / large;
+        return LogKernel.log(large) + 0.5 * LogKernel.log(1.0 + ratio * ratio);
+    }
+
+    /**
+     * Computes sin(&pi;y), exact at multiples of 1/2.
+     *
+     * @param y The angle in half turns.
+     * @return sin(&pi;y); NaN for infinite or NaN y.
+     */
+    static double sinPi(final double y) {
+        return sinCosPi(y, true);
+    }
+
+    /**
+     * Computes cos(&pi;y), exact at multiples of 1/2.
+     *
+     * @param y The angle in half turns.
+     * @return cos(&pi;y); NaN for infinite or NaN y.
+     */
+    static double cosPi(final double y) {
+        return sinCosPi(y, false);
+    }
+
+    /**
+     * Reduces y exactly to a quadrant q and a fraction f,
+     * y = 2k + q/2 + f with |f| &lt;= 1/4, and evaluates {@link Math#sin}
+     * or {@link Math#cos} of &pi;f. Since f is exact, results at
+     * multiples of 1/2 are exact zeros and ones.
+     *
+     * @param y The angle in half turns.
+     * @param sine true for sin(&pi;y), false for cos(&pi;y).
+     * @return The sine or cosine.
+     */
+    private static double sinCosPi(final double y, final boolean sine) {
+        if (y - y != 0.0) {
+            return Double.NaN;
+        }
+        // y - 2 rint(y/2) is exact and lies in [-1, 1].
+        double reduced = y - 2.0 * Math.rint(0.5 * y);
+        int quadrant = (int) Math.rint(2.0 * reduced);
+        double angle = Math.PI * (reduced - 0.5 * quadrant);
+        // cos(pi(q/2 + f)) = sin(pi((q + 1)/2 + f)); quadrant 3 is -1.
+        int shifted = sine ? quadrant : quadrant + 1;
+        switch (shifted > 2 ? shifted - 4 : shifted) {
+            case 0:
+                return Math.sin(angle);
+            case 1:
+                return Math.cos(angle);
+            case -1:
+                return -Math.cos(angle);
+            default:
+                // sin(pi(f +- 1)) = -sin(pi f); the zero stays positive.
+                return angle == 0.0 ? 0.0 : -Math.sin(angle);
+        }
+    }
+
+    /**
+     * Returns the imaginary part going with a real-path result.
+     *
+     * @param real The real result.
+     * @return 0, or NaN if the real result is NaN.
+     */
+    private static double imaginaryOfReal(final double real) {
+        return real == real ? 0.0 : Double.NaN;
+    }
+
+    /**
+     * Multiplies a magnitude by a cosine or sine, treating an exact zero
+     * factor as a zero component even for an infinite magnitude.
+     *
+     * @param magnitude The modulus of the result.
+     * @param factor The cosine or sine.
+     * @return The component.
+     */
+    private static double scale(final double magnitude, final double factor) {
+        return factor == 0.0 ? 0.0 : magnitude * factor;
+    }
+}
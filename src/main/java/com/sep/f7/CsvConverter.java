@@ -0,0 +1,195 @@
+package com.sep.f7;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Converts text files of {@code x,y} lines into the
+ * {@link ColumnarFormat}.
+ * <p>
+ * Blank lines are skipped, and so is the first non-blank line if it does
+ * not parse as two numbers (a column header). The text is read twice:
+ * once to count the rows, which fixes the column offsets, and once to
+ * parse them. Parsed values are staged in small direct buffers and written
+ * with positional channel writes, so memory use does not depend on the
+ * file size.
+ */
+public final class CsvConverter {
+
+    /** Number of rows staged before each write. */
+    private static final int CHUNK_ROWS = 8192;
+
+    /** The column separator. */
+    private static final char SEPARATOR = ',';
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private CsvConverter() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Converts a CSV file into a columnar file with pending results.
+     *
+     * @param csv The text file of {@code x,y} lines.
+     * @param columnar The columnar file to create or replace.
+     * @return The number of rows written.
+     * @throws IOException If a file cannot be read or written, or a line
+     * does not hold two numbers.
+     */
+    public static long convert(final Path csv, final Path columnar)
+            throws IOException {
+        long rows = countRows(csv);
+        try (BufferedReader reader = Files.newBufferedReader(csv,
+                StandardCharsets.UTF_8);
+             FileChannel out = FileChannel.open(columnar,
+                     StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(
+                    ColumnarFormat.HEADER_BYTES);
+            ColumnarFormat.writeHeader(header, rows);
+            writeFully(out, header, 0);
+            ByteBuffer bases = ByteBuffer.allocateDirect(
+                    CHUNK_ROWS * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            ByteBuffer exponents = ByteBuffer.allocateDirect(
+                    CHUNK_ROWS * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            long exponentsOffset = ColumnarFormat.exponentsOffset(rows);
+            long written = 0;
+            long parsed = 0;
+            boolean first = true;
+            int lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                double[] pair = parse(line);
+                if (pair == null) {
+                    if (first) {
+                        first = false;
+                        continue;
+                    }
+                    throw new IOException("Line " + lineNumber
+                            + ": expected x,y but found '" + line + "'");
+                }
+                first = false;
+                if (++parsed > rows) {
+                    throw new IOException(csv + " changed during conversion");
+                }
+                bases.putDouble(pair[0]);
+                exponents.putDouble(pair[1]);
+                if (!bases.hasRemaining()) {
+                    flush(out, bases, exponents, written, exponentsOffset);
+                    written += CHUNK_ROWS;
+                }
+            }
+            flush(out, bases, exponents, written, exponentsOffset);
+            if (rows > 0) {
+                // Extend the file over the pending results and statuses.
+                writeFully(out, ByteBuffer.wrap(
+                        new byte[] {ColumnarFormat.STATUS_PENDING}),
+                        ColumnarFormat.fileSize(rows) - 1);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Counts the data rows of a CSV file, applying the header rule of
+     * {@link #convert(Path, Path)}.
+     *
+     * @param csv The text file.
+     * @return The number of data rows.
+     * @throws IOException If the file cannot be read.
+     */
+    private static long countRows(final Path csv) throws IOException {
+        long rows = 0;
+        boolean first = true;
+        try (BufferedReader reader = Files.newBufferedReader(csv,
+                StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                if (!first || parse(line) != null) {
+                    rows++;
+                }
+                first = false;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Parses an {@code x,y} line.
+     *
+     * @param line The line.
+     * @return The pair, or null if the line does not hold two numbers.
+     */
+    static double[] parse(final String line) {
+        int separator = line.indexOf(SEPARATOR);
+        if (separator < 0 || line.indexOf(SEPARATOR, separator + 1) >= 0) {
+            return null;
+        }
+        try {
+            return new double[] {
+                    Double.parseDouble(line.substring(0, separator).trim()),
+                    Double.parseDouble(line.substring(separator + 1).trim())
+            };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes the staged bases and exponents of a chunk to their columns.
+     *
+     * @param out The columnar file.
+     * @param bases The staged bases.
+     * @param exponents The staged exponents.
+     * @param firstRow The row index of the first staged value.
+     * @param exponentsOffset The offset of the exponent column.
+     * @throws IOException If a write fails.
+     */
+    private static void flush(final FileChannel out, final ByteBuffer bases,
+                              final ByteBuffer exponents, final long firstRow,
+                              final long exponentsOffset) throws IOException {
+        // Through Buffer: JDK 9+ links ByteBuffer.flip() and clear() to
+        // overrides that Java 8 lacks.
+        ((Buffer) bases).flip();
+        ((Buffer) exponents).flip();
+        writeFully(out, bases,
+                ColumnarFormat.HEADER_BYTES + firstRow * Double.BYTES);
+        writeFully(out, exponents, exponentsOffset + firstRow * Double.BYTES);
+        ((Buffer) bases).clear();
+        ((Buffer) exponents).clear();
+    }
+
+    /**
+     * Writes all remaining bytes of a buffer at a file position.
+     *
+     * @param out The file.
+     * @param buffer The bytes to write.
+     * @param position The file position of the first byte.
+     * @throws IOException If a write fails.
+     */
+    private static void writeFully(final FileChannel out,
+                                   final ByteBuffer buffer,
+                                   final long position) throws IOException {
+        long at = position;
+        while (buffer.hasRemaining()) {
+            at += out.write(buffer, at);
+        }
+    }
+}
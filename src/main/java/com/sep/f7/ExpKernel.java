@@ -0,0 +1,260 @@
+package com.sep.f7;
+
+/**
+ * Fixed-cost kernel for the exponential function e^x.
+ * <p>
+ * The argument is split as x = (32m + j)&middot;ln2/32 + r with
+ * |r| &lt;= ln2/64. e^r is evaluated with a degree-6 polynomial, multiplied
+ * by the tabulated value 2^(j/32), and scaled by 2^m directly through the
+ * exponent bits. Every call therefore costs the same handful of
+ * floating-point operations regardless of the size of x, and the result
+ * is within about one unit in the last place of the true value.
+ * {@link #expReduced(double)} stops the polynomial at degree 3, for a
+ * relative error below 6e-10.
+ */
+final class ExpKernel {
+
+    /** Number of table entries per octave; a power of two. */
+    private static final int TABLE_BITS = 5;
+
+    /** Number of table entries, 2^TABLE_BITS. */
+    private static final int TABLE_SIZE = 1 << TABLE_BITS;
+
+    /** 32 / ln2, used to find the nearest multiple of ln2/32. */
+    private static final double INV_LN2_OVER_N = 0x1.71547652b82fep+5;
+
+    /**
+     * High part of ln2/32 with enough trailing zero bits that k times it
+     * is exact for every reachable k.
+     */
+    private static final double LN2_OVER_N_HI = 0x1.62e42feep-6;
+
+    /** Low part of ln2/32, so that HI + LO matches ln2/32 to ~2^-86. */
+    private static final double LN2_OVER_N_LO = 0x1.a39ef35793c76p-38;
+
+    /** Above this argument e^x overflows to infinity. */
+    private static final double OVERFLOW_THRESHOLD = 0x1.62e42fefa39efp+9;
+
+    /** Below this argument e^x underflows to zero. */
+    private static final double UNDERFLOW_THRESHOLD = -0x1.74910d52d3052p+9;
+
+    /** ln2, rounded to double. */
+    private static final double LN2 = 0x1.62e42fefa39efp-1;
+
+    /** At or above this argument 2^t overflows to infinity. */
+    private static final double EXP2_OVERFLOW_THRESHOLD = 1024.0;
+
+    /** Below this argument 2^t underflows to zero. */
+    private static final double EXP2_UNDERFLOW_THRESHOLD = -1075.0;
+
+    /** Taylor coefficient 1/2. */
+    private static final double C2 = 0.5;
+
+    /** Taylor coefficient 1/6. */
+    private static final double C3 = 1.0 / 6.0;
+
+    /** Taylor coefficient 1/24. */
+    private static final double C4 = 1.0 / 24.0;
+
+    /** Taylor coefficient 1/120. */
+    private static final double C5 = 1.0 / 120.0;
+
+    /** Taylor coefficient 1/720. */
+    private static final double C6 = 1.0 / 720.0;
+
+    /** Number of explicit mantissa bits in a double. */
+    private static final int MANTISSA_BITS = 52;
+
+    /** Exponent bias of a double. */
+    private static final int EXPONENT_BIAS = 1023;
+
+    /** Largest unbiased exponent of a normal double. */
+    private static final int MAX_EXPONENT = 1023;
+
+    /** Smallest unbiased exponent of a normal double. */
+    private static final int MIN_EXPONENT = -1022;
+
+    /** Extra scaling used to step into the subnormal range. */
+    private static final int SUBNORMAL_SHIFT = 54;
+
+    /** 2^(j/32) for j = 0..31, each correctly rounded. */
+    private static final double[] TWO_POW_J_OVER_N = {
+            0x1.0000000000000p+0, 0x1.059b0d3158574p+0,
+            0x1.0b5586cf9890fp+0, 0x1.11301d0125b51p+0,
+            0x1.172b83c7d517bp+0, 0x1.1d4873168b9aap+0,
+            0x1.2387a6e756238p+0, 0x1.29e9df51fdee1p+0,
+            0x1.306fe0a31b715p+0, 0x1.371a7373aa9cbp+0,
+            0x1.3dea64c123422p+0, 0x1.44e086061892dp+0,
+            0x1.4bfdad5362a27p+0, 0x1.5342b569d4f82p+0,
+            0x1.5ab07dd485429p+0, 0x1.6247eb03a5585p+0,
+            0x1.6a09e667f3bcdp+0, 0x1.71f75e8ec5f74p+0,
+            0x1.7a11473eb0187p+0, 0x1.82589994cce13p+0,
+            0x1.8ace5422aa0dbp+0, 0x1.93737b0cdc5e5p+0,
+            0x1.9c49182a3f090p+0, 0x1.a5503b23e255dp+0,
+            0x1.ae89f995ad3adp+0, 0x1.b7f76f2fb5e47p+0,
+            0x1.c199bdd85529cp+0, 0x1.cb720dcef9069p+0,
+            0x1.d5818dcfba487p+0, 0x1.dfc97337b9b5fp+0,
+            0x1.ea4afa2a490dap+0, 0x1.f50765b6e4540p+0
+    };
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private ExpKernel() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Computes e^x.
+     *
+     * @param x The exponent value.
+     * @return e raised to the power of x; NaN for NaN, 0 and infinity at
+     * the ends of the range.
+     */
+    static double exp(final double x) {
+        if (x != x) {
+            return x;
+        }
+        if (x > OVERFLOW_THRESHOLD) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (x < UNDERFLOW_THRESHOLD) {
+            return 0.0;
+        }
+        int k = (int) Math.rint(x * INV_LN2_OVER_N);
+        double r = (x - k * LN2_OVER_N_HI) - k * LN2_OVER_N_LO;
+        return scale(k, r);
+    }
+
+    /**
+     * Computes e^(hi + lo) for an argument carried in two parts, so that
+     * the rounding error of a product such as y&middot;ln x does not
+     * reach the result.
+     *
+     * @param hi The leading part of the argument.
+     * @param lo A correction much smaller than one unit of hi.
+     * @return e raised to the power of hi + lo.
+     */
+    static double exp(final double hi, final double lo) {
+        if (hi != hi) {
+            return hi;
+        }
+        if (hi > OVERFLOW_THRESHOLD) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (hi < UNDERFLOW_THRESHOLD) {
+            return 0.0;
+        }
+        int k = (int) Math.rint(hi * INV_LN2_OVER_N);
+        double r = ((hi - k * LN2_OVER_N_HI) - k * LN2_OVER_N_LO) + lo;
+        return scale(k, r);
+    }
+
+    /**
+     * Computes e^x with a degree-3 polynomial on the reduced argument.
+     * Since |r| &lt;= ln2/64, the truncation error r^4/24 keeps the relative
+     * error below 6e-10.
+     *
+     * @param x The exponent value.
+     * @return e raised to the power of x, with the special cases of
+     * {@link #exp(double)}.
+     */
+    static double expReduced(final double x) {
+        if (x != x) {
+            return x;
+        }
+        if (x > OVERFLOW_THRESHOLD) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (x < UNDERFLOW_THRESHOLD) {
+            return 0.0;
+        }
+        int k = (int) Math.rint(x * INV_LN2_OVER_N);
+        double r = (x - k * LN2_OVER_N_HI) - k * LN2_OVER_N_LO;
+        double p = r + r * r * (C2 + r * C3);
+        double t = TWO_POW_J_OVER_N[k & (TABLE_SIZE - 1)];
+        return scaleByPowerOfTwo(t + t * p, k >> TABLE_BITS);
+    }
+
+    /**
+     * Computes 2^t with the same reduction as {@link #exp(double)}: the
+     * nearest multiple k/32 is split off exactly, so only the small
+     * remainder is multiplied by ln2.
+     *
+     * @param t The exponent value.
+     * @return 2 raised to the power of t.
+     */
+    static double exp2(final double t) {
+        return exp2(t, 0.0);
+    }
+
+    /**
+     * Computes 2^(hi + lo) for an exponent carried in two parts, so that
+     * the rounding error of a product such as k&middot;y does not reach
+     * the result.
+     *
+     * @param hi The leading part of the exponent.
+     * @param lo A correction much smaller than one unit of hi.
+     * @return 2 raised to the power of hi + lo.
+     */
+    static double exp2(final double hi, final double lo) {
+        if (hi != hi) {
+            return hi;
+        }
+        if (hi >= EXP2_OVERFLOW_THRESHOLD) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (hi < EXP2_UNDERFLOW_THRESHOLD) {
+            return 0.0;
+        }
+        int k = (int) Math.rint(hi * TABLE_SIZE);
+        double r = ((hi - (double) k / TABLE_SIZE) + lo) * LN2;
+        return scale(k, r);
+    }
+
+    /**
+     * Computes 2^(k/32) &middot; e^r for a reduced argument |r| &lt;= ln2/64.
+     *
+     * @param k The multiple of ln2/32 removed from the argument.
+     * @param r The reduced argument.
+     * @return 2^(k/32) &middot; e^r.
+     */
+    static double scale(final int k, final double r) {
+        double r2 = r * r;
+        double p = r + r2 * (C2 + r * C3 + r2 * (C4 + r * C5 + r2 * C6));
+        double t = TWO_POW_J_OVER_N[k & (TABLE_SIZE - 1)];
+        return scaleByPowerOfTwo(t + t * p, k >> TABLE_BITS);
+    }
+
+    /**
+     * Multiplies a value close to one by 2^n by building the scale factor
+     * directly from its exponent bits. Results that land in the subnormal
+     * range are rounded only once.
+     *
+     * @param value The value to scale.
+     * @param n The power of two, within [-1080, 1025].
+     * @return value &middot; 2^n.
+     */
+    static double scaleByPowerOfTwo(final double value, final int n) {
+        if (n > MAX_EXPONENT) {
+            return value * powerOfTwo(MAX_EXPONENT)
+                    * powerOfTwo(n - MAX_EXPONENT);
+        }
+        if (n < MIN_EXPONENT) {
+            return value * powerOfTwo(n + SUBNORMAL_SHIFT)
+                    * powerOfTwo(-SUBNORMAL_SHIFT);
+        }
+        return value * powerOfTwo(n);
+    }
+
+    /**
+     * Builds 2^n for a normal exponent.
+     *
+     * @param n The exponent, within [-1022, 1023].
+     * @return 2^n.
+     */
+    private static double powerOfTwo(final int n) {
+        return Double.longBitsToDouble(
+                (long) (n + EXPONENT_BIAS) << MANTISSA_BITS);
+    }
+}
@@ -0,0 +1,166 @@
+package com.sep.f7;
+
+/**
+ * Fixed-cost kernel for x^y with y&middot;ln x carried in double-double
+ * precision.
+ * <p>
+ * exp(y&middot;ln x) in plain double loses |y&middot;ln x| units in the
+ * last place of ln x, which is harmless for small exponents but reaches
+ * billions of units for exponents near 2^53 with bases near one. Here
+ * x = m&middot;2^e with m in [sqrt(1/2), sqrt(2)), and
+ * ln m = 2 atanh(s) with s = (m - 1)/(m + 1), |s| &lt;= 0.1716. s, s^2 and
+ * the leading terms 2s + (2/3)s^3 are kept as unevaluated sums hi + lo
+ * whose products are split exactly with Dekker's algorithm, so ln x has
+ * a relative error near 2^-66 and the product with y near 2^-64 of
+ * |y&middot;ln x| &lt;= 745. {@link ExpKernel#exp(double, double)} then
+ * rounds the two-part argument once. The result is within a few units
+ * in the last place whatever the magnitude of y.
+ */
+final class ExtendedPowerKernel {
+
+    /** Dekker's splitting factor 2^27 + 1. */
+    private static final double SPLIT = 0x1.0p27 + 1.0;
+
+    /** Mantissas above this are folded into the next octave. */
+    private static final double SQRT2 = 0x1.6a09e667f3bcdp0;
+
+    /** High part of ln2 with trailing zero bits, exact when scaled by e. */
+    private static final double LN2_HI = 0x1.62e42fee00000p-1;
+
+    /** Low part of ln2. */
+    private static final double LN2_LO = 0x1.a39ef35793c76p-33;
+
+    /** High part of 2/3. */
+    private static final double TWO_THIRDS_HI = 2.0 / 3.0;
+
+    /** Low part of 2/3, the rounding error of the high part. */
+    private static final double TWO_THIRDS_LO = 0x1.5555555555555p-55;
+
+    /** Number of explicit mantissa bits in a double. */
+    private static final int MANTISSA_BITS = 52;
+
+    /** Mask selecting the explicit mantissa bits of a double. */
+    private static final long MANTISSA_MASK = (1L << MANTISSA_BITS) - 1;
+
+    /** Raw exponent field of 1.0, i.e. the exponent bias. */
+    private static final long ONE_EXPONENT_BITS = 1023L << MANTISSA_BITS;
+
+    /** Exponent bias of a double. */
+    private static final int EXPONENT_BIAS = 1023;
+
+    /** Scale factor 2^54 applied to subnormal inputs. */
+    private static final double TWO_POW_54 = 0x1.0p54;
+
+    /** Power of two matching {@link #TWO_POW_54}. */
+    private static final int SUBNORMAL_SHIFT = 54;
+
+    /**
+     * Coefficients 2/(2k + 1) of s^(2k + 1) in 2 atanh(s), from k = 2;
+     * terms beyond s^27 are below 2^-70 of the sum.
+     */
+    private static final double[] ATANH_TAIL = {
+        2.0 / 5, 2.0 / 7, 2.0 / 9, 2.0 / 11, 2.0 / 13, 2.0 / 15,
+        2.0 / 17, 2.0 / 19, 2.0 / 21, 2.0 / 23, 2.0 / 25, 2.0 / 27,
+    };
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private ExtendedPowerKernel() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Computes x^y for a positive base.
+     *
+     * @param x The base; positive and finite.
+     * @param y The exponent; finite.
+     * @return x raised to the power of y.
+     */
+    static double power(final double x, final double y) {
+        double normal = x;
+        int exponent = 0;
+        if (x < Double.MIN_NORMAL) {
+            normal = x * TWO_POW_54;
+            exponent = -SUBNORMAL_SHIFT;
+        }
+        long bits = Double.doubleToRawLongBits(normal);
+        exponent += (int) (bits >>> MANTISSA_BITS) - EXPONENT_BIAS;
+        double m = Double.longBitsToDouble(
+                (bits & MANTISSA_MASK) | ONE_EXPONENT_BITS);
+        if (m > SQRT2) {
+            m *= 0.5;
+            exponent++;
+        }
+
+        // s = (m - 1)/(m + 1); m - 1 is exact, m + 1 by two-sum.
+        double f = m - 1.0;
+        double dHi = m + 1.0;
+        double back = dHi - m;
+        double dLo = (m - (dHi - back)) + (1.0 - back);
+        double sHi = f / dHi;
+        double p = sHi * dHi;
+        double sLo = (((f - p) - productError(sHi, dHi, p)) - sHi * dLo)
+                / dHi;
+
+        // s^2 = s2Hi + s2Lo.
+        double s2Hi = sHi * sHi;
+        double s2Lo = productError(sHi, sHi, s2Hi) + 2.0 * sHi * sLo;
+
+        // a = 2/3 + s^2 (2/5 + s^2 (2/7 + ...)), the tail in double and
+        // in Estrin's order, which shortens the chain of dependent steps.
+        double s4 = s2Hi * s2Hi;
+        double s8 = s4 * s4;
+        double[] t = ATANH_TAIL;
+        double q0 = (t[0] + t[1] * s2Hi) + (t[2] + t[3] * s2Hi) * s4;
+        double q1 = (t[4] + t[5] * s2Hi) + (t[6] + t[7] * s2Hi) * s4;
+        double q2 = (t[8] + t[9] * s2Hi) + (t[10] + t[11] * s2Hi) * s4;
+        double tail = s2Hi * (q0 + q1 * s8 + q2 * (s8 * s8));
+        double aHi = TWO_THIRDS_HI + tail;
+        double aLo = (TWO_THIRDS_HI - aHi) + tail + TWO_THIRDS_LO;
+
+        // b = s^2 a, then c = s b = s^3 a.
+        double bHi = s2Hi * aHi;
+        double bLo = productError(s2Hi, aHi, bHi) + s2Hi * aLo + s2Lo * aHi;
+        double cHi = sHi * bHi;
+        double cLo = productError(sHi, bHi, cHi) + sHi * bLo + sLo * bHi;
+
+        // ln m = 2s + c, exact two-sum since |2s| >= |c|.
+        double lnHi = 2.0 * sHi + cHi;
+        double lnLo = (2.0 * sHi - lnHi) + cHi + cLo + 2.0 * sLo;
+
+        // ln x = e ln2 + ln m; e LN2_HI is exact.
+        double scaled = exponent * LN2_HI;
+        double sum = scaled + lnHi;
+        double other = sum - scaled;
+        double sumLo = (scaled - (sum - other)) + (lnHi - other)
+                + lnLo + exponent * LN2_LO;
+        double logHi = sum + sumLo;
+        double logLo = sumLo - (logHi - sum);
+
+        // y ln x.
+        double tHi = y * logHi;
+        double tLo = productError(y, logHi, tHi) + y * logLo;
+        return ExpKernel.exp(tHi, tLo);
+    }
+
+    /**
+     * Returns the rounding error of a product, a&middot;b - p, exactly,
+     * using Dekker's splitting since Java 8 has no fused multiply-add.
+     *
+     * @param a The first factor.
+     * @param b The second factor.
+     * @param p The rounded product a&middot;b.
+     * @return a&middot;b - p.
+     */
+    private static double productError(final double a, final double b,
+                                       final double p) {
+        double ca = SPLIT * a;
+        double aHi = ca - (ca - a);
+        double aLo = a - aHi;
+        double cb = SPLIT * b;
+        double bHi = cb - (cb - b);
+        double bLo = b - bHi;
+        return ((aHi * bHi - p) + aHi * bLo + aLo * bHi) + aLo * bLo;
+    }
+}
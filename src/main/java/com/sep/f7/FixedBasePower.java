@@ -0,0 +1,177 @@
+package com.sep.f7;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * x^y for a fixed base x, created by {@link PowerCalculator#forBase(double)}.
+ * <p>
+ * ln|x| and the case analysis on the base are done once at construction,
+ * so a fractional exponent costs a single exp per call. Results match
+ * {@link PowerCalculator#calculatePower(double, double)} bit for bit,
+ * except for bases that are exact powers of two, &plusmn;2^k. For those,
+ * integral exponents are assembled directly in the exponent bits, which
+ * is exact, and fractional exponents use 2^(k&middot;y) with k&middot;y
+ * carried exactly, accurate to one unit in the last place.
+ * <p>
+ * Instances are immutable and therefore thread-safe.
+ */
+public final class FixedBasePower implements DoubleUnaryOperator {
+
+    /** Number of explicit mantissa bits in a double. */
+    private static final int MANTISSA_BITS = 52;
+
+    /** Mask selecting the explicit mantissa bits of a double. */
+    private static final long MANTISSA_MASK = (1L << MANTISSA_BITS) - 1;
+
+    /** Exponent bias of a double. */
+    private static final int EXPONENT_BIAS = 1023;
+
+    /** Largest raw exponent field of a finite double. */
+    private static final int MAX_EXPONENT_FIELD = 2046;
+
+    /** Power of two of the smallest subnormal, 2^-1074. */
+    private static final int MIN_SUBNORMAL_EXPONENT = -1074;
+
+    /** Largest power of two below infinity. */
+    private static final int MAX_EXPONENT = 1023;
+
+    /** Integral exponents up to this magnitude use exact bit assembly. */
+    private static final double MAX_EXACT_EXPONENT = 0x1.0p31;
+
+    /** Clears the low 12 mantissa bits, leaving 41 significant bits. */
+    private static final long SPLIT_MASK = ~((1L << 12) - 1);
+
+    /** How the base is handled. */
+    private enum Kind {
+        /** x is zero. */
+        ZERO,
+        /** |x| is an exact power of two. */
+        POWER_OF_TWO,
+        /** Any other base, including NaN and infinity. */
+        GENERAL
+    }
+
+    /** Scalar path shared with {@link PowerCalculator}. */
+    private static final PowerCalculator CALCULATOR = new PowerCalculator();
+
+    /** The base. */
+    private final double base;
+
+    /** The case analysis of the base. */
+    private final Kind kind;
+
+    /** ln|x| for {@link Kind#GENERAL} bases. */
+    private final double logAbsBase;
+
+    /** k such that |x| = 2^k for {@link Kind#POWER_OF_TWO} bases. */
+    private final int binaryExponent;
+
+    /**
+     * Analyzes the base; use {@link PowerCalculator#forBase(double)}.
+     *
+     * @param x The base value.
+     */
+    FixedBasePower(final double x) {
+        this.base = x;
+        long bits = Double.doubleToRawLongBits(x) & Long.MAX_VALUE;
+        int field = (int) (bits >>> MANTISSA_BITS);
+        if (x == 0.0) {
+            kind = Kind.ZERO;
+            binaryExponent = 0;
+        } else if (field == 0 && (bits & (bits - 1)) == 0) {
+            kind = Kind.POWER_OF_TWO;
+            binaryExponent = MIN_SUBNORMAL_EXPONENT
+                    + Long.numberOfTrailingZeros(bits);
+        } else if ((bits & MANTISSA_MASK) == 0 && field != 0
+                && field <= MAX_EXPONENT_FIELD) {
+            kind = Kind.POWER_OF_TWO;
+            binaryExponent = field - EXPONENT_BIAS;
+        } else {
+            kind = Kind.GENERAL;
+            binaryExponent = 0;
+        }
+        logAbsBase = kind == Kind.GENERAL
+                ? LogKernel.log(Math.abs(x)) : 0.0;
+    }
+
+    /**
+     * Returns the base this function was created for.
+     *
+     * @return The base value.
+     */
+    public double getBase() {
+        return base;
+    }
+
+    /**
+     * Calculates the fixed base raised to the power of y.
+     *
+     * @param y The exponent value.
+     * @return The result of x raised to the power of y.
+     */
+    public double calculatePower(final double y) {
+        switch (kind) {
+            case ZERO:
+                if (y == 0.0) {
+                    return 1.0;
+                }
+                return y < 0.0 ? Double.POSITIVE_INFINITY : 0.0;
+            case POWER_OF_TWO:
+                return powerOfTwo(y);
+            default:
+                if (PowerCalculator.isIntegral(y)) {
+                    return CALCULATOR.calculatePowerIntegralExponent(base, y);
+                }
+                if (base < 0.0) {
+                    return Double.NaN;
+                }
+                return ExpKernel.exp(y * logAbsBase);
+        }
+    }
+
+    /**
+     * Same as {@link #calculatePower(double)}.
+     *
+     * @param y The exponent value.
+     * @return The result of x raised to the power of y.
+     */
+    @Override
+    public double applyAsDouble(final double y) {
+        return calculatePower(y);
+    }
+
+    /**
+     * Evaluates (&plusmn;2^k)^y.
+     *
+     * @param y The exponent value.
+     * @return The result of x raised to the power of y.
+     */
+    private double powerOfTwo(final double y) {
+        if (!PowerCalculator.isIntegral(y)) {
+            if (base < 0.0) {
+                return Double.NaN;
+            }
+            // k has at most 11 bits, so k times the top 41 bits of y is
+            // exact and only the tiny k * yLo term is rounded.
+            double yHi = Double.longBitsToDouble(
+                    Double.doubleToRawLongBits(y) & SPLIT_MASK);
+            double yLo = y - yHi;
+            return ExpKernel.exp2(binaryExponent * yHi,
+                    binaryExponent * yLo);
+        }
+        if (Math.abs(y) > MAX_EXACT_EXPONENT) {
+            return CALCULATOR.calculatePowerIntegralExponent(base, y);
+        }
+        long n = (long) y;
+        long scale = binaryExponent * n;
+        double magnitude;
+        if (scale > MAX_EXPONENT) {
+            magnitude = Double.POSITIVE_INFINITY;
+        } else if (scale < MIN_SUBNORMAL_EXPONENT) {
+            magnitude = 0.0;
+        } else {
+            magnitude = ExpKernel.scaleByPowerOfTwo(1.0, (int) scale);
+        }
+        return base < 0.0 && (n & 1L) != 0 ? -magnitude : magnitude;
+    }
+}
@@ -0,0 +1,314 @@
+package com.sep.f7;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * x^y for a fixed exponent y, created by
+ * {@link PowerCalculator#forExponent(double)}.
+ * <p>
+ * The exponent is analyzed once and one of the following kernels is
+ * chosen:
+ * <ul>
+ *   <li>integers with |y| &lt;= {@value #MAX_CHAIN_EXPONENT}: an optimal
+ *   addition chain written out as straight-line multiplications, e.g.
+ *   x^15 = ((x^2&middot;x)^2)^2&middot;x^3 in five multiplications instead
+ *   of six;</li>
+ *   <li>other integers:
+ *   {@link PowerCalculator#calculatePowerIntegerExponent(double, long)},
+ *   which squares small exponents and evaluates large ones in
+ *   double-double precision;</li>
+ *   <li>halves n + 1/2 and thirds n + 1/3, n + 2/3 with small n: x^n times
+ *   {@link Math#sqrt(double)} or {@link Math#cbrt(double)}, which are
+ *   faster and more accurate than exp/log;</li>
+ *   <li>anything else: the generic exp(y&middot;ln x) path.</li>
+ * </ul>
+ * Special cases (zero, negative and non-finite bases) follow
+ * {@link PowerCalculator#calculatePower(double, double)}. Specialized
+ * kernels are usually more accurate than the generic path and may differ
+ * from it by a few units in the last place. Thirds are treated as exact
+ * thirds: {@code forExponent(1.0 / 3)} is the true cube root, which differs
+ * from x^0.33333333333333331 by less than |ln x|&middot;2^-54 relative.
+ * Instances are immutable and therefore thread-safe.
+ */
+public final class FixedExponentPower implements DoubleUnaryOperator {
+
+    /** Largest |y| evaluated with a hard-coded addition chain. */
+    public static final int MAX_CHAIN_EXPONENT = 16;
+
+    /** Root kernels are used for |y| below this, keeping |n| &lt;= 16. */
+    private static final int MAX_ROOT_EXPONENT = 16;
+
+    /** How the exponent is handled. */
+    private enum Kind {
+        /** y is zero. */
+        ZERO,
+        /** Small integer, addition chain. */
+        CHAIN,
+        /** Any other integer, the integral path of PowerCalculator. */
+        INTEGER,
+        /** n + 1/2. */
+        HALF,
+        /** n + 1/3 or n + 2/3. */
+        THIRD,
+        /** Everything else. */
+        GENERAL
+    }
+
+    /** Scalar path shared with {@link PowerCalculator}. */
+    private static final PowerCalculator CALCULATOR = new PowerCalculator();
+
+    /** The exponent. */
+    private final double exponent;
+
+    /** The kernel chosen for the exponent. */
+    private final Kind kind;
+
+    /** Integer exponent, or the integer part n of a root exponent. */
+    private final int integerPart;
+
+    /** Numerator r of the fractional part r/3 of a third exponent. */
+    private final int thirds;
+
+    /**
+     * Analyzes the exponent; use {@link PowerCalculator#forExponent(double)}.
+     *
+     * @param y The exponent value.
+     */
+    FixedExponentPower(final double y) {
+        this.exponent = y;
+        int part = 0;
+        int r = 0;
+        Kind k = Kind.GENERAL;
+        if (y == 0.0) {
+            k = Kind.ZERO;
+        } else if (PowerCalculator.isIntegral(y)) {
+            if (Math.abs(y) <= MAX_CHAIN_EXPONENT) {
+                k = Kind.CHAIN;
+                part = (int) y;
+            } else {
+                k = Kind.INTEGER;
+            }
+        } else if (Math.abs(y) < MAX_ROOT_EXPONENT) {
+            double twice = 2.0 * y;
+            double thrice = Math.rint(3.0 * y);
+            if (PowerCalculator.isIntegral(twice)) {
+                k = Kind.HALF;
+                part = (int) Math.floor(y);
+            } else if (thrice / 3.0 == y) {
+                k = Kind.THIRD;
+                part = (int) Math.floor(y);
+                r = (int) thrice - 3 * part;
+            }
+        }
+        this.kind = k;
+        this.integerPart = part;
+        this.thirds = r;
+    }
+
+    /**
+     * Returns the exponent this function was created for.
+     *
+     * @return The exponent value.
+     */
+    public double getExponent() {
+        return exponent;
+    }
+
+    /**
+     * Calculates x raised to the fixed exponent.
+     *
+     * @param x The base value.
+     * @return The result of x raised to the power of y.
+     */
+    public double calculatePower(final double x) {
+        if (x == 0.0) {
+            if (exponent == 0.0) {
+                return 1.0;
+            }
+            return exponent < 0.0 ? Double.POSITIVE_INFINITY : 0.0;
+        }
+        switch (kind) {
+            case ZERO:
+                return 1.0;
+            case CHAIN:
+                return integerPower(x, integerPart);
+            case INTEGER:
+                return CALCULATOR.calculatePowerIntegralExponent(x, exponent);
+            case HALF:
+                return rootPower(x, x < 0.0 ? Double.NaN : Math.sqrt(x));
+            case THIRD:
+                if (x < 0.0) {
+                    return Double.NaN;
+                }
+                double root = Math.cbrt(x);
+                return rootPower(x, thirds == 1 ? root : root * root);
+            default:
+                return CALCULATOR.calculatePower(x, exponent);
+        }
+    }
+
+    /**
+     * Same as {@link #calculatePower(double)}.
+     *
+     * @param x The base value.
+     * @return The result of x raised to the power of y.
+     */
+    @Override
+    public double applyAsDouble(final double x) {
+        return calculatePower(x);
+    }
+
+    /**
+     * Calculates xs[i] raised to the fixed exponent for every index.
+     * Specialized exponents use the kernels above; the generic case uses
+     * the same batch kernel as
+     * {@link PowerCalculator#calculatePower(double[], double, double[])}.
+     *
+     * @param xs The base values.
+     * @param out The array receiving the results; may alias xs.
+     * @throws IllegalArgumentException If the array lengths differ.
+     */
+    public void calculatePower(final double[] xs, final double[] out) {
+        BatchKernels.checkLengths(xs.length, out);
+        calculatePower(xs, out, 0, out.length);
+    }
+
+    /**
+     * Evaluates a range of a batch.
+     *
+     * @param xs The base values.
+     * @param out The array receiving the results.
+     * @param from The first index, inclusive.
+     * @param to The last index, exclusive.
+     */
+    void calculatePower(final double[] xs, final double[] out,
+                        final int from, final int to) {
+        if (kind == Kind.GENERAL) {
+            BatchKernels.PREFERRED.power(xs, exponent, out, from, to);
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            out[i] = calculatePower(xs[i]);
+        }
+    }
+
+    /**
+     * Combines x^n with a root of x. If x^n alone leaves the finite range
+     * the result is rebuilt as a power of the root itself, e.g.
+     * sqrt(x)^(2n+1), which stays in range whenever the result does.
+     *
+     * @param x The base value.
+     * @param root sqrt(x), cbrt(x) or cbrt(x)^2.
+     * @return The result of x raised to the power of y.
+     */
+    private double rootPower(final double x, final double root) {
+        double whole = integerPart == 0 ? 1.0 : integerPower(x, integerPart);
+        if (whole != 0.0 && whole - whole == 0.0) {
+            return whole * root;
+        }
+        if (kind == Kind.HALF) {
+            return CALCULATOR.calculatePowerIntegerExponent(root,
+                    2L * integerPart + 1);
+        }
+        return CALCULATOR.calculatePowerIntegerExponent(Math.cbrt(x),
+                3L * integerPart + thirds);
+    }
+
+    /**
+     * x^n for 1 &lt;= |n| &lt;= 16 using the addition chains.
+     *
+     * @param x The base value.
+     * @param n The exponent.
+     * @return x^n.
+     */
+    private static double integerPower(final double x, final int n) {
+        if (n > 0) {
+            return chain(x, n);
+        }
+        double power = chain(x, -n);
+        if (power == Double.POSITIVE_INFINITY
+                || power == Double.NEGATIVE_INFINITY) {
+            return chain(1.0 / x, -n);
+        }
+        return 1.0 / power;
+    }
+
+    /**
+     * Shortest addition chains for 1 &lt;= n &lt;= 16.
+     *
+     * @param x The base value.
+     * @param n The exponent.
+     * @return x^n.
+     */
+    private static double chain(final double x, final int n) {
+        double x2 = x * x;
+        switch (n) {
+            case 1:
+                return x;
+            case 2:
+                return x2;
+            case 3:
+                return x2 * x;
+            case 4:
+                return x2 * x2;
+            case 5:
+                return x2 * x2 * x;
+            case 6: {
+                double x3 = x2 * x;
+                return x3 * x3;
+            }
+            case 7: {
+                double x3 = x2 * x;
+                return x3 * x3 * x;
+            }
+            case 8: {
+                double x4 = x2 * x2;
+                return x4 * x4;
+            }
+            case 9: {
+                double x3 = x2 * x;
+                double x6 = x3 * x3;
+                return x6 * x3;
+            }
+            case 10: {
+                double x5 = x2 * x2 * x;
+                return x5 * x5;
+            }
+            case 11: {
+                double x3 = x2 * x;
+                double x5 = x3 * x2;
+                return x5 * x5 * x;
+            }
+            case 12: {
+                double x3 = x2 * x;
+                double x6 = x3 * x3;
+                return x6 * x6;
+            }
+            case 13: {
+                double x3 = x2 * x;
+                double x5 = x3 * x2;
+                double x10 = x5 * x5;
+                return x10 * x3;
+            }
+            case 14: {
+                double x3 = x2 * x;
+                double x7 = x3 * x3 * x;
+                return x7 * x7;
+            }
+            case 15: {
+                double x3 = x2 * x;
+                double x6 = x3 * x3;
+                double x12 = x6 * x6;
+                return x12 * x3;
+            }
+            case 16: {
+                double x4 = x2 * x2;
+                double x8 = x4 * x4;
+                return x8 * x8;
+            }
+            default:
+                throw new IllegalArgumentException(
+                        "No addition chain for exponent " + n);
+        }
+    }
+}
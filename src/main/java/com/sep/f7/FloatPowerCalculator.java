@@ -0,0 +1,249 @@
+package com.sep.f7;
+
+/**
+ * Single-precision power function for callers that store data as float.
+ * <p>
+ * A float result needs y&middot;ln x to about 2^-30 relative, far less
+ * than the 2^-53 the double kernels deliver, so the polynomials here are
+ * sized for float: ln uses the exponent bits and a degree-11 atanh series
+ * on the mantissa, exp a degree-8 Taylor polynomial after reduction by
+ * ln 2. Both are evaluated in double, which holds every intermediate
+ * exactly enough without the split-constant tricks a float-only
+ * evaluation would need, and the result is rounded to float once. The
+ * result is within one unit in the last place of the correctly rounded
+ * float.
+ * <p>
+ * The kernel has no tables and no branches: special inputs are detected
+ * separately and recomputed by {@link PowerCalculator}, so zeros,
+ * infinities and NaN behave exactly as the double path rounded to float.
+ * The batch method first evaluates a whole block with the branch-free
+ * kernel, which maps directly onto SIMD lanes, and then patches the
+ * special elements. Instances are stateless and therefore thread-safe.
+ */
+public final class FloatPowerCalculator {
+
+    /** Number of elements evaluated per block by the batch method. */
+    static final int BLOCK_SIZE = 256;
+
+    /** Number of explicit mantissa bits in a double. */
+    private static final int MANTISSA_BITS = 52;
+
+    /** Mask selecting the explicit mantissa bits of a double. */
+    private static final long MANTISSA_MASK = (1L << MANTISSA_BITS) - 1;
+
+    /** Raw bits of the exponent field of 1.0. */
+    private static final long ONE_EXPONENT_BITS = 1023L << MANTISSA_BITS;
+
+    /** Exponent bias of a double. */
+    private static final int EXPONENT_BIAS = 1023;
+
+    /** Mantissas above this are folded into the next octave. */
+    private static final double SQRT2 = 0x1.6a09e667f3bcdp0;
+
+    /** ln 2. */
+    private static final double LN2 = 0x1.62e42fefa39efp-1;
+
+    /** 1 / ln 2. */
+    private static final double INV_LN2 = 0x1.71547652b82fep0;
+
+    /** 1.5 &middot; 2^52; adding it rounds to an integer in the low bits. */
+    private static final double SHIFTER = 0x1.8p52;
+
+    /** Raw bits of {@link #SHIFTER}. */
+    private static final long SHIFTER_BITS =
+            Double.doubleToRawLongBits(SHIFTER);
+
+    /** e^t rounds to float infinity above this. */
+    private static final double MAX_ARGUMENT = 90.0;
+
+    /** e^t rounds to float zero below this. */
+    private static final double MIN_ARGUMENT = -110.0;
+
+    /** Every float of at least this magnitude is an even integer. */
+    private static final float TWO_POW_24 = 0x1.0p24f;
+
+    /** Coefficient 1/3 of the atanh series. */
+    private static final double L3 = 1.0 / 3;
+
+    /** Coefficient 1/5 of the atanh series. */
+    private static final double L5 = 1.0 / 5;
+
+    /** Coefficient 1/7 of the atanh series. */
+    private static final double L7 = 1.0 / 7;
+
+    /** Coefficient 1/9 of the atanh series. */
+    private static final double L9 = 1.0 / 9;
+
+    /** Coefficient 1/11 of the atanh series. */
+    private static final double L11 = 1.0 / 11;
+
+    /** Coefficient 1/2! of the exp polynomial. */
+    private static final double E2 = 1.0 / 2;
+
+    /** Coefficient 1/3! of the exp polynomial. */
+    private static final double E3 = 1.0 / 6;
+
+    /** Coefficient 1/4! of the exp polynomial. */
+    private static final double E4 = 1.0 / 24;
+
+    /** Coefficient 1/5! of the exp polynomial. */
+    private static final double E5 = 1.0 / 120;
+
+    /** Coefficient 1/6! of the exp polynomial. */
+    private static final double E6 = 1.0 / 720;
+
+    /** Coefficient 1/7! of the exp polynomial. */
+    private static final double E7 = 1.0 / 5040;
+
+    /** Coefficient 1/8! of the exp polynomial. */
+    private static final double E8 = 1.0 / 40320;
+
+    /** Double path for special inputs. */
+    private final PowerCalculator calculator = new PowerCalculator();
+
+    /**
+     * Calculates x raised to the power of y in single precision.
+     *
+     * @param x The base value.
+     * @param y The exponent value.
+     * @return x^y, within one unit in the last place.
+     */
+    public float calculatePower(final float x, final float y) {
+        if (isSpecial(x, y)) {
+            return (float) calculator.calculatePower(x, y);
+        }
+        return applySign(x, y, kernel(Math.abs(x), y));
+    }
+
+    /**
+     * Calculates xs[i] raised to the power of ys[i] for every index.
+     * Each element equals {@link #calculatePower(float, float)}.
+     *
+     * @param xs The base values.
+     * @param ys The exponent values.
+     * @param out The array receiving the results; may alias an input.
+     * @throws IllegalArgumentException If the array lengths differ.
+     */
+    public void calculatePower(final float[] xs, final float[] ys,
+                               final float[] out) {
+        checkLengths(xs.length, out);
+        checkLengths(ys.length, out);
+        float[] block = new float[Math.min(BLOCK_SIZE, out.length)];
+        for (int from = 0; from < out.length; from += BLOCK_SIZE) {
+            int length = Math.min(BLOCK_SIZE, out.length - from);
+            // Branch-free pass over the block; special lanes get garbage.
+            for (int j = 0; j < length; j++) {
+                block[j] = kernel(Math.abs(xs[from + j]), ys[from + j]);
+            }
+            for (int j = 0; j < length; j++) {
+                float x = xs[from + j];
+                float y = ys[from + j];
+                out[from + j] = isSpecial(x, y)
+                        ? (float) calculator.calculatePower(x, y)
+                        : applySign(x, y, block[j]);
+            }
+        }
+    }
+
+    /**
+     * Computes |x|^y with the float-sized polynomials.
+     *
+     * @param x The absolute base; positive and finite.
+     * @param y The exponent; finite.
+     * @return The power rounded to float.
+     */
+    static float kernel(final float x, final float y) {
+        double t = y * log(x);
+        // Plain comparisons; Math.min and max also order -0.0 and NaN.
+        t = t > MAX_ARGUMENT ? MAX_ARGUMENT : t;
+        t = t < MIN_ARGUMENT ? MIN_ARGUMENT : t;
+        return (float) exp(t);
+    }
+
+    /**
+     * Natural logarithm of a positive float, to about 2^-36 absolute.
+     * Every float, including the subnormals, is a normal double.
+     *
+     * @param x The argument; positive and finite.
+     * @return ln x.
+     */
+    static double log(final float x) {
+        long bits = Double.doubleToRawLongBits(x);
+        int exponent = (int) (bits >>> MANTISSA_BITS) - EXPONENT_BIAS;
+        double m = Double.longBitsToDouble(
+                (bits & MANTISSA_MASK) | ONE_EXPONENT_BITS);
+        // Fold [sqrt2, 2) into [sqrt2/2, 1) without a branch.
+        int fold = m > SQRT2 ? 1 : 0;
+        m *= 1.0 - 0.5 * fold;
+        double s = (m - 1.0) / (m + 1.0);
+        double s2 = s * s;
+        double p = L3 + s2 * (L5 + s2 * (L7 + s2 * (L9 + s2 * L11)));
+        return (exponent + fold) * LN2 + 2.0 * s * (1.0 + s2 * p);
+    }
+
+    /**
+     * Exponential of an argument in [{@value #MIN_ARGUMENT},
+     * {@value #MAX_ARGUMENT}], to about 2^-32 relative.
+     *
+     * @param t The argument.
+     * @return e^t.
+     */
+    static double exp(final double t) {
+        double shifted = t * INV_LN2 + SHIFTER;
+        double k = shifted - SHIFTER;
+        double r = t - k * LN2;
+        double q = 1.0 + r * (1.0 + r * (E2 + r * (E3 + r * (E4 + r * (E5
+                + r * (E6 + r * (E7 + r * E8)))))));
+        long scaleBits = (Double.doubleToRawLongBits(shifted) - SHIFTER_BITS
+                + EXPONENT_BIAS) << MANTISSA_BITS;
+        return q * Double.longBitsToDouble(scaleBits);
+    }
+
+    /**
+     * Tells whether a pair is left to the double path: a zero, infinite
+     * or NaN base, or an infinite or NaN exponent.
+     *
+     * @param x The base value.
+     * @param y The exponent value.
+     * @return true if the kernel does not apply.
+     */
+    private static boolean isSpecial(final float x, final float y) {
+        return !(Math.abs(x) <= Float.MAX_VALUE && x != 0.0f
+                && Math.abs(y) <= Float.MAX_VALUE);
+    }
+
+    /**
+     * Turns |x|^y into x^y for a finite, non-zero base.
+     *
+     * @param x The base value.
+     * @param y The exponent value; finite.
+     * @param magnitude |x|^y.
+     * @return x^y: NaN for a negative base with a fractional exponent.
+     */
+    private static float applySign(final float x, final float y,
+                                   final float magnitude) {
+        if (x > 0.0f) {
+            return magnitude;
+        } else if (y != (float) Math.rint(y)) {
+            return Float.NaN;
+        }
+        boolean odd = Math.abs(y) < TWO_POW_24 && ((int) y & 1) != 0;
+        return odd ? -magnitude : magnitude;
+    }
+
+    /**
+     * Checks that the arrays of a batch call line up.
+     *
+     * @param inputLength The length of an input array.
+     * @param out The output array.
+     * @throws IllegalArgumentException If the lengths differ.
+     */
+    private static void checkLengths(final int inputLength,
+                                     final float[] out) {
+        if (inputLength != out.length) {
+            throw new IllegalArgumentException(
+                    "Input and output arrays must have the same length"
+            );
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.sep.f7;
+
+import java.util.OptionalDouble;
+
+/**
+ * Parses the numbers typed into the calculator fields.
+ * <p>
+ * Accepts everything {@link Double#parseDouble(String)} accepts after
+ * trimming, including the exact decimal expansion of any double; the
+ * longest, that of -{@link Double#MIN_VALUE} written out in full, has
+ * 1077 characters. Texts longer than {@value #MAX_INPUT_LENGTH} characters
+ * are rejected without being parsed, which only bounds the work done for
+ * accidentally pasted text.
+ */
+final class InputParser {
+
+    /** Longest text that is parsed at all. */
+    static final int MAX_INPUT_LENGTH = 4096;
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private InputParser() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Parses a field's text.
+     *
+     * @param text The text; may be null.
+     * @return The value, or empty if the text is not a valid number.
+     */
+    static OptionalDouble parse(final String text) {
+        if (text == null || text.length() > MAX_INPUT_LENGTH) {
+            return OptionalDouble.empty();
+        }
+        try {
+            return OptionalDouble.of(Double.parseDouble(text));
+        } catch (NumberFormatException e) {
+            return OptionalDouble.empty();
+        }
+    }
+}
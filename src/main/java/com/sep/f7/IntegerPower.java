@@ -0,0 +1,190 @@
+package com.sep.f7;
+
+import java.math.BigInteger;
+
+/**
+ * Exact integer powers and modular powers.
+ * <p>
+ * {@link PowerCalculator#calculatePowerIntegerExponent(double, long)}
+ * rounds to a double, so integer powers above 2^53 lose their low digits.
+ * The methods here are exact: {@link #power(long, long)} detects
+ * overflow like {@link Math#multiplyExact(long, long)},
+ * {@link #power(BigInteger, long)} never overflows, and
+ * {@link #modPow(long, long, long)} reduces every product with
+ * {@link MontgomeryModulus}. Callers raising many values to powers
+ * modulo the same odd number should create a {@link MontgomeryModulus}
+ * once and use its batch methods.
+ */
+public final class IntegerPower {
+
+    /** Moduli with fewer bits take the long path of modPow. */
+    private static final int LONG_MODULUS_BITS = Long.SIZE - 1;
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private IntegerPower() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Calculates base^exponent exactly by squaring.
+     *
+     * @param base The base value.
+     * @param exponent The exponent; not negative. 0^0 is 1.
+     * @return The exact power.
+     * @throws IllegalArgumentException If the exponent is negative.
+     * @throws ArithmeticException If the result does not fit in a long.
+     */
+    public static long power(final long base, final long exponent) {
+        checkExponent(exponent);
+        if (base == 0) {
+            return exponent == 0 ? 1 : 0;
+        } else if (base == 1) {
+            return 1;
+        } else if (base == -1) {
+            return (exponent & 1L) == 0 ? 1 : -1;
+        } else if (exponent >= Long.SIZE) {
+            throw new ArithmeticException("long overflow");
+        }
+        long result = 1;
+        long square = base;
+        long remaining = exponent;
+        while (remaining != 0) {
+            if ((remaining & 1L) != 0) {
+                result = Math.multiplyExact(result, square);
+            }
+            remaining >>>= 1;
+            // The result will include square^2, so this overflow is real.
+            if (remaining != 0) {
+                square = Math.multiplyExact(square, square);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Calculates base^exponent exactly.
+     *
+     * @param base The base value.
+     * @param exponent The exponent; not negative. 0^0 is 1.
+     * @return The exact power.
+     * @throws IllegalArgumentException If the exponent is negative.
+     * @throws ArithmeticException If the exponent exceeds
+     *         {@link Integer#MAX_VALUE} and |base| &gt; 1.
+     */
+    public static BigInteger power(final BigInteger base,
+                                   final long exponent) {
+        checkExponent(exponent);
+        if (base.signum() == 0) {
+            return exponent == 0 ? BigInteger.ONE : BigInteger.ZERO;
+        } else if (base.abs().equals(BigInteger.ONE)) {
+            return base.signum() < 0 && (exponent & 1L) != 0
+                    ? base : BigInteger.ONE;
+        } else if (exponent > Integer.MAX_VALUE) {
+            throw new ArithmeticException("BigInteger would overflow");
+        }
+        return base.pow((int) exponent);
+    }
+
+    /**
+     * Calculates base^exponent mod modulus. Odd moduli use Montgomery
+     * multiplication directly; an even modulus 2^s &middot; q is split
+     * into a power of two, reduced by masking, and the odd part q, and
+     * the two residues are joined with the Chinese remainder theorem.
+     *
+     * @param base The base; negative values are reduced to [0, modulus).
+     * @param exponent The exponent; not negative.
+     * @param modulus The modulus; positive.
+     * @return The residue in [0, modulus).
+     * @throws IllegalArgumentException If the exponent is negative or the
+     *         modulus is not positive.
+     */
+    public static long modPow(final long base, final long exponent,
+                              final long modulus) {
+        checkExponent(exponent);
+        if (modulus <= 0) {
+            throw new IllegalArgumentException("Modulus must be positive");
+        } else if (modulus == 1) {
+            return 0;
+        } else if ((modulus & 1L) != 0) {
+            return new MontgomeryModulus(modulus).modPow(base, exponent);
+        }
+        int twos = Long.numberOfTrailingZeros(modulus);
+        long odd = modulus >>> twos;
+        long mask = (1L << twos) - 1;
+        long evenResidue = powerMod2k(base, exponent) & mask;
+        if (odd == 1) {
+            return evenResidue;
+        }
+        long oddResidue = new MontgomeryModulus(odd).modPow(base, exponent);
+        // x = a + q t with t = (b - a) q^-1 mod 2^s; x < q 2^s = modulus.
+        long t = (evenResidue - oddResidue) * MontgomeryModulus.inverse(odd)
+                & mask;
+        return oddResidue + odd * t;
+    }
+
+    /**
+     * Calculates base^exponent mod modulus for arbitrary-size values.
+     * Moduli below 2^63 take the long path, which avoids allocating;
+     * larger ones delegate to {@link BigInteger#modPow}.
+     *
+     * @param base The base; negative values are reduced to [0, modulus).
+     * @param exponent The exponent; not negative.
+     * @param modulus The modulus; positive.
+     * @return The residue in [0, modulus).
+     * @throws IllegalArgumentException If the exponent is negative or the
+     *         modulus is not positive.
+     */
+    public static BigInteger modPow(final BigInteger base,
+                                    final BigInteger exponent,
+                                    final BigInteger modulus) {
+        if (exponent.signum() < 0) {
+            throw new IllegalArgumentException(
+                    "Exponent must not be negative"
+            );
+        } else if (modulus.signum() <= 0) {
+            throw new IllegalArgumentException("Modulus must be positive");
+        } else if (modulus.bitLength() > LONG_MODULUS_BITS
+                || exponent.bitLength() > LONG_MODULUS_BITS) {
+            return base.modPow(exponent, modulus);
+        }
+        long m = modulus.longValue();
+        return BigInteger.valueOf(modPow(base.mod(modulus).longValue(),
+                exponent.longValue(), m));
+    }
+
+    /**
+     * Calculates base^exponent mod 2^64; wrapping long multiplication
+     * does the reduction.
+     *
+     * @param base The base.
+     * @param exponent The exponent; not negative.
+     * @return The low 64 bits of the power.
+     */
+    private static long powerMod2k(final long base, final long exponent) {
+        long result = 1;
+        long square = base;
+        for (long remaining = exponent; remaining != 0; remaining >>>= 1) {
+            if ((remaining & 1L) != 0) {
+                result *= square;
+            }
+            square *= square;
+        }
+        return result;
+    }
+
+    /**
+     * Rejects negative exponents, which have no integer result.
+     *
+     * @param exponent The exponent.
+     * @throws IllegalArgumentException If the exponent is negative.
+     */
+    private static void checkExponent(final long exponent) {
+        if (exponent < 0) {
+            throw new IllegalArgumentException(
+                    "Exponent must not be negative"
+            );
+        }
+    }
+}
@@ -1,11 +1,137 @@
 package com.sep.f7;
 
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+
 /**
  * com.sep.f7.Launcher class serves as the entry point for the application.
- * It launches the com.sep.f7.PowerCalculatorUI JavaFX application.
+ * It launches the com.sep.f7.PowerCalculatorUI JavaFX application, or runs
+ * headless when the first argument is an option:
+ * <pre>
+ * --batch &lt;input&gt; &lt;output&gt; [--engine reference|fast|math]
+ * --convert &lt;csv&gt; &lt;columnar&gt;
+ * --serve [--port n] [--engine name] [--max-body bytes]
+ *         [--max-concurrency n]
+ * --cds-training
+ * --accuracy [--engine name] [--reference name|exact] [--count n]
+ *            [--seed n] [--threads n]
+ * </pre>
+ * Batch mode evaluates a file of pairs with {@link BatchFileProcessor}:
+ * a raw pair file yields a raw result file, a {@link ColumnarFormat} file
+ * is copied to the output and evaluated there. Convert mode turns a CSV
+ * file into a columnar file with {@link CsvConverter}. Serve mode runs a
+ * {@link PowerHttpServer} until the JVM is stopped. None of these modes
+ * loads the JavaFX or FreeTTS classes. The CDS training mode loads the
+ * classes of a typical session and exits; the {@code appcds} build
+ * profile runs it to dump a class-data-sharing archive. Accuracy mode
+ * runs an {@link AccuracyHarness} on every core and prints its reports.
  */
 public final class Launcher {
 
+    /** Option selecting the headless batch mode. */
+    static final String BATCH_OPTION = "--batch";
+
+    /** Option selecting the CSV to columnar conversion. */
+    static final String CONVERT_OPTION = "--convert";
+
+    /** Option selecting the HTTP service. */
+    static final String SERVE_OPTION = "--serve";
+
+    /** Option setting the port of the HTTP service. */
+    static final String PORT_OPTION = "--port";
+
+    /** Option setting the request body limit of the HTTP service. */
+    static final String MAX_BODY_OPTION = "--max-body";
+
+    /** Option setting the concurrency limit of the HTTP service. */
+    static final String MAX_CONCURRENCY_OPTION = "--max-concurrency";
+
+    /** Option selecting the class-data-sharing training run. */
+    static final String CDS_TRAINING_OPTION = "--cds-training";
+
+    /**
+     * Classes of a UI session that the training run loads without
+     * initializing, since it cannot open a window.
+     */
+    private static final String[] CDS_CLASSES = {
+        "com.sep.f7.PowerCalculatorUI", "com.sep.f7.PlotPanel",
+        "com.sep.f7.PowerTask", "com.sep.f7.SpeechWorker",
+        "com.sep.f7.InputParser", "com.sep.f7.UIConstants",
+        "javafx.application.Application", "javafx.application.Platform",
+        "javafx.animation.PauseTransition", "javafx.concurrent.Task",
+        "javafx.scene.Scene", "javafx.scene.control.Button",
+        "javafx.scene.control.CheckBox", "javafx.scene.control.Label",
+        "javafx.scene.control.ProgressIndicator",
+        "javafx.scene.control.TextField", "javafx.scene.control.Tooltip",
+        "javafx.scene.image.Image", "javafx.scene.image.ImageView",
+        "javafx.scene.layout.GridPane", "javafx.scene.layout.HBox",
+        "javafx.scene.layout.StackPane", "javafx.scene.layout.VBox",
+        "javafx.scene.text.Font", "javafx.stage.Stage",
+    };
+
+    /** Option selecting the differential accuracy run. */
+    static final String ACCURACY_OPTION = "--accuracy";
+
+    /** Option naming the reference engine of the accuracy run. */
+    static final String REFERENCE_OPTION = "--reference";
+
+    /** Reference name selecting {@link AccuracyHarness#exactReference()}. */
+    static final String EXACT_REFERENCE = "exact";
+
+    /** Option setting the pairs per stratum of the accuracy run. */
+    static final String COUNT_OPTION = "--count";
+
+    /** Option setting the seed of the accuracy run. */
+    static final String SEED_OPTION = "--seed";
+
+    /** Option setting the worker threads of the accuracy run. */
+    static final String THREADS_OPTION = "--threads";
+
+    /** Option naming the {@link PowerEngine} of a headless mode. */
+    static final String ENGINE_OPTION = "--engine";
+
+    /** Exit status for invalid arguments. */
+    static final int EXIT_USAGE = 2;
+
+    /** Exit status for a failed run. */
+    static final int EXIT_FAILURE = 1;
+
+    /** Usage line of the batch mode. */
+    private static final String BATCH_USAGE = "Usage: " + BATCH_OPTION
+            + " <input> <output> [" + ENGINE_OPTION
+            + " reference|fast|math]";
+
+    /** Usage line of the convert mode. */
+    private static final String CONVERT_USAGE = "Usage: " + CONVERT_OPTION
+            + " <csv> <columnar>";
+
+    /** Usage line of the serve mode. */
+    private static final String SERVE_USAGE = "Usage: " + SERVE_OPTION
+            + " [" + PORT_OPTION + " n] [" + ENGINE_OPTION + " name] ["
+            + MAX_BODY_OPTION + " bytes] [" + MAX_CONCURRENCY_OPTION + " n]";
+
+    /** Usage line of the accuracy mode. */
+    private static final String ACCURACY_USAGE = "Usage: " + ACCURACY_OPTION
+            + " [" + ENGINE_OPTION + " name] [" + REFERENCE_OPTION + " name|"
+            + EXACT_REFERENCE + "] [" + COUNT_OPTION + " n] [" + SEED_OPTION
+            + " n] [" + THREADS_OPTION + " n]";
+
+    /** Number of arguments of the batch mode without options. */
+    private static final int BATCH_ARGUMENTS = 3;
+
+    /** Pairs per million, for the throughput report. */
+    private static final double MILLION = 1e6;
+
+    /** Nanoseconds per second, for the time report. */
+    private static final double NANOS_PER_SECOND = 1e9;
+
     /**
      * Private constructor to prevent instantiation.
      */
@@ -15,11 +141,268 @@ public final class Launcher {
 
     /**
      * The main method serves as the entry point of the application.
-     * It launches the com.sep.f7.PowerCalculatorUI class.
+     * It launches the com.sep.f7.PowerCalculatorUI class unless a headless
+     * mode is requested.
      *
-     * @param args command line arguments (not used)
+     * @param args command line arguments; empty to start the UI
      */
     public static void main(final String[] args) {
+        StartupTimer.markStart();
+        if (args.length > 0 && BATCH_OPTION.equals(args[0])) {
+            exitOnFailure(runBatch(args, System.out, System.err));
+            return;
+        }
+        if (args.length > 0 && CONVERT_OPTION.equals(args[0])) {
+            exitOnFailure(runConvert(args, System.out, System.err));
+            return;
+        }
+        if (args.length > 0 && SERVE_OPTION.equals(args[0])) {
+            PowerHttpServer server;
+            try {
+                server = startServer(args, System.out);
+            } catch (IllegalArgumentException | IOException e) {
+                System.err.println(e.getMessage());
+                System.exit(e instanceof IOException
+                        ? EXIT_FAILURE : EXIT_USAGE);
+                return;
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+            return;
+        }
+        if (args.length > 0 && ACCURACY_OPTION.equals(args[0])) {
+            exitOnFailure(runAccuracy(args, System.out, System.err));
+            return;
+        }
+        if (args.length > 0 && CDS_TRAINING_OPTION.equals(args[0])) {
+            exitOnFailure(runCdsTraining(System.out, System.err));
+            return;
+        }
         PowerCalculatorUI.main(args);
     }
+
+    /**
+     * Loads the classes of a typical session and runs the warm-up, so
+     * that a JVM started with {@code -XX:ArchiveClassesAtExit} archives
+     * them.
+     *
+     * @param out The stream receiving the report.
+     * @param err The stream receiving failure messages.
+     * @return 0 on success, otherwise an exit status.
+     */
+    static int runCdsTraining(final PrintStream out, final PrintStream err) {
+        PowerWarmup.run(PowerEngine.getDefault(), PowerWarmup.ITERATIONS);
+        ClassLoader loader = Launcher.class.getClassLoader();
+        try {
+            for (String name : CDS_CLASSES) {
+                Class.forName(name, false, loader);
+            }
+        } catch (ClassNotFoundException | LinkageError e) {
+            err.println("CDS training failed: " + e);
+            return EXIT_FAILURE;
+        }
+        StartupTimer.report("CDS training done", out);
+        out.println("Loaded " + CDS_CLASSES.length + " session classes");
+        return 0;
+    }
+
+    /**
+     * Runs the batch mode and reports throughput and the error count.
+     *
+     * @param args The command line, starting with {@value #BATCH_OPTION}.
+     * @param out The stream receiving the report.
+     * @param err The stream receiving usage and failure messages.
+     * @return 0 on success, otherwise an exit status.
+     */
+    static int runBatch(final String[] args, final PrintStream out,
+                        final PrintStream err) {
+        PowerFunction function;
+        try {
+            if (args.length == BATCH_ARGUMENTS) {
+                function = PowerEngine.getDefault();
+            } else if (args.length == BATCH_ARGUMENTS + 2
+                    && ENGINE_OPTION.equals(args[BATCH_ARGUMENTS])) {
+                function = PowerEngine.fromName(args[BATCH_ARGUMENTS + 1])
+                        .getFunction();
+            } else {
+                err.println(BATCH_USAGE);
+                return EXIT_USAGE;
+            }
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            return EXIT_USAGE;
+        }
+        try {
+            Path input = Paths.get(args[1]);
+            Path output = Paths.get(args[2]);
+            BatchFileProcessor processor = new BatchFileProcessor(function);
+            BatchFileProcessor.Summary summary;
+            if (BatchFileProcessor.isColumnar(input)) {
+                Files.copy(input, output,
+                        StandardCopyOption.REPLACE_EXISTING);
+                summary = processor.processColumnar(output);
+            } else {
+                summary = processor.process(input, output);
+            }
+            out.println(String.format(Locale.ROOT,
+                    "Processed %d pairs in %.3f s (%.2f M pairs/s), %d errors",
+                    summary.getPairs(),
+                    summary.getElapsedNanos() / NANOS_PER_SECOND,
+                    summary.getPairsPerSecond() / MILLION,
+                    summary.getErrors()));
+            return 0;
+        } catch (IOException e) {
+            err.println("Batch failed: " + e.getMessage());
+            return EXIT_FAILURE;
+        }
+    }
+
+    /**
+     * Starts the HTTP service described by the command line and reports
+     * where it listens.
+     *
+     * @param args The command line, starting with {@value #SERVE_OPTION}.
+     * @param out The stream receiving the report.
+     * @return The running server.
+     * @throws IllegalArgumentException If an option is unknown or invalid.
+     * @throws IOException If the port cannot be bound.
+     */
+    static PowerHttpServer startServer(final String[] args,
+                                       final PrintStream out)
+            throws IOException {
+        int port = PowerHttpServer.DEFAULT_PORT;
+        int maxBody = PowerHttpServer.DEFAULT_MAX_BODY_BYTES;
+        int maxConcurrency = PowerHttpServer.DEFAULT_MAX_CONCURRENCY;
+        PowerFunction function = PowerEngine.getDefault();
+        if (args.length % 2 == 0) {
+            throw new IllegalArgumentException(SERVE_USAGE);
+        }
+        try {
+            for (int i = 1; i < args.length; i += 2) {
+                String value = args[i + 1];
+                if (PORT_OPTION.equals(args[i])) {
+                    port = Integer.parseInt(value);
+                } else if (MAX_BODY_OPTION.equals(args[i])) {
+                    maxBody = Integer.parseInt(value);
+                } else if (MAX_CONCURRENCY_OPTION.equals(args[i])) {
+                    maxConcurrency = Integer.parseInt(value);
+                } else if (ENGINE_OPTION.equals(args[i])) {
+                    function = PowerEngine.fromName(value).getFunction();
+                } else {
+                    throw new IllegalArgumentException(SERVE_USAGE);
+                }
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(SERVE_USAGE, e);
+        }
+        PowerHttpServer server = new PowerHttpServer(function,
+                new InetSocketAddress(port), maxBody, maxConcurrency);
+        server.start();
+        out.println("Listening on port " + server.getPort() + " ("
+                + (server.isVirtualThreads() ? "virtual threads"
+                : maxConcurrency + " pooled threads") + ")");
+        return server;
+    }
+
+    /**
+     * Runs the accuracy mode: compares an engine with a reference on
+     * every stratum and prints a report per stratum and in total. The
+     * engine defaults to {@link PowerEngine#getDefault()}, the reference
+     * to {@link PowerEngine#MATH}.
+     *
+     * @param args The command line, starting with {@value #ACCURACY_OPTION}.
+     * @param out The stream receiving the reports.
+     * @param err The stream receiving usage messages.
+     * @return 0 on success, otherwise an exit status.
+     */
+    static int runAccuracy(final String[] args, final PrintStream out,
+                           final PrintStream err) {
+        PowerFunction function = PowerEngine.getDefault();
+        PowerFunction reference = PowerEngine.MATH.getFunction();
+        String referenceName = PowerEngine.MATH.name();
+        int count = AccuracyHarness.DEFAULT_SAMPLES;
+        long seed = AccuracyHarness.DEFAULT_SEED;
+        int threads = Runtime.getRuntime().availableProcessors();
+        AccuracyHarness harness;
+        try {
+            if (args.length % 2 == 0) {
+                throw new IllegalArgumentException(ACCURACY_USAGE);
+            }
+            for (int i = 1; i < args.length; i += 2) {
+                String value = args[i + 1];
+                if (ENGINE_OPTION.equals(args[i])) {
+                    function = PowerEngine.fromName(value).getFunction();
+                } else if (REFERENCE_OPTION.equals(args[i])) {
+                    reference = EXACT_REFERENCE.equalsIgnoreCase(value)
+                            ? AccuracyHarness.exactReference()
+                            : PowerEngine.fromName(value).getFunction();
+                    referenceName = value;
+                } else if (COUNT_OPTION.equals(args[i])) {
+                    count = Integer.parseInt(value);
+                } else if (SEED_OPTION.equals(args[i])) {
+                    seed = Long.parseLong(value);
+                } else if (THREADS_OPTION.equals(args[i])) {
+                    threads = Integer.parseInt(value);
+                } else {
+                    throw new IllegalArgumentException(ACCURACY_USAGE);
+                }
+            }
+            harness = new AccuracyHarness(function, reference, seed, count,
+                    threads);
+        } catch (NumberFormatException e) {
+            err.println(ACCURACY_USAGE);
+            return EXIT_USAGE;
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            return EXIT_USAGE;
+        }
+        long start = System.nanoTime();
+        Map<AccuracyHarness.Stratum, AccuracyHarness.Report> reports =
+                harness.run();
+        double seconds = (System.nanoTime() - start) / NANOS_PER_SECOND;
+        out.println(String.format(Locale.ROOT,
+                "Seed %d, reference %s, %d threads, %.3f s", seed,
+                referenceName.toLowerCase(Locale.ROOT), threads, seconds));
+        for (Map.Entry<AccuracyHarness.Stratum, AccuracyHarness.Report> entry
+                : reports.entrySet()) {
+            out.print(entry.getValue().format(entry.getKey().name()));
+        }
+        out.print(AccuracyHarness.total(reports).format("TOTAL"));
+        return 0;
+    }
+
+    /**
+     * Runs the convert mode.
+     *
+     * @param args The command line, starting with {@value #CONVERT_OPTION}.
+     * @param out The stream receiving the report.
+     * @param err The stream receiving usage and failure messages.
+     * @return 0 on success, otherwise an exit status.
+     */
+    static int runConvert(final String[] args, final PrintStream out,
+                          final PrintStream err) {
+        if (args.length != BATCH_ARGUMENTS) {
+            err.println(CONVERT_USAGE);
+            return EXIT_USAGE;
+        }
+        try {
+            long rows = CsvConverter.convert(Paths.get(args[1]),
+                    Paths.get(args[2]));
+            out.println("Converted " + rows + " rows");
+            return 0;
+        } catch (IOException e) {
+            err.println("Conversion failed: " + e.getMessage());
+            return EXIT_FAILURE;
+        }
+    }
+
+    /**
+     * Terminates the JVM with the given status unless it is 0.
+     *
+     * @param status The exit status of a headless mode.
+     */
+    private static void exitOnFailure(final int status) {
+        if (status != 0) {
+            System.exit(status);
+        }
+    }
 }
@@ -0,0 +1,206 @@
+package com.sep.f7;
+
+/**
+ * Fixed-cost kernel for the natural logarithm ln(x).
+ * <p>
+ * The binary exponent e and the mantissa m in [1, 2) are read directly
+ * from the raw bits of x. The mantissa is rounded to the nearest
+ * c = 1 + i/128 from a 129-entry table, so that
+ * ln(x) = e&middot;ln2 + ln(c) + ln(1 + r) with r = (m - c)/c and
+ * |r| &lt;= 2^-8; ln(1 + r) is then a degree-7 polynomial. Mantissas above
+ * sqrt(2) are folded into the next octave so that inputs just below one
+ * do not suffer cancellation between e&middot;ln2 and ln(c). Every call
+ * costs the same whatever the magnitude of x, and the result is within
+ * two units in the last place of the true value (one for most inputs).
+ * {@link #logReduced(double)} shares the reduction but stops the
+ * polynomial at degree 3, for an absolute error below 2^-34.
+ */
+final class LogKernel {
+
+    /** Number of table index bits taken from the mantissa. */
+    private static final int INDEX_BITS = 7;
+
+    /** Number of table intervals per octave, 2^INDEX_BITS. */
+    private static final int INDEX_SCALE = 1 << INDEX_BITS;
+
+    /** First table index whose mantissa is folded into the next octave. */
+    private static final int FOLD_INDEX = 53;
+
+    /** High part of ln2 with trailing zero bits, exact when scaled by e. */
+    private static final double LN2_HI = 0x1.62e42fee00000p-1;
+
+    /** Low part of ln2. */
+    private static final double LN2_LO = 0x1.a39ef35793c76p-33;
+
+    /** Number of explicit mantissa bits in a double. */
+    private static final int MANTISSA_BITS = 52;
+
+    /** Mask selecting the explicit mantissa bits of a double. */
+    private static final long MANTISSA_MASK = (1L << MANTISSA_BITS) - 1;
+
+    /** Raw exponent field of 1.0, i.e. the exponent bias. */
+    private static final long ONE_EXPONENT_BITS = 1023L << MANTISSA_BITS;
+
+    /** Exponent bias of a double. */
+    private static final int EXPONENT_BIAS = 1023;
+
+    /** Scale factor 2^54 applied to subnormal inputs. */
+    private static final double TWO_POW_54 = 0x1.0p54;
+
+    /** Power of two matching {@link #TWO_POW_54}. */
+    private static final int SUBNORMAL_SHIFT = 54;
+
+    /** Polynomial coefficient of r^3. */
+    private static final double C3 = 1.0 / 3.0;
+
+    /** Polynomial coefficient of r^4. */
+    private static final double C4 = -1.0 / 4.0;
+
+    /** Polynomial coefficient of r^5. */
+    private static final double C5 = 1.0 / 5.0;
+
+    /** Polynomial coefficient of r^6. */
+    private static final double C6 = -1.0 / 6.0;
+
+    /** Polynomial coefficient of r^7. */
+    private static final double C7 = 1.0 / 7.0;
+
+    /**
+     * ln(c) for c = 1 + i/128, minus ln2 from {@link #FOLD_INDEX} onwards,
+     * each correctly rounded.
+     */
+    private static final double[] LOG_C = {
+            0.0, 0x1.fe02a6b106789p-8, 0x1.fc0a8b0fc03e4p-7,
+            0x1.7b91b07d5b11bp-6, 0x1.f829b0e783300p-6, 0x1.39e87b9febd60p-5,
+            0x1.77458f632dcfcp-5, 0x1.b42dd711971bfp-5, 0x1.f0a30c01162a6p-5,
+            0x1.16536eea37ae1p-4, 0x1.341d7961bd1d1p-4, 0x1.51b073f06183fp-4,
+            0x1.6f0d28ae56b4cp-4, 0x1.8c345d6319b21p-4, 0x1.a926d3a4ad563p-4,
+            0x1.c5e548f5bc743p-4, 0x1.e27076e2af2e6p-4, 0x1.fec9131dbeabbp-4,
+            0x1.0d77e7cd08e59p-3, 0x1.1b72ad52f67a0p-3, 0x1.29552f81ff523p-3,
+            0x1.371fc201e8f74p-3, 0x1.44d2b6ccb7d1ep-3, 0x1.526e5e3a1b438p-3,
+            0x1.5ff3070a793d4p-3, 0x1.6d60fe719d21dp-3, 0x1.7ab890210d909p-3,
+            0x1.87fa06520c911p-3, 0x1.9525a9cf456b4p-3, 0x1.a23bc1fe2b563p-3,
+            0x1.af3c94e80bff3p-3, 0x1.bc286742d8cd6p-3, 0x1.c8ff7c79a9a22p-3,
+            0x1.d5c216b4fbb91p-3, 0x1.e27076e2af2e6p-3, 0x1.ef0adcbdc5936p-3,
+            0x1.fb9186d5e3e2bp-3, 0x1.0402594b4d041p-2, 0x1.0a324e27390e3p-2,
+            0x1.1058bf9ae4ad5p-2, 0x1.1675cababa60ep-2, 0x1.1c898c16999fbp-2,
+            0x1.22941fbcf7966p-2, 0x1.2895a13de86a3p-2, 0x1.2e8e2bae11d31p-2,
+            0x1.347dd9a987d55p-2, 0x1.3a64c556945eap-2, 0x1.404308686a7e4p-2,
+            0x1.4618bc21c5ec2p-2, 0x1.4be5f957778a1p-2, 0x1.51aad872df82dp-2,
+            0x1.5767717455a6cp-2, 0x1.5d1bdbf5809cap-2, -0x1.630030b3aac49p-2,
+            -0x1.5d5bddf595f30p-2, -0x1.57bf753c8d1fbp-2, -0x1.522ae0738a3d8p-2,
+            -0x1.4c9e09e172c3cp-2, -0x1.4718dc271c41bp-2, -0x1.419b423d5e8c7p-2,
+            -0x1.3c25277333184p-2, -0x1.36b6776be1117p-2, -0x1.314f1e1d35ce4p-2,
+            -0x1.2bef07cdc9354p-2, -0x1.269621134db92p-2, -0x1.214456d0eb8d4p-2,
+            -0x1.1bf99635a6b95p-2, -0x1.16b5ccbacfb73p-2, -0x1.1178e8227e47cp-2,
+            -0x1.0c42d676162e3p-2, -0x1.07138604d5862p-2, -0x1.01eae5626c691p-2,
+            -0x1.f991c6cb3b379p-3, -0x1.ef5ade4dcffe6p-3, -0x1.e530effe71012p-3,
+            -0x1.db13db0d48940p-3, -0x1.d1037f2655e7bp-3, -0x1.c6ffbc6f00f71p-3,
+            -0x1.bd087383bd8adp-3, -0x1.b31d8575bce3dp-3, -0x1.a93ed3c8ad9e3p-3,
+            -0x1.9f6c407089664p-3, -0x1.95a5adcf7017fp-3, -0x1.8beafeb38fe8cp-3,
+            -0x1.823c16551a3c2p-3, -0x1.7898d85444c73p-3, -0x1.6f0128b756abcp-3,
+            -0x1.6574ebe8c133ap-3, -0x1.5bf406b543db2p-3, -0x1.527e5e4a1b58dp-3,
+            -0x1.4913d8333b561p-3, -0x1.3fb45a59928ccp-3, -0x1.365fcb0159016p-3,
+            -0x1.2d1610c86813ap-3, -0x1.23d712a49c202p-3, -0x1.1aa2b7e23f72ap-3,
+            -0x1.1178e8227e47cp-3, -0x1.08598b59e3a07p-3, -0x1.fe89139dbd566p-4,
+            -0x1.ec739830a1120p-4, -0x1.da727638446a2p-4, -0x1.c885801bc4b23p-4,
+            -0x1.b6ac88dad5b1cp-4, -0x1.a4e7640b1bc38p-4, -0x1.9335e5d594989p-4,
+            -0x1.8197e2f40e3f0p-4, -0x1.700d30aeac0e1p-4, -0x1.5e95a4d9791cbp-4,
+            -0x1.4d3115d207eacp-4, -0x1.3bdf5a7d1ee64p-4, -0x1.2aa04a44717a5p-4,
+            -0x1.1973bd1465567p-4, -0x1.08598b59e3a07p-4, -0x1.eea31c006b87cp-5,
+            -0x1.ccb73cdddb2ccp-5, -0x1.aaef2d0fb10fcp-5, -0x1.894aa149fb343p-5,
+            -0x1.67c94f2d4bb58p-5, -0x1.466aed42de3eap-5, -0x1.252f32f8d183fp-5,
+            -0x1.0415d89e74444p-5, -0x1.c63d2ec14aaf2p-6, -0x1.8492528c8cabfp-6,
+            -0x1.432a925980cc1p-6, -0x1.0205658935847p-6, -0x1.82448a388a2aap-7,
+            -0x1.010157588de71p-7, -0x1.0080559588b35p-8, 0.0
+    };
+
+    /** 1/c for c = 1 + i/128. */
+    private static final double[] INV_C = new double[INDEX_SCALE + 1];
+
+    static {
+        for (int i = 0; i <= INDEX_SCALE; i++) {
+            INV_C[i] = 1.0 / (1.0 + (double) i / INDEX_SCALE);
+        }
+    }
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private LogKernel() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Computes the natural logarithm of x.
+     *
+     * @param x The value whose logarithm is computed.
+     * @return ln(x); NaN for negative or NaN input, negative infinity for
+     * zero and positive infinity for positive infinity.
+     */
+    static double log(final double x) {
+        return log(x, true);
+    }
+
+    /**
+     * Computes the natural logarithm of x with a degree-3 polynomial. The
+     * absolute error is below 2^-34 (about 6e-11) for every positive x.
+     *
+     * @param x The value whose logarithm is computed.
+     * @return ln(x), with the special cases of {@link #log(double)}.
+     */
+    static double logReduced(final double x) {
+        return log(x, false);
+    }
+
+    /**
+     * Computes the natural logarithm of x.
+     *
+     * @param x The value whose logarithm is computed.
+     * @param fullPrecision Whether to use the degree-7 polynomial; a
+     * constant at every call site, so the branch folds away.
+     * @return ln(x).
+     */
+    private static double log(final double x, final boolean fullPrecision) {
+        if (!(x > 0.0)) {
+            return x == 0.0 ? Double.NEGATIVE_INFINITY : Double.NaN;
+        }
+        if (x == Double.POSITIVE_INFINITY) {
+            return x;
+        }
+        double normal = x;
+        int exponent = 0;
+        if (x < Double.MIN_NORMAL) {
+            normal = x * TWO_POW_54;
+            exponent = -SUBNORMAL_SHIFT;
+        }
+        long bits = Double.doubleToRawLongBits(normal);
+        exponent += (int) (bits >>> MANTISSA_BITS) - EXPONENT_BIAS;
+        long mantissaBits = bits & MANTISSA_MASK;
+        double m = Double.longBitsToDouble(mantissaBits | ONE_EXPONENT_BITS);
+
+        // Round the mantissa to the nearest table point c = 1 + i/128.
+        int i = (int) ((mantissaBits >>> (MANTISSA_BITS - INDEX_BITS - 1))
+                + 1) >> 1;
+        if (i >= FOLD_INDEX) {
+            exponent++;
+        }
+        double c = 1.0 + (double) i / INDEX_SCALE;
+        double r = (m - c) * INV_C[i];
+        double p = fullPrecision ? log1p(r) : r + r * r * (-0.5 + r * C3);
+        return exponent * LN2_HI
+                + (LOG_C[i] + (p + exponent * LN2_LO));
+    }
+
+    /**
+     * Evaluates ln(1 + r) for |r| &lt;= 2^-8.
+     *
+     * @param r The reduced argument.
+     * @return ln(1 + r).
+     */
+    private static double log1p(final double r) {
+        double r2 = r * r;
+        double tail = r * (C3 + r * C4 + r2 * (C5 + r * C6 + r2 * C7));
+        return r + r2 * (-0.5 + tail);
+    }
+}
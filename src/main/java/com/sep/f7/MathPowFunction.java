@@ -0,0 +1,47 @@
+package com.sep.f7;
+
+/**
+ * A {@link PowerFunction} delegating to {@link Math#pow(double, double)}.
+ * <p>
+ * {@code Math.pow} is an intrinsic on most JVMs and accurate to one unit
+ * in the last place. Its results are only adjusted where its special
+ * cases differ from those of {@link PowerCalculator}: zero and negative
+ * bases, and a base of one with an infinite or NaN exponent.
+ */
+final class MathPowFunction implements PowerFunction {
+
+    /**
+     * Creates the delegate; use {@link PowerEngine#MATH}.
+     */
+    MathPowFunction() {
+        // Stateless
+    }
+
+    /**
+     * Calculates x raised to the power of y with {@link Math#pow}.
+     *
+     * @param x The base value.
+     * @param y The exponent value.
+     * @return The result of x raised to the power of y.
+     */
+    @Override
+    public double calculatePower(final double x, final double y) {
+        if (x == 0.0) {
+            if (y == 0.0) {
+                return 1.0;
+            } else if (y < 0.0) {
+                return Double.POSITIVE_INFINITY;
+            } else {
+                return 0.0;
+            }
+        }
+        if (PowerCalculator.isIntegral(y)) {
+            return Math.pow(x, y);
+        }
+        if (x < 0.0 || (x == 1.0 && y - y != 0.0)) {
+            // Fractional, infinite or NaN exponent
+            return Double.NaN;
+        }
+        return Math.pow(x, y);
+    }
+}
@@ -0,0 +1,383 @@
+package com.sep.f7;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Coalesces single x^y requests from concurrent callers into batch calls.
+ * <p>
+ * {@link #submit(double, double)} appends the request to a lock-free
+ * {@link ConcurrentLinkedQueue} and returns a {@link CompletableFuture}
+ * at once. A single flusher thread drains the queue as one batch as soon
+ * as {@code maxBatchSize} requests are waiting or the oldest of them has
+ * waited {@code maxWait}, whichever comes first. Within a batch each
+ * distinct (x, y) pair, compared bit for bit, is evaluated only once; the
+ * distinct pairs go through one batch call of the {@link PowerFunction}
+ * and every caller's future is completed with its result.
+ * <p>
+ * Submitters never block or take a lock: they only wake the flusher when
+ * the queue goes from empty to non-empty or reaches a full batch. Futures
+ * are completed on the flusher thread, so expensive dependent stages
+ * should use the asynchronous {@link CompletableFuture} methods. The
+ * counters behind {@link #getAverageBatchSize()},
+ * {@link #getAverageWaitNanos()} and {@link #getDedupRate()} are
+ * {@link LongAdder}s and may be read at any time.
+ */
+public final class MicroBatcher implements AutoCloseable {
+
+    /** Default maximum number of requests per batch. */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 1024;
+
+    /** Largest accepted maximum batch size. */
+    public static final int MAX_BATCH_SIZE = 1 << 20;
+
+    /** Dedup table slots per request of a full batch. */
+    private static final int SLOTS_PER_REQUEST = 2;
+
+    /** Default maximum wait of the oldest request, in microseconds. */
+    public static final long DEFAULT_MAX_WAIT_MICROS = 200;
+
+    /** The function evaluating each batch. */
+    private final PowerFunction function;
+
+    /** Maximum number of requests per batch. */
+    private final int maxBatchSize;
+
+    /** Maximum wait of the oldest request in nanoseconds. */
+    private final long maxWaitNanos;
+
+    /** Requests waiting for the flusher. */
+    private final ConcurrentLinkedQueue<Request> queue =
+            new ConcurrentLinkedQueue<>();
+
+    /** Number of requests in {@link #queue}. */
+    private final AtomicInteger pending = new AtomicInteger();
+
+    /** The thread draining {@link #queue}. */
+    private final Thread flusher;
+
+    /** Cleared by {@link #close()}. */
+    private volatile boolean running = true;
+
+    /** The requests of the batch being flushed; used by the flusher only. */
+    private final Request[] batch;
+
+    /** Dedup table: bits of x per slot; used by the flusher only. */
+    private final long[] slotX;
+
+    /** Dedup table: bits of y per slot. */
+    private final long[] slotY;
+
+    /** Dedup table: index of the distinct pair held by each slot. */
+    private final int[] slotIndex;
+
+    /** Dedup table: batch number that filled each slot. */
+    private final int[] slotStamp;
+
+    /** Number of the batch being flushed, stamping valid slots. */
+    private int stamp;
+
+    /** Requests completed. */
+    private final LongAdder requests = new LongAdder();
+
+    /** Batches flushed. */
+    private final LongAdder batches = new LongAdder();
+
+    /** Requests answered from another request of the same batch. */
+    private final LongAdder duplicates = new LongAdder();
+
+    /** Total nanoseconds requests spent in the queue. */
+    private final LongAdder waitNanos = new LongAdder();
+
+    /**
+     * Creates a dispatcher with default thresholds in front of
+     * {@link PowerEngine#getDefault()}.
+     */
+    public MicroBatcher() {
+        this(PowerEngine.getDefault(), DEFAULT_MAX_BATCH_SIZE,
+                DEFAULT_MAX_WAIT_MICROS, TimeUnit.MICROSECONDS);
+    }
+
+    /**
+     * Creates a dispatcher and starts its flusher thread.
+     *
+     * @param function The function evaluating each batch.
+     * @param maxBatchSize The number of waiting requests that triggers a
+     * flush.
+     * @param maxWait How long the oldest request may wait for a flush.
+     * @param unit The unit of maxWait.
+     * @throws IllegalArgumentException If function is null, maxBatchSize
+     * is not in [1, {@value #MAX_BATCH_SIZE}] or maxWait is negative.
+     */
+    public MicroBatcher(final PowerFunction function, final int maxBatchSize,
+                        final long maxWait, final TimeUnit unit) {
+        if (function == null) {
+            throw new IllegalArgumentException("Function must not be null");
+        }
+        if (maxBatchSize <= 0 || maxBatchSize > MAX_BATCH_SIZE
+                || maxWait < 0) {
+            throw new IllegalArgumentException("Batch size must be in [1, "
+                    + MAX_BATCH_SIZE + "] and wait non-negative");
+        }
+        this.function = function;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = unit.toNanos(maxWait);
+        batch = new Request[maxBatchSize];
+        // A power of two keeping the table at most half full
+        int slots = Integer.highestOneBit(maxBatchSize * SLOTS_PER_REQUEST)
+                << 1;
+        slotX = new long[slots];
+        slotY = new long[slots];
+        slotIndex = new int[slots];
+        slotStamp = new int[slots];
+        flusher = new Thread(this::flushLoop, "power-micro-batcher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Queues x^y for the next batch.
+     *
+     * @param x The base value.
+     * @param y The exponent value.
+     * @return A future completed with the result of
+     * {@link PowerFunction#calculatePower(double, double)}.
+     * @throws IllegalStateException If the dispatcher has been closed.
+     */
+    public CompletableFuture<Double> submit(final double x, final double y) {
+        if (!running) {
+            throw new IllegalStateException("Micro-batcher is closed");
+        }
+        Request request = new Request(x, y);
+        queue.offer(request);
+        int count = pending.incrementAndGet();
+        if (!running && queue.remove(request)) {
+            // Closed concurrently and nobody took the request any more.
+            pending.decrementAndGet();
+            throw new IllegalStateException("Micro-batcher is closed");
+        }
+        if (count == 1 || count == maxBatchSize) {
+            LockSupport.unpark(flusher);
+        }
+        return request.future;
+    }
+
+    /**
+     * Returns the number of requests completed so far.
+     *
+     * @return The request count.
+     */
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    /**
+     * Returns the number of batches flushed so far.
+     *
+     * @return The batch count.
+     */
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    /**
+     * Returns the mean number of requests per batch.
+     *
+     * @return The average batch size, or 0 before the first batch.
+     */
+    public double getAverageBatchSize() {
+        long count = batches.sum();
+        return count == 0 ? 0.0 : (double) requests.sum() / count;
+    }
+
+    /**
+     * Returns the mean time a request waited in the queue.
+     *
+     * @return The average wait in nanoseconds, or 0 before any request.
+     */
+    public double getAverageWaitNanos() {
+        long count = requests.sum();
+        return count == 0 ? 0.0 : (double) waitNanos.sum() / count;
+    }
+
+    /**
+     * Returns the fraction of requests answered without their own
+     * evaluation because an identical pair was in the same batch.
+     *
+     * @return The dedup rate in [0, 1].
+     */
+    public double getDedupRate() {
+        long count = requests.sum();
+        return count == 0 ? 0.0 : (double) duplicates.sum() / count;
+    }
+
+    /**
+     * Stops accepting requests, flushes those already queued and waits
+     * for the flusher thread to finish.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(flusher);
+        boolean interrupted = false;
+        while (flusher.isAlive()) {
+            try {
+                flusher.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        // Requests that raced with shutdown; the flusher is gone, so its
+        // tables are free to use here.
+        while (!queue.isEmpty()) {
+            flush(System.nanoTime());
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Body of the flusher thread: waits for a full batch or the deadline
+     * of the oldest request, then flushes.
+     */
+    private void flushLoop() {
+        while (running || !queue.isEmpty()) {
+            Request oldest = queue.peek();
+            if (oldest == null) {
+                LockSupport.park(this);
+                continue;
+            }
+            long deadline = oldest.enqueuedNanos + maxWaitNanos;
+            long now = System.nanoTime();
+            while (running && pending.get() < maxBatchSize && now < deadline) {
+                LockSupport.parkNanos(this, deadline - now);
+                now = System.nanoTime();
+            }
+            flush(now);
+        }
+    }
+
+    /**
+     * Drains up to {@link #maxBatchSize} requests and completes them.
+     *
+     * @param now The current {@link System#nanoTime()}.
+     */
+    private void flush(final long now) {
+        int n = 0;
+        Request request;
+        while (n < maxBatchSize && (request = queue.poll()) != null) {
+            batch[n++] = request;
+        }
+        if (n == 0) {
+            return;
+        }
+        pending.addAndGet(-n);
+
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        int[] indices = new int[n];
+        int distinct = 0;
+        long waited = 0;
+        if (++stamp == 0) {
+            // Wrapped around: forget every stamp before reusing them.
+            Arrays.fill(slotStamp, 0);
+            stamp = 1;
+        }
+        for (int i = 0; i < n; i++) {
+            Request r = batch[i];
+            waited += now - r.enqueuedNanos;
+            int index = distinctIndex(r.x, r.y, distinct);
+            if (index == distinct) {
+                xs[distinct] = r.x;
+                ys[distinct] = r.y;
+                distinct++;
+            }
+            indices[i] = index;
+        }
+
+        double[] results = new double[distinct];
+        try {
+            function.calculatePower(Arrays.copyOf(xs, distinct),
+                    Arrays.copyOf(ys, distinct), results);
+        } catch (RuntimeException e) {
+            for (int i = 0; i < n; i++) {
+                batch[i].future.completeExceptionally(e);
+                batch[i] = null;
+            }
+            return;
+        } finally {
+            batches.increment();
+            requests.add(n);
+            duplicates.add(n - distinct);
+            waitNanos.add(waited);
+        }
+        for (int i = 0; i < n; i++) {
+            batch[i].future.complete(results[indices[i]]);
+            batch[i] = null;
+        }
+    }
+
+    /**
+     * Looks a pair up in the dedup table of the current batch, inserting
+     * it if absent.
+     *
+     * @param x The base value.
+     * @param y The exponent value.
+     * @param next The index to assign to a new distinct pair.
+     * @return The index of the distinct pair; next if it is new.
+     */
+    private int distinctIndex(final double x, final double y,
+                              final int next) {
+        long xBits = Double.doubleToRawLongBits(x);
+        long yBits = Double.doubleToRawLongBits(y);
+        int mask = slotX.length - 1;
+        int slot = (int) PowerCache.hash(xBits, yBits) & mask;
+        while (slotStamp[slot] == stamp) {
+            if (slotX[slot] == xBits && slotY[slot] == yBits) {
+                return slotIndex[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        slotStamp[slot] = stamp;
+        slotX[slot] = xBits;
+        slotY[slot] = yBits;
+        slotIndex[slot] = next;
+        return next;
+    }
+
+    /**
+     * A queued request.
+     */
+    private static final class Request {
+
+        /** The base value. */
+        private final double x;
+
+        /** The exponent value. */
+        private final double y;
+
+        /** {@link System#nanoTime()} at submission. */
+        private final long enqueuedNanos = System.nanoTime();
+
+        /** The future handed to the caller. */
+        private final CompletableFuture<Double> future =
+                new CompletableFuture<>();
+
+        /**
+         * Creates a request.
+         *
+         * @param x The base value.
+         * @param y The exponent value.
+         */
+        Request(final double x, final double y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+}
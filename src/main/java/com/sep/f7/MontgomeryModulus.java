@@ -0,0 +1,232 @@
+package com.sep.f7;
+
+/**
+ * Modular exponentiation for a fixed odd modulus below 2^63, using
+ * Montgomery multiplication.
+ * <p>
+ * Montgomery form replaces the division of every modular product by two
+ * 64-bit multiplications and a conditional subtraction. The constants it
+ * needs, -m^-1 mod 2^64 and 2^128 mod m, are computed once by the
+ * constructor, so a batch over many bases or exponents pays for them
+ * once. Instances are immutable and therefore thread-safe.
+ *
+ * @see IntegerPower#modPow(long, long, long)
+ */
+public final class MontgomeryModulus {
+
+    /** Mask selecting the low 32 bits of a long. */
+    private static final long LOW_MASK = 0xFFFFFFFFL;
+
+    /** Newton steps taking an inverse mod 2^64 from 3 to 96 bits. */
+    private static final int INVERSE_STEPS = 5;
+
+    /** The modulus m. */
+    private final long modulus;
+
+    /** -m^-1 mod 2^64. */
+    private final long negativeInverse;
+
+    /** R^2 mod m with R = 2^64, to convert into Montgomery form. */
+    private final long rSquared;
+
+    /** R mod m, the Montgomery form of 1. */
+    private final long one;
+
+    /**
+     * Precomputes the Montgomery constants of a modulus.
+     *
+     * @param modulus The modulus; odd, greater than 1.
+     * @throws IllegalArgumentException If the modulus is even or not
+     *         greater than 1.
+     */
+    public MontgomeryModulus(final long modulus) {
+        if (modulus <= 1 || (modulus & 1L) == 0) {
+            throw new IllegalArgumentException(
+                    "Montgomery modulus must be odd and greater than 1"
+            );
+        }
+        this.modulus = modulus;
+        this.negativeInverse = -inverse(modulus);
+        // 2^64 mod m, then doubled 64 more times for 2^128 mod m.
+        long r = Long.remainderUnsigned(-modulus, modulus);
+        this.one = r;
+        for (int i = 0; i < Long.SIZE; i++) {
+            r = addMod(r, r);
+        }
+        this.rSquared = r;
+    }
+
+    /**
+     * Returns the modulus.
+     *
+     * @return m.
+     */
+    public long getModulus() {
+        return modulus;
+    }
+
+    /**
+     * Calculates base^exponent mod m.
+     *
+     * @param base The base; negative values are reduced to [0, m).
+     * @param exponent The exponent; not negative.
+     * @return The residue in [0, m).
+     * @throws IllegalArgumentException If the exponent is negative.
+     */
+    public long modPow(final long base, final long exponent) {
+        if (exponent < 0) {
+            throw new IllegalArgumentException(
+                    "Exponent must not be negative"
+            );
+        }
+        long square = toMontgomery(Math.floorMod(base, modulus));
+        long result = one;
+        long remaining = exponent;
+        while (remaining != 0) {
+            if ((remaining & 1L) != 0) {
+                result = multiply(result, square);
+            }
+            remaining >>>= 1;
+            if (remaining != 0) {
+                square = multiply(square, square);
+            }
+        }
+        return reduce(0L, result);
+    }
+
+    /**
+     * Calculates bases[i]^exponent mod m for every index.
+     *
+     * @param bases The bases.
+     * @param exponent The exponent shared by every element; not negative.
+     * @param out The array receiving the residues; may alias bases.
+     * @throws IllegalArgumentException If the lengths differ or the
+     *         exponent is negative.
+     */
+    public void modPow(final long[] bases, final long exponent,
+                       final long[] out) {
+        checkLengths(bases.length, out);
+        for (int i = 0; i < out.length; i++) {
+            out[i] = modPow(bases[i], exponent);
+        }
+    }
+
+    /**
+     * Calculates bases[i]^exponents[i] mod m for every index.
+     *
+     * @param bases The bases.
+     * @param exponents The exponents; not negative.
+     * @param out The array receiving the residues; may alias an input.
+     * @throws IllegalArgumentException If the lengths differ or an
+     *         exponent is negative.
+     */
+    public void modPow(final long[] bases, final long[] exponents,
+                       final long[] out) {
+        checkLengths(bases.length, out);
+        checkLengths(exponents.length, out);
+        for (int i = 0; i < out.length; i++) {
+            out[i] = modPow(bases[i], exponents[i]);
+        }
+    }
+
+    /**
+     * Computes the inverse of an odd number modulo 2^64 by Newton's
+     * iteration x := x(2 - ax), which doubles the correct bits per step.
+     *
+     * @param odd The odd number a.
+     * @return a^-1 mod 2^64.
+     */
+    static long inverse(final long odd) {
+        // a * a == 1 mod 8 for every odd a: three correct bits.
+        long x = odd;
+        for (int i = 0; i < INVERSE_STEPS; i++) {
+            x *= 2 - odd * x;
+        }
+        return x;
+    }
+
+    /**
+     * Returns the high 64 bits of the unsigned 128-bit product a &middot; b.
+     * Math.multiplyHigh is not available on Java 8.
+     *
+     * @param a The first factor, unsigned.
+     * @param b The second factor, unsigned.
+     * @return The high half of the product.
+     */
+    static long multiplyHighUnsigned(final long a, final long b) {
+        long aLow = a & LOW_MASK;
+        long aHigh = a >>> Integer.SIZE;
+        long bLow = b & LOW_MASK;
+        long bHigh = b >>> Integer.SIZE;
+        long highLow = aHigh * bLow;
+        long lowHigh = aLow * bHigh;
+        long middle = ((aLow * bLow) >>> Integer.SIZE)
+                + (highLow & LOW_MASK) + (lowHigh & LOW_MASK);
+        return aHigh * bHigh + (highLow >>> Integer.SIZE)
+                + (lowHigh >>> Integer.SIZE) + (middle >>> Integer.SIZE);
+    }
+
+    /**
+     * Montgomery product a &middot; b &middot; R^-1 mod m.
+     *
+     * @param a A residue in Montgomery form.
+     * @param b A residue in Montgomery form.
+     * @return The product in Montgomery form.
+     */
+    private long multiply(final long a, final long b) {
+        return reduce(multiplyHighUnsigned(a, b), a * b);
+    }
+
+    /**
+     * Converts a residue into Montgomery form, a &middot; R mod m.
+     *
+     * @param a A residue in [0, m).
+     * @return Its Montgomery form.
+     */
+    private long toMontgomery(final long a) {
+        return multiply(a, rSquared);
+    }
+
+    /**
+     * Montgomery reduction of T = high &middot; 2^64 + low, for T &lt; m R.
+     *
+     * @param high The high 64 bits of T.
+     * @param low The low 64 bits of T.
+     * @return T &middot; R^-1 mod m.
+     */
+    private long reduce(final long high, final long low) {
+        long u = low * negativeInverse;
+        // low + u*m is 0 mod 2^64, so it carries exactly when low != 0.
+        long carry = low != 0 ? 1L : 0L;
+        long t = high + multiplyHighUnsigned(u, modulus) + carry;
+        return Long.compareUnsigned(t, modulus) >= 0 ? t - modulus : t;
+    }
+
+    /**
+     * Adds two residues.
+     *
+     * @param a A residue in [0, m).
+     * @param b A residue in [0, m).
+     * @return a + b mod m.
+     */
+    private long addMod(final long a, final long b) {
+        long sum = a + b;
+        return Long.compareUnsigned(sum, modulus) >= 0 ? sum - modulus : sum;
+    }
+
+    /**
+     * Checks that the arrays of a batch call line up.
+     *
+     * @param inputLength The length of an input array.
+     * @param out The output array.
+     * @throws IllegalArgumentException If the lengths differ.
+     */
+    private static void checkLengths(final int inputLength,
+                                     final long[] out) {
+        if (inputLength != out.length) {
+            throw new IllegalArgumentException(
+                    "Input and output arrays must have the same length"
+            );
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.sep.f7;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Evaluates x^y over large arrays on a {@link ForkJoinPool}.
+ * <p>
+ * The index range is split recursively into chunks of at most
+ * {@code chunkSize} elements (by default sized so the three arrays of a
+ * chunk fit in a typical L2 cache), and each chunk is handed to the same
+ * {@link BatchKernel} as the single-threaded batch methods of
+ * {@link PowerCalculator}. Chunk boundaries are always multiples of
+ * {@link #CHUNK_ALIGNMENT}, so every element is evaluated by exactly the
+ * same vector or scalar lane as in the sequential path, and results are
+ * bit-identical whatever the pool size. Inputs no longer than
+ * {@code sequentialThreshold} are evaluated on the calling thread.
+ * <p>
+ * Instances are immutable and thread-safe. An evaluator created with
+ * {@link #ParallelPowerEvaluator(int)} owns its pool and should be closed.
+ */
+public final class ParallelPowerEvaluator implements AutoCloseable {
+
+    /** Default number of elements per chunk (192 KiB of doubles). */
+    public static final int DEFAULT_CHUNK_SIZE = 8192;
+
+    /** Default input length below which no tasks are forked. */
+    public static final int DEFAULT_SEQUENTIAL_THRESHOLD = 32768;
+
+    /**
+     * Granularity of chunk boundaries; a multiple of every vector length.
+     */
+    public static final int CHUNK_ALIGNMENT = 64;
+
+    /** The pool running the chunks. */
+    private final ForkJoinPool pool;
+
+    /** Whether {@link #close()} shuts {@link #pool} down. */
+    private final boolean ownsPool;
+
+    /** Maximum number of elements per chunk. */
+    private final int chunkSize;
+
+    /** Input length up to which evaluation stays on the caller thread. */
+    private final int sequentialThreshold;
+
+    /** The kernel evaluating each chunk. */
+    private final BatchKernel kernel = BatchKernels.PREFERRED;
+
+    /**
+     * Creates an evaluator on the common pool with default chunking.
+     */
+    public ParallelPowerEvaluator() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE,
+                DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    /**
+     * Creates an evaluator with its own pool of the given parallelism.
+     *
+     * @param parallelism The number of worker threads.
+     * @throws IllegalArgumentException If parallelism is not positive.
+     */
+    public ParallelPowerEvaluator(final int parallelism) {
+        this(new ForkJoinPool(checkPositive(parallelism, "parallelism")),
+                true, DEFAULT_CHUNK_SIZE, DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    /**
+     * Creates an evaluator on a caller-supplied pool.
+     *
+     * @param pool The pool running the chunks; it is not shut down by
+     * {@link #close()}.
+     * @param chunkSize The maximum number of elements per chunk; rounded
+     * up to a multiple of {@link #CHUNK_ALIGNMENT}.
+     * @param sequentialThreshold Inputs up to this length are evaluated on
+     * the calling thread.
+     * @throws IllegalArgumentException If chunkSize is not positive or
+     * sequentialThreshold is negative.
+     */
+    public ParallelPowerEvaluator(final ForkJoinPool pool,
+                                  final int chunkSize,
+                                  final int sequentialThreshold) {
+        this(pool, false, chunkSize, sequentialThreshold);
+    }
+
+    /**
+     * Shared constructor.
+     *
+     * @param pool The pool running the chunks.
+     * @param ownsPool Whether {@link #close()} shuts the pool down.
+     * @param chunkSize The maximum number of elements per chunk.
+     * @param sequentialThreshold The sequential cut-off.
+     */
+    private ParallelPowerEvaluator(final ForkJoinPool pool,
+                                   final boolean ownsPool,
+                                   final int chunkSize,
+                                   final int sequentialThreshold) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool must not be null");
+        }
+        checkPositive(chunkSize, "chunkSize");
+        if (sequentialThreshold < 0) {
+            throw new IllegalArgumentException(
+                    "sequentialThreshold must not be negative");
+        }
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+        this.chunkSize = (int) Math.min(Integer.MAX_VALUE
+                        - CHUNK_ALIGNMENT + 1,
+                ((long) chunkSize + CHUNK_ALIGNMENT - 1)
+                        / CHUNK_ALIGNMENT * CHUNK_ALIGNMENT);
+        this.sequentialThreshold = sequentialThreshold;
+    }
+
+    /**
+     * Returns the effective, aligned chunk size.
+     *
+     * @return The maximum number of elements per chunk.
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Returns the input length up to which no tasks are forked.
+     *
+     * @return The sequential threshold.
+     */
+    public int getSequentialThreshold() {
+        return sequentialThreshold;
+    }
+
+    /**
+     * Returns the parallelism of the underlying pool.
+     *
+     * @return The target number of worker threads.
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Calculates xs[i] raised to the power of ys[i] for every index.
+     *
+     * @param xs The base values.
+     * @param ys The exponent values.
+     * @param out The array receiving the results; may alias an input.
+     * @throws IllegalArgumentException If the array lengths differ.
+     * @see PowerCalculator#calculatePower(double[], double[], double[])
+     */
+    public void calculatePower(final double[] xs, final double[] ys,
+                               final double[] out) {
+        BatchKernels.checkLengths(xs.length, out);
+        BatchKernels.checkLengths(ys.length, out);
+        run(out.length, (from, to) -> kernel.power(xs, ys, out, from, to));
+    }
+
+    /**
+     * Calculates x raised to the power of ys[i] for every index.
+     *
+     * @param x The base value shared by every element.
+     * @param ys The exponent values.
+     * @param out The array receiving the results; may alias ys.
+     * @throws IllegalArgumentException If the array lengths differ.
+     * @see PowerCalculator#calculatePower(double, double[], double[])
+     */
+    public void calculatePower(final double x, final double[] ys,
+                               final double[] out) {
+        BatchKernels.checkLengths(ys.length, out);
+        run(out.length, (from, to) -> kernel.power(x, ys, out, from, to));
+    }
+
+    /**
+     * Calculates xs[i] raised to the power of y for every index.
+     *
+     * @param xs The base values.
+     * @param y The exponent value shared by every element.
+     * @param out The array receiving the results; may alias xs.
+     * @throws IllegalArgumentException If the array lengths differ.
+     * @see PowerCalculator#calculatePower(double[], double, double[])
+     */
+    public void calculatePower(final double[] xs, final double y,
+                               final double[] out) {
+        BatchKernels.checkLengths(xs.length, out);
+        FixedExponentPower power = PowerCalculator.forExponent(y);
+        run(out.length, (from, to) -> power.calculatePower(xs, out, from, to));
+    }
+
+    /**
+     * Shuts down the pool if this evaluator created it.
+     */
+    @Override
+    public void close() {
+        if (ownsPool) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Evaluates [0, length) either inline or on the pool.
+     *
+     * @param length The number of elements.
+     * @param range The evaluation of one sub-range.
+     */
+    private void run(final int length, final Range range) {
+        if (length <= sequentialThreshold || length <= chunkSize
+                || pool.getParallelism() == 1) {
+            range.evaluate(0, length);
+            return;
+        }
+        pool.invoke(new ChunkTask(range, 0, length));
+    }
+
+    /**
+     * Checks that a configuration value is positive.
+     *
+     * @param value The value.
+     * @param name The parameter name used in the error message.
+     * @return The value.
+     */
+    private static int checkPositive(final int value, final String name) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+        return value;
+    }
+
+    /**
+     * Evaluation of one index range.
+     */
+    private interface Range {
+
+        /**
+         * Evaluates [from, to).
+         *
+         * @param from The first index, inclusive.
+         * @param to The last index, exclusive.
+         */
+        void evaluate(int from, int to);
+    }
+
+    /**
+     * Splits a range at chunk boundaries until it fits in one chunk.
+     */
+    private final class ChunkTask extends RecursiveAction {
+
+        /** Serialization version; tasks are never serialized. */
+        private static final long serialVersionUID = 1L;
+
+        /** The evaluation applied to each chunk. */
+        private final transient Range range;
+
+        /** The first index, inclusive. */
+        private final int from;
+
+        /** The last index, exclusive. */
+        private final int to;
+
+        /**
+         * Creates a task for [from, to).
+         *
+         * @param range The evaluation applied to each chunk.
+         * @param from The first index, a multiple of the chunk alignment.
+         * @param to The last index, exclusive.
+         */
+        ChunkTask(final Range range, final int from, final int to) {
+            this.range = range;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            int length = to - from;
+            if (length <= chunkSize) {
+                range.evaluate(from, to);
+                return;
+            }
+            int chunks = (length + chunkSize - 1) / chunkSize;
+            int middle = from + (chunks / 2) * chunkSize;
+            invokeAll(new ChunkTask(range, from, middle),
+                    new ChunkTask(range, middle, to));
+        }
+    }
+}
@@ -0,0 +1,621 @@
+package com.sep.f7;
+
+import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.RadioButton;
+import javafx.scene.control.TextField;
+import javafx.scene.control.ToggleGroup;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.sep.f7.PowerTileCache.TILE_SIZE;
+
+/**
+ * A panel plotting x^y on a {@link Canvas}, either as curves over x for a
+ * few fixed exponents or as a heatmap over an (x, y) region.
+ * <p>
+ * Drag to pan and scroll to zoom around the pointer. Samples come from a
+ * {@link PowerTileCache}: tiles already evaluated are drawn straight
+ * away, and missing tiles are evaluated in parallel on a background pool
+ * while the canvas shows the matching part of a coarser tile, so the
+ * view sharpens progressively instead of waiting. Panning only evaluates
+ * the tiles entering the view, and tiles that leave it before their turn
+ * are skipped. Heatmap tiles are turned into images once and scaled by
+ * the canvas, so a full-screen view of about a million samples redraws
+ * as a few hundred image blits.
+ * <p>
+ * All methods must be called on the JavaFX application thread.
+ */
+final class PlotPanel extends BorderPane implements AutoCloseable {
+
+    /** How many levels up a missing tile looks for a preview. */
+    private static final int MAX_PREVIEW_LEVELS = 6;
+
+    /** Levels between a missing tile and the preview evaluated first. */
+    private static final int PREVIEW_LEVELS = 2;
+
+    /** Zoom factor per scroll pixel. */
+    private static final double ZOOM_PER_PIXEL = 0.002;
+
+    /** Smallest world span of a pixel. */
+    private static final double MIN_UNITS_PER_PIXEL = 0x1p-40;
+
+    /** Largest world span of a pixel. */
+    private static final double MAX_UNITS_PER_PIXEL = 0x1p40;
+
+    /** World span of a pixel in the initial view. */
+    private static final double INITIAL_UNITS_PER_PIXEL = 1.0 / 128;
+
+    /** Center of the initial view. */
+    private static final double INITIAL_CENTER_X = 2.0;
+
+    /** Exponents plotted by default in curve mode. */
+    private static final String DEFAULT_EXPONENTS = "-1, 0.5, 1, 2, 3";
+
+    /** Decades of |x^y| spanned by the heatmap colors. */
+    private static final double COLOR_DECADES = 10.0;
+
+    /** Number of precomputed heatmap colors per sign. */
+    private static final int PALETTE_SIZE = 256;
+
+    /** Hue of the smallest magnitudes, in degrees. */
+    private static final double COLD_HUE = 240.0;
+
+    /** Brightness of negative results. */
+    private static final double NEGATIVE_BRIGHTNESS = 0.55;
+
+    /** Color of undefined results. */
+    private static final int NAN_COLOR = 0xFF808080;
+
+    /** Color of zero. */
+    private static final int ZERO_COLOR = 0xFF000000;
+
+    /** Color of infinite results. */
+    private static final int INFINITE_COLOR = 0xFFFFFFFF;
+
+    /** Heatmap colors of positive results, from small to large. */
+    private static final int[] POSITIVE_PALETTE = palette(1.0);
+
+    /** Heatmap colors of negative results, from small to large. */
+    private static final int[] NEGATIVE_PALETTE =
+            palette(NEGATIVE_BRIGHTNESS);
+
+    /** Curve colors, cycled. */
+    private static final Color[] CURVE_COLORS = {Color.CRIMSON,
+            Color.ROYALBLUE, Color.FORESTGREEN, Color.DARKORANGE,
+            Color.PURPLE, Color.TEAL};
+
+    /** Width of a curve in pixels. */
+    private static final double CURVE_WIDTH = 1.5;
+
+    /** Gap between the controls. */
+    private static final double CONTROL_SPACING = 10;
+
+    /** The drawing surface, resized with the panel. */
+    private final Canvas canvas = new Canvas();
+
+    /** Evaluated tiles. */
+    private final PowerTileCache cache;
+
+    /** Evaluates tiles off the JavaFX application thread. */
+    private final ExecutorService executor;
+
+    /** Images of heatmap tiles; entries vanish with evicted tiles. */
+    private final Map<PowerTileCache.Tile, WritableImage> images =
+            new WeakHashMap<>();
+
+    /** Whether a redraw has been posted to the application thread. */
+    private final AtomicBoolean redrawPosted = new AtomicBoolean();
+
+    /** Keys of the tiles the last redraw needed; replaced, never mutated. */
+    private volatile Set<PowerTileCache.Key> wanted = Collections.emptySet();
+
+    /** Shows the view range. */
+    private final Label rangeLabel = new Label();
+
+    /** World x at the center of the canvas. */
+    private double centerX = INITIAL_CENTER_X;
+
+    /** World y at the center of the canvas. */
+    private double centerY;
+
+    /** World units per pixel. */
+    private double unitsPerPixel = INITIAL_UNITS_PER_PIXEL;
+
+    /** Whether the heatmap, rather than the curves, is shown. */
+    private boolean heatmap;
+
+    /** Exponents of the curves. */
+    private double[] exponents = parseExponents(DEFAULT_EXPONENTS);
+
+    /** Pointer position at the previous drag event. */
+    private double dragX;
+
+    /** Pointer position at the previous drag event. */
+    private double dragY;
+
+    /**
+     * Creates the panel.
+     *
+     * @param function The power function evaluating the samples.
+     */
+    PlotPanel(final PowerFunction function) {
+        this.cache = new PowerTileCache(function, PlotPanel::heatmapColor,
+                PowerTileCache.DEFAULT_CAPACITY);
+        this.executor = Executors.newFixedThreadPool(
+                Runtime.getRuntime().availableProcessors(), task -> {
+                    Thread thread = new Thread(task, "power-plot");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        Pane canvasPane = new Pane(canvas);
+        canvas.widthProperty().bind(canvasPane.widthProperty());
+        canvas.heightProperty().bind(canvasPane.heightProperty());
+        canvas.widthProperty().addListener(observable -> redraw());
+        canvas.heightProperty().addListener(observable -> redraw());
+        canvasPane.setOnMousePressed(event -> {
+            dragX = event.getX();
+            dragY = event.getY();
+        });
+        canvasPane.setOnMouseDragged(event -> {
+            centerX -= (event.getX() - dragX) * unitsPerPixel;
+            centerY += (event.getY() - dragY) * unitsPerPixel;
+            dragX = event.getX();
+            dragY = event.getY();
+            redraw();
+        });
+        canvasPane.setOnScroll(event -> {
+            zoom(Math.exp(-event.getDeltaY() * ZOOM_PER_PIXEL),
+                    event.getX(), event.getY());
+            redraw();
+        });
+        setCenter(canvasPane);
+        setBottom(controls());
+    }
+
+    /**
+     * Stops evaluating tiles.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Builds the mode, exponent and reset controls.
+     *
+     * @return The control bar.
+     */
+    private HBox controls() {
+        ToggleGroup mode = new ToggleGroup();
+        RadioButton curves = new RadioButton("Curves");
+        RadioButton map = new RadioButton("Heatmap");
+        curves.setToggleGroup(mode);
+        map.setToggleGroup(mode);
+        curves.setSelected(true);
+        mode.selectedToggleProperty().addListener((observable, old, now) -> {
+            heatmap = now == map;
+            redraw();
+        });
+
+        TextField exponentField = new TextField(DEFAULT_EXPONENTS);
+        exponentField.setPromptText("y values, comma separated");
+        exponentField.textProperty().addListener((observable, old, text) -> {
+            exponents = parseExponents(text);
+            redraw();
+        });
+
+        Button reset = new Button("Reset view");
+        reset.setOnAction(event -> {
+            centerX = INITIAL_CENTER_X;
+            centerY = 0.0;
+            unitsPerPixel = INITIAL_UNITS_PER_PIXEL;
+            redraw();
+        });
+
+        HBox controls = new HBox(CONTROL_SPACING, curves, map,
+                new Label("y ="), exponentField, reset, rangeLabel);
+        controls.setAlignment(Pos.CENTER_LEFT);
+        controls.setPadding(new Insets(CONTROL_SPACING));
+        return controls;
+    }
+
+    /**
+     * Zooms by a factor, keeping the world point under the pointer fixed.
+     *
+     * @param factor The new units per pixel over the old.
+     * @param pointerX The pointer's x on the canvas.
+     * @param pointerY The pointer's y on the canvas.
+     */
+    private void zoom(final double factor, final double pointerX,
+                      final double pointerY) {
+        double next = Math.min(MAX_UNITS_PER_PIXEL,
+                Math.max(MIN_UNITS_PER_PIXEL, unitsPerPixel * factor));
+        double offsetX = pointerX - canvas.getWidth() / 2;
+        double offsetY = canvas.getHeight() / 2 - pointerY;
+        centerX += offsetX * (unitsPerPixel - next);
+        centerY += offsetY * (unitsPerPixel - next);
+        unitsPerPixel = next;
+    }
+
+    /**
+     * Redraws the canvas from the cache and requests the missing tiles.
+     */
+    void redraw() {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        double width = canvas.getWidth();
+        double height = canvas.getHeight();
+        gc.setFill(Color.WHITE);
+        gc.fillRect(0, 0, width, height);
+        Set<PowerTileCache.Key> needed = new HashSet<>();
+        List<PowerTileCache.Key> missing = new ArrayList<>();
+        if (heatmap) {
+            drawHeatmap(gc, width, height, needed, missing);
+        } else {
+            drawCurves(gc, width, height, needed, missing);
+        }
+        // Publish the finished set before any task can test against it.
+        wanted = Collections.unmodifiableSet(needed);
+        for (PowerTileCache.Key key : missing) {
+            request(key);
+        }
+        drawAxes(gc, width, height);
+        rangeLabel.setText(String.format("x: [%.4g, %.4g]  y: [%.4g, %.4g]",
+                toWorldX(0), toWorldX(width), toWorldY(height),
+                toWorldY(0)));
+    }
+
+    /**
+     * Draws the visible heatmap tiles, or previews of missing ones.
+     *
+     * @param gc The canvas graphics.
+     * @param width The canvas width.
+     * @param height The canvas height.
+     * @param needed Receives the keys of the visible tiles.
+     * @param missing Receives the keys to request, in drawing order.
+     */
+    private void drawHeatmap(final GraphicsContext gc, final double width,
+                             final double height,
+                             final Set<PowerTileCache.Key> needed,
+                             final List<PowerTileCache.Key> missing) {
+        gc.setImageSmoothing(false);
+        int level = PowerTileCache.levelFor(unitsPerPixel);
+        double span = PowerTileCache.tileSpan(level);
+        double size = span / unitsPerPixel;
+        long firstColumn = PowerTileCache.tileIndex(toWorldX(0), level);
+        long lastColumn = PowerTileCache.tileIndex(toWorldX(width), level);
+        long firstRow = PowerTileCache.tileIndex(toWorldY(height), level);
+        long lastRow = PowerTileCache.tileIndex(toWorldY(0), level);
+        for (long row = lastRow; row >= firstRow; row--) {
+            for (long column = firstColumn; column <= lastColumn; column++) {
+                PowerTileCache.Key key =
+                        PowerTileCache.heatmapKey(level, column, row);
+                needed.add(key);
+                double left = toScreenX(column * span);
+                double top = toScreenY((row + 1) * span);
+                PowerTileCache.Tile tile = cache.get(key);
+                if (tile != null) {
+                    gc.drawImage(image(tile), left, top, size, size);
+                    continue;
+                }
+                if (!drawPreview(gc, key, left, top, size)) {
+                    PowerTileCache.Key preview = key.ancestor(PREVIEW_LEVELS);
+                    needed.add(preview);
+                    missing.add(preview);
+                }
+                missing.add(key);
+            }
+        }
+    }
+
+    /**
+     * Draws the part of the nearest cached ancestor covering a tile.
+     *
+     * @param gc The canvas graphics.
+     * @param key The missing tile.
+     * @param left The tile's left edge on the canvas.
+     * @param top The tile's top edge on the canvas.
+     * @param size The tile's edge on the canvas.
+     * @return true if a preview was drawn.
+     */
+    private boolean drawPreview(final GraphicsContext gc,
+                                final PowerTileCache.Key key,
+                                final double left, final double top,
+                                final double size) {
+        for (int k = 1; k <= MAX_PREVIEW_LEVELS; k++) {
+            PowerTileCache.Tile ancestor = cache.get(key.ancestor(k));
+            if (ancestor == null) {
+                continue;
+            }
+            long mask = (1L << k) - 1;
+            double part = (double) TILE_SIZE / (1L << k);
+            double sourceX = (key.getColumn() & mask) * part;
+            double sourceY = (mask - (key.getRow() & mask)) * part;
+            gc.drawImage(image(ancestor), sourceX, sourceY, part, part,
+                    left, top, size, size);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Draws one polyline per exponent.
+     *
+     * @param gc The canvas graphics.
+     * @param width The canvas width.
+     * @param height The canvas height.
+     * @param needed Receives the keys of the visible tiles.
+     * @param missing Receives the keys to request, in drawing order.
+     */
+    private void drawCurves(final GraphicsContext gc, final double width,
+                            final double height,
+                            final Set<PowerTileCache.Key> needed,
+                            final List<PowerTileCache.Key> missing) {
+        int level = PowerTileCache.levelFor(unitsPerPixel);
+        long firstColumn = PowerTileCache.tileIndex(toWorldX(0), level);
+        long lastColumn = PowerTileCache.tileIndex(toWorldX(width), level);
+        gc.setLineWidth(CURVE_WIDTH);
+        for (int e = 0; e < exponents.length; e++) {
+            gc.setStroke(CURVE_COLORS[e % CURVE_COLORS.length]);
+            gc.beginPath();
+            boolean penDown = false;
+            for (long column = firstColumn; column <= lastColumn; column++) {
+                PowerTileCache.Key key =
+                        PowerTileCache.curveKey(exponents[e], level, column);
+                needed.add(key);
+                PowerTileCache.Tile tile = cache.get(key);
+                int k = 0;
+                if (tile == null) {
+                    missing.add(key);
+                }
+                while (tile == null && k < MAX_PREVIEW_LEVELS) {
+                    k++;
+                    tile = cache.get(key.ancestor(k));
+                }
+                if (tile == null) {
+                    penDown = false;
+                    continue;
+                }
+                penDown = tracePolyline(gc, tile, key, k, height, penDown);
+            }
+            gc.stroke();
+        }
+    }
+
+    /**
+     * Adds the samples of a curve tile covering a key to the path.
+     *
+     * @param gc The canvas graphics.
+     * @param tile The tile, either the key's or an ancestor k levels up.
+     * @param key The tile being drawn.
+     * @param k The number of levels between key and tile.
+     * @param height The canvas height.
+     * @param penDown Whether the path continues from the previous tile.
+     * @return Whether the path is still continuous at the tile's end.
+     */
+    private boolean tracePolyline(final GraphicsContext gc,
+                                  final PowerTileCache.Tile tile,
+                                  final PowerTileCache.Key key, final int k,
+                                  final double height,
+                                  final boolean penDown) {
+        int count = TILE_SIZE >> k;
+        int from = (int) (key.getColumn() & ((1L << k) - 1)) * count;
+        double limit = height * 2;
+        boolean down = penDown;
+        double[] values = tile.getValues();
+        for (int i = from; i < from + count; i++) {
+            double x = toScreenX(PowerTileCache.sampleX(tile.getKey(), i));
+            double y = toScreenY(values[i]);
+            if (!(Math.abs(y - height / 2) < limit)) {
+                // Undefined or far off screen: lift the pen
+                down = false;
+                continue;
+            }
+            if (down) {
+                gc.lineTo(x, y);
+            } else {
+                gc.moveTo(x, y);
+                down = true;
+            }
+        }
+        return down;
+    }
+
+    /**
+     * Draws the x and y axes where they are visible.
+     *
+     * @param gc The canvas graphics.
+     * @param width The canvas width.
+     * @param height The canvas height.
+     */
+    private void drawAxes(final GraphicsContext gc, final double width,
+                          final double height) {
+        gc.setStroke(Color.GRAY);
+        gc.setLineWidth(1.0);
+        double axisY = toScreenY(0.0);
+        if (axisY >= 0 && axisY <= height) {
+            gc.strokeLine(0, axisY, width, axisY);
+        }
+        double axisX = toScreenX(0.0);
+        if (axisX >= 0 && axisX <= width) {
+            gc.strokeLine(axisX, 0, axisX, height);
+        }
+    }
+
+    /**
+     * Evaluates a tile in the background and redraws when it is ready.
+     *
+     * @param key The tile.
+     */
+    private void request(final PowerTileCache.Key key) {
+        if (executor.isShutdown()) {
+            return;
+        }
+        cache.request(key, executor, k -> wanted.contains(k))
+                .thenAccept(tile -> {
+                    if (tile != null) {
+                        postRedraw();
+                    }
+                });
+    }
+
+    /**
+     * Schedules one redraw on the application thread, however many
+     * tiles complete before it runs.
+     */
+    private void postRedraw() {
+        if (redrawPosted.compareAndSet(false, true)) {
+            Platform.runLater(() -> {
+                redrawPosted.set(false);
+                redraw();
+            });
+        }
+    }
+
+    /**
+     * Returns the image of a heatmap tile, creating it on first use.
+     *
+     * @param tile The heatmap tile.
+     * @return The tile's image.
+     */
+    private WritableImage image(final PowerTileCache.Tile tile) {
+        WritableImage image = images.get(tile);
+        if (image == null) {
+            image = new WritableImage(TILE_SIZE, TILE_SIZE);
+            image.getPixelWriter().setPixels(0, 0, TILE_SIZE, TILE_SIZE,
+                    PixelFormat.getIntArgbInstance(), tile.getArgb(), 0,
+                    TILE_SIZE);
+            images.put(tile, image);
+        }
+        return image;
+    }
+
+    /**
+     * Converts a canvas x to a world x.
+     *
+     * @param screenX The canvas coordinate.
+     * @return The world coordinate.
+     */
+    private double toWorldX(final double screenX) {
+        return centerX + (screenX - canvas.getWidth() / 2) * unitsPerPixel;
+    }
+
+    /**
+     * Converts a canvas y to a world y; canvas y grows downwards.
+     *
+     * @param screenY The canvas coordinate.
+     * @return The world coordinate.
+     */
+    private double toWorldY(final double screenY) {
+        return centerY + (canvas.getHeight() / 2 - screenY) * unitsPerPixel;
+    }
+
+    /**
+     * Converts a world x to a canvas x.
+     *
+     * @param worldX The world coordinate.
+     * @return The canvas coordinate.
+     */
+    private double toScreenX(final double worldX) {
+        return (worldX - centerX) / unitsPerPixel + canvas.getWidth() / 2;
+    }
+
+    /**
+     * Converts a world y to a canvas y.
+     *
+     * @param worldY The world coordinate.
+     * @return The canvas coordinate.
+     */
+    private double toScreenY(final double worldY) {
+        return canvas.getHeight() / 2 - (worldY - centerY) / unitsPerPixel;
+    }
+
+    /**
+     * Parses a comma-separated list of exponents, skipping invalid and
+     * NaN entries.
+     *
+     * @param text The list.
+     * @return The exponents.
+     */
+    static double[] parseExponents(final String text) {
+        String[] parts = text == null ? new String[0] : text.split(",");
+        double[] values = new double[parts.length];
+        int count = 0;
+        for (String part : parts) {
+            OptionalDouble value = InputParser.parse(part);
+            if (value.isPresent() && !Double.isNaN(value.getAsDouble())) {
+                values[count++] = value.getAsDouble();
+            }
+        }
+        double[] exponents = new double[count];
+        System.arraycopy(values, 0, exponents, 0, count);
+        return exponents;
+    }
+
+    /**
+     * Maps a value to a heatmap color: the hue follows log10 |value| over
+     * {@value #COLOR_DECADES} decades either side of 1, negative values
+     * are darker, and zero, infinities and NaN have fixed colors.
+     *
+     * @param value The sample.
+     * @return The ARGB color.
+     */
+    static int heatmapColor(final double value) {
+        if (value != value) {
+            return NAN_COLOR;
+        }
+        if (value == 0.0) {
+            return ZERO_COLOR;
+        }
+        if (Double.isInfinite(value)) {
+            return INFINITE_COLOR;
+        }
+        double decades = Math.log10(Math.abs(value));
+        double position = (decades + COLOR_DECADES) / (2 * COLOR_DECADES);
+        int index = (int) Math.round(position * (PALETTE_SIZE - 1));
+        index = Math.max(0, Math.min(PALETTE_SIZE - 1, index));
+        return value > 0.0 ? POSITIVE_PALETTE[index]
+                : NEGATIVE_PALETTE[index];
+    }
+
+    /**
+     * Precomputes a blue-to-red ramp.
+     *
+     * @param brightness The brightness of every color.
+     * @return {@value #PALETTE_SIZE} ARGB colors.
+     */
+    private static int[] palette(final double brightness) {
+        int[] colors = new int[PALETTE_SIZE];
+        for (int i = 0; i < PALETTE_SIZE; i++) {
+            double hue = COLD_HUE * (1.0 - (double) i / (PALETTE_SIZE - 1));
+            Color color = Color.hsb(hue, 1.0, brightness);
+            colors[i] = 0xFF000000
+                    | (int) Math.round(color.getRed() * 255) << 16
+                    | (int) Math.round(color.getGreen() * 255) << 8
+                    | (int) Math.round(color.getBlue() * 255);
+        }
+        return colors;
+    }
+}
@@ -0,0 +1,446 @@
+package com.sep.f7;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A bounded memoization cache in front of a {@link PowerFunction}.
+ * <p>
+ * Entries are keyed on the raw bits of x and y and stored in primitive
+ * arrays, so lookups never box a {@link Double}. The table is split into
+ * independently locked stripes; each stripe is set-associative with
+ * {@link #WAYS} slots per set, probed with a single linear scan. When a set
+ * is full, the CLOCK (second-chance) policy evicts the first slot that has
+ * not been hit since the clock hand last passed it. Reads are optimistic
+ * and take no lock unless a writer raced with them or the entry was
+ * still cold, in which case a read lock guards setting its reference
+ * bit. Misses are computed
+ * outside any lock, so a slow evaluation never blocks other callers.
+ * <p>
+ * Hit, miss and eviction counters are kept in {@link LongAdder}s and can be
+ * read at any time to size the cache in production.
+ */
+public final class PowerCache {
+
+    /** Number of slots per set. */
+    public static final int WAYS = 8;
+
+    /** Default number of independently locked stripes. */
+    public static final int DEFAULT_STRIPES = 16;
+
+    /**
+     * Largest accepted capacity; with rounding, no stripe array and no
+     * total slot count can then exceed the int range.
+     */
+    public static final int MAX_CAPACITY = 1 << 30;
+
+    /** Largest accepted number of stripes. */
+    public static final int MAX_STRIPES = 1 << 16;
+
+    /** Slot state: never filled. */
+    private static final byte EMPTY = 0;
+
+    /** Slot state: filled, not hit since the clock hand passed. */
+    private static final byte COLD = 1;
+
+    /** Slot state: filled and hit since the clock hand passed. */
+    private static final byte HOT = 2;
+
+    /**
+     * Lookup result meaning "not cached": a NaN payload that is never
+     * stored, because stored results are canonicalized.
+     */
+    private static final long MISS = 0x7ff0dead0000beefL;
+
+    /** Multiplier of the 64-bit hash mix (from MurmurHash3's fmix64). */
+    private static final long MIX_1 = 0xff51afd7ed558ccdL;
+
+    /** Second multiplier of the 64-bit hash mix. */
+    private static final long MIX_2 = 0xc4ceb9fe1a85ec53L;
+
+    /** Golden-ratio constant used to combine the two key halves. */
+    private static final long GOLDEN = 0x9e3779b97f4a7c15L;
+
+    /** Shift used by the hash mix. */
+    private static final int MIX_SHIFT = 33;
+
+    /** The calculator evaluating misses. */
+    private final PowerFunction calculator;
+
+    /** The stripes. */
+    private final Stripe[] stripes;
+
+    /** Number of bits selecting a stripe. */
+    private final int stripeBits;
+
+    /** Number of sets per stripe minus one. */
+    private final int setMask;
+
+    /** Cache hits. */
+    private final LongAdder hits = new LongAdder();
+
+    /** Cache misses. */
+    private final LongAdder misses = new LongAdder();
+
+    /** Entries evicted to make room. */
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache of at least the given capacity in front of
+     * {@link PowerEngine#getDefault()}.
+     *
+     * @param capacity The minimum number of entries held.
+     * @throws IllegalArgumentException If capacity is not positive or
+     * exceeds {@link #MAX_CAPACITY}.
+     */
+    public PowerCache(final int capacity) {
+        this(PowerEngine.getDefault(), capacity, DEFAULT_STRIPES);
+    }
+
+    /**
+     * Creates a cache in front of the given calculator.
+     *
+     * @param calculator The calculator evaluating misses.
+     * @param capacity The minimum number of entries held; rounded up so
+     * every stripe holds a power-of-two number of sets.
+     * @param stripes The number of independently locked stripes; rounded
+     * up to a power of two.
+     * @throws IllegalArgumentException If capacity or stripes is not
+     * positive, or exceeds {@link #MAX_CAPACITY} or {@link #MAX_STRIPES}.
+     */
+    public PowerCache(final PowerFunction calculator, final int capacity,
+                      final int stripes) {
+        if (calculator == null) {
+            throw new IllegalArgumentException(
+                    "Calculator must not be null");
+        }
+        if (capacity <= 0 || stripes <= 0) {
+            throw new IllegalArgumentException(
+                    "Capacity and stripes must be positive");
+        }
+        if (capacity > MAX_CAPACITY || stripes > MAX_STRIPES) {
+            throw new IllegalArgumentException("Capacity must not exceed "
+                    + MAX_CAPACITY + " and stripes " + MAX_STRIPES);
+        }
+        this.calculator = calculator;
+        int stripeCount = ceilPowerOfTwo(stripes);
+        int setsPerStripe = ceilPowerOfTwo(
+                (int) Math.max(1L, ((long) capacity + (long) stripeCount
+                        * WAYS - 1) / ((long) stripeCount * WAYS)));
+        this.stripeBits = Integer.numberOfTrailingZeros(stripeCount);
+        this.setMask = setsPerStripe - 1;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes[i] = new Stripe(setsPerStripe * WAYS);
+        }
+    }
+
+    /**
+     * Returns x^y, evaluating it only if the pair is not cached.
+     *
+     * @param x The base value.
+     * @param y The exponent value.
+     * @return The result of x raised to the power of y.
+     * @see PowerFunction#calculatePower(double, double)
+     */
+    public double calculatePower(final double x, final double y) {
+        long xBits = Double.doubleToRawLongBits(x);
+        long yBits = Double.doubleToRawLongBits(y);
+        long hash = hash(xBits, yBits);
+        Stripe stripe = stripes[(int) (hash >>> (Long.SIZE - stripeBits))
+                & (stripes.length - 1)];
+        int set = ((int) hash & setMask) * WAYS;
+
+        long cached = stripe.lookup(set, xBits, yBits);
+        if (cached != MISS) {
+            hits.increment();
+            return Double.longBitsToDouble(cached);
+        }
+        misses.increment();
+        double result = calculator.calculatePower(x, y);
+        if (stripe.insert(set, xBits, yBits, result)) {
+            evictions.increment();
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of entries the cache can hold.
+     *
+     * @return The capacity after rounding.
+     */
+    public int getCapacity() {
+        return stripes.length * (setMask + 1) * WAYS;
+    }
+
+    /**
+     * Returns the number of entries currently held.
+     *
+     * @return The number of filled slots.
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    /**
+     * Returns the number of lookups answered from the cache.
+     *
+     * @return The hit count.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that had to evaluate x^y.
+     *
+     * @return The miss count.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of entries evicted to make room for new ones.
+     *
+     * @return The eviction count.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Removes every entry and resets the counters.
+     */
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            stripe.clear();
+        }
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    /**
+     * Mixes the two key halves into a well-distributed 64-bit hash.
+     *
+     * @param xBits The raw bits of x.
+     * @param yBits The raw bits of y.
+     * @return The hash.
+     */
+    static long hash(final long xBits, final long yBits) {
+        long h = xBits * GOLDEN ^ yBits;
+        h = (h ^ (h >>> MIX_SHIFT)) * MIX_1;
+        h = (h ^ (h >>> MIX_SHIFT)) * MIX_2;
+        return h ^ (h >>> MIX_SHIFT);
+    }
+
+    /**
+     * Rounds up to the next power of two.
+     *
+     * @param value A positive value.
+     * @return The smallest power of two not below value.
+     */
+    private static int ceilPowerOfTwo(final int value) {
+        int power = Integer.highestOneBit(value);
+        return power == value ? value : power << 1;
+    }
+
+    /**
+     * One independently locked part of the table.
+     */
+    private static final class Stripe {
+
+        /** Guards all arrays of this stripe. */
+        private final StampedLock lock = new StampedLock();
+
+        /** Raw bits of the cached bases. */
+        private final long[] xKeys;
+
+        /** Raw bits of the cached exponents. */
+        private final long[] yKeys;
+
+        /** Raw bits of the cached results. */
+        private final long[] values;
+
+        /** Slot states: {@link #EMPTY}, {@link #COLD} or {@link #HOT}. */
+        private final byte[] states;
+
+        /** CLOCK hand of each set, as an offset within the set. */
+        private final byte[] hands;
+
+        /**
+         * Creates a stripe with the given number of slots.
+         *
+         * @param slots The number of slots, a multiple of {@link #WAYS}.
+         */
+        Stripe(final int slots) {
+            xKeys = new long[slots];
+            yKeys = new long[slots];
+            values = new long[slots];
+            states = new byte[slots];
+            hands = new byte[slots / WAYS];
+        }
+
+        /**
+         * Looks a key up, optimistically first.
+         *
+         * @param set The first slot of the set.
+         * @param xBits The raw bits of x.
+         * @param yBits The raw bits of y.
+         * @return The raw bits of the cached result, or {@link #MISS}.
+         */
+        long lookup(final int set, final long xBits, final long yBits) {
+            long stamp = lock.tryOptimisticRead();
+            int slot = find(set, xBits, yBits);
+            long value = slot < 0 ? 0L : values[slot];
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    slot = find(set, xBits, yBits);
+                    value = slot < 0 ? 0L : values[slot];
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            if (slot < 0) {
+                return MISS;
+            }
+            if (states[slot] != HOT) {
+                markHot(slot, xBits, yBits);
+            }
+            return value;
+        }
+
+        /**
+         * Sets the reference bit of a slot that was just hit. The read lock
+         * excludes clear and insert, so a slot that was emptied or reused
+         * since the lookup is left alone instead of being revived; slots
+         * that are already hot take no lock at all.
+         *
+         * @param slot The slot that was hit.
+         * @param xBits The raw bits of x.
+         * @param yBits The raw bits of y.
+         */
+        private void markHot(final int slot, final long xBits,
+                             final long yBits) {
+            long stamp = lock.readLock();
+            try {
+                if (states[slot] == COLD && xKeys[slot] == xBits
+                        && yKeys[slot] == yBits) {
+                    states[slot] = HOT;
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        /**
+         * Inserts an entry, evicting a cold one if the set is full.
+         *
+         * @param set The first slot of the set.
+         * @param xBits The raw bits of x.
+         * @param yBits The raw bits of y.
+         * @param result The result to cache.
+         * @return true if an entry was evicted.
+         */
+        boolean insert(final int set, final long xBits, final long yBits,
+                       final double result) {
+            long stamp = lock.writeLock();
+            try {
+                if (find(set, xBits, yBits) >= 0) {
+                    return false;
+                }
+                for (int way = 0; way < WAYS; way++) {
+                    if (states[set + way] == EMPTY) {
+                        store(set + way, xBits, yBits, result);
+                        return false;
+                    }
+                }
+                int handIndex = set / WAYS;
+                int hand = hands[handIndex];
+                while (states[set + hand] == HOT) {
+                    states[set + hand] = COLD;
+                    hand = (hand + 1) & (WAYS - 1);
+                }
+                store(set + hand, xBits, yBits, result);
+                hands[handIndex] = (byte) ((hand + 1) & (WAYS - 1));
+                return true;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * Counts the filled slots.
+         *
+         * @return The number of entries in this stripe.
+         */
+        int size() {
+            long stamp = lock.readLock();
+            try {
+                int size = 0;
+                for (byte state : states) {
+                    if (state != EMPTY) {
+                        size++;
+                    }
+                }
+                return size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        /**
+         * Empties the stripe.
+         */
+        void clear() {
+            long stamp = lock.writeLock();
+            try {
+                Arrays.fill(states, EMPTY);
+                Arrays.fill(hands, (byte) 0);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * Finds the slot holding a key within a set.
+         *
+         * @param set The first slot of the set.
+         * @param xBits The raw bits of x.
+         * @param yBits The raw bits of y.
+         * @return The slot, or -1 if absent.
+         */
+        private int find(final int set, final long xBits, final long yBits) {
+            for (int slot = set; slot < set + WAYS; slot++) {
+                if (states[slot] != EMPTY && xKeys[slot] == xBits
+                        && yKeys[slot] == yBits) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Fills a slot.
+         *
+         * @param slot The slot.
+         * @param xBits The raw bits of x.
+         * @param yBits The raw bits of y.
+         * @param result The result to cache.
+         */
+        private void store(final int slot, final long xBits,
+                           final long yBits, final double result) {
+            xKeys[slot] = xBits;
+            yKeys[slot] = yBits;
+            values[slot] = Double.doubleToLongBits(result);
+            states[slot] = COLD;
+        }
+    }
+}
@@ -3,15 +3,23 @@ package com.sep.f7;
 /**
  * A simple calculator for computing power functions (x^y)
  * with special handling for edge cases.
+ * <p>
+ * This is the {@link PowerEngine#FAST} engine. It holds no state, so one
+ * instance can be shared between threads; {@link PowerEngine#getDefault()}
+ * returns the shared instance of the configured engine.
  */
-public class PowerCalculator {
+public class PowerCalculator implements PowerFunction {
 
     /**
-     * The precision used for calculations in the Taylor series expansion.
-     * This value determines the accuracy of the logarithm
-     * and exponential computations.
+     * 2^63, the smallest double magnitude that no longer fits in a long.
      */
-    private static final double PRECISION = 1e-15;
+    private static final double TWO_POW_63 = 9.223372036854775808E18;
+
+    /**
+     * Largest |y| raised by squaring; larger integral exponents go through
+     * {@link ExtendedPowerKernel}.
+     */
+    static final long MAX_SQUARING_EXPONENT = 1L << 4;
 
     /**
      * Constructs a new com.sep.f7.PowerCalculator.
@@ -34,7 +42,23 @@ public class PowerCalculator {
      * @param y The exponent value.
      * @return The result of x raised to the power of y.
      */
+    @Override
     public double calculatePower(final double x, final double y) {
+        if (PowerInstrumentation.ENABLED) {
+            return PowerInstrumentation.record(this, x, y);
+        }
+        return evaluatePower(x, y);
+    }
+
+    /**
+     * The uninstrumented body of {@link #calculatePower(double, double)}.
+     *
+     * @param x The base value.
+     * @param y The exponent value.
+     * @return The result of x raised to the power of y.
+     * @see PowerInstrumentation
+     */
+    double evaluatePower(final double x, final double y) {
         if (x == 0.0) {
             if (y == 0.0) {
                 return 1.0;
@@ -45,47 +69,297 @@ public class PowerCalculator {
             }
         }
 
-        if (y % 1 == 0) {
+        if (isIntegral(y)) {
             // Integer exponent
-            return calculatePowerIntegerExponent(x, (int) y);
+            return calculatePowerIntegralExponent(x, y);
         } else {
             // Fractional or decimal exponent
-            if (x < 0.0 && y % 1 != 0) {
+            if (x < 0.0) {
                 return Double.NaN; // Return NaN for complex result
             }
             return exp(y * log(abs(x)));
         }
     }
 
+    /**
+     * Returns a reusable function raising the given base to any exponent.
+     * <p>
+     * The base-dependent work, namely ln|x| and the zero, negative and
+     * power-of-two case analysis, is done once here. Each call of the
+     * returned function then costs a single exp for fractional exponents.
+     * The function is immutable and may be shared between threads.
+     *
+     * @param x The base value.
+     * @return A function computing x^y.
+     * @see FixedBasePower
+     */
+    public static FixedBasePower forBase(final double x) {
+        return new FixedBasePower(x);
+    }
+
+    /**
+     * Returns a reusable function raising any base to the given exponent.
+     * <p>
+     * The exponent is analyzed once: small integers use optimal addition
+     * chains, halves and thirds use square and cube roots, and other
+     * exponents fall back to the generic path. The function is immutable
+     * and may be shared between threads.
+     *
+     * @param y The exponent value.
+     * @return A function computing x^y.
+     * @see FixedExponentPower
+     */
+    public static FixedExponentPower forExponent(final double y) {
+        return new FixedExponentPower(y);
+    }
+
+    /**
+     * Tells whether a double is a finite integer. This is equivalent to
+     * {@code y % 1 == 0} but avoids the iterative remainder instruction,
+     * whose cost grows with the magnitude of y.
+     *
+     * @param y The value to test.
+     * @return true if y is finite and has no fractional part.
+     */
+    static boolean isIntegral(final double y) {
+        return y == Math.rint(y) && y - y == 0.0;
+    }
+
+    /**
+     * Raises x to an integral exponent of any magnitude.
+     *
+     * @param x The base value.
+     * @param y A finite integral exponent.
+     * @return The result of x raised to the power of y.
+     */
+    double calculatePowerIntegralExponent(final double x, final double y) {
+        if (y >= -TWO_POW_63 && y < TWO_POW_63) {
+            return calculatePowerIntegerExponent(x, (long) y);
+        }
+        return calculatePowerHugeExponent(x, y);
+    }
+
+    /**
+     * Calculates xs[i] raised to the power of ys[i] for every index.
+     * Each element matches {@link #calculatePower(double, double)}; on
+     * JDK 17 and later the fractional-exponent path may be evaluated with
+     * SIMD instructions, agreeing with the scalar result within
+     * 4 + 4&middot;|y&middot;ln x| units in the last place.
+     *
+     * @param xs The base values.
+     * @param ys The exponent values.
+     * @param out The array receiving the results; may alias an input.
+     * @throws IllegalArgumentException If the array lengths differ.
+     */
+    @Override
+    public void calculatePower(final double[] xs, final double[] ys,
+                               final double[] out) {
+        BatchKernels.checkLengths(xs.length, out);
+        BatchKernels.checkLengths(ys.length, out);
+        if (isScalarBatch()) {
+            for (int i = 0; i < out.length; i++) {
+                out[i] = calculatePower(xs[i], ys[i]);
+            }
+            return;
+        }
+        BatchKernels.PREFERRED.power(xs, ys, out, 0, out.length);
+    }
+
+    /**
+     * Calculates x raised to the power of ys[i] for every index.
+     *
+     * @param x The base value shared by every element.
+     * @param ys The exponent values.
+     * @param out The array receiving the results; may alias ys.
+     * @throws IllegalArgumentException If the array lengths differ.
+     * @see #calculatePower(double[], double[], double[])
+     */
+    public void calculatePower(final double x, final double[] ys,
+                               final double[] out) {
+        BatchKernels.checkLengths(ys.length, out);
+        if (isScalarBatch()) {
+            for (int i = 0; i < out.length; i++) {
+                out[i] = calculatePower(x, ys[i]);
+            }
+            return;
+        }
+        BatchKernels.PREFERRED.power(x, ys, out, 0, out.length);
+    }
+
+    /**
+     * Calculates xs[i] raised to the power of y for every index.
+     * The exponent is analyzed once, so squares, cubes, square roots and
+     * similar exponents use the kernels of {@link #forExponent(double)}.
+     *
+     * @param xs The base values.
+     * @param y The exponent value shared by every element.
+     * @param out The array receiving the results; may alias xs.
+     * @throws IllegalArgumentException If the array lengths differ.
+     * @see #calculatePower(double[], double[], double[])
+     */
+    public void calculatePower(final double[] xs, final double y,
+                               final double[] out) {
+        if (isScalarBatch()) {
+            BatchKernels.checkLengths(xs.length, out);
+            for (int i = 0; i < out.length; i++) {
+                out[i] = calculatePower(xs[i], y);
+            }
+            return;
+        }
+        forExponent(y).calculatePower(xs, out);
+    }
+
+    /**
+     * Whether the batch methods loop over
+     * {@link #calculatePower(double, double)} instead of using the batch
+     * kernels. Subclasses whose scalar path differs from the kernels of
+     * this class return true, so that every batch element matches their
+     * scalar result.
+     *
+     * @return true to evaluate batches element by element.
+     */
+    protected boolean isScalarBatch() {
+        return false;
+    }
+
     /**
      * Calculates x raised to the power of an integer exponent
      * (x^y) where y is an integer.
-     * Uses iterative multiplication for positive exponents and
-     * division for negative exponents.
+     * Delegates to {@link #calculatePowerIntegerExponent(double, long)},
+     * so {@link Integer#MIN_VALUE} is handled without overflow.
      *
      * @param x The base value.
      * @param y The integer exponent value.
      * @return The result of x raised to the power of y.
      */
     public double calculatePowerIntegerExponent(final double x, final int y) {
-        double result = 1.0;
-        int absExponent = abs(y);
+        return calculatePowerIntegerExponent(x, (long) y);
+    }
 
-        for (int i = 0; i < absExponent; i++) {
-            result *= x;
+    /**
+     * Calculates x raised to the power of a long exponent (x^y).
+     * <p>
+     * Exponents up to |y| = {@value #MAX_SQUARING_EXPONENT} are evaluated
+     * by {@link #calculatePowerBySquaring(double, long)}, whose relative
+     * error grows with |y|. Larger exponents of a finite, non-zero base
+     * are evaluated as exp(y&middot;ln|x|) in double-double precision by
+     * {@link ExtendedPowerKernel}, with the sign taken from the parity of
+     * y, which keeps the result within a few units in the last place.
+     *
+     * @param x The base value.
+     * @param y The exponent value; {@link Long#MIN_VALUE} is supported.
+     * @return The result of x raised to the power of y.
+     */
+    public double calculatePowerIntegerExponent(final double x, final long y) {
+        if ((y > MAX_SQUARING_EXPONENT || y < -MAX_SQUARING_EXPONENT)
+                && x - x == 0.0 && x != 0.0) {
+            double magnitude = ExtendedPowerKernel.power(abs(x), y);
+            return x < 0.0 && (y & 1L) != 0 ? -magnitude : magnitude;
         }
+        return calculatePowerBySquaring(x, y);
+    }
 
-        return y < 0 ? 1.0 / result : result;
+    /**
+     * Calculates x raised to the power of a long exponent
+     * (x^y) using exponentiation by squaring.
+     * <p>
+     * Performs at most two multiplications per bit of |y|, i.e. O(log |y|)
+     * work, and stops early once the running product overflows to
+     * infinity or underflows to zero. Negative exponents are evaluated as
+     * 1 / x^|y|, falling back to (1/x)^|y| when x^|y| overflows so that
+     * results in the subnormal range are not lost.
+     *
+     * @param x The base value.
+     * @param y The exponent value; {@link Long#MIN_VALUE} is supported.
+     * @return The result of x raised to the power of y.
+     */
+    final double calculatePowerBySquaring(final double x, final long y) {
+        // For Long.MIN_VALUE the negation overflows back to itself, which
+        // read as an unsigned value is exactly |y| = 2^63.
+        long absExponent = y < 0 ? -y : y;
+        if (PowerInstrumentation.ENABLED) {
+            // One squaring step per bit of |y|.
+            PowerInstrumentation.addIterations(
+                    Long.SIZE - Long.numberOfLeadingZeros(absExponent));
+        }
+        double result = powerBySquaring(x, absExponent);
+        if (y >= 0) {
+            return result;
+        }
+        if (result == Double.POSITIVE_INFINITY
+                || result == Double.NEGATIVE_INFINITY) {
+            return powerBySquaring(1.0 / x, absExponent);
+        }
+        return 1.0 / result;
+    }
+
+    /**
+     * Raises x to an integral exponent that does not fit in a long.
+     * Every such double is even, so the sign of x never matters and the
+     * result saturates to 0, 1 or infinity.
+     *
+     * @param x The base value.
+     * @param y The integral exponent value, with |y| &gt;= 2^63.
+     * @return The result of x raised to the power of y.
+     */
+    private double calculatePowerHugeExponent(final double x,
+                                              final double y) {
+        double magnitude = abs(x);
+        if (magnitude != magnitude) {
+            return Double.NaN;
+        }
+        if (magnitude == 1.0) {
+            return 1.0;
+        }
+        return (magnitude > 1.0) == (y > 0.0)
+                ? Double.POSITIVE_INFINITY : 0.0;
+    }
+
+    /**
+     * Binary exponentiation of x by an unsigned 64-bit exponent.
+     *
+     * @param x The base value.
+     * @param exponentBits The exponent, interpreted as unsigned.
+     * @return x raised to the unsigned value of exponentBits.
+     */
+    private static double powerBySquaring(final double x,
+                                          final long exponentBits) {
+        double result = 1.0;
+        double base = x;
+        long remaining = exponentBits;
+        while (remaining != 0) {
+            if ((remaining & 1L) != 0) {
+                result *= base;
+                if (result == 0.0 || result == Double.POSITIVE_INFINITY
+                        || result == Double.NEGATIVE_INFINITY) {
+                    // Further factors cannot bring it back into range.
+                    return result;
+                }
+            }
+            remaining >>>= 1;
+            if (remaining != 0) {
+                base *= base;
+                if (base == 0.0 || base == Double.POSITIVE_INFINITY) {
+                    // At least one more bit is set, so the saturated
+                    // square will end up in the product.
+                    return result * base;
+                }
+            }
+        }
+        return result;
     }
 
     /**
      * Computes the natural logarithm (ln) of a given positive
-     * double value using the Taylor series expansion.
-     * Handles precision and edge cases for logarithm calculation.
+     * double value.
+     * The binary exponent is read from the raw bits of the value and the
+     * mantissa is reduced through a small table before a short polynomial
+     * is evaluated, so the cost is the same for every magnitude.
      *
      * @param exp The value for which logarithm is to be calculated.
      * @return The natural logarithm of x.
      * @throws IllegalArgumentException If x is non-positive.
+     * @see LogKernel
      */
     public double log(final double exp) {
         if (exp <= 0.0) {
@@ -93,54 +367,21 @@ public class PowerCalculator {
                     "Logarithm undefined for non-positive values"
             );
         }
-
-        double result = 0.0;
-        double term;
-        int n = 1;
-        double x = exp;
-        // Using Taylor series for ln(1 + z) where z = (x-1)/(x+1)
-        if (x > 0 && x < 1) {
-            x = 1 / x;
-            term = (x - 1) / (x + 1);
-            double z = term;
-            while (abs(term) > PRECISION) {
-                result += 2 * term / n;
-                term *= z * z;
-                n += 2;
-            }
-            return -result;
-        } else {
-            term = (x - 1) / (x + 1);
-            double z = term;
-            while (abs(term) > PRECISION) {
-                result += 2 * term / n;
-                term *= z * z;
-                n += 2;
-            }
-            return result;
-        }
+        return LogKernel.log(exp);
     }
 
     /**
-     * Computes the exponential function (e^x) using Taylor series expansion.
-     * Calculates the sum of the series until the terms become smaller
-     * than a specified precision.
+     * Computes the exponential function (e^x) using argument reduction.
+     * The argument is reduced by multiples of ln2/32 and a fixed-degree
+     * polynomial is evaluated on the remainder, so every call costs the
+     * same bounded number of operations whatever the magnitude of x.
      *
      * @param x The exponent value.
      * @return The result of e raised to the power of x.
+     * @see ExpKernel
      */
     public double exp(final double x) {
-        double result = 1.0;
-        double term = 1.0;
-        int n = 1;
-
-        while (abs(term) > PRECISION) {
-            term *= x / n;
-            result += term;
-            n++;
-        }
-
-        return result;
+        return ExpKernel.exp(x);
     }
 
     /**
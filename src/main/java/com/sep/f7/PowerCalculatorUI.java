@@ -1,11 +1,14 @@
 package com.sep.f7;
 
+import javafx.animation.PauseTransition;
 import javafx.application.Application;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
@@ -17,12 +20,18 @@ import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
 import javafx.scene.control.Tooltip;
-import com.sun.speech.freetts.Voice;
-import com.sun.speech.freetts.VoiceManager;
+import javafx.util.Duration;
 
-import java.io.InputStream;
+import java.util.OptionalDouble;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import static com.sep.f7.UIConstants.CALCULATION_TIMEOUT_MILLIS;
 import static com.sep.f7.UIConstants.DEFAULT_FONT;
+import static com.sep.f7.UIConstants.LIVE_DEBOUNCE_MILLIS;
+import static com.sep.f7.UIConstants.PLOT_HEIGHT;
+import static com.sep.f7.UIConstants.PLOT_WIDTH;
+import static com.sep.f7.UIConstants.PROGRESS_SIZE;
 import static com.sep.f7.UIConstants.GRID_PADDING;
 import static com.sep.f7.UIConstants.TEXT_FIELD_INVALID;
 import static com.sep.f7.UIConstants.TITLE_FONT_SIZE;
@@ -45,6 +54,18 @@ import static com.sep.f7.UIConstants.SCENE_WIDTH;
  * the base (x) and exponent (y),
  * and computes the result, handling special cases
  * and displaying errors as needed.
+ * <p>
+ * Calculations run as {@link PowerTask}s on a background executor and
+ * speech on a {@link SpeechWorker}, so the JavaFX application thread only
+ * updates the scene and never waits for either. Each field is parsed
+ * once per edit; with live mode on, the result follows the input after a
+ * short pause in typing and every keystroke cancels the now stale
+ * calculation.
+ * <p>
+ * Startup does only what the first frame needs: resource URLs are
+ * resolved once, the speaker icon loads in the background, FreeTTS is
+ * loaded on the first speak request and the power function is warmed up
+ * on a background thread.
  */
 public class PowerCalculatorUI extends Application {
 
@@ -54,10 +75,62 @@ public class PowerCalculatorUI extends Application {
      */
     private Scene scene;
 
+    /** URL of the regular style sheet, resolved once. */
+    private static final String STYLE_SHEET_URL =
+            resourceUrl(UIConstants.STYLE_SHEET);
+
+    /** URL of the high contrast style sheet, resolved once. */
+    private static final String HIGH_CONTRAST_URL =
+            resourceUrl(UIConstants.HIGH_CONTRAST);
+
+    /** URL of the speaker icon, resolved once. */
+    private static final String SPEAKER_IMAGE_URL =
+            resourceUrl(UIConstants.SPEAKER_IMAGE);
+
+    /**
+     * The power function evaluating every calculation, chosen once through
+     * {@link PowerEngine#getDefault()} and shared by all clicks.
+     */
+    private final PowerFunction powerFunction = PowerEngine.getDefault();
+
+    /**
+     * Runs calculations off the JavaFX application thread. Threads are
+     * daemons, so a calculation abandoned after a timeout cannot keep the
+     * application alive.
+     */
+    private final ExecutorService calculationExecutor =
+            Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "power-calculation");
+                thread.setDaemon(true);
+                return thread;
+            });
+
     /**
-     * The name of the voice used by FreeTTS for speech synthesis.
+     * Speaks results; created on the first speak request so that FreeTTS
+     * stays out of startup.
      */
-    private static final String VOICE_NAME = "kevin16";
+    private SpeechWorker speechWorker;
+
+    /**
+     * The calculation in progress, if any; only touched on the JavaFX
+     * application thread.
+     */
+    private PowerTask currentTask;
+
+    /** The parsed base, updated on every edit of its field. */
+    private OptionalDouble parsedX = OptionalDouble.empty();
+
+    /** The parsed exponent, updated on every edit of its field. */
+    private OptionalDouble parsedY = OptionalDouble.empty();
+
+    /**
+     * Marks the start of application code when the JavaFX launcher starts
+     * this class directly, as {@code mvn javafx:run} does.
+     */
+    @Override
+    public void init() {
+        StartupTimer.markStart();
+    }
 
     /**
      * Method to start the stage for the application.
@@ -69,7 +142,10 @@ public class PowerCalculatorUI extends Application {
      */
     @Override
     public void start(final Stage primaryStage) {
+        PowerWarmup.startInBackground(powerFunction);
         primaryStage.setTitle("SOEN-6011 (Eternity)");
+        primaryStage.setOnShown(event ->
+                StartupTimer.report("window shown", System.out));
         Label titleLabel = getTitleLabel();
         Label equationLabel = new Label("F7 (xʸ) = ?");
         equationLabel.setFont(Font.font(DEFAULT_FONT,
@@ -108,6 +184,7 @@ public class PowerCalculatorUI extends Application {
         calculateButton.getStyleClass().add("button-calculate");
 
         Button toggleContrastButton = getToggleContrastButton();
+        Button plotButton = getPlotButton();
         Label resultLabel = new Label("Result:");
         resultLabel.setFont(Font.font(DEFAULT_FONT,
                 FontWeight.BOLD, RESULT_FONT_SIZE));
@@ -120,6 +197,10 @@ public class PowerCalculatorUI extends Application {
                 + RESULT_MIN_WIDTH + "px; -fx-min-height: "
                 + RESULT_MIN_HEIGHT + "px;");
 
+        ProgressIndicator progressIndicator = new ProgressIndicator();
+        progressIndicator.setMaxSize(PROGRESS_SIZE, PROGRESS_SIZE);
+        progressIndicator.setVisible(false);
+
         Button speakButton = getSpeakButton(resultValueLabel);
         Label errorLabel = new Label();
         errorLabel.setFont(new Font(DEFAULT_FONT, ERROR_FONT_SIZE));
@@ -141,34 +222,54 @@ public class PowerCalculatorUI extends Application {
                 + "The power to which the base number is raised.");
         infoButtonY.setTooltip(infoTooltipY);
 
-        // Add listeners to remove the invalid style when user starts typing
+        CheckBox liveCheckBox = new CheckBox("Live results");
+        PauseTransition debounce = new PauseTransition(
+                Duration.millis(LIVE_DEBOUNCE_MILLIS));
+        debounce.setOnFinished(event -> {
+            if (parsedX.isPresent() && parsedY.isPresent()) {
+                startCalculation(parsedX.getAsDouble(),
+                        parsedY.getAsDouble(), resultValueLabel, errorLabel,
+                        progressIndicator);
+            }
+        });
+        liveCheckBox.selectedProperty().addListener(
+                (observable, oldValue, live) -> {
+                    if (live) {
+                        debounce.playFromStart();
+                    } else {
+                        debounce.stop();
+                    }
+                });
+
+        // Parse each edit once, remove the invalid style and, in live
+        // mode, restart the debounce timer
         textFieldX.textProperty().addListener((observable, oldValue, newValue)
                 -> {
+            parsedX = InputParser.parse(newValue);
             textFieldX.getStyleClass().remove(TEXT_FIELD_INVALID);
             errorLabel.setText(""); // Clear error message when typing
+            onEdit(liveCheckBox, debounce, resultValueLabel);
         });
 
         textFieldY.textProperty().addListener((observable, oldValue, newValue)
                 -> {
+            parsedY = InputParser.parse(newValue);
             textFieldY.getStyleClass().remove(TEXT_FIELD_INVALID);
             errorLabel.setText(""); // Clear error message when typing
+            onEdit(liveCheckBox, debounce, resultValueLabel);
         });
 
         // Add functionality to the buttons
         calculateButton.setOnAction(event -> {
+            cancelCalculation(); // A new click supersedes the last one
+            debounce.stop();
             resultValueLabel.setText(""); // Clear the result box
-            boolean validInput = isValidInput(textFieldX, textFieldY);
-            if (validInput) {
-                try {
-                    double x = Double.parseDouble(textFieldX.getText());
-                    double y = Double.parseDouble(textFieldY.getText());
-                    PowerCalculator powerCalculator = new PowerCalculator();
-                    double result = powerCalculator.calculatePower(x, y);
-                    resultValueLabel.setText(String.valueOf(result));
-                    errorLabel.setText(""); // Clear any previous error message
-                } catch (Exception e) {
-                    errorLabel.setText("Error: " + e.getMessage());
-                }
+            boolean validX = markValidity(textFieldX, parsedX);
+            boolean validY = markValidity(textFieldY, parsedY);
+            if (validX && validY) {
+                startCalculation(parsedX.getAsDouble(),
+                        parsedY.getAsDouble(), resultValueLabel, errorLabel,
+                        progressIndicator);
             } else {
                 errorLabel.setText(
                         "Invalid input! Please enter valid real numbers."
@@ -177,6 +278,8 @@ public class PowerCalculatorUI extends Application {
         });
 
         clearButton.setOnAction(event -> {
+            cancelCalculation();
+            debounce.stop();
             textFieldX.clear();
             textFieldY.clear();
             resultValueLabel.setText("");
@@ -193,12 +296,13 @@ public class PowerCalculatorUI extends Application {
         buttonsBox.setAlignment(Pos.CENTER);
 
         HBox resultBox = new HBox(UIConstants.RESULT_SPACE,
-                resultLabel, resultValueLabel, speakButton);
+                resultLabel, resultValueLabel, progressIndicator,
+                speakButton);
         resultBox.setAlignment(Pos.CENTER);
 
         VBox calculatorLayout = new VBox(GRID_PADDING, titleLabel,
                 equationLabel, inputGrid, buttonsBox, resultBox,
-                errorLabel, toggleContrastButton);
+                errorLabel, liveCheckBox, toggleContrastButton, plotButton);
         calculatorLayout.setAlignment(Pos.CENTER);
         calculatorLayout.setPadding(new Insets(CALCULATOR_PADDING));
         calculatorLayout.getStyleClass().add("calculator-layout");
@@ -208,13 +312,75 @@ public class PowerCalculatorUI extends Application {
         mainLayout.getStyleClass().add("main-layout");
 
         scene = new Scene(mainLayout, SCENE_WIDTH, SCENE_HEIGHT);
-        scene.getStylesheets().add(
-                getClass().getResource(UIConstants.STYLE_SHEET).
-                        toExternalForm());
+        scene.getStylesheets().add(STYLE_SHEET_URL);
         primaryStage.setScene(scene);
         primaryStage.show();
     }
 
+    /**
+     * Cancels the calculation in progress and stops the background
+     * threads when the application exits.
+     */
+    @Override
+    public void stop() {
+        cancelCalculation();
+        calculationExecutor.shutdownNow();
+        if (speechWorker != null) {
+            speechWorker.close();
+        }
+    }
+
+    /**
+     * Starts evaluating x^y in the background. The result or error is
+     * shown when the task finishes; a task still running after
+     * {@value UIConstants#CALCULATION_TIMEOUT_MILLIS} ms is cancelled.
+     *
+     * @param x The base value.
+     * @param y The exponent value.
+     * @param resultValueLabel Label receiving the result.
+     * @param errorLabel Label receiving error messages.
+     * @param progressIndicator Indicator shown while the task runs.
+     */
+    private void startCalculation(final double x, final double y,
+                                  final Label resultValueLabel,
+                                  final Label errorLabel,
+                                  final ProgressIndicator progressIndicator) {
+        cancelCalculation();
+        PowerTask task = new PowerTask(powerFunction, x, y);
+        PauseTransition timeout = new PauseTransition(
+                Duration.millis(CALCULATION_TIMEOUT_MILLIS));
+        timeout.setOnFinished(event -> {
+            if (task.cancel(true)) {
+                errorLabel.setText("Error: calculation timed out");
+            }
+        });
+        progressIndicator.progressProperty().bind(task.progressProperty());
+        progressIndicator.visibleProperty().bind(task.runningProperty());
+        task.setOnSucceeded(event -> {
+            timeout.stop();
+            resultValueLabel.setText(String.valueOf(task.getValue()));
+            errorLabel.setText(""); // Clear any previous error message
+        });
+        task.setOnFailed(event -> {
+            timeout.stop();
+            errorLabel.setText("Error: " + task.getException().getMessage());
+        });
+        task.setOnCancelled(event -> timeout.stop());
+        currentTask = task;
+        timeout.play();
+        calculationExecutor.execute(task);
+    }
+
+    /**
+     * Cancels the calculation in progress, if any.
+     */
+    private void cancelCalculation() {
+        if (currentTask != null) {
+            currentTask.cancel(true);
+            currentTask = null;
+        }
+    }
+
     /**
      * Method to generate asterisk.
      * @return Label
@@ -228,30 +394,41 @@ public class PowerCalculatorUI extends Application {
     }
 
     /**
-     * Method to validate input.
-     * @param textFieldX
-     * @param textFieldY
-     * @return true/false
+     * Handles an edit of either field: the calculation in progress no
+     * longer matches the input, so it is cancelled, and in live mode the
+     * debounce timer restarts. The previous result stays visible until
+     * the new one replaces it, unless the input stopped being valid.
+     *
+     * @param liveCheckBox The live mode switch.
+     * @param debounce The timer starting the live calculation.
+     * @param resultValueLabel Label showing the now stale result.
      */
-    private static boolean isValidInput(final TextField textFieldX,
-                                        final TextField textFieldY) {
-        boolean validInput = true;
-        try {
-            Double.parseDouble(textFieldX.getText());
-            textFieldX.getStyleClass().remove(TEXT_FIELD_INVALID);
-        } catch (NumberFormatException e) {
-            textFieldX.getStyleClass().add(TEXT_FIELD_INVALID);
-            validInput = false;
+    private void onEdit(final CheckBox liveCheckBox,
+                        final PauseTransition debounce,
+                        final Label resultValueLabel) {
+        cancelCalculation();
+        if (liveCheckBox.isSelected()) {
+            if (!parsedX.isPresent() || !parsedY.isPresent()) {
+                resultValueLabel.setText("");
+            }
+            debounce.playFromStart();
         }
+    }
 
-        try {
-            Double.parseDouble(textFieldY.getText());
-            textFieldY.getStyleClass().remove(TEXT_FIELD_INVALID);
-        } catch (NumberFormatException e) {
-            textFieldY.getStyleClass().add(TEXT_FIELD_INVALID);
-            validInput = false;
+    /**
+     * Method to flag a field whose text is not a number.
+     * @param textField The field.
+     * @param value The value parsed from its text.
+     * @return true if the value is present.
+     */
+    private static boolean markValidity(final TextField textField,
+                                        final OptionalDouble value) {
+        textField.getStyleClass().remove(TEXT_FIELD_INVALID);
+        if (!value.isPresent()) {
+            textField.getStyleClass().add(TEXT_FIELD_INVALID);
+            return false;
         }
-        return validInput;
+        return true;
     }
 
     /**
@@ -261,19 +438,41 @@ public class PowerCalculatorUI extends Application {
      */
     private Button getSpeakButton(final Label resultValueLabel) {
         Button speakButton = new Button("");
-        InputStream iconStream = getClass().getResourceAsStream(
-                UIConstants.SPEAKER_IMAGE);
-        Image iconImage = new Image(iconStream);
+        // Decoded in the background; the button is usable meanwhile
+        Image iconImage = new Image(SPEAKER_IMAGE_URL, true);
         ImageView iconView = new ImageView(iconImage);
         speakButton.setGraphic(iconView);
         iconView.setFitWidth(EQUATION_FONT_SIZE);
         iconView.setFitHeight(EQUATION_FONT_SIZE);
         speakButton.getStyleClass().add("speaker-button");
         speakButton.setOnAction(event ->
-                speakResult(resultValueLabel.getText()));
+                speak(resultValueLabel.getText()));
         return speakButton;
     }
 
+    /**
+     * Method to speak text, starting the speech worker on first use.
+     * @param text The text to speak; blank text is ignored.
+     */
+    private void speak(final String text) {
+        if (text == null || text.trim().isEmpty()) {
+            return;
+        }
+        if (speechWorker == null) {
+            speechWorker = new SpeechWorker();
+        }
+        speechWorker.speak(text);
+    }
+
+    /**
+     * Method to resolve a class path resource to a URL string.
+     * @param path The resource path.
+     * @return The external form of the resource URL.
+     */
+    private static String resourceUrl(final String path) {
+        return PowerCalculatorUI.class.getResource(path).toExternalForm();
+    }
+
     /**
      * Method to generate title label.
      * @return Title label
@@ -287,26 +486,36 @@ public class PowerCalculatorUI extends Application {
         return titleLabel;
     }
 
+    /**
+     * Method to generate the button opening the plot window.
+     * @return Button
+     */
+    private Button getPlotButton() {
+        Button plotButton = new Button("Plot x^y");
+        plotButton.getStyleClass().add("toggle-button");
+        plotButton.setOnAction(event -> {
+            PlotPanel plotPanel = new PlotPanel(powerFunction);
+            Scene plotScene = new Scene(plotPanel, PLOT_WIDTH, PLOT_HEIGHT);
+            plotScene.getStylesheets().addAll(scene.getStylesheets());
+            Stage plotStage = new Stage();
+            plotStage.setTitle("x^y plot");
+            plotStage.setScene(plotScene);
+            plotStage.setOnHidden(hidden -> plotPanel.close());
+            plotStage.show();
+        });
+        return plotButton;
+    }
+
     private Button getToggleContrastButton() {
         Button toggleContrastButton = new Button("Toggle High Contrast");
         toggleContrastButton.getStyleClass().add("toggle-button");
         toggleContrastButton.setOnAction(event -> {
-            if (scene.getStylesheets().contains(
-                    getClass().getResource(UIConstants.HIGH_CONTRAST).
-                            toExternalForm())) {
-                scene.getStylesheets().remove(
-                        getClass().getResource(UIConstants.HIGH_CONTRAST).
-                                toExternalForm());
-                scene.getStylesheets().add(
-                        getClass().getResource(UIConstants.STYLE_SHEET).
-                                toExternalForm());
+            if (scene.getStylesheets().contains(HIGH_CONTRAST_URL)) {
+                scene.getStylesheets().remove(HIGH_CONTRAST_URL);
+                scene.getStylesheets().add(STYLE_SHEET_URL);
             } else {
-                scene.getStylesheets().remove(
-                        getClass().getResource(UIConstants.STYLE_SHEET).
-                                toExternalForm());
-                scene.getStylesheets().add(
-                        getClass().getResource(UIConstants.HIGH_CONTRAST).
-                                toExternalForm());
+                scene.getStylesheets().remove(STYLE_SHEET_URL);
+                scene.getStylesheets().add(HIGH_CONTRAST_URL);
             }
         });
         return toggleContrastButton;
@@ -334,27 +543,12 @@ public class PowerCalculatorUI extends Application {
         return inputGrid;
     }
 
-    /**
-     * Method to speak result.
-     * @param text
-     */
-    private void speakResult(final String text) {
-        System.setProperty("freetts.voices",
-                "com.sun.speech.freetts.en.us.cmu_us_kal.KevinVoiceDirectory");
-        VoiceManager voiceManager = VoiceManager.getInstance();
-        Voice voice = voiceManager.getVoice(VOICE_NAME);
-        if (voice != null) {
-            voice.allocate();
-            voice.speak(text);
-            voice.deallocate();
-        }
-    }
-
     /**
      * Method to start the calculator UI.
      * @param args
      */
     public static void main(final String[] args) {
+        StartupTimer.markStart();
         launch(args);
     }
 }
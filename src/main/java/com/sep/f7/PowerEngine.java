@@ -0,0 +1,93 @@
+package com.sep.f7;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * The available implementations of {@link PowerFunction}.
+ * <p>
+ * Each engine owns one shared, thread-safe instance. Entry points obtain
+ * their function through {@link #getDefault()}, which honours the system
+ * property {@value #ENGINE_PROPERTY}; for example
+ * {@code -Dpower.engine=reference} switches the calculator UI and every
+ * service built on the default to the series-based reference engine.
+ */
+public enum PowerEngine {
+
+    /**
+     * The series-based reference, {@link TaylorPowerCalculator}; integer
+     * exponents are evaluated by plain squaring.
+     */
+    REFERENCE(new TaylorPowerCalculator()),
+
+    /** The range-reduced table kernels of {@link PowerCalculator}. */
+    FAST(new PowerCalculator()),
+
+    /** A delegate to {@link Math#pow(double, double)}. */
+    MATH(new MathPowFunction());
+
+    /** System property naming the engine used by {@link #getDefault()}. */
+    public static final String ENGINE_PROPERTY = "power.engine";
+
+    /** The shared instance of this engine. */
+    private final PowerFunction function;
+
+    /**
+     * Binds an engine to its shared instance.
+     *
+     * @param function The stateless implementation.
+     */
+    PowerEngine(final PowerFunction function) {
+        this.function = function;
+    }
+
+    /**
+     * Returns the shared instance of this engine.
+     *
+     * @return A thread-safe power function.
+     */
+    public PowerFunction getFunction() {
+        return function;
+    }
+
+    /**
+     * Looks an engine up by name, ignoring case.
+     *
+     * @param name The engine name, e.g. {@code "fast"}.
+     * @return The engine.
+     * @throws IllegalArgumentException If no engine has that name.
+     */
+    public static PowerEngine fromName(final String name) {
+        for (PowerEngine engine : values()) {
+            if (engine.name().equalsIgnoreCase(name.trim())) {
+                return engine;
+            }
+        }
+        throw new IllegalArgumentException("Unknown power engine '" + name
+                + "', expected one of "
+                + Arrays.toString(values())
+                        .toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Returns the engine selected by {@value #ENGINE_PROPERTY}, or
+     * {@link #FAST} if the property is not set.
+     *
+     * @return The configured engine.
+     * @throws IllegalArgumentException If the property names no engine.
+     */
+    public static PowerEngine configured() {
+        String name = System.getProperty(ENGINE_PROPERTY);
+        return name == null ? FAST : fromName(name);
+    }
+
+    /**
+     * Returns the shared instance of the configured engine.
+     *
+     * @return A thread-safe power function.
+     * @throws IllegalArgumentException If the property names no engine.
+     */
+    public static PowerFunction getDefault() {
+        return configured().getFunction();
+    }
+}
@@ -0,0 +1,43 @@
+package com.sep.f7;
+
+/**
+ * The power function x^y as a stateless, thread-safe service.
+ * <p>
+ * Implementations hold no mutable state, so a single instance may be
+ * shared by any number of threads without synchronization. Every
+ * implementation follows the special cases of
+ * {@link PowerCalculator#calculatePower(double, double)}: 0^0 is 1, zero
+ * raised to a negative exponent is positive infinity and a negative base
+ * with a fractional exponent yields NaN. The engines differ only in speed
+ * and accuracy; see {@link PowerEngine} for the available ones.
+ */
+public interface PowerFunction {
+
+    /**
+     * Calculates x raised to the power of y (x^y).
+     *
+     * @param x The base value.
+     * @param y The exponent value.
+     * @return The result of x raised to the power of y.
+     */
+    double calculatePower(double x, double y);
+
+    /**
+     * Calculates xs[i] raised to the power of ys[i] for every index.
+     * The default implementation loops over
+     * {@link #calculatePower(double, double)}.
+     *
+     * @param xs The base values.
+     * @param ys The exponent values.
+     * @param out The array receiving the results; may alias an input.
+     * @throws IllegalArgumentException If the array lengths differ.
+     */
+    default void calculatePower(final double[] xs, final double[] ys,
+                                final double[] out) {
+        BatchKernels.checkLengths(xs.length, out);
+        BatchKernels.checkLengths(ys.length, out);
+        for (int i = 0; i < out.length; i++) {
+            out[i] = calculatePower(xs[i], ys[i]);
+        }
+    }
+}
@@ -0,0 +1,457 @@
+package com.sep.f7;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A headless HTTP service evaluating x^y, built on the JDK's
+ * {@code com.sun.net.httpserver}.
+ * <p>
+ * Endpoints:
+ * <ul>
+ *   <li>{@code GET /power?x=2&y=10} answers with the result as text,
+ *   e.g. {@code 1024.0}.</li>
+ *   <li>{@code POST /power/batch} with {@code application/octet-stream}
+ *   takes little-endian (x, y) double pairs, as in
+ *   {@link BatchFileProcessor}, and answers with one little-endian double
+ *   per pair. With a text content type it takes {@code x,y} lines and
+ *   answers with one result per line. Every batch is evaluated in a
+ *   single batch call of the {@link PowerFunction}.</li>
+ * </ul>
+ * Each request runs on its own virtual thread when the JDK provides
+ * {@code Executors.newVirtualThreadPerTaskExecutor()}, and on a bounded
+ * pool of {@code maxConcurrency} threads otherwise; the pool queues at
+ * most {@value #QUEUE_PER_THREAD} requests per thread and then makes the
+ * accepting thread run them itself, which slows down acceptance. In both
+ * cases at most {@code maxConcurrency} requests are evaluated at once;
+ * further ones are answered with 503. Bodies above {@code maxBodyBytes}
+ * are rejected with 413 before they are buffered.
+ */
+public final class PowerHttpServer implements AutoCloseable {
+
+    /** Path of the single-evaluation endpoint. */
+    public static final String POWER_PATH = "/power";
+
+    /** Path of the batch endpoint. */
+    public static final String BATCH_PATH = "/power/batch";
+
+    /** Default port. */
+    public static final int DEFAULT_PORT = 8080;
+
+    /** Default maximum request body size, 16 MiB (1M pairs). */
+    public static final int DEFAULT_MAX_BODY_BYTES = 16 << 20;
+
+    /** Default maximum number of requests evaluated at once. */
+    public static final int DEFAULT_MAX_CONCURRENCY = 64;
+
+    /** Queue slots per thread of the fallback pool. */
+    static final int QUEUE_PER_THREAD = 16;
+
+    /** Content type of binary batches. */
+    static final String BINARY_TYPE = "application/octet-stream";
+
+    /** Content type of text responses. */
+    private static final String TEXT_TYPE = "text/plain; charset=utf-8";
+
+    /** HTTP 200. */
+    private static final int OK = 200;
+
+    /** HTTP 400. */
+    private static final int BAD_REQUEST = 400;
+
+    /** HTTP 404. */
+    private static final int NOT_FOUND = 404;
+
+    /** HTTP 405. */
+    private static final int METHOD_NOT_ALLOWED = 405;
+
+    /** HTTP 413. */
+    private static final int PAYLOAD_TOO_LARGE = 413;
+
+    /** HTTP 503. */
+    private static final int UNAVAILABLE = 503;
+
+    /** Size of the buffer used to read request bodies. */
+    private static final int READ_BUFFER_BYTES = 8192;
+
+    /** Seconds to wait for running requests on {@link #close()}. */
+    private static final int STOP_DELAY_SECONDS = 1;
+
+    /** The function evaluating every request. */
+    private final PowerFunction function;
+
+    /** Maximum request body size in bytes. */
+    private final int maxBodyBytes;
+
+    /** Permits for requests evaluated at once. */
+    private final Semaphore permits;
+
+    /** The executor running the handlers. */
+    private final ExecutorService executor;
+
+    /** Whether {@link #executor} creates a virtual thread per request. */
+    private final boolean virtualThreads;
+
+    /** The underlying server. */
+    private final HttpServer server;
+
+    /**
+     * Creates a server bound to the given address; call {@link #start()}
+     * to accept requests.
+     *
+     * @param function The function evaluating every request.
+     * @param address The address to bind; port 0 picks a free port.
+     * @param maxBodyBytes The maximum request body size in bytes.
+     * @param maxConcurrency The maximum number of requests evaluated at
+     * once, and the size of the fallback pool.
+     * @throws IOException If the address cannot be bound.
+     * @throws IllegalArgumentException If function is null or a limit is
+     * not positive.
+     */
+    public PowerHttpServer(final PowerFunction function,
+                           final InetSocketAddress address,
+                           final int maxBodyBytes, final int maxConcurrency)
+            throws IOException {
+        if (function == null) {
+            throw new IllegalArgumentException("Function must not be null");
+        }
+        if (maxBodyBytes <= 0 || maxConcurrency <= 0) {
+            throw new IllegalArgumentException(
+                    "Body size and concurrency limits must be positive");
+        }
+        this.function = function;
+        this.maxBodyBytes = maxBodyBytes;
+        this.permits = new Semaphore(maxConcurrency);
+        ExecutorService perTask = newVirtualThreadPerTaskExecutor();
+        this.virtualThreads = perTask != null;
+        this.executor = virtualThreads ? perTask
+                : new ThreadPoolExecutor(maxConcurrency, maxConcurrency,
+                        0L, TimeUnit.MILLISECONDS,
+                        new LinkedBlockingQueue<Runnable>(
+                                maxConcurrency * QUEUE_PER_THREAD),
+                        new ThreadPoolExecutor.CallerRunsPolicy());
+        this.server = HttpServer.create(address, 0);
+        server.setExecutor(executor);
+        server.createContext(POWER_PATH, this::handle);
+    }
+
+    /**
+     * Creates the per-task virtual thread executor of JDK 21 and later.
+     * It is looked up reflectively because this class is compiled for
+     * Java 8.
+     *
+     * @return The executor, or null on older JDKs.
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // Before JDK 21, or virtual threads are a disabled preview.
+            return null;
+        }
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Returns the port the server is bound to.
+     *
+     * @return The local port.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Reports whether requests run on virtual threads.
+     *
+     * @return true on JDK 21 and later.
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Stops the server, giving running requests a moment to finish, and
+     * shuts the executor down.
+     */
+    @Override
+    public void close() {
+        server.stop(STOP_DELAY_SECONDS);
+        executor.shutdown();
+    }
+
+    /**
+     * Dispatches a request to its endpoint under the concurrency limit.
+     *
+     * @param exchange The request and response.
+     * @throws IOException If the response cannot be sent.
+     */
+    private void handle(final HttpExchange exchange) throws IOException {
+        try {
+            if (!permits.tryAcquire()) {
+                sendText(exchange, UNAVAILABLE,
+                        "Too many concurrent requests");
+                return;
+            }
+            try {
+                String path = exchange.getRequestURI().getPath();
+                if (POWER_PATH.equals(path)) {
+                    handleSingle(exchange);
+                } else if (BATCH_PATH.equals(path)) {
+                    handleBatch(exchange);
+                } else {
+                    sendText(exchange, NOT_FOUND, "Unknown path " + path);
+                }
+            } finally {
+                permits.release();
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Evaluates a single pair from the query string.
+     *
+     * @param exchange The request and response.
+     * @throws IOException If the response cannot be sent.
+     */
+    private void handleSingle(final HttpExchange exchange)
+            throws IOException {
+        if (!"GET".equals(exchange.getRequestMethod())) {
+            sendText(exchange, METHOD_NOT_ALLOWED, "Use GET");
+            return;
+        }
+        String query = exchange.getRequestURI().getRawQuery();
+        double result;
+        try {
+            String x = parameter(query, "x");
+            String y = parameter(query, "y");
+            if (x == null || y == null) {
+                sendText(exchange, BAD_REQUEST,
+                        "Parameters x and y are required");
+                return;
+            }
+            result = function.calculatePower(Double.parseDouble(x),
+                    Double.parseDouble(y));
+        } catch (IllegalArgumentException e) {
+            // Malformed escape or number
+            sendText(exchange, BAD_REQUEST, "Invalid parameter: "
+                    + e.getMessage());
+            return;
+        }
+        sendText(exchange, OK, String.valueOf(result));
+    }
+
+    /**
+     * Evaluates a batch of pairs from the request body.
+     *
+     * @param exchange The request and response.
+     * @throws IOException If the body cannot be read or the response sent.
+     */
+    private void handleBatch(final HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            sendText(exchange, METHOD_NOT_ALLOWED, "Use POST");
+            return;
+        }
+        byte[] body = readBody(exchange);
+        if (body == null) {
+            sendText(exchange, PAYLOAD_TOO_LARGE,
+                    "Body exceeds " + maxBodyBytes + " bytes");
+            return;
+        }
+        String type = exchange.getRequestHeaders().getFirst("Content-Type");
+        if (type == null || type.startsWith(BINARY_TYPE)) {
+            handleBinaryBatch(exchange, body);
+        } else {
+            handleTextBatch(exchange, body);
+        }
+    }
+
+    /**
+     * Evaluates little-endian double pairs into little-endian doubles.
+     *
+     * @param exchange The request and response.
+     * @param body The request body.
+     * @throws IOException If the response cannot be sent.
+     */
+    private void handleBinaryBatch(final HttpExchange exchange,
+                                   final byte[] body) throws IOException {
+        if (body.length % BatchFileProcessor.PAIR_BYTES != 0) {
+            sendText(exchange, BAD_REQUEST,
+                    "Body length must be a multiple of "
+                            + BatchFileProcessor.PAIR_BYTES + " bytes");
+            return;
+        }
+        int n = body.length / BatchFileProcessor.PAIR_BYTES;
+        ByteBuffer in = ByteBuffer.wrap(body).order(ByteOrder.LITTLE_ENDIAN);
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = in.getDouble();
+            ys[i] = in.getDouble();
+        }
+        double[] results = new double[n];
+        function.calculatePower(xs, ys, results);
+        ByteBuffer out = ByteBuffer.allocate(
+                n * BatchFileProcessor.RESULT_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        out.asDoubleBuffer().put(results);
+        send(exchange, OK, BINARY_TYPE, out.array());
+    }
+
+    /**
+     * Evaluates {@code x,y} lines into one result per line.
+     *
+     * @param exchange The request and response.
+     * @param body The request body.
+     * @throws IOException If the response cannot be sent.
+     */
+    private void handleTextBatch(final HttpExchange exchange,
+                                 final byte[] body) throws IOException {
+        String[] lines = new String(body, StandardCharsets.UTF_8)
+                .split("\r?\n");
+        double[] xs = new double[lines.length];
+        double[] ys = new double[lines.length];
+        int n = 0;
+        for (int i = 0; i < lines.length; i++) {
+            if (lines[i].trim().isEmpty()) {
+                continue;
+            }
+            double[] pair = CsvConverter.parse(lines[i]);
+            if (pair == null) {
+                sendText(exchange, BAD_REQUEST, "Line " + (i + 1)
+                        + ": expected x,y");
+                return;
+            }
+            xs[n] = pair[0];
+            ys[n] = pair[1];
+            n++;
+        }
+        double[] results = new double[n];
+        function.calculatePower(Arrays.copyOf(xs, n), Arrays.copyOf(ys, n),
+                results);
+        StringBuilder text = new StringBuilder(n * Double.BYTES);
+        for (double result : results) {
+            text.append(result).append('\n');
+        }
+        sendText(exchange, OK, text.toString());
+    }
+
+    /**
+     * Reads the request body up to {@link #maxBodyBytes}.
+     *
+     * @param exchange The request.
+     * @return The body, or null if it is too large.
+     * @throws IOException If the body cannot be read.
+     */
+    private byte[] readBody(final HttpExchange exchange) throws IOException {
+        String declared = exchange.getRequestHeaders()
+                .getFirst("Content-Length");
+        if (declared != null) {
+            try {
+                if (Long.parseLong(declared.trim()) > maxBodyBytes) {
+                    return null;
+                }
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] buffer = new byte[READ_BUFFER_BYTES];
+        try (InputStream in = exchange.getRequestBody()) {
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                if (body.size() + read > maxBodyBytes) {
+                    return null;
+                }
+                body.write(buffer, 0, read);
+            }
+        }
+        return body.toByteArray();
+    }
+
+    /**
+     * Returns a decoded query parameter.
+     *
+     * @param query The raw query string, possibly null.
+     * @param name The parameter name.
+     * @return The first value of the parameter, or null if absent.
+     * @throws IOException Never in practice; UTF-8 is always supported.
+     */
+    private static String parameter(final String query, final String name)
+            throws IOException {
+        if (query == null) {
+            return null;
+        }
+        for (String part : query.split("&")) {
+            int equals = part.indexOf('=');
+            if (equals > 0 && name.equals(part.substring(0, equals))) {
+                return URLDecoder.decode(part.substring(equals + 1),
+                        StandardCharsets.UTF_8.name());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Sends a text response.
+     *
+     * @param exchange The request and response.
+     * @param status The HTTP status.
+     * @param text The response body.
+     * @throws IOException If the response cannot be sent.
+     */
+    private static void sendText(final HttpExchange exchange,
+                                 final int status, final String text)
+            throws IOException {
+        send(exchange, status, TEXT_TYPE,
+                text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Sends a response with a fixed length.
+     *
+     * @param exchange The request and response.
+     * @param status The HTTP status.
+     * @param type The content type.
+     * @param body The response body.
+     * @throws IOException If the response cannot be sent.
+     */
+    private static void send(final HttpExchange exchange, final int status,
+                             final String type, final byte[] body)
+            throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", type);
+        // A length of -1 announces an empty body; 0 would mean chunked.
+        exchange.sendResponseHeaders(status,
+                body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,414 @@
+package com.sep.f7;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Optional counters, latency histograms and flight recorder events for
+ * the scalar {@link PowerCalculator#calculatePower(double, double)} path.
+ * <p>
+ * Instrumentation is switched on by starting the JVM with
+ * {@code -D}{@value #INSTRUMENTATION_PROPERTY}{@code =true}. The flag is
+ * read once into the {@code static final} field {@link #ENABLED}, so when
+ * it is off the JIT folds every {@code if (ENABLED)} guard away and the
+ * hot path is the same code as without instrumentation.
+ * <p>
+ * When enabled, each scalar evaluation is classified as a
+ * {@link Branch}, timed with {@link System#nanoTime()} and added to
+ * striped {@link LongAdder} counters, so concurrent callers do not
+ * contend on a shared cache line. The iteration count of a call is the
+ * number of squaring steps on the integer path plus the number of series
+ * terms summed by {@link TaylorPowerCalculator}; the table-driven kernels
+ * of the fast engine run no series and add none. Evaluations slower than
+ * {@link #getSlowThresholdNanos()} are reported as
+ * {@code com.sep.f7.SlowEvaluation} flight recorder events on JDK 17 and
+ * later. Batch calls served by the vector kernel bypass the scalar path
+ * and are not recorded.
+ */
+public final class PowerInstrumentation {
+
+    /** System property enabling instrumentation. */
+    public static final String INSTRUMENTATION_PROPERTY =
+            "power.instrumentation";
+
+    /** System property overriding the initial slow-call threshold. */
+    public static final String SLOW_NANOS_PROPERTY =
+            "power.instrumentation.slowNanos";
+
+    /** Default threshold above which an evaluation counts as slow. */
+    public static final long DEFAULT_SLOW_NANOS = 10_000L;
+
+    /** Whether instrumentation was enabled at startup. */
+    static final boolean ENABLED =
+            Boolean.getBoolean(INSTRUMENTATION_PROPERTY);
+
+    /** Name of the flight recorder sink in the multi-release layer. */
+    private static final String JFR_SINK =
+            "com.sep.f7.JfrSlowEvaluationSink";
+
+    /** Statistics per branch, indexed by ordinal. */
+    private static final BranchStatistics[] STATISTICS =
+            new BranchStatistics[Branch.values().length];
+
+    static {
+        for (int i = 0; i < STATISTICS.length; i++) {
+            STATISTICS[i] = new BranchStatistics();
+        }
+    }
+
+    /** Iterations of the evaluation running on the current thread. */
+    private static final ThreadLocal<int[]> ITERATIONS =
+            ThreadLocal.withInitial(() -> new int[1]);
+
+    /** Receiver of slow evaluations. */
+    private static final SlowEvaluationSink SINK = loadSink();
+
+    /** Evaluations taking at least this long are reported. */
+    private static volatile long slowThresholdNanos = Long.getLong(
+            SLOW_NANOS_PROPERTY, DEFAULT_SLOW_NANOS);
+
+    /**
+     * The case analysis of {@link PowerCalculator} an evaluation took.
+     */
+    public enum Branch {
+        /** The base is zero; no arithmetic is performed. */
+        ZERO_BASE,
+        /** The exponent is integral; squaring or double-double exp/ln. */
+        INTEGER_EXPONENT,
+        /** The exponent is fractional; exp(y ln x). */
+        FRACTIONAL_EXPONENT;
+
+        /**
+         * Classifies an evaluation the way
+         * {@link PowerCalculator#calculatePower(double, double)} does.
+         *
+         * @param x The base value.
+         * @param y The exponent value.
+         * @return The branch taken for x^y.
+         */
+        static Branch of(final double x, final double y) {
+            if (x == 0.0) {
+                return ZERO_BASE;
+            }
+            return PowerCalculator.isIntegral(y)
+                    ? INTEGER_EXPONENT : FRACTIONAL_EXPONENT;
+        }
+    }
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private PowerInstrumentation() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Reports whether instrumentation was enabled at startup.
+     *
+     * @return The value of {@value #INSTRUMENTATION_PROPERTY}.
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Reports whether slow evaluations are emitted as flight recorder
+     * events in this runtime.
+     *
+     * @return true if the flight recorder sink was loaded.
+     */
+    public static boolean isFlightRecorderAvailable() {
+        return SINK != SlowEvaluationSink.NONE;
+    }
+
+    /**
+     * Returns the latency above which evaluations are reported.
+     *
+     * @return The threshold in nanoseconds.
+     */
+    public static long getSlowThresholdNanos() {
+        return slowThresholdNanos;
+    }
+
+    /**
+     * Sets the latency above which evaluations are reported.
+     *
+     * @param nanos The threshold in nanoseconds.
+     * @throws IllegalArgumentException If nanos is negative.
+     */
+    public static void setSlowThresholdNanos(final long nanos) {
+        if (nanos < 0) {
+            throw new IllegalArgumentException(
+                    "Slow threshold must not be negative"
+            );
+        }
+        slowThresholdNanos = nanos;
+    }
+
+    /**
+     * Returns the number of recorded evaluations of a branch.
+     *
+     * @param branch The branch.
+     * @return The number of calls.
+     */
+    public static long getCalls(final Branch branch) {
+        return STATISTICS[branch.ordinal()].calls.sum();
+    }
+
+    /**
+     * Returns the total iterations recorded for a branch.
+     *
+     * @param branch The branch.
+     * @return The number of squaring steps and series terms.
+     */
+    public static long getIterations(final Branch branch) {
+        return STATISTICS[branch.ordinal()].iterations.sum();
+    }
+
+    /**
+     * Returns the mean iterations per call of a branch.
+     *
+     * @param branch The branch.
+     * @return The mean, or 0 if the branch was never taken.
+     */
+    public static double getAverageIterations(final Branch branch) {
+        long calls = getCalls(branch);
+        return calls == 0 ? 0.0 : (double) getIterations(branch) / calls;
+    }
+
+    /**
+     * Returns the latency histogram of a branch.
+     *
+     * @param branch The branch.
+     * @return The live histogram.
+     */
+    public static LatencyHistogram getLatency(final Branch branch) {
+        return STATISTICS[branch.ordinal()].latency;
+    }
+
+    /**
+     * Clears every counter and histogram. Evaluations running
+     * concurrently may or may not be counted.
+     */
+    public static void reset() {
+        for (BranchStatistics statistics : STATISTICS) {
+            statistics.calls.reset();
+            statistics.iterations.reset();
+            statistics.latency.reset();
+        }
+    }
+
+    /**
+     * Evaluates x^y with {@link PowerCalculator#evaluatePower} and
+     * records the call. Only invoked when {@link #ENABLED} is set.
+     *
+     * @param calculator The calculator doing the work.
+     * @param x The base value.
+     * @param y The exponent value.
+     * @return The result of x raised to the power of y.
+     */
+    static double record(final PowerCalculator calculator,
+                         final double x, final double y) {
+        Branch branch = Branch.of(x, y);
+        int[] iterations = ITERATIONS.get();
+        // A nested evaluation must not lose the outer call's count.
+        int outer = iterations[0];
+        iterations[0] = 0;
+        long start = System.nanoTime();
+        double result;
+        try {
+            result = calculator.evaluatePower(x, y);
+        } finally {
+            long nanos = System.nanoTime() - start;
+            int count = iterations[0];
+            iterations[0] = outer;
+            BranchStatistics statistics = STATISTICS[branch.ordinal()];
+            statistics.calls.increment();
+            statistics.iterations.add(count);
+            statistics.latency.record(nanos);
+            if (nanos >= slowThresholdNanos) {
+                SINK.slowEvaluation(branch, x, y, nanos, count);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adds series terms or squaring steps to the evaluation running on
+     * the current thread. Callers guard the call with {@link #ENABLED}.
+     *
+     * @param count The number of iterations performed.
+     */
+    static void addIterations(final int count) {
+        ITERATIONS.get()[0] += count;
+    }
+
+    /**
+     * Loads the flight recorder sink if this runtime has one.
+     *
+     * @return The sink, or {@link SlowEvaluationSink#NONE}.
+     */
+    private static SlowEvaluationSink loadSink() {
+        if (!ENABLED) {
+            return SlowEvaluationSink.NONE;
+        }
+        try {
+            return (SlowEvaluationSink) Class.forName(JFR_SINK)
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // Java 8 layer, or the runtime has no flight recorder.
+            return SlowEvaluationSink.NONE;
+        }
+    }
+
+    /** Counters of one branch. */
+    private static final class BranchStatistics {
+        /** Number of evaluations. */
+        private final LongAdder calls = new LongAdder();
+        /** Sum of the iterations of every evaluation. */
+        private final LongAdder iterations = new LongAdder();
+        /** Latency distribution. */
+        private final LatencyHistogram latency = new LatencyHistogram();
+    }
+
+    /**
+     * A concurrent histogram of latencies in power-of-two buckets.
+     * <p>
+     * Bucket 0 counts zero-nanosecond samples and bucket i &gt; 0 counts
+     * samples in [2^(i-1), 2^i) nanoseconds, so percentiles are accurate
+     * to within a factor of two. Every bucket is a {@link LongAdder}.
+     */
+    public static final class LatencyHistogram {
+
+        /** Zero plus one bucket per magnitude of a non-negative long. */
+        public static final int BUCKETS = Long.SIZE;
+
+        /** Sample counts per bucket. */
+        private final LongAdder[] counts = new LongAdder[BUCKETS];
+
+        /** Sum of every sample. */
+        private final LongAdder totalNanos = new LongAdder();
+
+        /**
+         * Creates an empty histogram.
+         */
+        LatencyHistogram() {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * Adds a sample.
+         *
+         * @param nanos The latency; negative values count as zero.
+         */
+        void record(final long nanos) {
+            long sample = Math.max(nanos, 0L);
+            counts[bucketOf(sample)].increment();
+            totalNanos.add(sample);
+        }
+
+        /**
+         * Returns the bucket a latency falls into.
+         *
+         * @param nanos A non-negative latency.
+         * @return The bucket index.
+         */
+        static int bucketOf(final long nanos) {
+            return Long.SIZE - Long.numberOfLeadingZeros(nanos);
+        }
+
+        /**
+         * Returns the exclusive upper bound of a bucket.
+         *
+         * @param bucket The bucket index.
+         * @return 2^bucket nanoseconds, saturating at Long.MAX_VALUE.
+         */
+        public static long getUpperBoundNanos(final int bucket) {
+            if (bucket < 0 || bucket >= BUCKETS) {
+                throw new IllegalArgumentException(
+                        "Bucket must be in [0, " + BUCKETS + ")"
+                );
+            }
+            return bucket >= Long.SIZE - 1 ? Long.MAX_VALUE : 1L << bucket;
+        }
+
+        /**
+         * Returns the number of samples in a bucket.
+         *
+         * @param bucket The bucket index.
+         * @return The sample count.
+         */
+        public long getCount(final int bucket) {
+            getUpperBoundNanos(bucket);
+            return counts[bucket].sum();
+        }
+
+        /**
+         * Returns the number of samples.
+         *
+         * @return The total count.
+         */
+        public long getCount() {
+            long total = 0;
+            for (LongAdder count : counts) {
+                total += count.sum();
+            }
+            return total;
+        }
+
+        /**
+         * Returns the mean latency.
+         *
+         * @return The mean in nanoseconds, or 0 without samples.
+         */
+        public double getMeanNanos() {
+            long count = getCount();
+            return count == 0 ? 0.0 : (double) totalNanos.sum() / count;
+        }
+
+        /**
+         * Returns an upper bound of the latency at a quantile.
+         *
+         * @param quantile The quantile in [0, 1], e.g. 0.99.
+         * @return The upper bound of the bucket holding the quantile,
+         *         or 0 without samples.
+         * @throws IllegalArgumentException If quantile is outside [0, 1].
+         */
+        public long getPercentileNanos(final double quantile) {
+            if (!(quantile >= 0.0 && quantile <= 1.0)) {
+                throw new IllegalArgumentException(
+                        "Quantile must be in [0, 1]"
+                );
+            }
+            long[] snapshot = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                snapshot[i] = counts[i].sum();
+                total += snapshot[i];
+            }
+            if (total == 0) {
+                return 0L;
+            }
+            long rank = Math.max(1L, (long) Math.ceil(quantile * total));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += snapshot[i];
+                if (seen >= rank) {
+                    return getUpperBoundNanos(i);
+                }
+            }
+            return Long.MAX_VALUE;
+        }
+
+        /**
+         * Clears every bucket.
+         */
+        void reset() {
+            for (LongAdder count : counts) {
+                count.reset();
+            }
+            totalNanos.reset();
+        }
+    }
+}
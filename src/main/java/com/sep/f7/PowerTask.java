@@ -0,0 +1,55 @@
+package com.sep.f7;
+
+import javafx.concurrent.Task;
+
+/**
+ * A cancellable JavaFX {@link Task} evaluating one x^y.
+ * <p>
+ * The task reports indeterminate progress while it runs and completes
+ * once the value is known. A task cancelled before or during the
+ * evaluation discards its result instead of publishing it, so a stale
+ * calculation can never overwrite a newer one.
+ */
+final class PowerTask extends Task<Double> {
+
+    /** The power function doing the work. */
+    private final PowerFunction function;
+
+    /** The base value. */
+    private final double x;
+
+    /** The exponent value. */
+    private final double y;
+
+    /**
+     * Creates a task; submit it to a background executor.
+     *
+     * @param function The power function evaluating x^y.
+     * @param x The base value.
+     * @param y The exponent value.
+     */
+    PowerTask(final PowerFunction function, final double x, final double y) {
+        this.function = function;
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Evaluates x^y on the background thread.
+     *
+     * @return The result, or null if the task was cancelled.
+     */
+    @Override
+    protected Double call() {
+        if (isCancelled()) {
+            return null;
+        }
+        updateProgress(-1, 1);
+        double result = function.calculatePower(x, y);
+        if (isCancelled()) {
+            return null;
+        }
+        updateProgress(1, 1);
+        return result;
+    }
+}
@@ -0,0 +1,502 @@
+package com.sep.f7;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.Predicate;
+
+/**
+ * A bounded cache of x^y samples on a quadtree of square tiles, used by
+ * {@link PlotPanel}.
+ * <p>
+ * At level L one sample covers a cell of 2^L world units and a tile
+ * covers {@value #TILE_SIZE} cells in each direction, so the tiles of a
+ * level partition the plane and those of level L + k each cover 2^k by
+ * 2^k tiles of level L. Every cell is sampled at its center. Heatmap
+ * tiles hold a {@value #TILE_SIZE} by {@value #TILE_SIZE} grid over
+ * (x, y), stored row by row from the highest y down so they can be drawn
+ * as images, together with the colors of the samples. Curve tiles hold
+ * {@value #TILE_SIZE} samples along x for one fixed exponent.
+ * <p>
+ * Each tile is evaluated with a single batch call of the
+ * {@link PowerFunction}, so the fast engine uses its SIMD kernel;
+ * different tiles are evaluated in parallel on the caller's executor.
+ * Concurrent requests for the same tile share one evaluation. The least
+ * recently used tiles are evicted once the capacity is reached.
+ */
+final class PowerTileCache {
+
+    /** Samples per tile edge. */
+    static final int TILE_SIZE = 64;
+
+    /** Default number of tiles kept; about 50 MB of heatmap tiles. */
+    static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * Identifies a tile. Heatmap keys carry a NaN exponent; curve keys
+     * carry the exponent of the curve and row 0.
+     */
+    static final class Key {
+        /** Level; a cell spans 2^level world units. */
+        private final int level;
+        /** Tile index along x. */
+        private final long column;
+        /** Tile index along y. */
+        private final long row;
+        /** Exponent of a curve tile, NaN for a heatmap tile. */
+        private final double exponent;
+
+        /**
+         * Creates a key.
+         *
+         * @param level The level.
+         * @param column The tile index along x.
+         * @param row The tile index along y.
+         * @param exponent The curve exponent, or NaN for a heatmap.
+         */
+        private Key(final int level, final long column, final long row,
+                    final double exponent) {
+            this.level = level;
+            this.column = column;
+            this.row = row;
+            this.exponent = exponent;
+        }
+
+        /**
+         * Returns the level of the tile.
+         *
+         * @return The level.
+         */
+        int getLevel() {
+            return level;
+        }
+
+        /**
+         * Returns the tile index along x.
+         *
+         * @return The column.
+         */
+        long getColumn() {
+            return column;
+        }
+
+        /**
+         * Returns the tile index along y.
+         *
+         * @return The row.
+         */
+        long getRow() {
+            return row;
+        }
+
+        /**
+         * Tells whether this is a heatmap key.
+         *
+         * @return true for a heatmap tile, false for a curve tile.
+         */
+        boolean isHeatmap() {
+            return exponent != exponent;
+        }
+
+        /**
+         * Returns the key of the tile covering this one k levels up.
+         *
+         * @param k The number of levels to go up, at least 0.
+         * @return The ancestor's key.
+         */
+        Key ancestor(final int k) {
+            return new Key(level + k, column >> k,
+                    isHeatmap() ? row >> k : 0L, exponent);
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return level == key.level && column == key.column
+                    && row == key.row
+                    && Double.doubleToLongBits(exponent)
+                    == Double.doubleToLongBits(key.exponent);
+        }
+
+        @Override
+        public int hashCode() {
+            long bits = PowerCache.hash(column * 31L + row,
+                    Double.doubleToLongBits(exponent) ^ level);
+            return (int) (bits ^ (bits >>> 32));
+        }
+
+        @Override
+        public String toString() {
+            return (isHeatmap() ? "heatmap" : "curve y=" + exponent)
+                    + " L" + level + " (" + column + ", " + row + ")";
+        }
+    }
+
+    /**
+     * An evaluated tile. Its arrays must not be modified.
+     */
+    static final class Tile {
+        /** The tile's key. */
+        private final Key key;
+        /** The samples; see {@link PowerTileCache} for the layout. */
+        private final double[] values;
+        /** ARGB colors of a heatmap tile, null for a curve tile. */
+        private final int[] argb;
+
+        /**
+         * Creates a tile.
+         *
+         * @param key The tile's key.
+         * @param values The samples.
+         * @param argb The colors, or null.
+         */
+        private Tile(final Key key, final double[] values,
+                     final int[] argb) {
+            this.key = key;
+            this.values = values;
+            this.argb = argb;
+        }
+
+        /**
+         * Returns the tile's key.
+         *
+         * @return The key.
+         */
+        Key getKey() {
+            return key;
+        }
+
+        /**
+         * Returns the samples, shared and not to be modified.
+         *
+         * @return The samples.
+         */
+        double[] getValues() {
+            return values;
+        }
+
+        /**
+         * Returns the sample colors of a heatmap tile, shared and not to
+         * be modified.
+         *
+         * @return The ARGB colors, or null for a curve tile.
+         */
+        int[] getArgb() {
+            return argb;
+        }
+    }
+
+    /** The power function evaluating tiles. */
+    private final PowerFunction function;
+
+    /** Maps heatmap samples to ARGB colors. */
+    private final DoubleToIntFunction colormap;
+
+    /** Maximum number of cached tiles. */
+    private final int capacity;
+
+    /** Evaluated tiles in access order; guarded by itself. */
+    private final Map<Key, Tile> tiles;
+
+    /** Tiles being evaluated. */
+    private final Map<Key, CompletableFuture<Tile>> inFlight =
+            new ConcurrentHashMap<>();
+
+    /** Lookups served from the cache. */
+    private final LongAdder hits = new LongAdder();
+
+    /** Tiles evaluated. */
+    private final LongAdder evaluations = new LongAdder();
+
+    /**
+     * Creates a cache.
+     *
+     * @param function The power function evaluating tiles.
+     * @param colormap Maps a heatmap sample to an ARGB color.
+     * @param capacity The maximum number of tiles kept.
+     * @throws IllegalArgumentException If an argument is null or the
+     *         capacity is not positive.
+     */
+    PowerTileCache(final PowerFunction function,
+                   final DoubleToIntFunction colormap, final int capacity) {
+        if (function == null || colormap == null) {
+            throw new IllegalArgumentException(
+                    "Function and colormap must not be null"
+            );
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.function = function;
+        this.colormap = colormap;
+        this.capacity = capacity;
+        this.tiles = new LinkedHashMap<Key, Tile>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(
+                    final Map.Entry<Key, Tile> eldest) {
+                return size() > PowerTileCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the world size of a cell.
+     *
+     * @param level The level.
+     * @return 2^level.
+     */
+    static double cellSize(final int level) {
+        return Math.scalb(1.0, level);
+    }
+
+    /**
+     * Returns the world size of a tile edge.
+     *
+     * @param level The level.
+     * @return {@value #TILE_SIZE} &middot; 2^level.
+     */
+    static double tileSpan(final int level) {
+        return TILE_SIZE * cellSize(level);
+    }
+
+    /**
+     * Returns the finest level whose cells are at least a pixel wide, so
+     * a view never needs more samples than it has pixels and a tile
+     * spans {@value #TILE_SIZE} to twice that many pixels.
+     *
+     * @param unitsPerPixel The world units one pixel spans; positive.
+     * @return The level for drawing at this scale.
+     */
+    static int levelFor(final double unitsPerPixel) {
+        int level = Math.getExponent(unitsPerPixel);
+        return unitsPerPixel > cellSize(level) ? level + 1 : level;
+    }
+
+    /**
+     * Returns the index of the tile containing a world coordinate.
+     *
+     * @param coordinate The x or y coordinate.
+     * @param level The level.
+     * @return The column or row index.
+     */
+    static long tileIndex(final double coordinate, final int level) {
+        return (long) Math.floor(coordinate / tileSpan(level));
+    }
+
+    /**
+     * Returns the key of a heatmap tile.
+     *
+     * @param level The level.
+     * @param column The tile index along x.
+     * @param row The tile index along y.
+     * @return The key.
+     */
+    static Key heatmapKey(final int level, final long column,
+                          final long row) {
+        return new Key(level, column, row, Double.NaN);
+    }
+
+    /**
+     * Returns the key of a curve tile.
+     *
+     * @param exponent The exponent of the curve; not NaN.
+     * @param level The level.
+     * @param column The tile index along x.
+     * @return The key.
+     * @throws IllegalArgumentException If the exponent is NaN.
+     */
+    static Key curveKey(final double exponent, final int level,
+                        final long column) {
+        if (exponent != exponent) {
+            throw new IllegalArgumentException("Exponent must not be NaN");
+        }
+        return new Key(level, column, 0L, exponent);
+    }
+
+    /**
+     * Returns the x coordinate of a sample.
+     *
+     * @param key The tile.
+     * @param index The sample column, 0 to {@value #TILE_SIZE} - 1.
+     * @return The center of the sample's cell.
+     */
+    static double sampleX(final Key key, final int index) {
+        return (key.column * TILE_SIZE + index + 0.5) * cellSize(key.level);
+    }
+
+    /**
+     * Returns the y coordinate of a heatmap sample.
+     *
+     * @param key The heatmap tile.
+     * @param index The sample row counted from the top, 0 to
+     *              {@value #TILE_SIZE} - 1.
+     * @return The center of the sample's cell.
+     */
+    static double sampleY(final Key key, final int index) {
+        return (key.row * TILE_SIZE + (TILE_SIZE - 1 - index) + 0.5)
+                * cellSize(key.level);
+    }
+
+    /**
+     * Returns a cached tile without evaluating it.
+     *
+     * @param key The tile.
+     * @return The tile, or null if it is not cached.
+     */
+    Tile get(final Key key) {
+        Tile tile;
+        synchronized (tiles) {
+            tile = tiles.get(key);
+        }
+        if (tile != null) {
+            hits.increment();
+        }
+        return tile;
+    }
+
+    /**
+     * Returns a tile, evaluating it on the calling thread if necessary.
+     *
+     * @param key The tile.
+     * @return The tile.
+     */
+    Tile compute(final Key key) {
+        Tile tile = get(key);
+        if (tile != null) {
+            return tile;
+        }
+        tile = evaluate(key);
+        synchronized (tiles) {
+            tiles.put(key, tile);
+        }
+        return tile;
+    }
+
+    /**
+     * Evaluates a tile asynchronously unless it is cached or already
+     * being evaluated. Just before evaluation starts the tile is checked
+     * against stillWanted, so tiles scrolled out of view while queued
+     * cost nothing; such requests complete with null.
+     *
+     * @param key The tile.
+     * @param executor Runs the evaluation.
+     * @param stillWanted Tells whether the tile is still needed.
+     * @return A future completing with the tile, or with null if the
+     *         request was dropped.
+     */
+    CompletableFuture<Tile> request(final Key key, final Executor executor,
+                                    final Predicate<Key> stillWanted) {
+        Tile cached = get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<Tile> future = new CompletableFuture<>();
+        CompletableFuture<Tile> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    Tile tile = stillWanted.test(key) ? compute(key) : null;
+                    inFlight.remove(key);
+                    future.complete(tile);
+                } catch (RuntimeException e) {
+                    inFlight.remove(key);
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Rejected, e.g. after the executor was shut down.
+            inFlight.remove(key);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Returns the number of cached tiles.
+     *
+     * @return The tile count.
+     */
+    int size() {
+        synchronized (tiles) {
+            return tiles.size();
+        }
+    }
+
+    /**
+     * Returns the number of lookups answered from the cache.
+     *
+     * @return The hit count.
+     */
+    long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of tiles evaluated.
+     *
+     * @return The evaluation count.
+     */
+    long getEvaluations() {
+        return evaluations.sum();
+    }
+
+    /**
+     * Drops every cached tile.
+     */
+    void clear() {
+        synchronized (tiles) {
+            tiles.clear();
+        }
+    }
+
+    /**
+     * Evaluates every sample of a tile with one batch call.
+     *
+     * @param key The tile.
+     * @return The evaluated tile.
+     */
+    private Tile evaluate(final Key key) {
+        evaluations.increment();
+        if (!key.isHeatmap()) {
+            double[] xs = new double[TILE_SIZE];
+            double[] ys = new double[TILE_SIZE];
+            for (int c = 0; c < TILE_SIZE; c++) {
+                xs[c] = sampleX(key, c);
+            }
+            Arrays.fill(ys, key.exponent);
+            double[] values = new double[TILE_SIZE];
+            function.calculatePower(xs, ys, values);
+            return new Tile(key, values, null);
+        }
+        int samples = TILE_SIZE * TILE_SIZE;
+        double[] xs = new double[samples];
+        double[] ys = new double[samples];
+        for (int r = 0; r < TILE_SIZE; r++) {
+            double y = sampleY(key, r);
+            for (int c = 0; c < TILE_SIZE; c++) {
+                xs[r * TILE_SIZE + c] = sampleX(key, c);
+                ys[r * TILE_SIZE + c] = y;
+            }
+        }
+        double[] values = new double[samples];
+        function.calculatePower(xs, ys, values);
+        int[] argb = new int[samples];
+        for (int i = 0; i < samples; i++) {
+            argb[i] = colormap.applyAsInt(values[i]);
+        }
+        return new Tile(key, values, argb);
+    }
+}
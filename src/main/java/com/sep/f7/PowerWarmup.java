@@ -0,0 +1,91 @@
+package com.sep.f7;
+
+/**
+ * Exercises a {@link PowerFunction} so the JIT compiles its hot paths
+ * before the user's first calculation.
+ * <p>
+ * The inputs cycle through zero bases, small and large integer exponents
+ * and fractional exponents, covering every branch of
+ * {@link PowerCalculator#calculatePower(double, double)}, and end with a
+ * few batch calls. {@value #ITERATIONS} scalar calls are well past the
+ * default compile thresholds. The background warm-up runs on a daemon
+ * thread at minimum priority and can be switched off with
+ * {@code -D}{@value #WARMUP_PROPERTY}{@code =false}.
+ */
+final class PowerWarmup {
+
+    /** System property that can disable the background warm-up. */
+    static final String WARMUP_PROPERTY = "power.warmup";
+
+    /** Scalar evaluations performed by a warm-up. */
+    static final int ITERATIONS = 20_000;
+
+    /** Elements per batch call. */
+    private static final int BATCH_SIZE = 1024;
+
+    /** Batch calls performed by a warm-up. */
+    private static final int BATCH_CALLS = 16;
+
+    /** Bases cycled through; includes zero and a negative value. */
+    private static final double[] BASES = {0.0, 2.0, 0.5, 10.0, -3.0, 1.1,
+            123.456, 1e-3};
+
+    /** Exponents cycled through; integral and fractional. */
+    private static final double[] EXPONENTS = {2.0, 0.5, -1.0, 3.7, 17.0,
+            -2.25, 1000.0, 1.0 / 3};
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private PowerWarmup() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Runs the warm-up on the calling thread.
+     *
+     * @param function The function to warm up.
+     * @param iterations The number of scalar evaluations.
+     * @return A checksum of the results, so that the JIT cannot discard
+     *         the work.
+     */
+    static double run(final PowerFunction function, final int iterations) {
+        double checksum = 0.0;
+        for (int i = 0; i < iterations; i++) {
+            double x = BASES[i % BASES.length] + i * 1e-9;
+            double y = EXPONENTS[(i / BASES.length) % EXPONENTS.length];
+            checksum += function.calculatePower(x, y);
+        }
+        double[] xs = new double[BATCH_SIZE];
+        double[] ys = new double[BATCH_SIZE];
+        double[] out = new double[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            xs[i] = 1.0 + i * 1e-3;
+            ys[i] = EXPONENTS[i % EXPONENTS.length];
+        }
+        for (int call = 0; call < BATCH_CALLS; call++) {
+            function.calculatePower(xs, ys, out);
+            checksum += out[call];
+        }
+        return checksum;
+    }
+
+    /**
+     * Starts the warm-up on a background thread unless it is disabled.
+     *
+     * @param function The function to warm up.
+     * @return The started thread, or null if the warm-up is disabled.
+     */
+    static Thread startInBackground(final PowerFunction function) {
+        if (!Boolean.parseBoolean(
+                System.getProperty(WARMUP_PROPERTY, "true"))) {
+            return null;
+        }
+        Thread thread = new Thread(() -> run(function, ITERATIONS),
+                "power-warmup");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+        return thread;
+    }
+}
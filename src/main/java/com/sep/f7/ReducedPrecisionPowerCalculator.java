@@ -0,0 +1,83 @@
+package com.sep.f7;
+
+/**
+ * The {@link AccuracyTier#REDUCED} power function.
+ * <p>
+ * Shares the argument reduction of {@link PowerCalculator} but evaluates
+ * degree-3 instead of degree-7 and degree-6 polynomials. The logarithm is
+ * then off by at most 2^-34 absolutely and the exponential by 6e-10
+ * relatively, so x^y = e^(y ln x) is within 6e-10 + 6e-11&middot;|y|
+ * relative error. Exponents above {@value #MAX_REDUCED_EXPONENT} in
+ * magnitude take the full-precision path, which keeps the error of every
+ * result below 1e-7. Integral exponents are computed exactly as in
+ * {@link PowerCalculator}. The batch methods evaluate every element with
+ * this scalar path rather than the shared {@link BatchKernels}.
+ */
+final class ReducedPrecisionPowerCalculator extends PowerCalculator {
+
+    /** Largest |y| evaluated with the reduced kernels. */
+    static final double MAX_REDUCED_EXPONENT = 1024.0;
+
+    /** Full-precision path for large exponents. */
+    private static final PowerCalculator FULL = new PowerCalculator();
+
+    /**
+     * Creates the calculator; use {@link AccuracyTier#REDUCED}.
+     */
+    ReducedPrecisionPowerCalculator() {
+        super();
+    }
+
+    /**
+     * Calculates x raised to the power of y within 1e-7 relative error.
+     *
+     * @param x The base value.
+     * @param y The exponent value.
+     * @return The result of x raised to the power of y.
+     */
+    @Override
+    public double calculatePower(final double x, final double y) {
+        if (abs(y) > MAX_REDUCED_EXPONENT) {
+            return FULL.calculatePower(x, y);
+        }
+        return super.calculatePower(x, y);
+    }
+
+    /**
+     * Evaluates batches with the scalar path of this tier.
+     *
+     * @return true.
+     */
+    @Override
+    protected boolean isScalarBatch() {
+        return true;
+    }
+
+    /**
+     * Computes ln(x) to within 2^-34 absolute error.
+     *
+     * @param exp The value for which logarithm is to be calculated.
+     * @return The natural logarithm of x.
+     * @throws IllegalArgumentException If x is non-positive.
+     */
+    @Override
+    public double log(final double exp) {
+        if (exp <= 0.0) {
+            throw new IllegalArgumentException(
+                    "Logarithm undefined for non-positive values"
+            );
+        }
+        return LogKernel.logReduced(exp);
+    }
+
+    /**
+     * Computes e^x to within 6e-10 relative error.
+     *
+     * @param x The exponent value.
+     * @return The result of e raised to the power of x.
+     */
+    @Override
+    public double exp(final double x) {
+        return ExpKernel.expReduced(x);
+    }
+}
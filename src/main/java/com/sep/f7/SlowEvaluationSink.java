@@ -0,0 +1,27 @@
+package com.sep.f7;
+
+/**
+ * Receives evaluations that exceeded the slow-call threshold of
+ * {@link PowerInstrumentation}.
+ * <p>
+ * The flight recorder implementation lives in the Java 17 layer of the
+ * multi-release jar and is loaded reflectively, in the same way as the
+ * vector kernel of {@link BatchKernels}.
+ */
+interface SlowEvaluationSink {
+
+    /** Sink discarding every report. */
+    SlowEvaluationSink NONE = (branch, x, y, nanos, iterations) -> { };
+
+    /**
+     * Reports a slow evaluation.
+     *
+     * @param branch The branch the evaluation took.
+     * @param x The base value.
+     * @param y The exponent value.
+     * @param nanos The measured latency in nanoseconds.
+     * @param iterations The squaring steps and series terms performed.
+     */
+    void slowEvaluation(PowerInstrumentation.Branch branch, double x,
+                        double y, long nanos, int iterations);
+}
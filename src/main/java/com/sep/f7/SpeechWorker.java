@@ -0,0 +1,193 @@
+package com.sep.f7;
+
+import com.sun.speech.freetts.Voice;
+import com.sun.speech.freetts.VoiceManager;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * Speaks text on a dedicated background thread.
+ * <p>
+ * The FreeTTS voice is looked up and allocated once, on the worker thread,
+ * and reused for every utterance; it is deallocated when the worker is
+ * closed. The FreeTTS classes are only referenced from
+ * {@link FreeTtsSpeaker}, so they are not loaded until a worker starts.
+ * {@link #speak(String)} only offers the text to a bounded queue, so
+ * callers such as the JavaFX application thread never block. When the
+ * queue is full the text is dropped, since a listener gains nothing from
+ * a backlog of stale results. If no voice is available the worker
+ * discards every request.
+ */
+final class SpeechWorker implements AutoCloseable {
+
+    /** Name of the FreeTTS voice. */
+    static final String VOICE_NAME = "kevin16";
+
+    /** Voice directory providing {@link #VOICE_NAME}. */
+    static final String VOICE_DIRECTORY =
+            "com.sun.speech.freetts.en.us.cmu_us_kal.KevinVoiceDirectory";
+
+    /** System property FreeTTS reads its voice directories from. */
+    private static final String VOICES_PROPERTY = "freetts.voices";
+
+    /** Default number of utterances waiting to be spoken. */
+    static final int DEFAULT_QUEUE_CAPACITY = 8;
+
+    /**
+     * Something that can say text out loud. Implementations are only used
+     * from the worker thread.
+     */
+    interface Speaker extends AutoCloseable {
+
+        /**
+         * Speaks the text and returns when it has been said.
+         *
+         * @param text The text to speak.
+         */
+        void speak(String text);
+
+        /**
+         * Releases the speaker's resources.
+         */
+        @Override
+        void close();
+    }
+
+    /** Texts waiting to be spoken. */
+    private final BlockingQueue<String> queue;
+
+    /** The thread speaking the queued texts. */
+    private final Thread worker;
+
+    /**
+     * Creates a worker speaking with the FreeTTS
+     * {@value #VOICE_NAME} voice.
+     */
+    SpeechWorker() {
+        this(FreeTtsSpeaker::create, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Creates a worker and starts its thread.
+     *
+     * @param speakerFactory Creates the speaker on the worker thread;
+     *                       may return null if speech is unavailable.
+     * @param capacity The number of utterances that may wait.
+     * @throws IllegalArgumentException If capacity is not positive.
+     */
+    SpeechWorker(final Supplier<Speaker> speakerFactory, final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException(
+                    "Queue capacity must be positive"
+            );
+        }
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.worker = new Thread(() -> run(speakerFactory), "power-speech");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Queues text to be spoken without waiting.
+     *
+     * @param text The text to speak; null or blank text is ignored.
+     * @return true if the text was queued, false if it was dropped.
+     */
+    boolean speak(final String text) {
+        if (text == null || text.trim().isEmpty() || !worker.isAlive()) {
+            return false;
+        }
+        return queue.offer(text);
+    }
+
+    /**
+     * Stops the worker, discarding queued texts, and waits for the voice
+     * to be released. An utterance in progress is finished first.
+     */
+    @Override
+    public void close() {
+        worker.interrupt();
+        queue.clear();
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Body of the worker thread.
+     *
+     * @param speakerFactory Creates the speaker.
+     */
+    private void run(final Supplier<Speaker> speakerFactory) {
+        Speaker speaker;
+        try {
+            speaker = speakerFactory.get();
+        } catch (RuntimeException e) {
+            // No usable voice; keep draining so callers never block.
+            speaker = null;
+        }
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                String text = queue.take();
+                if (speaker != null) {
+                    speaker.speak(text);
+                }
+            }
+        } catch (InterruptedException e) {
+            // Closed; fall through to release the voice.
+        } finally {
+            if (speaker != null) {
+                speaker.close();
+            }
+        }
+    }
+
+    /**
+     * A {@link Speaker} backed by the FreeTTS {@value #VOICE_NAME} voice.
+     */
+    static final class FreeTtsSpeaker implements Speaker {
+
+        /** The allocated voice. */
+        private final Voice voice;
+
+        /**
+         * Wraps an allocated voice.
+         *
+         * @param voice The voice.
+         */
+        private FreeTtsSpeaker(final Voice voice) {
+            this.voice = voice;
+        }
+
+        /**
+         * Looks up and allocates the FreeTTS voice.
+         *
+         * @return A speaker, or null if the voice cannot be found.
+         */
+        static Speaker create() {
+            if (System.getProperty(VOICES_PROPERTY) == null) {
+                System.setProperty(VOICES_PROPERTY, VOICE_DIRECTORY);
+            }
+            Voice voice = VoiceManager.getInstance().getVoice(VOICE_NAME);
+            if (voice == null) {
+                return null;
+            }
+            voice.allocate();
+            return new FreeTtsSpeaker(voice);
+        }
+
+        @Override
+        public void speak(final String text) {
+            voice.speak(text);
+        }
+
+        @Override
+        public void close() {
+            voice.deallocate();
+        }
+    }
+}
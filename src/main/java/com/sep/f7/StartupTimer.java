@@ -0,0 +1,106 @@
+package com.sep.f7;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+/**
+ * Measures how long the application takes to become usable.
+ * <p>
+ * The first entry point to run, {@link Launcher#main(String[])},
+ * {@link PowerCalculatorUI#main(String[])} or
+ * {@link PowerCalculatorUI#init()} when the JavaFX launcher starts the
+ * UI class directly, marks the start of application code, and the UI
+ * reports when its window is first shown. With
+ * {@code -D}{@value #REPORT_PROPERTY}{@code =true} each milestone is
+ * printed as
+ * <pre>
+ * Startup: window shown after 412 ms (JVM uptime 655 ms)
+ * </pre>
+ * so a regression shows up in any scripted run. JVM uptime includes the
+ * time spent before {@code main}, such as class-data-sharing mapping; it
+ * is only queried when reporting, since the management classes are
+ * themselves costly to load.
+ */
+final class StartupTimer {
+
+    /** System property enabling the startup report. */
+    static final String REPORT_PROPERTY = "power.startup.report";
+
+    /** Nanoseconds per millisecond. */
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    /** Value of {@link #startNanos} before {@link #markStart()}. */
+    private static final long UNMARKED = Long.MIN_VALUE;
+
+    /** When application code started; set by {@link #markStart()}. */
+    private static volatile long startNanos = UNMARKED;
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private StartupTimer() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Marks the start of application code. Only the first call counts, so
+     * each entry point can mark the start whichever of them runs first.
+     */
+    static void markStart() {
+        if (startNanos == UNMARKED) {
+            startNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Tells whether {@link #markStart()} has been called.
+     *
+     * @return true once the start is marked.
+     */
+    static boolean isMarked() {
+        return startNanos != UNMARKED;
+    }
+
+    /**
+     * Returns the time since {@link #markStart()}.
+     *
+     * @return The elapsed milliseconds; 0 if the start is not marked.
+     */
+    static long elapsedMillis() {
+        long start = startNanos;
+        return start == UNMARKED ? 0L
+                : (System.nanoTime() - start) / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Formats a milestone.
+     *
+     * @param milestone What has just happened, e.g. "window shown".
+     * @param elapsedMillis Milliseconds since the start of application
+     *                      code.
+     * @param uptimeMillis Milliseconds since the JVM started.
+     * @return The report line.
+     */
+    static String format(final String milestone, final long elapsedMillis,
+                         final long uptimeMillis) {
+        return String.format(Locale.ROOT,
+                "Startup: %s after %d ms (JVM uptime %d ms)", milestone,
+                elapsedMillis, uptimeMillis);
+    }
+
+    /**
+     * Prints a milestone if {@value #REPORT_PROPERTY} is set. Without a
+     * marked start the elapsed time is the JVM uptime.
+     *
+     * @param milestone What has just happened.
+     * @param out The stream receiving the report.
+     */
+    static void report(final String milestone, final PrintStream out) {
+        if (Boolean.getBoolean(REPORT_PROPERTY)) {
+            long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+            out.println(format(milestone,
+                    isMarked() ? elapsedMillis() : uptime, uptime));
+        }
+    }
+}
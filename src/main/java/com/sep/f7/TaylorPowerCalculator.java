@@ -0,0 +1,184 @@
+package com.sep.f7;
+
+/**
+ * The original series-based power function, kept as a reference engine.
+ * <p>
+ * Logarithms use the series 2&middot;atanh((x-1)/(x+1)) and exponentials
+ * the plain Taylor series of e^x, both summed until the terms drop below
+ * {@value #PRECISION} relative to the leading term. Only the textbook
+ * reduction by powers of two is applied first, which keeps the series
+ * short and makes the result easy to audit, at several times the cost of
+ * the table-driven kernels of {@link PowerCalculator}. Integer exponents
+ * of any size use exponentiation by squaring, never the double-double
+ * kernel of the fast engine, so the two engines stay independent. The
+ * error of squaring grows roughly in proportion to |y|, so for large
+ * integer exponents this engine is less accurate than the fast one and
+ * {@code --reference exact} is the better baseline. Batch calls loop
+ * over the scalar series instead of using the vector kernels.
+ */
+public class TaylorPowerCalculator extends PowerCalculator {
+
+    /**
+     * The precision used for calculations in the Taylor series expansion.
+     * This value determines the accuracy of the logarithm
+     * and exponential computations.
+     */
+    static final double PRECISION = 1e-15;
+
+    /** ln 2. */
+    private static final double LN2 = 0.6931471805599453;
+
+    /** Leading bits of ln 2; k times this is exact for |k| &lt; 2^11. */
+    private static final double LN2_HI = 6.93147180369123816490e-01;
+
+    /** ln 2 minus {@link #LN2_HI}. */
+    private static final double LN2_LO = 1.90821492927058770002e-10;
+
+    /** sqrt 2, the upper end of the reduced logarithm argument. */
+    private static final double SQRT2 = 1.4142135623730951;
+
+    /** One half. */
+    private static final double HALF = 0.5;
+
+    /** Power of two moving a subnormal value into the normal range. */
+    private static final int SUBNORMAL_SHIFT = 54;
+
+    /** 2^{@value #SUBNORMAL_SHIFT}. */
+    private static final double TWO_POW_SUBNORMAL_SHIFT = 0x1p54;
+
+    /** Arguments of exp above this overflow. */
+    private static final double EXP_OVERFLOW = 709.8;
+
+    /** Arguments of exp below this underflow to zero. */
+    private static final double EXP_UNDERFLOW = -745.2;
+
+    /**
+     * Constructs a new reference calculator.
+     */
+    public TaylorPowerCalculator() {
+        super();
+    }
+
+    /**
+     * Evaluates batches with the scalar path of this engine.
+     *
+     * @return true.
+     */
+    @Override
+    protected boolean isScalarBatch() {
+        return true;
+    }
+
+    /**
+     * Calculates x raised to the power of a long exponent (x^y) using
+     * exponentiation by squaring for every |y|.
+     *
+     * @param x The base value.
+     * @param y The exponent value; {@link Long#MIN_VALUE} is supported.
+     * @return The result of x raised to the power of y.
+     */
+    @Override
+    public double calculatePowerIntegerExponent(final double x, final long y) {
+        return calculatePowerBySquaring(x, y);
+    }
+
+    /**
+     * Computes the natural logarithm (ln) of a given positive
+     * double value using the Taylor series expansion.
+     * The value is first written as m&middot;2^k with m in
+     * [sqrt(1/2), sqrt(2)), so the series argument stays below 0.18.
+     *
+     * @param exp The value for which logarithm is to be calculated.
+     * @return The natural logarithm of x.
+     * @throws IllegalArgumentException If x is non-positive.
+     */
+    @Override
+    public double log(final double exp) {
+        if (exp <= 0.0) {
+            throw new IllegalArgumentException(
+                    "Logarithm undefined for non-positive values"
+            );
+        }
+        if (!(exp < Double.POSITIVE_INFINITY)) {
+            return exp; // NaN or positive infinity
+        }
+
+        int k = Math.getExponent(exp);
+        if (k < Double.MIN_EXPONENT) {
+            // Subnormal: normalize before splitting off the exponent
+            return log(exp * TWO_POW_SUBNORMAL_SHIFT)
+                    - SUBNORMAL_SHIFT * LN2;
+        }
+        double m = Math.scalb(exp, -k);
+        if (m > SQRT2) {
+            m *= HALF;
+            k++;
+        }
+        // Using Taylor series for ln(1 + z) where z = (m-1)/(m+1)
+        double result = 0.0;
+        double term = (m - 1) / (m + 1);
+        double z = term;
+        int n = 1;
+        while (abs(term) > PRECISION * abs(z)) {
+            result += 2 * term / n;
+            term *= z * z;
+            n += 2;
+        }
+        if (PowerInstrumentation.ENABLED) {
+            PowerInstrumentation.addIterations(n / 2);
+        }
+        return k * LN2_HI + (k * LN2_LO + result);
+    }
+
+    /**
+     * Computes the exponential function (e^x) using Taylor series expansion.
+     * The argument is reduced to r = x - k&middot;ln2 with |r| &lt;= ln2/2,
+     * the series of e^r is summed until the terms become smaller than a
+     * specified precision and the sum is scaled by 2^k.
+     *
+     * @param x The exponent value.
+     * @return The result of e raised to the power of x.
+     */
+    @Override
+    public double exp(final double x) {
+        if (x != x) {
+            return Double.NaN;
+        }
+        if (x > EXP_OVERFLOW) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (x < EXP_UNDERFLOW) {
+            return 0.0;
+        }
+
+        double k = Math.rint(x / LN2);
+        double r = (x - k * LN2_HI) - k * LN2_LO;
+        double result = 1.0;
+        double term = 1.0;
+        int n = 1;
+
+        while (abs(term) > PRECISION) {
+            term *= r / n;
+            result += term;
+            n++;
+        }
+        if (PowerInstrumentation.ENABLED) {
+            PowerInstrumentation.addIterations(n - 1);
+        }
+
+        return scale(result, (int) k);
+    }
+
+    /**
+     * Multiplies by 2^k in two steps, so that k just outside the exponent
+     * range of a double still yields the correctly scaled result.
+     *
+     * @param value The value to scale.
+     * @param k The power of two.
+     * @return value&middot;2^k.
+     */
+    private static double scale(final double value, final int k) {
+        int half = k / 2;
+        return Math.scalb(Math.scalb(value, half), k - half);
+    }
+}
@@ -81,11 +81,26 @@ public final class UIConstants {
     /** Height of the main scene. */
     public static final int SCENE_HEIGHT = 600;
 
+    /** Width of the plot window. */
+    public static final int PLOT_WIDTH = 900;
+
+    /** Height of the plot window. */
+    public static final int PLOT_HEIGHT = 700;
+
     /**
      * CSS class name for marking text fields with invalid input.
      */
     public static final String TEXT_FIELD_INVALID = "text-field-invalid";
 
+    /** Time a calculation may run before it is cancelled. */
+    public static final int CALCULATION_TIMEOUT_MILLIS = 5000;
+
+    /** Quiet period after the last keystroke before live evaluation. */
+    public static final int LIVE_DEBOUNCE_MILLIS = 150;
+
+    /** Size of the progress indicator shown while calculating. */
+    public static final int PROGRESS_SIZE = 24;
+
     /** Default font used in the UI. */
     public static final String DEFAULT_FONT = "Arial";
 }
@@ -6,6 +6,9 @@
  * <ul>
  *   <li>{@link com.sep.f7.PowerCalculator}: A class that implements the
  *   power function (x^y) with special handling for edge cases.</li>
+ *   <li>{@link com.sep.f7.PowerFunction} and {@link com.sep.f7.PowerEngine}:
+ *   the thread-safe contract and the configurable choice between the
+ *   reference, fast and {@code Math.pow} engines.</li>
  *   <li>{@link com.sep.f7.PowerCalculatorUI}: A JavaFX-based
  *   user interface for the PowerCalculator application.</li>
  *   <li>{@link com.sep.f7.Launcher}: The main entry point of
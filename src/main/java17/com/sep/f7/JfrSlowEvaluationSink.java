@@ -0,0 +1,79 @@
+package com.sep.f7;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * {@link SlowEvaluationSink} emitting JDK Flight Recorder events.
+ * <p>
+ * Events are only allocated when a recording has the event type enabled;
+ * the check goes through the cached {@link EventType}, so an idle flight
+ * recorder adds a single check per slow evaluation.
+ * Enable them with, for example,
+ * {@code -XX:StartFlightRecording:settings=profile} or a custom
+ * {@code .jfc} file naming {@value #EVENT_NAME}.
+ * <p>
+ * This class lives in the Java 17 layer of the multi-release jar and is
+ * loaded reflectively by {@link PowerInstrumentation}.
+ */
+final class JfrSlowEvaluationSink implements SlowEvaluationSink {
+
+    /** Name of the flight recorder event type. */
+    static final String EVENT_NAME = "com.sep.f7.SlowEvaluation";
+
+    /** Registered type of {@link SlowEvaluationEvent}. */
+    private static final EventType EVENT_TYPE =
+            EventType.getEventType(SlowEvaluationEvent.class);
+
+    @Override
+    public void slowEvaluation(final PowerInstrumentation.Branch branch,
+                               final double x, final double y,
+                               final long nanos, final int iterations) {
+        if (!EVENT_TYPE.isEnabled()) {
+            return;
+        }
+        SlowEvaluationEvent event = new SlowEvaluationEvent();
+        event.branch = branch.name();
+        event.base = x;
+        event.exponent = y;
+        event.latency = nanos;
+        event.iterations = iterations;
+        event.commit();
+    }
+
+    /** A scalar power evaluation above the slow-call threshold. */
+    @Name(EVENT_NAME)
+    @Label("Slow Power Evaluation")
+    @Category({"Power Calculator"})
+    @Description("A scalar x^y evaluation above the slow-call threshold")
+    @StackTrace(false)
+    static final class SlowEvaluationEvent extends Event {
+
+        /** Branch the evaluation took. */
+        @Label("Branch")
+        String branch;
+
+        /** The base value. */
+        @Label("Base")
+        double base;
+
+        /** The exponent value. */
+        @Label("Exponent")
+        double exponent;
+
+        /** Measured latency of the evaluation. */
+        @Label("Latency")
+        @Timespan(Timespan.NANOSECONDS)
+        long latency;
+
+        /** Squaring steps and series terms performed. */
+        @Label("Iterations")
+        int iterations;
+    }
+}
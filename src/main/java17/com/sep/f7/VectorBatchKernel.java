@@ -0,0 +1,315 @@
+package com.sep.f7;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD implementation of {@link BatchKernel} built on the
+ * {@code jdk.incubator.vector} API.
+ * <p>
+ * Lanes with a positive normal base, a finite fractional exponent and
+ * |y&middot;ln x| &lt;= 708 are evaluated as exp(y&middot;ln x) with
+ * branch-free polynomials and {@code Math.fma}-style fused multiply-adds.
+ * ln uses the exponent bits and an atanh series on the mantissa, exp a
+ * degree-13 polynomial after reduction by ln2. Every other lane (zero,
+ * negative, subnormal or non-finite input, integral exponents, results
+ * near overflow or underflow) is recomputed with the scalar
+ * {@link PowerCalculator}, so special values and the integer path are
+ * bit-identical to the scalar kernel. On the vector lanes the result
+ * agrees with the scalar kernel within 4 + 4&middot;|y&middot;ln x| units
+ * in the last place.
+ * <p>
+ * This class lives in the Java 17 layer of the multi-release jar and is
+ * loaded reflectively by {@link BatchKernels}.
+ */
+final class VectorBatchKernel implements BatchKernel {
+
+    /** The widest species the hardware supports. */
+    private static final VectorSpecies<Double> SPECIES =
+            DoubleVector.SPECIES_PREFERRED;
+
+    /** Number of explicit mantissa bits in a double. */
+    private static final int MANTISSA_BITS = 52;
+
+    /** Mask selecting the explicit mantissa bits of a double. */
+    private static final long MANTISSA_MASK = (1L << MANTISSA_BITS) - 1;
+
+    /** Raw bits of the exponent field of 1.0. */
+    private static final long ONE_EXPONENT_BITS = 1023L << MANTISSA_BITS;
+
+    /** Exponent bias of a double. */
+    private static final long EXPONENT_BIAS = 1023L;
+
+    /** Mantissas above this are folded into the next octave. */
+    private static final double SQRT2 = 0x1.6a09e667f3bcdp0;
+
+    /** 1.5 &middot; 2^52; adding it rounds to an integer in the low bits. */
+    private static final double SHIFTER = 0x1.8p52;
+
+    /** 2^52; every double at least this large is an integer. */
+    private static final double TWO_POW_52 = 0x1.0p52;
+
+    /** Raw bits of {@link #TWO_POW_52}. */
+    private static final long TWO_POW_52_BITS =
+            Double.doubleToRawLongBits(TWO_POW_52);
+
+    /** Largest |y ln x| evaluated in vector lanes. */
+    private static final double MAX_VECTOR_ARGUMENT = 708.0;
+
+    /** High part of ln2 with trailing zero bits. */
+    private static final double LN2_HI = 0x1.62e42fee00000p-1;
+
+    /** Low part of ln2. */
+    private static final double LN2_LO = 0x1.a39ef35793c76p-33;
+
+    /** 1 / ln2. */
+    private static final double INV_LN2 = 0x1.71547652b82fep0;
+
+    /** Coefficient 1/3 of the atanh series. */
+    private static final DoubleVector L3 = splat(1.0 / 3);
+
+    /** Coefficient 1/5 of the atanh series. */
+    private static final DoubleVector L5 = splat(1.0 / 5);
+
+    /** Coefficient 1/7 of the atanh series. */
+    private static final DoubleVector L7 = splat(1.0 / 7);
+
+    /** Coefficient 1/9 of the atanh series. */
+    private static final DoubleVector L9 = splat(1.0 / 9);
+
+    /** Coefficient 1/11 of the atanh series. */
+    private static final DoubleVector L11 = splat(1.0 / 11);
+
+    /** Coefficient 1/13 of the atanh series. */
+    private static final DoubleVector L13 = splat(1.0 / 13);
+
+    /** Coefficient 1/15 of the atanh series. */
+    private static final DoubleVector L15 = splat(1.0 / 15);
+
+    /** Coefficient 1/17 of the atanh series. */
+    private static final DoubleVector L17 = splat(1.0 / 17);
+
+    /** Coefficient 1/19 of the atanh series. */
+    private static final DoubleVector L19 = splat(1.0 / 19);
+
+    /** Coefficient 1/21 of the atanh series. */
+    private static final DoubleVector L21 = splat(1.0 / 21);
+
+    /** Coefficient 1/2! of the exp polynomial. */
+    private static final DoubleVector E2 = splat(1.0 / 2);
+
+    /** Coefficient 1/3! of the exp polynomial. */
+    private static final DoubleVector E3 = splat(1.0 / 6);
+
+    /** Coefficient 1/4! of the exp polynomial. */
+    private static final DoubleVector E4 = splat(1.0 / 24);
+
+    /** Coefficient 1/5! of the exp polynomial. */
+    private static final DoubleVector E5 = splat(1.0 / 120);
+
+    /** Coefficient 1/6! of the exp polynomial. */
+    private static final DoubleVector E6 = splat(1.0 / 720);
+
+    /** Coefficient 1/7! of the exp polynomial. */
+    private static final DoubleVector E7 = splat(1.0 / 5040);
+
+    /** Coefficient 1/8! of the exp polynomial. */
+    private static final DoubleVector E8 = splat(1.0 / 40320);
+
+    /** Coefficient 1/9! of the exp polynomial. */
+    private static final DoubleVector E9 = splat(1.0 / 362880);
+
+    /** Coefficient 1/10! of the exp polynomial. */
+    private static final DoubleVector E10 = splat(1.0 / 3628800);
+
+    /** Coefficient 1/11! of the exp polynomial. */
+    private static final DoubleVector E11 = splat(1.0 / 39916800);
+
+    /** Coefficient 1/12! of the exp polynomial. */
+    private static final DoubleVector E12 = splat(1.0 / 479001600);
+
+    /** Coefficient 1/13! of the exp polynomial. */
+    private static final DoubleVector E13 = splat(1.0 / 6227020800.0);
+
+    /** One in every lane. */
+    private static final DoubleVector ONE = splat(1.0);
+
+    /** -ln2 high part in every lane. */
+    private static final DoubleVector MINUS_LN2_HI = splat(-LN2_HI);
+
+    /** -ln2 low part in every lane. */
+    private static final DoubleVector MINUS_LN2_LO = splat(-LN2_LO);
+
+    /** ln2 high part in every lane. */
+    private static final DoubleVector LN2_HI_VECTOR = splat(LN2_HI);
+
+    /** ln2 low part in every lane. */
+    private static final DoubleVector LN2_LO_VECTOR = splat(LN2_LO);
+
+    /** The scalar calculator used for lanes the vector path skips. */
+    private final PowerCalculator calculator = new PowerCalculator();
+
+    /**
+     * Creates the kernel; called reflectively by {@link BatchKernels}.
+     */
+    VectorBatchKernel() {
+        // Touch the species so a missing module fails here, not later.
+        if (SPECIES.length() < 1) {
+            throw new IllegalStateException("No vector species");
+        }
+    }
+
+    @Override
+    public void power(final double[] xs, final double[] ys,
+                      final double[] out, final int from, final int to) {
+        int i = from;
+        int upper = from + SPECIES.loopBound(to - from);
+        for (; i < upper; i += SPECIES.length()) {
+            DoubleVector x = DoubleVector.fromArray(SPECIES, xs, i);
+            DoubleVector y = DoubleVector.fromArray(SPECIES, ys, i);
+            long fallback = evaluate(x, y, out, i);
+            while (fallback != 0) {
+                int lane = Long.numberOfTrailingZeros(fallback);
+                out[i + lane] = calculator.calculatePower(
+                        x.lane(lane), y.lane(lane));
+                fallback &= fallback - 1;
+            }
+        }
+        for (; i < to; i++) {
+            out[i] = calculator.calculatePower(xs[i], ys[i]);
+        }
+    }
+
+    @Override
+    public void power(final double x, final double[] ys,
+                      final double[] out, final int from, final int to) {
+        int i = from;
+        int upper = from + SPECIES.loopBound(to - from);
+        DoubleVector base = DoubleVector.broadcast(SPECIES, x);
+        for (; i < upper; i += SPECIES.length()) {
+            DoubleVector y = DoubleVector.fromArray(SPECIES, ys, i);
+            long fallback = evaluate(base, y, out, i);
+            while (fallback != 0) {
+                int lane = Long.numberOfTrailingZeros(fallback);
+                out[i + lane] = calculator.calculatePower(x, y.lane(lane));
+                fallback &= fallback - 1;
+            }
+        }
+        for (; i < to; i++) {
+            out[i] = calculator.calculatePower(x, ys[i]);
+        }
+    }
+
+    @Override
+    public void power(final double[] xs, final double y,
+                      final double[] out, final int from, final int to) {
+        int i = from;
+        int upper = from + SPECIES.loopBound(to - from);
+        DoubleVector exponent = DoubleVector.broadcast(SPECIES, y);
+        for (; i < upper; i += SPECIES.length()) {
+            DoubleVector x = DoubleVector.fromArray(SPECIES, xs, i);
+            long fallback = evaluate(x, exponent, out, i);
+            while (fallback != 0) {
+                int lane = Long.numberOfTrailingZeros(fallback);
+                out[i + lane] = calculator.calculatePower(x.lane(lane), y);
+                fallback &= fallback - 1;
+            }
+        }
+        for (; i < to; i++) {
+            out[i] = calculator.calculatePower(xs[i], y);
+        }
+    }
+
+    /**
+     * Evaluates one vector of pairs and stores it at {@code out[offset]}.
+     *
+     * @param x The bases.
+     * @param y The exponents.
+     * @param out The output array.
+     * @param offset The index of the first lane in {@code out}.
+     * @return A bit set of the lanes that must be recomputed by the
+     * scalar path.
+     */
+    private static long evaluate(final DoubleVector x, final DoubleVector y,
+                                 final double[] out, final int offset) {
+        DoubleVector absY = y.abs();
+        VectorMask<Double> valid = x.compare(VectorOperators.GE,
+                        Double.MIN_NORMAL)
+                .and(x.compare(VectorOperators.LT, Double.POSITIVE_INFINITY))
+                .and(absY.compare(VectorOperators.LT, TWO_POW_52))
+                .and(absY.add(TWO_POW_52).sub(TWO_POW_52)
+                        .compare(VectorOperators.NE, absY));
+
+        DoubleVector t = y.mul(log(x));
+        valid = valid.and(t.abs().compare(VectorOperators.LE,
+                MAX_VECTOR_ARGUMENT));
+        exp(t).intoArray(out, offset);
+        return valid.not().toLong();
+    }
+
+    /**
+     * Natural logarithm of positive normal lanes.
+     *
+     * @param x The arguments.
+     * @return ln(x) for positive normal lanes; unspecified otherwise.
+     */
+    private static DoubleVector log(final DoubleVector x) {
+        LongVector bits = x.reinterpretAsLongs();
+        // Splice the biased exponent field into the mantissa of 2^52 to
+        // turn it into a double without a lane conversion.
+        DoubleVector exponent = bits
+                .lanewise(VectorOperators.LSHR, MANTISSA_BITS)
+                .or(TWO_POW_52_BITS)
+                .reinterpretAsDoubles()
+                .sub(TWO_POW_52 + EXPONENT_BIAS);
+        DoubleVector m = bits.and(MANTISSA_MASK).or(ONE_EXPONENT_BITS)
+                .reinterpretAsDoubles();
+        VectorMask<Double> fold = m.compare(VectorOperators.GT, SQRT2);
+        m = m.blend(m.mul(0.5), fold);
+        exponent = exponent.add(1.0, fold);
+
+        DoubleVector s = m.sub(1.0).div(m.add(1.0));
+        DoubleVector s2 = s.mul(s);
+        DoubleVector p = L21.fma(s2, L19).fma(s2, L17).fma(s2, L15)
+                .fma(s2, L13).fma(s2, L11).fma(s2, L9).fma(s2, L7)
+                .fma(s2, L5).fma(s2, L3);
+        DoubleVector twoS = s.add(s);
+        DoubleVector logM = twoS.fma(s2.mul(p), twoS);
+        return exponent.fma(LN2_HI_VECTOR,
+                exponent.fma(LN2_LO_VECTOR, logM));
+    }
+
+    /**
+     * Exponential of lanes with |t| &lt;= 708.
+     *
+     * @param t The arguments.
+     * @return e^t for lanes in range; unspecified otherwise.
+     */
+    private static DoubleVector exp(final DoubleVector t) {
+        DoubleVector shifted = t.fma(INV_LN2, SHIFTER);
+        DoubleVector k = shifted.sub(SHIFTER);
+        DoubleVector r = k.fma(MINUS_LN2_HI, t).add(k.mul(MINUS_LN2_LO));
+        DoubleVector q = E13.fma(r, E12).fma(r, E11).fma(r, E10).fma(r, E9)
+                .fma(r, E8).fma(r, E7).fma(r, E6).fma(r, E5).fma(r, E4)
+                .fma(r, E3).fma(r, E2).fma(r, ONE).fma(r, ONE);
+        long shifterBits = Double.doubleToRawLongBits(SHIFTER);
+        DoubleVector scale = shifted.reinterpretAsLongs()
+                .sub(shifterBits - EXPONENT_BIAS)
+                .lanewise(VectorOperators.LSHL, MANTISSA_BITS)
+                .reinterpretAsDoubles();
+        return q.mul(scale);
+    }
+
+    /**
+     * Broadcasts a constant to every lane.
+     *
+     * @param value The constant.
+     * @return A vector holding value in every lane.
+     */
+    private static DoubleVector splat(final double value) {
+        return DoubleVector.broadcast(SPECIES, value);
+    }
+}
@@ -0,0 +1,185 @@
+package com.sep.f7;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for {@link AccuracyHarness}.
+ *
+ * @see AccuracyHarness
+ */
+class AccuracyHarnessTest {
+
+    private static final int SAMPLES = AccuracyHarness.CHUNK_SIZE + 100;
+
+    private static final PowerFunction MATH = PowerEngine.MATH.getFunction();
+
+    private static Map<AccuracyHarness.Stratum, AccuracyHarness.Report> run(
+            PowerFunction function, int samples, int parallelism) {
+        return new AccuracyHarness(function, MATH, 7L, samples, parallelism)
+                .run();
+    }
+
+    @Test
+    void identicalFunctions_areExactEverywhere() {
+        AccuracyHarness.Report total = AccuracyHarness.total(
+                run(MATH, SAMPLES, 2));
+        long pairs = (long) SAMPLES * AccuracyHarness.Stratum.values().length;
+        assertEquals(pairs, total.getCount());
+        assertEquals(pairs, total.getCount(0));
+        assertEquals(0.0, total.getMaxUlp());
+        assertEquals(0, total.getSpecialMismatches());
+        assertTrue(total.getWorst().isEmpty());
+    }
+
+    @Test
+    void sameSeed_givesSameReport_forAnyParallelism() {
+        PowerFunction fast = PowerEngine.FAST.getFunction();
+        Map<AccuracyHarness.Stratum, AccuracyHarness.Report> single =
+                run(fast, SAMPLES, 1);
+        Map<AccuracyHarness.Stratum, AccuracyHarness.Report> parallel =
+                run(fast, SAMPLES, 4);
+        for (AccuracyHarness.Stratum stratum
+                : AccuracyHarness.Stratum.values()) {
+            assertEquals(single.get(stratum).format(stratum.name()),
+                    parallel.get(stratum).format(stratum.name()));
+        }
+    }
+
+    @Test
+    void oneUlpError_isBinnedAndReported() {
+        PowerFunction off = (x, y) -> {
+            double r = Math.pow(x, y);
+            return r == 0.0 || r - r != 0.0 ? r : Math.nextUp(r);
+        };
+        AccuracyHarness.Report report = run(off, 1000, 1)
+                .get(AccuracyHarness.Stratum.RANDOM);
+        long finite = report.getCount() - report.getCount(0);
+        assertTrue(finite > 0);
+        // The ulp of the reference may be half the ulp of the result.
+        assertEquals(finite, report.getCount(AccuracyHarness.bucket(1.0))
+                + report.getCount(AccuracyHarness.bucket(2.0)));
+        assertTrue(report.getMaxUlp() <= 2.0);
+        assertEquals(AccuracyHarness.WORST_COUNT, report.getWorst().size());
+        double previous = Double.POSITIVE_INFINITY;
+        for (AccuracyHarness.Sample sample : report.getWorst()) {
+            assertTrue(sample.getUlpError() <= previous);
+            previous = sample.getUlpError();
+        }
+    }
+
+    @Test
+    void wrongSpecialValues_areCountedAsMismatches() {
+        PowerFunction noNaN = (x, y) -> {
+            double r = Math.pow(x, y);
+            return r != r ? 0.0 : r;
+        };
+        AccuracyHarness.Report report = run(noNaN, 1000, 1)
+                .get(AccuracyHarness.Stratum.SPECIAL);
+        assertTrue(report.getSpecialMismatches() > 0);
+        assertEquals(AccuracyHarness.MISMATCH_EXAMPLES,
+                report.getMismatchExamples().size());
+        AccuracyHarness.Sample sample = report.getMismatchExamples().get(0);
+        assertEquals(0.0, sample.getActual());
+        assertTrue(Double.isNaN(sample.getExpected()));
+        assertTrue(Double.isNaN(sample.getUlpError()));
+        assertTrue(report.format("SPECIAL").contains("mismatch"));
+    }
+
+    @Test
+    void bucket_boundsArePowersOfTwo() {
+        assertEquals(0, AccuracyHarness.bucket(0.0));
+        assertEquals(1, AccuracyHarness.bucket(1e-9));
+        assertEquals(1, AccuracyHarness.bucket(0.5));
+        assertEquals(2, AccuracyHarness.bucket(0.75));
+        assertEquals(2, AccuracyHarness.bucket(1.0));
+        assertEquals(3, AccuracyHarness.bucket(1.5));
+        assertEquals(3, AccuracyHarness.bucket(2.0));
+        int last = AccuracyHarness.BUCKETS - 1;
+        assertEquals(last - 1, AccuracyHarness.bucket(0x1.0p18));
+        assertEquals(last, AccuracyHarness.bucket(Math.nextUp(0x1.0p18)));
+        assertEquals("exact", AccuracyHarness.bucketLabel(0));
+        assertEquals("<= 0.5 ulp", AccuracyHarness.bucketLabel(1));
+        assertEquals("<= 1 ulp", AccuracyHarness.bucketLabel(2));
+        assertEquals("<= 262144 ulp", AccuracyHarness.bucketLabel(last - 1));
+        assertEquals("> 262144 ulp", AccuracyHarness.bucketLabel(last));
+    }
+
+    @Test
+    void strata_generateTheirDomains() {
+        int n = 1000;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        AccuracyHarness.Stratum.SUBNORMAL.fill(new SplittableRandom(1),
+                xs, ys, n);
+        for (int i = 0; i < n; i++) {
+            assertTrue(xs[i] > 0.0 && xs[i] < Double.MIN_NORMAL);
+        }
+        AccuracyHarness.Stratum.NEAR_ONE.fill(new SplittableRandom(2),
+                xs, ys, n);
+        for (int i = 0; i < n; i++) {
+            assertTrue(Math.abs(xs[i] - 1.0) <= 0.5);
+        }
+        AccuracyHarness.Stratum.HUGE_EXPONENT.fill(new SplittableRandom(3),
+                xs, ys, n);
+        for (int i = 0; i < n; i++) {
+            assertTrue(Math.abs(ys[i]) >= 0x1.0p30);
+        }
+    }
+
+    @Test
+    void exactReference_isCorrectlyRounded() {
+        PowerFunction exact = AccuracyHarness.exactReference();
+        assertEquals(1024.0, exact.calculatePower(2.0, 10.0));
+        assertEquals(3.0, exact.calculatePower(9.0, 0.5));
+        assertEquals(Math.pow(1.1, 2.5), exact.calculatePower(1.1, 2.5),
+                Math.ulp(Math.pow(1.1, 2.5)));
+        assertTrue(Double.isNaN(exact.calculatePower(-2.0, 0.5)));
+        assertEquals(Double.POSITIVE_INFINITY, exact.calculatePower(0.0, -1.0));
+    }
+
+    @Test
+    void constructor_rejectsBadArguments() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new AccuracyHarness(null, MATH, 1L, 10, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new AccuracyHarness(MATH, MATH, 1L, 0, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new AccuracyHarness(MATH, MATH, 1L, 10, 0));
+    }
+
+    @Test
+    void launcher_runsAccuracyMode() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        int status = Launcher.runAccuracy(new String[] {"--accuracy",
+                "--engine", "math", "--count", "500", "--seed", "3",
+                "--threads", "2"}, new PrintStream(out), new PrintStream(err));
+        assertEquals(0, status);
+        String text = out.toString();
+        assertTrue(text.startsWith("Seed 3, reference math, 2 threads"));
+        assertTrue(text.contains("TOTAL: 3000 pairs, max 0.00 ulp, 0 special"
+                + " mismatches"));
+    }
+
+    @Test
+    void launcher_rejectsBadAccuracyOptions() {
+        PrintStream sink = new PrintStream(new ByteArrayOutputStream());
+        String[][] bad = {{"--accuracy", "--count"},
+                {"--accuracy", "--count", "x"},
+                {"--accuracy", "--threads", "0"},
+                {"--accuracy", "--bogus", "1"}};
+        for (String[] args : bad) {
+            assertEquals(Launcher.EXIT_USAGE,
+                    Launcher.runAccuracy(args, sink, sink));
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.sep.f7;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for {@link AccuracyTier}, checking the documented error
+ * bound of every tier against {@link Math#pow(double, double)}.
+ *
+ * @see AccuracyTier
+ */
+class AccuracyTierTest {
+    PowerCalculator powerCalculator = new PowerCalculator();
+
+    private static double bound(AccuracyTier tier, double x, double y) {
+        switch (tier) {
+            case EXACT:
+                return (3 + 3 * Math.abs(y * Math.log(x))) * 0x1p-52;
+            case REDUCED:
+                return 1e-7;
+            default:
+                return (1 + 1.1e-4) * Math.exp(6.1e-4 * Math.abs(y)) - 1;
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(AccuracyTier.class)
+    void calculatePower_withRandomInputs_staysWithinDocumentedBound(AccuracyTier tier) {
+        PowerFunction function = tier.getFunction();
+        Random random = new Random(6011L);
+        double worst = 0.0;
+        for (int i = 0; i < 200_000; i++) {
+            double x;
+            double y;
+            if (i % 2 == 0) {
+                x = Math.exp((random.nextDouble() - 0.5) * 60);
+                y = (random.nextDouble() - 0.5) * 20;
+            } else {
+                x = 1.0 + (random.nextDouble() - 0.5) * 1e-2;
+                y = (random.nextDouble() - 0.5) * 1e5;
+            }
+            double expected = Math.pow(x, y);
+            if (expected == 0.0 || Double.isInfinite(expected) || expected < Double.MIN_NORMAL) {
+                continue;
+            }
+            double error = Math.abs(function.calculatePower(x, y) - expected) / expected;
+            worst = Math.max(worst, error / bound(tier, x, y));
+        }
+        assertTrue(worst <= 1.0, tier + " exceeded its bound by a factor of " + worst);
+    }
+
+    @ParameterizedTest
+    @EnumSource(AccuracyTier.class)
+    void calculatePower_withSpecialCases_matchesPowerCalculator(AccuracyTier tier) {
+        double[] values = {0.0, -0.0, 1.0, -1.0, 2.0, -2.0, 0.5, -0.5, 2.5, -2.5,
+                1e300, Double.MIN_VALUE, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        PowerFunction function = tier.getFunction();
+        for (double x : values) {
+            for (double y : values) {
+                double expected = powerCalculator.calculatePower(x, y);
+                double actual = function.calculatePower(x, y);
+                if (Double.isNaN(expected) || Double.isInfinite(expected) || expected == 0.0) {
+                    assertEquals(expected, actual, "x=" + x + ", y=" + y);
+                } else {
+                    assertEquals(expected, actual, 0.01 * Math.abs(expected), "x=" + x + ", y=" + y);
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(AccuracyTier.class)
+    void calculatePower_withIntegralExponent_isExact(AccuracyTier tier) {
+        PowerFunction function = tier.getFunction();
+        assertEquals(1024.0, function.calculatePower(2.0, 10.0));
+        assertEquals(-27.0, function.calculatePower(-3.0, 3.0));
+        assertEquals(0.0625, function.calculatePower(-2.0, -4.0));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = AccuracyTier.class, names = {"REDUCED", "APPROXIMATE"})
+    void batchCalculatePower_matchesScalarPathOfTier(AccuracyTier tier) {
+        PowerCalculator function = (PowerCalculator) tier.getFunction();
+        Random random = new Random(11L);
+        int n = 300;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = i % 13 == 0 ? -2.0 : random.nextDouble() * 10;
+            ys[i] = i % 7 == 0 ? i % 5 - 2 : (random.nextDouble() - 0.5) * 8;
+        }
+        double[] pairs = new double[n];
+        double[] sharedBase = new double[n];
+        double[] sharedExponent = new double[n];
+        function.calculatePower(xs, ys, pairs);
+        function.calculatePower(1.7, ys, sharedBase);
+        function.calculatePower(xs, 2.3, sharedExponent);
+        for (int i = 0; i < n; i++) {
+            assertEquals(function.calculatePower(xs[i], ys[i]), pairs[i], tier + " pair " + i);
+            assertEquals(function.calculatePower(1.7, ys[i]), sharedBase[i], tier + " base " + i);
+            assertEquals(function.calculatePower(xs[i], 2.3), sharedExponent[i], tier + " exponent " + i);
+        }
+    }
+
+    @Test
+    void calculatePower_withReducedTierAndHugeExponent_usesFullPrecision() {
+        PowerFunction reduced = AccuracyTier.REDUCED.getFunction();
+        double x = 1.0000001;
+        double y = 3.5e6;
+        assertEquals(powerCalculator.calculatePower(x, y), reduced.calculatePower(x, y));
+    }
+}
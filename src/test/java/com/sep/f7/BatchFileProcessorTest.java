@@ -0,0 +1,195 @@
+package com.sep.f7;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for {@link BatchFileProcessor} and the headless modes of
+ * {@link Launcher}.
+ *
+ * @see BatchFileProcessor
+ */
+class BatchFileProcessorTest {
+
+    @TempDir
+    Path directory;
+
+    private Path writePairs(double[] xs, double[] ys) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(xs.length * BatchFileProcessor.PAIR_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < xs.length; i++) {
+            buffer.putDouble(xs[i]).putDouble(ys[i]);
+        }
+        Path input = directory.resolve("pairs.bin");
+        Files.write(input, buffer.array());
+        return input;
+    }
+
+    private static double[] readResults(Path output) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(output)).order(ByteOrder.LITTLE_ENDIAN);
+        double[] results = new double[buffer.remaining() / BatchFileProcessor.RESULT_BYTES];
+        buffer.asDoubleBuffer().get(results);
+        return results;
+    }
+
+    @Test
+    void process_acrossWindowsAndChunks_matchesScalarCalls() throws IOException {
+        Random random = new Random(6011L);
+        double[] xs = new double[1000];
+        double[] ys = new double[1000];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = (random.nextDouble() - 0.2) * 100;
+            ys[i] = i % 3 == 0 ? random.nextInt(20) - 10 : (random.nextDouble() - 0.5) * 10;
+        }
+        PowerFunction function = PowerEngine.MATH.getFunction();
+        Path output = directory.resolve("results.bin");
+        BatchFileProcessor.Summary summary = new BatchFileProcessor(function, 97, 13)
+                .process(writePairs(xs, ys), output);
+
+        double[] expected = new double[xs.length];
+        long nans = 0;
+        for (int i = 0; i < xs.length; i++) {
+            expected[i] = function.calculatePower(xs[i], ys[i]);
+            nans += Double.isNaN(expected[i]) ? 1 : 0;
+        }
+        assertArrayEquals(expected, readResults(output));
+        assertEquals(xs.length, summary.getPairs());
+        assertEquals(nans, summary.getErrors());
+        assertTrue(nans > 0);
+    }
+
+    @Test
+    void process_withFastEngine_isCloseToMathPow() throws IOException {
+        double[] xs = new double[300];
+        double[] ys = new double[300];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = 0.5 + i / 10.0;
+            ys[i] = 1.25 - i / 100.0;
+        }
+        Path output = directory.resolve("results.bin");
+        new BatchFileProcessor(PowerEngine.FAST.getFunction(), 128, 64).process(writePairs(xs, ys), output);
+        double[] results = readResults(output);
+        for (int i = 0; i < xs.length; i++) {
+            double expected = Math.pow(xs[i], ys[i]);
+            assertEquals(expected, results[i], 16 * Math.ulp(expected));
+        }
+    }
+
+    @Test
+    void process_withEmptyInput_writesEmptyOutput() throws IOException {
+        Path output = directory.resolve("results.bin");
+        BatchFileProcessor.Summary summary = new BatchFileProcessor(PowerEngine.FAST.getFunction())
+                .process(writePairs(new double[0], new double[0]), output);
+        assertEquals(0, summary.getPairs());
+        assertEquals(0, Files.size(output));
+    }
+
+    @Test
+    void process_withTruncatedPair_throwsException() throws IOException {
+        Path input = directory.resolve("broken.bin");
+        Files.write(input, new byte[BatchFileProcessor.PAIR_BYTES + 3]);
+        BatchFileProcessor processor = new BatchFileProcessor(PowerEngine.FAST.getFunction());
+        assertThrows(IOException.class, () -> processor.process(input, directory.resolve("out.bin")));
+    }
+
+    @Test
+    void constructor_withInvalidArguments_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchFileProcessor(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new BatchFileProcessor(PowerEngine.FAST.getFunction(), 0, 8));
+    }
+
+    @Test
+    void runBatch_reportsThroughputAndErrors() throws IOException {
+        Path input = writePairs(new double[] {2.0, -8.0, 9.0}, new double[] {10.0, 0.5, 0.5});
+        Path output = directory.resolve("results.bin");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int status = Launcher.runBatch(new String[] {"--batch", input.toString(), output.toString(),
+                "--engine", "reference"}, new PrintStream(out), System.err);
+        assertEquals(0, status);
+        assertTrue(out.toString().startsWith("Processed 3 pairs"), out.toString());
+        assertTrue(out.toString().trim().endsWith("1 errors"), out.toString());
+        assertEquals(1024.0, readResults(output)[0]);
+    }
+
+    @Test
+    void processColumnar_fillsResultsAndStatuses() throws IOException {
+        int rows = 500;
+        ByteBuffer buffer = ByteBuffer.allocate((int) ColumnarFormat.fileSize(rows));
+        ColumnarWriter writer = new ColumnarWriter(buffer, rows);
+        for (int i = 0; i < rows; i++) {
+            writer.setPair(i, i % 5 == 0 ? -2.0 - i : 1.0 + i, i % 2 == 0 ? 0.5 : 3.0);
+        }
+        writer.setPair(1, 10.0, 400.0);
+        Path file = directory.resolve("rows.pow");
+        Files.write(file, buffer.array());
+
+        PowerFunction function = PowerEngine.MATH.getFunction();
+        BatchFileProcessor.Summary summary = new BatchFileProcessor(function, 64, 10).processColumnar(file);
+
+        ColumnarReader reader = new ColumnarReader(ByteBuffer.wrap(Files.readAllBytes(file)));
+        long nans = 0;
+        for (int i = 0; i < rows; i++) {
+            double expected = function.calculatePower(reader.getBase(i), reader.getExponent(i));
+            assertEquals(expected, reader.getResult(i));
+            assertEquals(ColumnarFormat.status(expected), reader.getStatus(i));
+            nans += Double.isNaN(expected) ? 1 : 0;
+        }
+        assertEquals(ColumnarFormat.STATUS_OVERFLOW, reader.getStatus(1));
+        assertEquals(rows, summary.getPairs());
+        assertEquals(nans, summary.getErrors());
+    }
+
+    @Test
+    void processColumnar_withRawFile_throwsException() throws IOException {
+        Path input = writePairs(new double[] {2.0, 3.0}, new double[] {1.0, 2.0});
+        BatchFileProcessor processor = new BatchFileProcessor(PowerEngine.FAST.getFunction());
+        assertThrows(IOException.class, () -> processor.processColumnar(input));
+    }
+
+    @Test
+    void runConvertAndBatch_evaluateCsvInColumnarFormat() throws IOException {
+        Path csv = directory.resolve("pairs.csv");
+        Files.write(csv, "x,y\n2,10\n-8,0.5\n".getBytes(StandardCharsets.UTF_8));
+        Path columnar = directory.resolve("pairs.pow");
+        Path output = directory.resolve("results.pow");
+        PrintStream quiet = new PrintStream(new ByteArrayOutputStream());
+        assertEquals(0, Launcher.runConvert(new String[] {"--convert", csv.toString(), columnar.toString()},
+                quiet, System.err));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(0, Launcher.runBatch(new String[] {"--batch", columnar.toString(), output.toString()},
+                new PrintStream(out), System.err));
+        assertTrue(out.toString().trim().endsWith("1 errors"), out.toString());
+        ColumnarReader reader = new ColumnarReader(ByteBuffer.wrap(Files.readAllBytes(output)));
+        assertEquals(1024.0, reader.getResult(0));
+        assertEquals(ColumnarFormat.STATUS_UNDEFINED, reader.getStatus(1));
+        assertEquals(ColumnarFormat.STATUS_PENDING,
+                new ColumnarReader(ByteBuffer.wrap(Files.readAllBytes(columnar))).getStatus(0));
+    }
+
+    @Test
+    void runBatch_withBadArguments_returnsUsageStatus() {
+        PrintStream err = new PrintStream(new ByteArrayOutputStream());
+        assertEquals(Launcher.EXIT_USAGE, Launcher.runBatch(new String[] {"--batch", "in"}, System.out, err));
+        assertEquals(Launcher.EXIT_USAGE, Launcher.runBatch(
+                new String[] {"--batch", "in", "out", "--engine", "turbo"}, System.out, err));
+        assertEquals(Launcher.EXIT_FAILURE, Launcher.runBatch(new String[] {"--batch",
+                directory.resolve("missing.bin").toString(), directory.resolve("out.bin").toString()},
+                System.out, err));
+    }
+}
@@ -0,0 +1,156 @@
+package com.sep.f7;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the batch entry points of {@link PowerCalculator} and the
+ * {@link BatchKernel} implementations behind them.
+ * <p>
+ * The scalar kernel must match {@link PowerCalculator#calculatePower(double, double)}
+ * exactly. The preferred kernel, which is the SIMD kernel when the tests run
+ * on JDK 17+ with {@code jdk.incubator.vector}, must agree with the scalar
+ * kernel within the documented bound of 4 + 4|y ln x| ulps, and exactly on
+ * special values and integral exponents.
+ * </p>
+ *
+ * @see BatchKernels
+ */
+class BatchKernelsTest {
+    private static final int SIZE = 100_003;
+
+    PowerCalculator powerCalculator = new PowerCalculator();
+
+    private static double[] randomBases(Random random) {
+        double[] xs = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            switch (i % 10) {
+                case 0:
+                    xs[i] = -random.nextDouble() * 10.0;
+                    break;
+                case 1:
+                    xs[i] = 1.0 + (random.nextDouble() - 0.5) * 1e-6;
+                    break;
+                case 2:
+                    xs[i] = random.nextDouble() * Double.MIN_NORMAL;
+                    break;
+                case 3:
+                    xs[i] = Math.exp((random.nextDouble() - 0.5) * 1400.0);
+                    break;
+                default:
+                    xs[i] = random.nextDouble() * 100.0;
+            }
+        }
+        xs[7] = 0.0;
+        xs[17] = Double.NaN;
+        xs[27] = Double.POSITIVE_INFINITY;
+        return xs;
+    }
+
+    private static double[] randomExponents(Random random) {
+        double[] ys = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            ys[i] = i % 7 == 0
+                    ? random.nextInt(200) - 100
+                    : (random.nextDouble() - 0.5) * 20.0;
+        }
+        ys[8] = Double.NaN;
+        ys[18] = Double.NEGATIVE_INFINITY;
+        return ys;
+    }
+
+    private static void assertWithinBound(double[] xs, double[] ys, double[] expected, double[] actual) {
+        for (int i = 0; i < expected.length; i++) {
+            double x = xs.length == 1 ? xs[0] : xs[i];
+            double y = ys.length == 1 ? ys[0] : ys[i];
+            if (Double.isNaN(expected[i]) || Double.isInfinite(expected[i]) || expected[i] == 0.0) {
+                assertEquals(expected[i], actual[i], "x=" + x + ", y=" + y);
+                continue;
+            }
+            double t = Math.abs(y * Math.log(Math.abs(x)));
+            double bound = (4.0 + 4.0 * (t < Double.POSITIVE_INFINITY ? t : 0.0)) * Math.ulp(expected[i]);
+            assertEquals(expected[i], actual[i], bound, "x=" + x + ", y=" + y);
+        }
+    }
+
+    @Test
+    void scalarKernel_matchesScalarCalculatePowerExactly() {
+        Random random = new Random(6011L);
+        double[] xs = randomBases(random);
+        double[] ys = randomExponents(random);
+        double[] out = new double[SIZE];
+        BatchKernels.SCALAR.power(xs, ys, out, 0, SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(powerCalculator.calculatePower(xs[i], ys[i]), out[i]);
+        }
+    }
+
+    @Test
+    void calculatePower_withArrays_agreesWithScalarKernelWithinUlpBound() {
+        Random random = new Random(6011L);
+        double[] xs = randomBases(random);
+        double[] ys = randomExponents(random);
+        double[] expected = new double[SIZE];
+        double[] actual = new double[SIZE];
+        BatchKernels.SCALAR.power(xs, ys, expected, 0, SIZE);
+        powerCalculator.calculatePower(xs, ys, actual);
+        assertWithinBound(xs, ys, expected, actual);
+    }
+
+    @Test
+    void calculatePower_withScalarBase_agreesWithScalarKernelWithinUlpBound() {
+        Random random = new Random(6011L);
+        double[] ys = randomExponents(random);
+        for (double x : new double[] {2.5, 0.3, -2.0, 0.0, 1e-310}) {
+            double[] expected = new double[SIZE];
+            double[] actual = new double[SIZE];
+            BatchKernels.SCALAR.power(x, ys, expected, 0, SIZE);
+            powerCalculator.calculatePower(x, ys, actual);
+            assertWithinBound(new double[] {x}, ys, expected, actual);
+        }
+    }
+
+    @Test
+    void calculatePower_withScalarExponent_agreesWithScalarKernelWithinUlpBound() {
+        Random random = new Random(6011L);
+        double[] xs = randomBases(random);
+        for (double y : new double[] {0.5, -1.25, 3.0, -2.0, 7.3}) {
+            double[] expected = new double[SIZE];
+            double[] actual = new double[SIZE];
+            BatchKernels.SCALAR.power(xs, y, expected, 0, SIZE);
+            powerCalculator.calculatePower(xs, y, actual);
+            assertWithinBound(xs, new double[] {y}, expected, actual);
+        }
+    }
+
+    @Test
+    void calculatePower_withAliasedOutput_returnsExpectedResult() {
+        double[] xs = {2.0, 4.0, -3.0, 0.0, 9.0, 16.0, 0.25, 10.0, 1.5};
+        double[] expected = new double[xs.length];
+        for (int i = 0; i < xs.length; i++) {
+            expected[i] = powerCalculator.calculatePower(xs[i], 2.0);
+        }
+        powerCalculator.calculatePower(xs, 2.0, xs);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    void calculatePower_withMismatchedLengths_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> powerCalculator.calculatePower(new double[2], new double[3], new double[2]));
+        assertThrows(IllegalArgumentException.class,
+                () -> powerCalculator.calculatePower(2.0, new double[2], new double[3]));
+    }
+
+    @Test
+    void preferredKernel_isVectorizedWhenIncubatorModuleIsPresent() {
+        boolean moduleResolved = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+        assertTrue(!moduleResolved || BatchKernels.isVectorized());
+    }
+}
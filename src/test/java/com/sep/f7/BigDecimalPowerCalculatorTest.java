@@ -0,0 +1,216 @@
+package com.sep.f7;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for {@link BigDecimalPowerCalculator}.
+ *
+ * @see BigDecimalPowerCalculator
+ */
+class BigDecimalPowerCalculatorTest {
+
+    private static final BigDecimal E = new BigDecimal(
+            "2.71828182845904523536028747135266249775724709369995"
+                    + "95749669676277240766303535475945713821785251664274");
+
+    private static final BigDecimal LN2 = new BigDecimal(
+            "0.69314718055994530941723212145817656807550013436025"
+                    + "525412068000949339362196969471560586332699641868754");
+
+    private static final BigDecimal LN10 = new BigDecimal(
+            "2.30258509299404568401799145468436420760110148862877"
+                    + "297603332790096757260967735248023599720508959829834");
+
+    private static final BigDecimal SQRT2 = new BigDecimal(
+            "1.41421356237309504880168872420969807856967187537694"
+                    + "807317667973799073247846210703885038753432764157273");
+
+    private static final MathContext DIGITS_100 = new MathContext(100);
+
+    private final BigDecimalPowerCalculator calculator =
+            new BigDecimalPowerCalculator(DIGITS_100);
+
+    /**
+     * Asserts that actual equals expected within one unit in the last
+     * place of the given context.
+     */
+    private static void assertWithinUlp(BigDecimal expected, BigDecimal actual,
+                                        MathContext mc) {
+        BigDecimal rounded = expected.round(mc);
+        BigDecimal ulp = rounded.ulp();
+        BigDecimal error = rounded.subtract(actual).abs();
+        assertTrue(error.compareTo(ulp) <= 0,
+                () -> "expected " + rounded + " but was " + actual);
+    }
+
+    @Test
+    void constructor_requiresFinitePrecision() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new BigDecimalPowerCalculator(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new BigDecimalPowerCalculator(MathContext.UNLIMITED));
+    }
+
+    @Test
+    void exp_matchesKnownConstant() {
+        assertWithinUlp(E, calculator.exp(BigDecimal.ONE), DIGITS_100);
+        assertWithinUlp(BigDecimal.ONE.divide(E, DIGITS_100),
+                calculator.exp(BigDecimal.ONE.negate()), DIGITS_100);
+        assertEquals(BigDecimal.ONE, calculator.exp(BigDecimal.ZERO));
+    }
+
+    @Test
+    void log_matchesKnownConstants() {
+        assertWithinUlp(LN2, calculator.log(BigDecimal.valueOf(2)), DIGITS_100);
+        assertWithinUlp(LN10, calculator.log(BigDecimal.TEN), DIGITS_100);
+        assertWithinUlp(LN10.multiply(BigDecimal.valueOf(-7)),
+                calculator.log(new BigDecimal("1e-7")), DIGITS_100);
+        assertEquals(0, calculator.log(BigDecimal.ONE).signum());
+    }
+
+    @Test
+    void log_nearOne_keepsRelativePrecision() {
+        MathContext mc = new MathContext(50);
+        BigDecimal t = new BigDecimal("1e-40");
+        // ln(1 + t) = t - t^2/2 + ..., exact to far more than 50 digits.
+        BigDecimal expected = t.subtract(t.multiply(t)
+                .divide(BigDecimal.valueOf(2)));
+        assertWithinUlp(expected, new BigDecimalPowerCalculator(mc)
+                .log(BigDecimal.ONE.add(t)), mc);
+    }
+
+    @Test
+    void log_nonPositive_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> calculator.log(BigDecimal.ZERO));
+        assertThrows(IllegalArgumentException.class,
+                () -> calculator.log(BigDecimal.ONE.negate()));
+    }
+
+    @Test
+    void calculatePower_fractionalExponent() {
+        assertWithinUlp(SQRT2, calculator.calculatePower(
+                BigDecimal.valueOf(2), new BigDecimal("0.5")), DIGITS_100);
+        assertWithinUlp(E, calculator.calculatePower(E, BigDecimal.ONE
+                .add(new BigDecimal("0.0"))), DIGITS_100);
+    }
+
+    @Test
+    void calculatePower_integerExponent_isExact() {
+        MathContext mc = new MathContext(60);
+        BigDecimalPowerCalculator exact = new BigDecimalPowerCalculator(mc);
+        assertEquals(new BigDecimal(BigInteger.valueOf(3).pow(100)),
+                exact.calculatePower(BigDecimal.valueOf(3),
+                        BigDecimal.valueOf(100)));
+        assertEquals(0, new BigDecimal("0.0009765625").compareTo(
+                exact.calculatePower(BigDecimal.valueOf(2),
+                        BigDecimal.valueOf(-10))));
+        assertEquals(0, new BigDecimal("-3.375").compareTo(
+                exact.calculatePower(new BigDecimal("-1.5"),
+                        new BigDecimal("3.000"))));
+    }
+
+    @Test
+    void calculatePowerIntegerExponent_handlesLongMinValue() {
+        assertEquals(0, BigDecimal.ONE.compareTo(calculator
+                .calculatePowerIntegerExponent(BigDecimal.ONE.negate(),
+                        Long.MIN_VALUE)));
+    }
+
+    @Test
+    void calculatePowerIntegerExponent_largeExponent_isWithinUlp() {
+        MathContext mc = new MathContext(50);
+        BigDecimal x = new BigDecimal("1.000000000000000000000000000001");
+        long n = 1L << 62;
+        BigDecimalPowerCalculator wide =
+                new BigDecimalPowerCalculator(new MathContext(120));
+        BigDecimal expected = wide.exp(BigDecimal.valueOf(n)
+                .multiply(wide.log(x)));
+        assertWithinUlp(expected, new BigDecimalPowerCalculator(mc)
+                .calculatePowerIntegerExponent(x, n), mc);
+        assertWithinUlp(BigDecimal.ONE.divide(expected, new MathContext(120)),
+                new BigDecimalPowerCalculator(mc)
+                        .calculatePowerIntegerExponent(x, -n), mc);
+    }
+
+    @Test
+    void calculatePower_hugeIntegerExponent_takesSignFromParity() {
+        BigDecimal even = new BigDecimal("1e30");
+        BigDecimal odd = even.add(BigDecimal.ONE);
+        BigDecimal minusOne = BigDecimal.ONE.negate();
+        assertEquals(0, BigDecimal.ONE.compareTo(
+                calculator.calculatePower(minusOne, even)));
+        assertEquals(0, minusOne.compareTo(
+                calculator.calculatePower(minusOne, odd)));
+    }
+
+    @Test
+    void calculatePower_zeroBase() {
+        assertEquals(BigDecimal.ONE,
+                calculator.calculatePower(BigDecimal.ZERO, BigDecimal.ZERO));
+        assertEquals(BigDecimal.ZERO,
+                calculator.calculatePower(BigDecimal.ZERO, SQRT2));
+        assertThrows(ArithmeticException.class,
+                () -> calculator.calculatePower(BigDecimal.ZERO,
+                        BigDecimal.ONE.negate()));
+    }
+
+    @Test
+    void calculatePower_negativeBaseFractionalExponent_throws() {
+        assertThrows(ArithmeticException.class,
+                () -> calculator.calculatePower(BigDecimal.valueOf(-2),
+                        new BigDecimal("0.5")));
+    }
+
+    @Test
+    void calculatePower_outOfRange_throws() {
+        assertThrows(ArithmeticException.class,
+                () -> calculator.exp(new BigDecimal("1e12")));
+    }
+
+    @Test
+    void calculatePower_agreesWithMathPow() {
+        BigDecimalPowerCalculator decimal64 =
+                new BigDecimalPowerCalculator(MathContext.DECIMAL64);
+        Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            double x = Math.exp(random.nextDouble() * 40 - 20);
+            double y = random.nextDouble() * 20 - 10;
+            double expected = Math.pow(x, y);
+            double actual = decimal64.calculatePower(new BigDecimal(x),
+                    new BigDecimal(y)).doubleValue();
+            assertEquals(expected, actual, Math.abs(expected) * 1e-13,
+                    "x=" + x + ", y=" + y);
+        }
+    }
+
+    @Test
+    void expOfLog_roundTripsAtHighPrecision() {
+        MathContext mc = new MathContext(500);
+        BigDecimalPowerCalculator wide = new BigDecimalPowerCalculator(mc);
+        for (String value : new String[] {"3.14159", "12345.678", "0.000042"}) {
+            BigDecimal x = new BigDecimal(value);
+            assertWithinUlp(x, wide.exp(wide.log(x)), new MathContext(498));
+        }
+    }
+
+    @Test
+    void exp_largeArgument_matchesPowerOfE() {
+        MathContext mc = new MathContext(40);
+        BigDecimalPowerCalculator small = new BigDecimalPowerCalculator(mc);
+        assertWithinUlp(E.pow(1000, new MathContext(60)),
+                small.exp(BigDecimal.valueOf(1000)), mc);
+        assertWithinUlp(BigDecimal.ONE.divide(E.pow(1000,
+                        new MathContext(60)), new MathContext(60)),
+                small.exp(BigDecimal.valueOf(-1000)), mc);
+    }
+}
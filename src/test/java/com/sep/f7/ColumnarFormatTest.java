@@ -0,0 +1,95 @@
+package com.sep.f7;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for {@link ColumnarFormat}, {@link ColumnarReader} and
+ * {@link ColumnarWriter}.
+ *
+ * @see ColumnarFormat
+ */
+class ColumnarFormatTest {
+
+    @Test
+    void writerAndReader_roundTripEveryColumn() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int) ColumnarFormat.fileSize(3));
+        ColumnarWriter writer = new ColumnarWriter(buffer, 3);
+        writer.setPair(0, 2.0, 10.0);
+        writer.setPair(1, -8.0, 0.5);
+        writer.setPair(2, 10.0, 400.0);
+        writer.setResult(0, 1024.0);
+        writer.setResult(1, Double.NaN);
+
+        ColumnarReader reader = new ColumnarReader(buffer);
+        assertEquals(3, reader.getRowCount());
+        assertEquals(-8.0, reader.getBase(1));
+        assertEquals(400.0, reader.getExponent(2));
+        assertEquals(1024.0, reader.getResult(0));
+        assertEquals(ColumnarFormat.STATUS_OK, reader.getStatus(0));
+        assertEquals(ColumnarFormat.STATUS_UNDEFINED, reader.getStatus(1));
+        assertEquals(ColumnarFormat.STATUS_PENDING, reader.getStatus(2));
+    }
+
+    @Test
+    void columns_areLittleEndianAtDocumentedOffsets() {
+        ByteBuffer buffer = ByteBuffer.allocate((int) ColumnarFormat.fileSize(2));
+        ColumnarWriter writer = new ColumnarWriter(buffer, 2);
+        writer.bases().put(new double[] {1.5, 2.5});
+        writer.exponents().put(new double[] {3.0, 4.0});
+        writer.setResult(1, Double.POSITIVE_INFINITY);
+
+        ByteBuffer raw = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals('P', raw.get(0));
+        assertEquals('C', raw.get(3));
+        assertEquals(ColumnarFormat.VERSION, raw.getInt(4));
+        assertEquals(2L, raw.getLong(8));
+        assertEquals(1.5, raw.getDouble(32));
+        assertEquals(2.5, raw.getDouble(40));
+        assertEquals(3.0, raw.getDouble(48));
+        assertEquals(Double.POSITIVE_INFINITY, raw.getDouble(72));
+        assertEquals(ColumnarFormat.STATUS_OVERFLOW, raw.get(81));
+    }
+
+    @Test
+    void reader_sharesContentWithoutCopying() {
+        ByteBuffer buffer = ByteBuffer.allocate((int) ColumnarFormat.fileSize(4));
+        ColumnarWriter writer = new ColumnarWriter(buffer, 4);
+        ColumnarReader reader = new ColumnarReader(buffer);
+        DoubleBuffer bases = reader.bases();
+        writer.setPair(3, 7.0, 1.0);
+        assertEquals(7.0, bases.get(3));
+    }
+
+    @Test
+    void reader_withInvalidBuffer_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new ColumnarReader(ByteBuffer.allocate(64)));
+        ByteBuffer truncated = ByteBuffer.allocate((int) ColumnarFormat.fileSize(10));
+        new ColumnarWriter(truncated, 10);
+        truncated.limit(100);
+        assertThrows(IllegalArgumentException.class, () -> new ColumnarReader(truncated));
+        ByteBuffer future = ByteBuffer.allocate(ColumnarFormat.HEADER_BYTES);
+        new ColumnarWriter(future, 0);
+        future.order(ByteOrder.LITTLE_ENDIAN).putInt(4, 99);
+        assertThrows(IllegalArgumentException.class, () -> new ColumnarReader(future));
+    }
+
+    @Test
+    void writer_withSmallBuffer_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new ColumnarWriter(ByteBuffer.allocate(40), 1));
+        assertThrows(IllegalArgumentException.class, () -> new ColumnarWriter(ByteBuffer.allocate(40), -1));
+    }
+
+    @Test
+    void status_classifiesResults() {
+        assertEquals(ColumnarFormat.STATUS_OK, ColumnarFormat.status(0.0));
+        assertEquals(ColumnarFormat.STATUS_UNDEFINED, ColumnarFormat.status(Double.NaN));
+        assertEquals(ColumnarFormat.STATUS_OVERFLOW, ColumnarFormat.status(Double.NEGATIVE_INFINITY));
+    }
+}
@@ -0,0 +1,167 @@
+package com.sep.f7;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for {@link ComplexPowerCalculator}.
+ *
+ * @see ComplexPowerCalculator
+ */
+class ComplexPowerCalculatorTest {
+
+    private static final double DELTA = 1e-12;
+
+    private final ComplexPowerCalculator calculator =
+            new ComplexPowerCalculator();
+
+    @Test
+    void negativeBase_halfExponent_isExactlyImaginary() {
+        assertEquals(0.0, calculator.realPart(-4.0, 0.5));
+        assertEquals(2.0, calculator.imaginaryPart(-4.0, 0.5));
+        assertEquals(0.0, calculator.realPart(-4.0, -0.5));
+        assertEquals(-0.5, calculator.imaginaryPart(-4.0, -0.5));
+        assertEquals(0.0, calculator.realPart(-4.0, 1.5));
+        // |x|^y itself comes from exp and log, accurate to a few ulp.
+        assertEquals(-8.0, calculator.imaginaryPart(-4.0, 1.5), DELTA);
+    }
+
+    @Test
+    void negativeBase_fractionalExponent_isPrincipalValue() {
+        // (-8)^(1/3) = 2 e^(i pi/3) = 1 + i sqrt(3).
+        assertEquals(1.0, calculator.realPart(-8.0, 1.0 / 3.0), DELTA);
+        assertEquals(Math.sqrt(3.0),
+                calculator.imaginaryPart(-8.0, 1.0 / 3.0), DELTA);
+        double magnitude = Math.pow(2.5, 0.3);
+        assertEquals(magnitude * Math.cos(Math.PI * 0.3),
+                calculator.realPart(-2.5, 0.3), DELTA);
+        assertEquals(magnitude * Math.sin(Math.PI * 0.3),
+                calculator.imaginaryPart(-2.5, 0.3), DELTA);
+    }
+
+    @Test
+    void realResults_matchRealPath() {
+        PowerCalculator real = new PowerCalculator();
+        double[][] cases = {{2.0, 0.5}, {-2.0, 3.0}, {0.0, -1.0},
+                {7.5, -2.25}, {-3.0, -2.0}};
+        for (double[] c : cases) {
+            assertEquals(real.calculatePower(c[0], c[1]),
+                    calculator.realPart(c[0], c[1]));
+            assertEquals(0.0, calculator.imaginaryPart(c[0], c[1]));
+        }
+    }
+
+    @Test
+    void nan_propagatesToBothParts() {
+        assertTrue(Double.isNaN(calculator.realPart(-2.0, Double.NaN)));
+        assertTrue(Double.isNaN(calculator.imaginaryPart(-2.0, Double.NaN)));
+        assertTrue(Double.isNaN(calculator.imaginaryPart(Double.NaN, 0.5)));
+    }
+
+    @Test
+    void sinPiAndCosPi_areExactAtQuarterTurns() {
+        double[] halves = {-2.0, -1.5, -1.0, -0.5, 0.0, 0.5, 1.0, 1.5, 2.0,
+                1e15 + 0.5};
+        for (double y : halves) {
+            assertEquals(Math.rint(Math.sin(Math.PI * y)),
+                    ComplexPowerCalculator.sinPi(y), 0.0, "sinPi " + y);
+            assertEquals(Math.rint(Math.cos(Math.PI * y)),
+                    ComplexPowerCalculator.cosPi(y), 0.0, "cosPi " + y);
+        }
+        Random random = new Random(1);
+        for (int i = 0; i < 1000; i++) {
+            double y = random.nextDouble() * 8 - 4;
+            assertEquals(Math.sin(Math.PI * y),
+                    ComplexPowerCalculator.sinPi(y), DELTA);
+            assertEquals(Math.cos(Math.PI * y),
+                    ComplexPowerCalculator.cosPi(y), DELTA);
+        }
+    }
+
+    @Test
+    void realBatch_matchesScalar() {
+        Random random = new Random(2);
+        int n = 257;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = random.nextDouble() * 20 - 10;
+            ys[i] = i % 5 == 0 ? i % 7 - 3 : random.nextDouble() * 6 - 3;
+        }
+        double[] outRe = new double[n];
+        double[] outIm = new double[n];
+        calculator.calculatePower(xs, ys, outRe, outIm);
+        for (int i = 0; i < n; i++) {
+            assertEquals(calculator.realPart(xs[i], ys[i]), outRe[i]);
+            assertEquals(calculator.imaginaryPart(xs[i], ys[i]), outIm[i]);
+        }
+    }
+
+    @Test
+    void complexBatch_matchesPolarForm() {
+        Random random = new Random(3);
+        int n = 200;
+        double[] re = new double[n];
+        double[] im = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            re[i] = random.nextDouble() * 4 - 2;
+            im[i] = random.nextDouble() * 4 - 2;
+            ys[i] = i % 4 == 0 ? i % 9 - 4 : random.nextDouble() * 6 - 3;
+        }
+        double[] outRe = new double[n];
+        double[] outIm = new double[n];
+        calculator.calculatePower(re, im, ys, outRe, outIm);
+        for (int i = 0; i < n; i++) {
+            double modulus = Math.pow(Math.hypot(re[i], im[i]), ys[i]);
+            double angle = ys[i] * Math.atan2(im[i], re[i]);
+            double tolerance = DELTA * Math.max(1.0, modulus);
+            assertEquals(modulus * Math.cos(angle), outRe[i], tolerance);
+            assertEquals(modulus * Math.sin(angle), outIm[i], tolerance);
+        }
+    }
+
+    @Test
+    void complexBatch_integerPowersOfGaussianIntegersAreExact() {
+        double[] re = {0.0, 0.0, 1.0, 1.0, 2.0};
+        double[] im = {1.0, 1.0, 1.0, 1.0, -1.0};
+        double[] ys = {2.0, 3.0, 4.0, -2.0, 2.0};
+        double[] outRe = new double[re.length];
+        double[] outIm = new double[re.length];
+        calculator.calculatePower(re, im, ys, outRe, outIm);
+        double[] expectedRe = {-1.0, 0.0, -4.0, 0.0, 3.0};
+        double[] expectedIm = {0.0, -1.0, 0.0, -0.5, -4.0};
+        for (int i = 0; i < re.length; i++) {
+            assertEquals(expectedRe[i], outRe[i], 0.0, "re " + i);
+            assertEquals(expectedIm[i], outIm[i], 0.0, "im " + i);
+        }
+    }
+
+    @Test
+    void complexBatch_realBasesAgreeWithRealBatch_inPlace() {
+        double[] xs = {-4.0, -8.0, 3.0, -2.0};
+        double[] ys = {0.5, 1.0 / 3.0, 0.25, 3.0};
+        double[] expectedRe = new double[xs.length];
+        double[] expectedIm = new double[xs.length];
+        calculator.calculatePower(xs, ys, expectedRe, expectedIm);
+        double[] re = xs.clone();
+        double[] im = new double[xs.length];
+        calculator.calculatePower(re, im, ys, re, im);
+        for (int i = 0; i < xs.length; i++) {
+            assertEquals(expectedRe[i], re[i]);
+            assertEquals(expectedIm[i], im[i]);
+        }
+    }
+
+    @Test
+    void batch_lengthMismatch_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> calculator.calculatePower(new double[2], new double[2],
+                        new double[2], new double[1]));
+    }
+}
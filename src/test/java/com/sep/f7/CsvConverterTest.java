@@ -0,0 +1,71 @@
+package com.sep.f7;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for {@link CsvConverter}.
+ *
+ * @see CsvConverter
+ */
+class CsvConverterTest {
+
+    @TempDir
+    Path directory;
+
+    private ColumnarReader convert(String text) throws IOException {
+        Path csv = directory.resolve("input.csv");
+        Files.write(csv, text.getBytes(StandardCharsets.UTF_8));
+        Path columnar = directory.resolve("input.pow");
+        CsvConverter.convert(csv, columnar);
+        return new ColumnarReader(ByteBuffer.wrap(Files.readAllBytes(columnar)));
+    }
+
+    @Test
+    void convert_withHeaderAndBlankLines_skipsThem() throws IOException {
+        ColumnarReader reader = convert("x,y\n2, 10\n\n -8 ,0.5\n1e300,2\n");
+        assertEquals(3, reader.getRowCount());
+        assertEquals(2.0, reader.getBase(0));
+        assertEquals(10.0, reader.getExponent(0));
+        assertEquals(-8.0, reader.getBase(1));
+        assertEquals(1e300, reader.getBase(2));
+        assertEquals(ColumnarFormat.STATUS_PENDING, reader.getStatus(2));
+    }
+
+    @Test
+    void convert_acrossChunks_keepsEveryRow() throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            lines.add(i + "," + (i % 7) / 2.0);
+        }
+        ColumnarReader reader = convert(String.join("\n", lines));
+        assertEquals(20_000, reader.getRowCount());
+        assertEquals(8192.0, reader.getBase(8192));
+        assertEquals((19_999 % 7) / 2.0, reader.getExponent(19_999));
+    }
+
+    @Test
+    void convert_withEmptyFile_writesHeaderOnly() throws IOException {
+        assertEquals(0, convert("").getRowCount());
+        assertEquals(ColumnarFormat.HEADER_BYTES, Files.size(directory.resolve("input.pow")));
+    }
+
+    @Test
+    void convert_withMalformedLine_throwsException() {
+        IOException e = assertThrows(IOException.class, () -> convert("1,2\n3;4\n"));
+        assertTrue(e.getMessage().startsWith("Line 2"), e.getMessage());
+        assertThrows(IOException.class, () -> convert("1,2,3\n4,5\n6,7,8\n"));
+    }
+}
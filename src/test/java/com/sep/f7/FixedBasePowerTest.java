@@ -0,0 +1,92 @@
+package com.sep.f7;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test class for the {@link FixedBasePower} class returned by
+ * {@link PowerCalculator#forBase(double)}.
+ * <p>
+ * For ordinary bases every result must be bit-identical to
+ * {@link PowerCalculator#calculatePower(double, double)}; for powers of two
+ * integral exponents must be exact and fractional ones within one ulp of
+ * {@link Math#pow(double, double)}.
+ * </p>
+ *
+ * @see FixedBasePower
+ */
+class FixedBasePowerTest {
+    PowerCalculator powerCalculator = new PowerCalculator();
+
+    private static double[] exponents() {
+        Random random = new Random(6011L);
+        double[] ys = new double[20_000];
+        for (int i = 0; i < ys.length; i++) {
+            switch (i % 4) {
+                case 0:
+                    ys[i] = random.nextInt(2001) - 1000;
+                    break;
+                case 1:
+                    ys[i] = (random.nextDouble() - 0.5) * 1e4;
+                    break;
+                case 2:
+                    ys[i] = (random.nextDouble() - 0.5) * 4.0;
+                    break;
+                default:
+                    ys[i] = (random.nextDouble() - 0.5) * 1e12;
+            }
+        }
+        ys[0] = 0.0;
+        ys[1] = -0.0;
+        ys[2] = Double.NaN;
+        ys[3] = Double.POSITIVE_INFINITY;
+        ys[4] = Double.NEGATIVE_INFINITY;
+        ys[5] = 1e300;
+        return ys;
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {1.05, 0.97, 99.0, -3.0, -0.9, 1e-310, 1e300, 0.0, -0.0, 1.0, -1.0,
+            Double.NaN, Double.POSITIVE_INFINITY})
+    void calculatePower_withOrdinaryBase_isBitIdenticalToCalculatePower(double x) {
+        FixedBasePower power = PowerCalculator.forBase(x);
+        for (double y : exponents()) {
+            assertEquals(powerCalculator.calculatePower(x, y), power.calculatePower(y), "y=" + y);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {2.0, 0.5, 1024.0, 0x1.0p-1030, Double.MIN_VALUE, 0x1.0p1023, -2.0, -0.25})
+    void calculatePower_withPowerOfTwoBase_isExactForIntegralExponents(double x) {
+        FixedBasePower power = PowerCalculator.forBase(x);
+        for (int n = -1100; n <= 1100; n++) {
+            assertEquals(Math.pow(x, n), power.calculatePower(n), "n=" + n);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {2.0, 0.5, 1024.0, 0x1.0p-1030, 0x1.0p1023})
+    void calculatePower_withPowerOfTwoBase_isWithinOneUlpForFractionalExponents(double x) {
+        FixedBasePower power = PowerCalculator.forBase(x);
+        Random random = new Random(6011L);
+        for (int i = 0; i < 20_000; i++) {
+            double y = (random.nextDouble() - 0.5) * 2.0 * 1000.0 / Math.abs(Math.getExponent(x) + 0.5);
+            double expected = Math.pow(x, y);
+            assertEquals(expected, power.calculatePower(y), Math.ulp(expected), "y=" + y);
+        }
+        assertEquals(Double.NaN, PowerCalculator.forBase(-2.0).calculatePower(0.5));
+    }
+
+    @Test
+    void applyAsDouble_delegatesToCalculatePower() {
+        FixedBasePower power = PowerCalculator.forBase(1.07);
+        assertEquals(1.07, power.getBase());
+        assertEquals(power.calculatePower(12.5), power.applyAsDouble(12.5));
+        assertEquals(powerCalculator.calculatePower(1.07, 30.0), power.applyAsDouble(30.0));
+    }
+}
@@ -0,0 +1,119 @@
+package com.sep.f7;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test class for the {@link FixedExponentPower} class returned by
+ * {@link PowerCalculator#forExponent(double)}.
+ * <p>
+ * Specialized kernels must stay within a few ulps of {@link Math#pow(double, double)}
+ * and must reproduce the special cases of
+ * {@link PowerCalculator#calculatePower(double, double)} exactly.
+ * </p>
+ *
+ * @see FixedExponentPower
+ */
+class FixedExponentPowerTest {
+    PowerCalculator powerCalculator = new PowerCalculator();
+
+    private static double[] bases() {
+        Random random = new Random(6011L);
+        double[] xs = new double[10_000];
+        for (int i = 0; i < xs.length; i++) {
+            double magnitude = Math.exp((random.nextDouble() - 0.5) * 80.0);
+            xs[i] = i % 5 == 0 ? -magnitude : magnitude;
+        }
+        return xs;
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16,
+            -1, -2, -3, -7, -15, -16, 17, -40, 1000})
+    void calculatePower_withIntegerExponent_matchesMathPow(double y) {
+        FixedExponentPower power = PowerCalculator.forExponent(y);
+        for (double x : bases()) {
+            double expected = Math.pow(x, y);
+            assertEquals(expected, power.calculatePower(x), (Math.abs(y) + 1) * Math.ulp(expected), "x=" + x);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0.5, -0.5, 1.5, 2.5, -1.5, -7.5, 15.5, 1.0 / 3, -1.0 / 3, 2.0 / 3, 4.0 / 3, -5.0 / 3})
+    void calculatePower_withRootExponent_matchesMathPow(double y) {
+        FixedExponentPower power = PowerCalculator.forExponent(y);
+        for (double x : bases()) {
+            double expected = Math.pow(x, y);
+            if (x < 0.0) {
+                assertEquals(Double.NaN, power.calculatePower(x), "x=" + x);
+            } else {
+                double bound = Math.abs(y) + 3 + Math.abs(Math.log(x));
+                assertEquals(expected, power.calculatePower(x), bound * Math.ulp(expected), "x=" + x);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0.0, 1.0, 2.0, -3.0, 0.5, -0.5, 1.5, -1.5, 1.0 / 3, 7.3, -1e10, 1e300,
+            Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY})
+    void calculatePower_withSpecialBases_matchesCalculatePower(double y) {
+        FixedExponentPower power = PowerCalculator.forExponent(y);
+        double[] specials = {0.0, -0.0, 1.0, -1.0, Double.NaN, Double.POSITIVE_INFINITY,
+                Double.NEGATIVE_INFINITY, Double.MIN_VALUE, Double.MAX_VALUE, 1e-200};
+        for (double x : specials) {
+            double expected = powerCalculator.calculatePower(x, y);
+            double actual = power.calculatePower(x);
+            if (Double.isNaN(expected) || Double.isInfinite(expected) || expected == 0.0) {
+                assertEquals(expected, actual, "x=" + x);
+            } else {
+                double t = y == 0.0 ? 0.0 : y * Math.log(Math.abs(x));
+                double bound = 8 + 4 * Math.abs(t);
+                assertEquals(expected, actual, bound * Math.ulp(expected), "x=" + x);
+            }
+        }
+    }
+
+    @Test
+    void calculatePower_withIntermediateOverflow_staysAccurate() {
+        assertEquals(Math.pow(1e-200, -1.5), PowerCalculator.forExponent(-1.5).calculatePower(1e-200),
+                4 * Math.ulp(1e300));
+        assertEquals(Math.pow(1e-300, -7.0 / 3), PowerCalculator.forExponent(-7.0 / 3).calculatePower(1e-300),
+                16 * Math.ulp(1e300));
+        assertEquals(Double.POSITIVE_INFINITY, PowerCalculator.forExponent(-2.5).calculatePower(1e-200));
+    }
+
+    @Test
+    void calculatePower_withArray_matchesScalarSpecialization() {
+        double[] xs = bases();
+        for (double y : new double[] {2.0, 0.5, -1.0 / 3, 7.3, 1000.0}) {
+            FixedExponentPower power = PowerCalculator.forExponent(y);
+            double[] expected = new double[xs.length];
+            double[] actual = new double[xs.length];
+            for (int i = 0; i < xs.length; i++) {
+                expected[i] = power.calculatePower(xs[i]);
+            }
+            powerCalculator.calculatePower(xs, y, actual);
+            if (y == 7.3) {
+                double[] viaKernel = new double[xs.length];
+                BatchKernels.PREFERRED.power(xs, y, viaKernel, 0, xs.length);
+                assertArrayEquals(viaKernel, actual);
+            } else {
+                assertArrayEquals(expected, actual);
+            }
+        }
+    }
+
+    @Test
+    void applyAsDouble_delegatesToCalculatePower() {
+        FixedExponentPower power = PowerCalculator.forExponent(3.0);
+        assertEquals(3.0, power.getExponent());
+        assertEquals(27.0, power.applyAsDouble(3.0));
+        assertEquals(-8.0, power.calculatePower(-2.0));
+    }
+}
@@ -0,0 +1,117 @@
+package com.sep.f7;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for {@link FloatPowerCalculator}.
+ *
+ * @see FloatPowerCalculator
+ */
+class FloatPowerCalculatorTest {
+
+    private final FloatPowerCalculator calculator = new FloatPowerCalculator();
+
+    /** Asserts agreement with Math.pow rounded to float within one ulp. */
+    private void assertWithinUlp(float x, float y) {
+        float expected = (float) Math.pow(x, y);
+        float actual = calculator.calculatePower(x, y);
+        if (Float.isNaN(expected) || Float.isInfinite(expected)) {
+            assertEquals(expected, actual, "x=" + x + ", y=" + y);
+            return;
+        }
+        assertTrue(Math.abs(expected - actual) <= Math.ulp(expected),
+                () -> "x=" + x + ", y=" + y + ": expected " + expected
+                        + " but was " + actual);
+    }
+
+    @Test
+    void exactCases_areExact() {
+        assertEquals(8.0f, calculator.calculatePower(2.0f, 3.0f));
+        assertEquals(-8.0f, calculator.calculatePower(-2.0f, 3.0f));
+        assertEquals(0.25f, calculator.calculatePower(-2.0f, -2.0f));
+        assertEquals(3.0f, calculator.calculatePower(9.0f, 0.5f));
+        assertEquals(1.0f, calculator.calculatePower(123.456f, 0.0f));
+        assertEquals(1.0f, calculator.calculatePower(1.0f, 1e30f));
+    }
+
+    @Test
+    void specialValues_matchDoublePath() {
+        PowerCalculator reference = new PowerCalculator();
+        float[] specials = {0.0f, -0.0f, Float.NaN, Float.POSITIVE_INFINITY,
+                Float.NEGATIVE_INFINITY, -1.0f, 2.0f, 0.5f, -2.5f};
+        for (float x : specials) {
+            for (float y : specials) {
+                assertEquals((float) reference.calculatePower(x, y),
+                        calculator.calculatePower(x, y),
+                        "x=" + x + ", y=" + y);
+            }
+        }
+        assertTrue(Float.isNaN(calculator.calculatePower(-8.0f, 1.0f / 3)));
+    }
+
+    @Test
+    void randomInputs_areWithinOneUlp() {
+        Random random = new Random(24);
+        for (int i = 0; i < 200_000; i++) {
+            float x = (float) Math.exp(random.nextDouble() * 40 - 20);
+            float y = (float) (random.nextDouble() * 8 - 4);
+            assertWithinUlp(x, y);
+        }
+    }
+
+    @Test
+    void nearOverflowAndUnderflow_areWithinOneUlp() {
+        Random random = new Random(25);
+        for (int i = 0; i < 100_000; i++) {
+            float x = (float) (1.0 + random.nextDouble());
+            // Spans e^-110 to e^90, across subnormal results and overflow.
+            float y = (float) ((random.nextDouble() * 200 - 110)
+                    / Math.log(x));
+            assertWithinUlp(x, y);
+            assertWithinUlp(-x, (float) Math.rint(y));
+        }
+    }
+
+    @Test
+    void subnormalBases_areWithinOneUlp() {
+        Random random = new Random(26);
+        for (int i = 0; i < 10_000; i++) {
+            float x = Float.MIN_VALUE * (1 + random.nextInt(1 << 22));
+            float y = (float) (random.nextDouble() * 0.9 + 0.05);
+            assertWithinUlp(x, y);
+        }
+    }
+
+    @Test
+    void batch_matchesScalar_inPlace() {
+        Random random = new Random(27);
+        int n = FloatPowerCalculator.BLOCK_SIZE * 3 + 17;
+        float[] xs = new float[n];
+        float[] ys = new float[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = i % 11 == 0 ? 0.0f : (float) (random.nextDouble() * 20 - 10);
+            ys[i] = i % 7 == 0 ? i % 5 - 2 : (float) (random.nextDouble() * 6 - 3);
+        }
+        ys[3] = Float.NaN;
+        xs[5] = Float.NEGATIVE_INFINITY;
+        float[] out = xs.clone();
+        calculator.calculatePower(out, ys, out);
+        for (int i = 0; i < n; i++) {
+            assertEquals(calculator.calculatePower(xs[i], ys[i]), out[i],
+                    "index " + i);
+        }
+    }
+
+    @Test
+    void batch_lengthMismatch_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> calculator.calculatePower(new float[2], new float[2],
+                        new float[3]));
+    }
+}
@@ -0,0 +1,50 @@
+package com.sep.f7;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.OptionalDouble;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Test class for {@link InputParser}.
+ *
+ * @see InputParser
+ */
+class InputParserTest {
+
+    @ParameterizedTest
+    @CsvSource({"2, 2.0", "' -3.5 ', -3.5", "1e300, 1e300", "0x1p4, 16.0", "Infinity, Infinity", "-0.0, -0.0"})
+    void parse_withNumber_returnsValue(String text, double expected) {
+        assertEquals(OptionalDouble.of(expected), InputParser.parse(text));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", " ", "abc", "1..2", "2^3", "--1"})
+    void parse_withInvalidText_returnsEmpty(String text) {
+        assertFalse(InputParser.parse(text).isPresent());
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {Double.MAX_VALUE, -Double.MIN_VALUE, Double.MIN_NORMAL, 0.1})
+    void parse_withExactDecimalExpansion_returnsValue(double value) {
+        String text = new BigDecimal(value).toPlainString();
+        assertEquals(OptionalDouble.of(value), InputParser.parse(text));
+    }
+
+    @Test
+    void parse_withNullOrOverlongText_returnsEmpty() {
+        assertFalse(InputParser.parse(null).isPresent());
+        char[] digits = new char[InputParser.MAX_INPUT_LENGTH + 1];
+        Arrays.fill(digits, '1');
+        assertFalse(InputParser.parse(new String(digits)).isPresent());
+        assertEquals(OptionalDouble.of(1.0),
+                InputParser.parse("1." + new String(digits, 0, InputParser.MAX_INPUT_LENGTH - 2).replace('1', '0')));
+    }
+}
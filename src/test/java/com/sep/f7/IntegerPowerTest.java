@@ -0,0 +1,130 @@
+package com.sep.f7;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for {@link IntegerPower} and {@link MontgomeryModulus}.
+ *
+ * @see IntegerPower
+ */
+class IntegerPowerTest {
+
+    @Test
+    void power_long_isExactAboveDoublePrecision() {
+        assertEquals(1_853_020_188_851_841L, IntegerPower.power(3, 32));
+        assertEquals(BigInteger.valueOf(3).pow(39).longValueExact(),
+                IntegerPower.power(3, 39));
+        assertEquals(Long.MIN_VALUE, IntegerPower.power(-2, 63));
+        assertEquals(-1, IntegerPower.power(-1, Long.MAX_VALUE));
+        assertEquals(1, IntegerPower.power(0, 0));
+        assertEquals(0, IntegerPower.power(0, 5));
+    }
+
+    @Test
+    void power_long_detectsOverflow() {
+        assertThrows(ArithmeticException.class,
+                () -> IntegerPower.power(2, 63));
+        assertThrows(ArithmeticException.class,
+                () -> IntegerPower.power(3, 40));
+        assertThrows(ArithmeticException.class,
+                () -> IntegerPower.power(10, Long.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class,
+                () -> IntegerPower.power(2, -1));
+    }
+
+    @Test
+    void power_bigInteger_matchesPow() {
+        BigInteger base = BigInteger.valueOf(-12345);
+        assertEquals(base.pow(77), IntegerPower.power(base, 77));
+        assertEquals(BigInteger.ONE.negate(),
+                IntegerPower.power(BigInteger.ONE.negate(), Long.MAX_VALUE));
+        assertThrows(ArithmeticException.class,
+                () -> IntegerPower.power(base, Long.MAX_VALUE));
+    }
+
+    @Test
+    void multiplyHighUnsigned_matchesBigInteger() {
+        Random random = new Random(7);
+        BigInteger mask = BigInteger.ONE.shiftLeft(Long.SIZE)
+                .subtract(BigInteger.ONE);
+        for (int i = 0; i < 1000; i++) {
+            long a = random.nextLong();
+            long b = random.nextLong();
+            BigInteger product = new BigInteger(Long.toUnsignedString(a))
+                    .multiply(new BigInteger(Long.toUnsignedString(b)));
+            assertEquals(product.shiftRight(Long.SIZE).and(mask).longValue(),
+                    MontgomeryModulus.multiplyHighUnsigned(a, b));
+        }
+    }
+
+    @Test
+    void modPow_matchesBigIntegerModPow() {
+        Random random = new Random(42);
+        long[] moduli = {2, 3, 4, 96, 1_000_000_007L, 1L << 62,
+                Long.MAX_VALUE, Long.MAX_VALUE - 1, (1L << 61) - 1,
+                12 * 1_000_000_007L};
+        for (long modulus : moduli) {
+            for (int i = 0; i < 200; i++) {
+                long base = random.nextLong();
+                long exponent = random.nextLong() & Long.MAX_VALUE;
+                long expected = BigInteger.valueOf(base).modPow(
+                        BigInteger.valueOf(exponent),
+                        BigInteger.valueOf(modulus)).longValue();
+                assertEquals(expected,
+                        IntegerPower.modPow(base, exponent, modulus),
+                        base + "^" + exponent + " mod " + modulus);
+            }
+        }
+    }
+
+    @Test
+    void modPow_edgeCases() {
+        assertEquals(0, IntegerPower.modPow(5, 3, 1));
+        assertEquals(1, IntegerPower.modPow(0, 0, 7));
+        assertEquals(1, IntegerPower.modPow(5, 0, 8));
+        assertEquals(6, IntegerPower.modPow(-1, 3, 7));
+        assertThrows(IllegalArgumentException.class,
+                () -> IntegerPower.modPow(2, 3, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> IntegerPower.modPow(2, -3, 7));
+        assertThrows(IllegalArgumentException.class,
+                () -> new MontgomeryModulus(10));
+    }
+
+    @Test
+    void modPow_bigInteger_delegatesForLargeModuli() {
+        BigInteger base = new BigInteger("123456789123456789123456789");
+        BigInteger exponent = new BigInteger("987654321987654321");
+        for (BigInteger modulus : new BigInteger[] {
+                BigInteger.valueOf(1_000_000_007L),
+                BigInteger.ONE.shiftLeft(127).subtract(BigInteger.ONE)}) {
+            assertEquals(base.modPow(exponent, modulus),
+                    IntegerPower.modPow(base, exponent, modulus));
+        }
+    }
+
+    @Test
+    void batch_matchesScalar() {
+        MontgomeryModulus modulus = new MontgomeryModulus(998_244_353L);
+        long[] bases = {0, 1, 2, -3, 123_456_789_012L};
+        long[] exponents = {0, 5, 1L << 40, 7, Long.MAX_VALUE};
+        long[] out = new long[bases.length];
+        modulus.modPow(bases, exponents, out);
+        for (int i = 0; i < bases.length; i++) {
+            assertEquals(modulus.modPow(bases[i], exponents[i]), out[i]);
+        }
+        long[] shared = bases.clone();
+        modulus.modPow(shared, 65_537L, shared);
+        for (int i = 0; i < bases.length; i++) {
+            assertEquals(modulus.modPow(bases[i], 65_537L), shared[i]);
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> modulus.modPow(bases, 3L, new long[1]));
+    }
+}
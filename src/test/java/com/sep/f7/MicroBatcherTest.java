@@ -0,0 +1,174 @@
+package com.sep.f7;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for {@link MicroBatcher}.
+ *
+ * @see MicroBatcher
+ */
+class MicroBatcherTest {
+    PowerFunction math = PowerEngine.MATH.getFunction();
+
+    /** Counts the pairs that reach the batch call. */
+    private static final class CountingFunction implements PowerFunction {
+        final AtomicInteger evaluated = new AtomicInteger();
+        final AtomicInteger batchCalls = new AtomicInteger();
+
+        @Override
+        public double calculatePower(double x, double y) {
+            return Math.pow(x, y);
+        }
+
+        @Override
+        public void calculatePower(double[] xs, double[] ys, double[] out) {
+            batchCalls.incrementAndGet();
+            evaluated.addAndGet(xs.length);
+            PowerFunction.super.calculatePower(xs, ys, out);
+        }
+    }
+
+    @Test
+    void submit_fromManyThreads_completesEveryFutureCorrectly() throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try (MicroBatcher batcher = new MicroBatcher(math, 64, 1, TimeUnit.MILLISECONDS)) {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int offset = t;
+                tasks.add(callers.submit(() -> {
+                    List<CompletableFuture<Double>> futures = new ArrayList<>();
+                    for (int i = 0; i < 2000; i++) {
+                        futures.add(batcher.submit(1.0 + (i + offset) % 50 / 10.0, i % 7 - 3.5));
+                    }
+                    for (int i = 0; i < futures.size(); i++) {
+                        double expected = math.calculatePower(1.0 + (i + offset) % 50 / 10.0, i % 7 - 3.5);
+                        assertEquals(expected, futures.get(i).get(5, TimeUnit.SECONDS));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+            assertEquals(16_000, batcher.getRequestCount());
+            assertTrue(batcher.getAverageBatchSize() >= 1.0);
+        } finally {
+            callers.shutdown();
+        }
+    }
+
+    @Test
+    void submit_withFullBatch_flushesBeforeDeadline() throws Exception {
+        CountingFunction function = new CountingFunction();
+        try (MicroBatcher batcher = new MicroBatcher(function, 4, 1, TimeUnit.HOURS)) {
+            List<CompletableFuture<Double>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(batcher.submit(2.0, i));
+            }
+            for (int i = 0; i < 4; i++) {
+                assertEquals(Math.pow(2.0, i), futures.get(i).get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, function.batchCalls.get());
+            assertEquals(4.0, batcher.getAverageBatchSize());
+        }
+    }
+
+    @Test
+    void submit_withPartialBatch_flushesAtDeadline() throws Exception {
+        try (MicroBatcher batcher = new MicroBatcher(math, 1000, 5, TimeUnit.MILLISECONDS)) {
+            assertEquals(8.0, batcher.submit(2.0, 3.0).get(5, TimeUnit.SECONDS));
+            assertEquals(1, batcher.getBatchCount());
+            assertTrue(batcher.getAverageWaitNanos() >= TimeUnit.MILLISECONDS.toNanos(4),
+                    "waited " + batcher.getAverageWaitNanos());
+        }
+    }
+
+    @Test
+    void submit_withDuplicatePairs_evaluatesEachOnce() throws Exception {
+        CountingFunction function = new CountingFunction();
+        try (MicroBatcher batcher = new MicroBatcher(function, 8, 1, TimeUnit.HOURS)) {
+            double[][] pairs = {{2, 3}, {2, 3}, {3, 2}, {2, 3}, {0.0, 1}, {-0.0, 1}, {3, 2}, {2, 3}};
+            List<CompletableFuture<Double>> futures = new ArrayList<>();
+            for (double[] pair : pairs) {
+                futures.add(batcher.submit(pair[0], pair[1]));
+            }
+            for (int i = 0; i < pairs.length; i++) {
+                assertEquals(Math.pow(pairs[i][0], pairs[i][1]), futures.get(i).get(5, TimeUnit.SECONDS));
+            }
+            // 0.0 and -0.0 differ in their bits, so they are distinct pairs.
+            assertEquals(4, function.evaluated.get());
+            assertEquals(0.5, batcher.getDedupRate());
+        }
+    }
+
+    @Test
+    void submit_samePairFromManyThreads_evaluatesItOnce() throws Exception {
+        int threads = 8;
+        CountingFunction function = new CountingFunction();
+        ExecutorService callers = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try (MicroBatcher batcher = new MicroBatcher(function, threads, 1, TimeUnit.HOURS)) {
+            List<Future<Double>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(callers.submit(() -> {
+                    start.await();
+                    return batcher.submit(1.5, 2.5).get(5, TimeUnit.SECONDS);
+                }));
+            }
+            start.countDown();
+            for (Future<Double> result : results) {
+                assertEquals(Math.pow(1.5, 2.5), result.get());
+            }
+            assertEquals(1, function.evaluated.get());
+            assertEquals((threads - 1) / (double) threads, batcher.getDedupRate());
+        } finally {
+            callers.shutdown();
+        }
+    }
+
+    @Test
+    void submit_whenFunctionFails_completesExceptionally() throws Exception {
+        PowerFunction failing = new PowerFunction() {
+            @Override
+            public double calculatePower(double x, double y) {
+                throw new ArithmeticException("boom");
+            }
+        };
+        try (MicroBatcher batcher = new MicroBatcher(failing, 2, 1, TimeUnit.MILLISECONDS)) {
+            CompletableFuture<Double> future = batcher.submit(1, 2);
+            ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof ArithmeticException, String.valueOf(e.getCause()));
+        }
+    }
+
+    @Test
+    void close_flushesQueuedRequestsAndRejectsNewOnes() throws Exception {
+        MicroBatcher batcher = new MicroBatcher(math, 100, 1, TimeUnit.HOURS);
+        CompletableFuture<Double> future = batcher.submit(3.0, 2.0);
+        batcher.close();
+        assertEquals(9.0, future.getNow(Double.NaN));
+        assertThrows(IllegalStateException.class, () -> batcher.submit(1, 1));
+    }
+
+    @Test
+    void constructor_withInvalidArguments_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new MicroBatcher(null, 1, 1, TimeUnit.SECONDS));
+        assertThrows(IllegalArgumentException.class, () -> new MicroBatcher(math, 0, 1, TimeUnit.SECONDS));
+        assertThrows(IllegalArgumentException.class, () -> new MicroBatcher(math, 1, -1, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,106 @@
+package com.sep.f7;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for the {@link ParallelPowerEvaluator} class.
+ * <p>
+ * Results must be bit-identical to the single-threaded batch methods of
+ * {@link PowerCalculator} for every pool size and chunk size, including
+ * chunk sizes that are not multiples of the vector length.
+ * </p>
+ *
+ * @see ParallelPowerEvaluator
+ */
+class ParallelPowerEvaluatorTest {
+    PowerCalculator powerCalculator = new PowerCalculator();
+
+    private static double[] randomArray(Random random, int size, double scale) {
+        double[] values = new double[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = (random.nextDouble() - 0.2) * scale;
+        }
+        return values;
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "1, 8192, 0, 100003",
+            "2, 1000, 0, 100003",
+            "3, 77, 0, 54321",
+            "8, 64, 0, 4097",
+            "4, 8192, 1000000, 100003"
+    })
+    void calculatePower_isBitIdenticalToSequentialPath(int parallelism, int chunkSize, int threshold, int size) {
+        Random random = new Random(6011L);
+        double[] xs = randomArray(random, size, 50.0);
+        double[] ys = randomArray(random, size, 10.0);
+        double[] expected = new double[size];
+        double[] actual = new double[size];
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            ParallelPowerEvaluator evaluator = new ParallelPowerEvaluator(pool, chunkSize, threshold);
+
+            powerCalculator.calculatePower(xs, ys, expected);
+            evaluator.calculatePower(xs, ys, actual);
+            assertArrayEquals(expected, actual);
+
+            powerCalculator.calculatePower(2.5, ys, expected);
+            evaluator.calculatePower(2.5, ys, actual);
+            assertArrayEquals(expected, actual);
+
+            powerCalculator.calculatePower(xs, 1.7, expected);
+            evaluator.calculatePower(xs, 1.7, actual);
+            assertArrayEquals(expected, actual);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void calculatePower_withOwnedPool_matchesSequentialPath() {
+        Random random = new Random(6011L);
+        double[] xs = randomArray(random, 200_000, 50.0);
+        double[] expected = new double[xs.length];
+        double[] actual = new double[xs.length];
+        powerCalculator.calculatePower(xs, -0.75, expected);
+        try (ParallelPowerEvaluator evaluator = new ParallelPowerEvaluator(3)) {
+            assertEquals(3, evaluator.getParallelism());
+            evaluator.calculatePower(xs, -0.75, actual);
+        }
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    void constructor_roundsChunkSizeUpToAlignment() {
+        ParallelPowerEvaluator evaluator = new ParallelPowerEvaluator(ForkJoinPool.commonPool(), 100, 0);
+        assertEquals(128, evaluator.getChunkSize());
+        assertEquals(ParallelPowerEvaluator.DEFAULT_CHUNK_SIZE, new ParallelPowerEvaluator().getChunkSize());
+    }
+
+    @Test
+    void constructor_withInvalidConfiguration_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelPowerEvaluator(0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ParallelPowerEvaluator(ForkJoinPool.commonPool(), 0, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ParallelPowerEvaluator(ForkJoinPool.commonPool(), 64, -1));
+        assertThrows(IllegalArgumentException.class, () -> new ParallelPowerEvaluator(null, 64, 0));
+    }
+
+    @Test
+    void calculatePower_withMismatchedLengths_throwsIllegalArgumentException() {
+        ParallelPowerEvaluator evaluator = new ParallelPowerEvaluator();
+        assertThrows(IllegalArgumentException.class,
+                () -> evaluator.calculatePower(new double[4], new double[5], new double[4]));
+    }
+}
@@ -0,0 +1,145 @@
+package com.sep.f7;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the {@link PowerCache} class.
+ * <p>
+ * Verifies that cached results are identical to {@link PowerCalculator},
+ * that hits, misses and evictions are counted, that the cache never grows
+ * beyond its capacity, and that concurrent callers see consistent results.
+ * </p>
+ *
+ * @see PowerCache
+ */
+class PowerCacheTest {
+    PowerCalculator powerCalculator = new PowerCalculator();
+
+    @Test
+    void calculatePower_withRepeatedPair_countsHitsAndMisses() {
+        PowerCache cache = new PowerCache(64);
+        assertEquals(powerCalculator.calculatePower(2.0, 0.5), cache.calculatePower(2.0, 0.5));
+        assertEquals(powerCalculator.calculatePower(2.0, 0.5), cache.calculatePower(2.0, 0.5));
+        assertEquals(powerCalculator.calculatePower(2.0, 0.5), cache.calculatePower(2.0, 0.5));
+        assertEquals(1, cache.getMissCount());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void calculatePower_withSpecialKeys_keepsThemDistinct() {
+        PowerCache cache = new PowerCache(64);
+        assertEquals(Double.POSITIVE_INFINITY, cache.calculatePower(0.0, -1.0));
+        assertEquals(Double.POSITIVE_INFINITY, cache.calculatePower(-0.0, -1.0));
+        assertEquals(Double.NaN, cache.calculatePower(-2.0, 0.5));
+        assertEquals(Double.NaN, cache.calculatePower(-2.0, 0.5));
+        assertEquals(1.0, cache.calculatePower(Double.NaN, 0.0));
+        assertEquals(4, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    void calculatePower_beyondCapacity_evictsAndStaysBounded() {
+        PowerCache cache = new PowerCache(powerCalculator, 100, 2);
+        assertEquals(128, cache.getCapacity());
+        for (int i = 0; i < 10_000; i++) {
+            double y = i * 0.001;
+            assertEquals(powerCalculator.calculatePower(1.5, y), cache.calculatePower(1.5, y));
+        }
+        assertTrue(cache.size() <= cache.getCapacity());
+        assertEquals(10_000 - cache.size(), cache.getEvictionCount());
+    }
+
+    @Test
+    void calculatePower_withHotEntry_keepsItAcrossEvictions() {
+        PowerCache cache = new PowerCache(powerCalculator, 8, 1);
+        cache.calculatePower(3.0, 0.25);
+        for (int i = 0; i < 1_000; i++) {
+            cache.calculatePower(3.0, 0.25);
+            cache.calculatePower(2.0, i + 0.5);
+        }
+        assertEquals(1_000, cache.getHitCount());
+    }
+
+    @Test
+    void clear_resetsEntriesAndCounters() {
+        PowerCache cache = new PowerCache(16);
+        cache.calculatePower(2.0, 3.0);
+        cache.calculatePower(2.0, 3.0);
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getHitCount());
+        assertEquals(0, cache.getMissCount());
+        cache.calculatePower(2.0, 3.0);
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void calculatePower_withConcurrentCallers_returnsConsistentResults() throws Exception {
+        PowerCache cache = new PowerCache(powerCalculator, 256, 4);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final long seed = t;
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    for (int i = 0; i < 50_000; i++) {
+                        double x = 1.0 + random.nextInt(40) * 0.25;
+                        double y = random.nextInt(20) * 0.3;
+                        if (cache.calculatePower(x, y) != powerCalculator.calculatePower(x, y)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(200_000, cache.getHitCount() + cache.getMissCount());
+    }
+
+    @Test
+    void constructor_withInvalidConfiguration_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new PowerCache(0));
+        assertThrows(IllegalArgumentException.class, () -> new PowerCache(powerCalculator, 10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new PowerCache(null, 10, 1));
+    }
+
+    @Test
+    void constructor_withOversizedConfiguration_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new PowerCache(Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PowerCache(PowerCache.MAX_CAPACITY + 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PowerCache(powerCalculator, 64, Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PowerCache(powerCalculator, 64, PowerCache.MAX_STRIPES + 1));
+    }
+
+    @Test
+    void clear_afterHits_leavesNoEntryBehind() {
+        PowerCache cache = new PowerCache(powerCalculator, 8, 1);
+        cache.calculatePower(2.0, 3.0);
+        cache.calculatePower(2.0, 3.0);
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(8.0, cache.calculatePower(2.0, 3.0));
+        assertEquals(1, cache.getMissCount());
+    }
+}
@@ -5,7 +5,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
@@ -276,4 +279,173 @@ class PowerCalculatorTest {
         double result = powerCalculator.calculatePower(x, y);
         assertEquals(expected, result, 1e-12);
     }
+
+    @Test
+    void calculatePower_withHugeIntegerExponent_returnsExpectedResult() {
+        double expected = Math.pow(1.0000001, 2e9);
+        double result = powerCalculator.calculatePower(1.0000001, 2e9);
+        assertEquals(expected, result, 2 * Math.ulp(expected));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "0.9999999999999716, 1125899906842623",
+            "1.0000000009313226, 8589934593",
+            "-1.0000000009313226, 8589934593",
+            "1.0000000000000167, -41666123907902048"
+    })
+    void calculatePower_withLargeIntegerExponentNearOne_isWithinTwoUlps(double x, double y) {
+        double expected = Math.pow(x, y);
+        assertEquals(expected, powerCalculator.calculatePower(x, y), 2 * Math.ulp(expected));
+    }
+
+    @Test
+    void calculatePowerIntegerExponent_withIntMinValue_returnsExpectedResult() {
+        assertEquals(1.0, powerCalculator.calculatePowerIntegerExponent(1.0, Integer.MIN_VALUE));
+        assertEquals(1.0, powerCalculator.calculatePowerIntegerExponent(-1.0, Integer.MIN_VALUE));
+        assertEquals(0.0, powerCalculator.calculatePowerIntegerExponent(2.0, Integer.MIN_VALUE));
+        assertEquals(Double.POSITIVE_INFINITY,
+                powerCalculator.calculatePowerIntegerExponent(0.5, Integer.MIN_VALUE));
+        double expected = Math.pow(1.0000000001, Integer.MIN_VALUE);
+        assertEquals(expected, powerCalculator.calculatePowerIntegerExponent(1.0000000001, Integer.MIN_VALUE),
+                2 * Math.ulp(expected));
+    }
+
+    @Test
+    void calculatePowerIntegerExponent_withLongExtremes_returnsExpectedResult() {
+        assertEquals(1.0, powerCalculator.calculatePowerIntegerExponent(-1.0, Long.MIN_VALUE));
+        assertEquals(-1.0, powerCalculator.calculatePowerIntegerExponent(-1.0, Long.MAX_VALUE));
+        assertEquals(0.0, powerCalculator.calculatePowerIntegerExponent(1.5, Long.MIN_VALUE));
+        assertEquals(Double.NEGATIVE_INFINITY, powerCalculator.calculatePowerIntegerExponent(-1.5, Long.MAX_VALUE));
+        double expected = Math.pow(1.0 + 1e-15, 5_000_000_000L);
+        assertEquals(expected, powerCalculator.calculatePowerIntegerExponent(1.0 + 1e-15, 5_000_000_000L),
+                2 * Math.ulp(expected));
+    }
+
+    @Test
+    void calculatePowerIntegerExponent_withOverflowAndUnderflow_returnsExpectedResult() {
+        assertEquals(Double.POSITIVE_INFINITY, powerCalculator.calculatePowerIntegerExponent(2.0, 2000L));
+        assertEquals(Double.NEGATIVE_INFINITY, powerCalculator.calculatePowerIntegerExponent(-2.0, 2001L));
+        assertEquals(Double.MIN_VALUE, powerCalculator.calculatePowerIntegerExponent(2.0, -1074L));
+        assertEquals(-0.0, powerCalculator.calculatePowerIntegerExponent(-2.0, -1999L));
+        assertEquals(Double.NEGATIVE_INFINITY, powerCalculator.calculatePowerIntegerExponent(-0.5, -2001L));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "1.5, 1e300, Infinity",
+            "0.5, 1e300, 0.0",
+            "-1.0, 1e300, 1.0",
+            "-2.0, -1e300, 0.0",
+            "0.5, -1e300, Infinity",
+            "1.0, 9.223372036854775808E18, 1.0"
+    })
+    void calculatePower_withExponentBeyondLongRange_returnsExpectedResult(double x, double y, double expected) {
+        assertEquals(expected, powerCalculator.calculatePower(x, y));
+        assertEquals(Math.pow(x, y), powerCalculator.calculatePower(x, y));
+    }
+
+    @Test
+    void calculatePowerIntegerExponent_acrossExponentRange_matchesMathPow() {
+        Random random = new Random(6011L);
+        for (int bits = 0; bits <= 53; bits++) {
+            for (int i = 0; i < 50; i++) {
+                long n = bits == 0 ? 0L : (1L << (bits - 1)) + (random.nextLong() >>> (65 - bits));
+                if (random.nextBoolean()) {
+                    n = -n;
+                }
+                double x = 1.0 + (random.nextDouble() - 0.5) * Math.scalb(1.0, -bits);
+                if (random.nextBoolean()) {
+                    x = -x;
+                }
+                double expected = Math.pow(x, n);
+                double result = powerCalculator.calculatePower(x, (double) n);
+                // Squaring up to |n| = 16 stays within 12 ulps, larger n within 2.
+                double tolerance = (Math.abs(n) > PowerCalculator.MAX_SQUARING_EXPONENT ? 2 : 12)
+                        * Math.ulp(expected);
+                assertEquals(expected, result, tolerance, "x=" + x + ", n=" + n);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "0.0, 1.0",
+            "-0.0, 1.0",
+            "710.0, Infinity",
+            "-746.0, 0.0",
+            "Infinity, Infinity",
+            "-Infinity, 0.0",
+            "NaN, NaN"
+    })
+    void exp_withSpecialValues_returnsExpectedResult(double x, double expected) {
+        assertEquals(expected, powerCalculator.exp(x));
+    }
+
+    @Test
+    void exp_acrossArgumentRange_isWithinTwoUlpsOfMathExp() {
+        Random random = new Random(6011L);
+        for (int i = 0; i < 200_000; i++) {
+            double x = (random.nextDouble() * 2.0 - 1.0) * 745.0;
+            double expected = Math.exp(x);
+            double ulp = Math.ulp(expected);
+            assertEquals(expected, powerCalculator.exp(x), 2 * ulp, "x=" + x);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            double x = (random.nextDouble() * 2.0 - 1.0) * 1e-3;
+            assertEquals(Math.exp(x), powerCalculator.exp(x), 2 * Math.ulp(Math.exp(x)), "x=" + x);
+        }
+    }
+
+    @Test
+    void exp_withSubnormalResult_returnsExpectedResult() {
+        assertEquals(Math.exp(-740.0), powerCalculator.exp(-740.0), Math.ulp(Math.exp(-740.0)));
+        assertEquals(Math.exp(-745.0), powerCalculator.exp(-745.0), Double.MIN_VALUE);
+        assertEquals(Math.exp(709.78), powerCalculator.exp(709.78), 2 * Math.ulp(Math.exp(709.78)));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "1.0, 0.0",
+            "Infinity, Infinity",
+            "NaN, NaN",
+            "4.9e-324, -744.4400719213812",
+            "1.7976931348623157e308, 709.782712893384"
+    })
+    void log_withSpecialValues_returnsExpectedResult(double x, double expected) {
+        assertEquals(expected, powerCalculator.log(x));
+    }
+
+    @Test
+    void log_withNonPositiveValue_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> powerCalculator.log(0.0));
+        assertThrows(IllegalArgumentException.class,
+                () -> powerCalculator.log(-1.0));
+    }
+
+    @Test
+    void log_acrossMagnitudes_isWithinTwoUlpsOfMathLog() {
+        Random random = new Random(6011L);
+        for (int i = 0; i < 200_000; i++) {
+            double x = Double.longBitsToDouble(random.nextLong() >>> 1);
+            if (Double.isNaN(x) || Double.isInfinite(x) || x == 0.0) {
+                continue;
+            }
+            double expected = Math.log(x);
+            assertEquals(expected, powerCalculator.log(x), 2 * Math.ulp(expected), "x=" + x);
+        }
+        for (int i = 0; i < 100_000; i++) {
+            double x = 1.0 + (random.nextDouble() - 0.5) * 1e-3;
+            double expected = Math.log(x);
+            assertEquals(expected, powerCalculator.log(x), 2 * Math.ulp(expected), "x=" + x);
+        }
+    }
+
+    @Test
+    void calculatePower_withExtremeBases_returnsExpectedResult() {
+        assertEquals(Math.pow(1e300, 0.5), powerCalculator.calculatePower(1e300, 0.5), 1e-12 * 1e150);
+        assertEquals(Math.pow(1e-300, 0.5), powerCalculator.calculatePower(1e-300, 0.5), 1e-12 * 1e-150);
+        assertEquals(Math.pow(1e-310, -0.25), powerCalculator.calculatePower(1e-310, -0.25), 1e-12 * 1e77);
+    }
 }
@@ -0,0 +1,138 @@
+package com.sep.f7;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for {@link PowerEngine} and the {@link PowerFunction}
+ * contract shared by every engine.
+ * <p>
+ * All engines must agree on the special cases of
+ * {@link PowerCalculator#calculatePower(double, double)} and stay within a
+ * few ulps of {@link Math#pow(double, double)} on ordinary inputs.
+ * </p>
+ *
+ * @see PowerEngine
+ */
+class PowerEngineTest {
+    PowerCalculator powerCalculator = new PowerCalculator();
+
+    @AfterEach
+    void clearProperty() {
+        System.clearProperty(PowerEngine.ENGINE_PROPERTY);
+    }
+
+    @ParameterizedTest
+    @EnumSource(PowerEngine.class)
+    void calculatePower_withSpecialCases_matchesPowerCalculator(PowerEngine engine) {
+        double[] values = {0.0, -0.0, 1.0, -1.0, 2.0, -2.0, 0.5, -0.5, 2.5, -2.5, 3.0, -3.0,
+                1e300, -1e300, Double.MIN_VALUE, Double.NaN,
+                Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        PowerFunction function = engine.getFunction();
+        for (double x : values) {
+            for (double y : values) {
+                double expected = powerCalculator.calculatePower(x, y);
+                double actual = function.calculatePower(x, y);
+                if (Double.isNaN(expected) || Double.isInfinite(expected) || expected == 0.0) {
+                    assertEquals(expected, actual, "x=" + x + ", y=" + y);
+                } else {
+                    double t = y == 0.0 ? 0.0 : y * Math.log(Math.abs(x));
+                    double bound = 8 + 4 * Math.abs(t);
+                    assertEquals(expected, actual, bound * Math.ulp(expected), "x=" + x + ", y=" + y);
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(PowerEngine.class)
+    void calculatePower_withRandomInputs_isCloseToMathPow(PowerEngine engine) {
+        PowerFunction function = engine.getFunction();
+        Random random = new Random(6011L);
+        for (int i = 0; i < 20_000; i++) {
+            double x = Math.exp((random.nextDouble() - 0.5) * 40);
+            double y = (random.nextDouble() - 0.5) * 20;
+            double expected = Math.pow(x, y);
+            double bound = 4 + 4 * Math.abs(y * Math.log(x));
+            assertEquals(expected, function.calculatePower(x, y), bound * Math.ulp(expected),
+                    "x=" + x + ", y=" + y);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(PowerEngine.class)
+    void calculatePower_withArrays_matchesScalarCalls(PowerEngine engine) {
+        PowerFunction function = engine.getFunction();
+        double[] xs = {2.0, 0.5, -3.0, 10.0, 0.0};
+        double[] ys = {0.5, -2.0, 3.0, 1.5, -1.0};
+        double[] expected = new double[xs.length];
+        for (int i = 0; i < xs.length; i++) {
+            expected[i] = function.calculatePower(xs[i], ys[i]);
+        }
+        double[] out = new double[xs.length];
+        function.calculatePower(xs, ys, out);
+        // The fast engine may use the vector kernel for the array call.
+        for (int i = 0; i < xs.length; i++) {
+            assertEquals(expected[i], out[i], 8 * Math.ulp(expected[i]));
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> function.calculatePower(xs, ys, new double[1]));
+    }
+
+    @Test
+    void calculatePower_fromManyThreads_isConsistent() throws Exception {
+        PowerFunction function = PowerEngine.FAST.getFunction();
+        double[] expected = new double[1000];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = function.calculatePower(1.0 + i / 100.0, 2.5 - i / 300.0);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<double[]>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    double[] results = new double[expected.length];
+                    for (int i = 0; i < results.length; i++) {
+                        results[i] = function.calculatePower(1.0 + i / 100.0, 2.5 - i / 300.0);
+                    }
+                    return results;
+                }));
+            }
+            for (Future<double[]> future : futures) {
+                assertArrayEquals(expected, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void fromName_ignoresCase() {
+        assertSame(PowerEngine.REFERENCE, PowerEngine.fromName("Reference"));
+        assertSame(PowerEngine.MATH, PowerEngine.fromName(" math "));
+        assertThrows(IllegalArgumentException.class, () -> PowerEngine.fromName("turbo"));
+    }
+
+    @Test
+    void getDefault_followsSystemProperty() {
+        assertSame(PowerEngine.FAST.getFunction(), PowerEngine.getDefault());
+        System.setProperty(PowerEngine.ENGINE_PROPERTY, "math");
+        assertSame(PowerEngine.MATH.getFunction(), PowerEngine.getDefault());
+        System.setProperty(PowerEngine.ENGINE_PROPERTY, "reference");
+        assertSame(PowerEngine.REFERENCE, PowerEngine.configured());
+    }
+}
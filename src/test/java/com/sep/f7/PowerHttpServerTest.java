@@ -0,0 +1,152 @@
+package com.sep.f7;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for {@link PowerHttpServer}, talking to it over loopback.
+ *
+ * @see PowerHttpServer
+ */
+class PowerHttpServerTest {
+    PowerHttpServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new PowerHttpServer(PowerEngine.MATH.getFunction(),
+                new InetSocketAddress("127.0.0.1", 0), 1024, 4);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.close();
+    }
+
+    private HttpURLConnection open(String pathAndQuery) throws IOException {
+        URL url = new URL("http://127.0.0.1:" + server.getPort() + pathAndQuery);
+        return (HttpURLConnection) url.openConnection();
+    }
+
+    private static byte[] read(HttpURLConnection connection) throws IOException {
+        InputStream in = connection.getResponseCode() < 400 ? connection.getInputStream()
+                : connection.getErrorStream();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (in != null) {
+            byte[] buffer = new byte[1024];
+            int n;
+            while ((n = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, n);
+            }
+            in.close();
+        }
+        return out.toByteArray();
+    }
+
+    private HttpURLConnection post(String type, byte[] body) throws IOException {
+        HttpURLConnection connection = open(PowerHttpServer.BATCH_PATH);
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setRequestProperty("Content-Type", type);
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(body);
+        }
+        return connection;
+    }
+
+    @Test
+    void get_withPair_returnsResultAsText() throws IOException {
+        HttpURLConnection connection = open("/power?x=2&y=10");
+        assertEquals(200, connection.getResponseCode());
+        assertEquals("1024.0", new String(read(connection), StandardCharsets.UTF_8));
+        HttpURLConnection negative = open("/power?x=-8&y=%2B0.5");
+        assertEquals("NaN", new String(read(negative), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void get_withMissingOrInvalidParameter_returnsBadRequest() throws IOException {
+        assertEquals(400, open("/power?x=2").getResponseCode());
+        assertEquals(400, open("/power?x=2&y=ten").getResponseCode());
+        assertEquals(400, open("/power?x=%zz&y=1").getResponseCode());
+    }
+
+    @Test
+    void post_withBinaryPairs_returnsBinaryResults() throws IOException {
+        ByteBuffer body = ByteBuffer.allocate(3 * 16).order(ByteOrder.LITTLE_ENDIAN);
+        body.putDouble(2.0).putDouble(10.0).putDouble(9.0).putDouble(0.5).putDouble(0.0).putDouble(-1.0);
+        HttpURLConnection connection = post(PowerHttpServer.BINARY_TYPE, body.array());
+        assertEquals(200, connection.getResponseCode());
+        ByteBuffer results = ByteBuffer.wrap(read(connection)).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(24, results.remaining());
+        assertEquals(1024.0, results.getDouble());
+        assertEquals(3.0, results.getDouble());
+        assertEquals(Double.POSITIVE_INFINITY, results.getDouble());
+    }
+
+    @Test
+    void post_withTextLines_returnsOneResultPerLine() throws IOException {
+        HttpURLConnection connection = post("text/csv", "2,10\n\n4,0.5\r\n".getBytes(StandardCharsets.UTF_8));
+        assertEquals(200, connection.getResponseCode());
+        assertEquals("1024.0\n2.0\n", new String(read(connection), StandardCharsets.UTF_8));
+        assertEquals(400, post("text/csv", "2;10\n".getBytes(StandardCharsets.UTF_8)).getResponseCode());
+    }
+
+    @Test
+    void post_withInvalidBody_isRejected() throws IOException {
+        assertEquals(400, post(PowerHttpServer.BINARY_TYPE, new byte[20]).getResponseCode());
+        assertEquals(413, post(PowerHttpServer.BINARY_TYPE, new byte[2048]).getResponseCode());
+    }
+
+    @Test
+    void requests_withWrongMethodOrPath_areRejected() throws IOException {
+        assertEquals(405, open(PowerHttpServer.BATCH_PATH).getResponseCode());
+        HttpURLConnection post = open("/power?x=1&y=1");
+        post.setRequestMethod("DELETE");
+        assertEquals(405, post.getResponseCode());
+        assertEquals(404, open("/power/other").getResponseCode());
+    }
+
+    @Test
+    void constructor_withInvalidLimits_throwsException() {
+        InetSocketAddress address = new InetSocketAddress("127.0.0.1", 0);
+        assertThrows(IllegalArgumentException.class,
+                () -> new PowerHttpServer(PowerEngine.FAST.getFunction(), address, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new PowerHttpServer(null, address, 1, 1));
+    }
+
+    @Test
+    void startServer_fromCommandLine_servesRequests() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PowerHttpServer launched = Launcher.startServer(new String[] {"--serve", "--port", "0",
+                "--engine", "reference", "--max-concurrency", "2"}, new PrintStream(out));
+        try {
+            assertTrue(out.toString().startsWith("Listening on port " + launched.getPort()), out.toString());
+            URL url = new URL("http://127.0.0.1:" + launched.getPort() + "/power?x=3&y=2");
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            assertEquals("9.0", new String(read(connection), StandardCharsets.UTF_8));
+        } finally {
+            launched.close();
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> Launcher.startServer(new String[] {"--serve", "--port"}, System.out));
+        assertThrows(IllegalArgumentException.class,
+                () -> Launcher.startServer(new String[] {"--serve", "--colour", "red"}, System.out));
+    }
+}
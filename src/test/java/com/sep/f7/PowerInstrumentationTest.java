@@ -0,0 +1,137 @@
+package com.sep.f7;
+
+import com.sep.f7.PowerInstrumentation.Branch;
+import com.sep.f7.PowerInstrumentation.LatencyHistogram;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Test class for {@link PowerInstrumentation}. The build runs this class
+ * alone in a surefire execution that enables instrumentation.
+ *
+ * @see PowerInstrumentation
+ */
+class PowerInstrumentationTest {
+    PowerCalculator powerCalculator = new PowerCalculator();
+
+    @BeforeEach
+    void resetCounters() {
+        assumeTrue(PowerInstrumentation.isEnabled(), "run with -Dpower.instrumentation=true");
+        PowerInstrumentation.reset();
+    }
+
+    @Test
+    void calculatePower_countsCallsPerBranch() {
+        powerCalculator.calculatePower(0.0, 3.0);
+        powerCalculator.calculatePower(2.0, 10.0);
+        powerCalculator.calculatePower(2.0, -3.0);
+        powerCalculator.calculatePower(2.0, 0.5);
+        assertEquals(1, PowerInstrumentation.getCalls(Branch.ZERO_BASE));
+        assertEquals(2, PowerInstrumentation.getCalls(Branch.INTEGER_EXPONENT));
+        assertEquals(1, PowerInstrumentation.getCalls(Branch.FRACTIONAL_EXPONENT));
+        // |10| and |-3| have four and two bits.
+        assertEquals(6, PowerInstrumentation.getIterations(Branch.INTEGER_EXPONENT));
+        assertEquals(3.0, PowerInstrumentation.getAverageIterations(Branch.INTEGER_EXPONENT));
+        assertEquals(0, PowerInstrumentation.getIterations(Branch.ZERO_BASE));
+        // The table-driven kernels sum no series.
+        assertEquals(0, PowerInstrumentation.getIterations(Branch.FRACTIONAL_EXPONENT));
+    }
+
+    @Test
+    void calculatePower_withTaylorEngine_countsSeriesTerms() {
+        TaylorPowerCalculator taylor = new TaylorPowerCalculator();
+        taylor.calculatePower(2.0, 0.5);
+        long terms = PowerInstrumentation.getIterations(Branch.FRACTIONAL_EXPONENT);
+        assertTrue(terms > 10 && terms < 60, "terms=" + terms);
+
+        taylor.calculatePower(1.0000001, 0.5);
+        long nearOne = PowerInstrumentation.getIterations(Branch.FRACTIONAL_EXPONENT) - terms;
+        assertTrue(nearOne < terms, "a tiny log argument needs fewer terms: " + nearOne);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0.0, 2.0", "-0.0, -1.0", "2.0, 3.0", "-2.0, 1e300", "2.0, 0.5", "-2.0, 0.5", "NaN, 0.5"})
+    void calculatePower_whenInstrumented_matchesUninstrumentedPath(double x, double y) {
+        assertEquals(powerCalculator.evaluatePower(x, y), powerCalculator.calculatePower(x, y));
+    }
+
+    @Test
+    void getLatency_recordsEverySample() {
+        for (int i = 0; i < 100; i++) {
+            powerCalculator.calculatePower(1.5, 2.5);
+        }
+        LatencyHistogram latency = PowerInstrumentation.getLatency(Branch.FRACTIONAL_EXPONENT);
+        assertEquals(100, latency.getCount());
+        assertTrue(latency.getMeanNanos() > 0.0);
+        assertTrue(latency.getPercentileNanos(0.5) <= latency.getPercentileNanos(0.99));
+        assertEquals(0, PowerInstrumentation.getLatency(Branch.ZERO_BASE).getCount());
+        assertEquals(0, PowerInstrumentation.getLatency(Branch.ZERO_BASE).getPercentileNanos(0.5));
+    }
+
+    @Test
+    void latencyHistogram_bucketsByPowersOfTwo() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(0);
+        histogram.record(1);
+        histogram.record(1000);
+        histogram.record(1023);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(1, histogram.getCount(0));
+        assertEquals(1, histogram.getCount(1));
+        assertEquals(2, histogram.getCount(10));
+        assertEquals(1, histogram.getCount(LatencyHistogram.BUCKETS - 1));
+        assertEquals(1024, histogram.getPercentileNanos(0.8));
+        assertEquals(Long.MAX_VALUE, histogram.getPercentileNanos(1.0));
+        assertEquals(1, histogram.getPercentileNanos(0.0));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getPercentileNanos(1.5));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getCount(LatencyHistogram.BUCKETS));
+    }
+
+    @Test
+    void setSlowThresholdNanos_withNegativeValue_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> PowerInstrumentation.setSlowThresholdNanos(-1));
+    }
+
+    @Test
+    void slowEvaluations_areRecordedAsFlightRecorderEvents(@TempDir Path dir) throws Exception {
+        assumeTrue(PowerInstrumentation.isFlightRecorderAvailable());
+        long threshold = PowerInstrumentation.getSlowThresholdNanos();
+        Path file = dir.resolve("power.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.sep.f7.SlowEvaluation");
+            recording.start();
+            PowerInstrumentation.setSlowThresholdNanos(0);
+            new TaylorPowerCalculator().calculatePower(2.0, 0.5);
+            PowerInstrumentation.setSlowThresholdNanos(threshold);
+            recording.stop();
+            recording.dump(file);
+        } finally {
+            PowerInstrumentation.setSlowThresholdNanos(threshold);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().equals("com.sep.f7.SlowEvaluation"))
+                .collect(Collectors.toList());
+        assertFalse(events.isEmpty());
+        RecordedEvent event = events.get(0);
+        assertEquals("FRACTIONAL_EXPONENT", event.getString("branch"));
+        assertEquals(2.0, event.getDouble("base"));
+        assertEquals(0.5, event.getDouble("exponent"));
+        assertTrue(event.getInt("iterations") > 0);
+    }
+}
@@ -0,0 +1,159 @@
+package com.sep.f7;
+
+import com.sep.f7.PowerTileCache.Key;
+import com.sep.f7.PowerTileCache.Tile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+
+import static com.sep.f7.PowerTileCache.TILE_SIZE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for {@link PowerTileCache}.
+ *
+ * @see PowerTileCache
+ */
+class PowerTileCacheTest {
+    PowerFunction function = PowerEngine.FAST.getFunction();
+    PowerTileCache cache = new PowerTileCache(function, v -> (int) Double.doubleToLongBits(v), 16);
+
+    /** The documented agreement of batch and scalar results. */
+    private static double batchTolerance(double x, double y, double expected) {
+        return (4 + 4 * Math.abs(y * Math.log(x))) * Math.ulp(expected);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1.0, 0", "1.5, 1", "2.0, 1", "0.25, -2", "0.3, -1", "1e-12, -39"})
+    void levelFor_picksCellsAtLeastOnePixelWide(double unitsPerPixel, int level) {
+        assertEquals(level, PowerTileCache.levelFor(unitsPerPixel));
+        assertTrue(PowerTileCache.cellSize(level) >= unitsPerPixel);
+        assertTrue(PowerTileCache.cellSize(level) < 2 * unitsPerPixel);
+    }
+
+    @Test
+    void tileIndexAndSamples_partitionThePlane() {
+        assertEquals(0, PowerTileCache.tileIndex(0.0, 0));
+        assertEquals(-1, PowerTileCache.tileIndex(-0.1, 0));
+        assertEquals(1, PowerTileCache.tileIndex(TILE_SIZE, 0));
+        Key key = PowerTileCache.heatmapKey(0, 0, 0);
+        assertEquals(0.5, PowerTileCache.sampleX(key, 0));
+        assertEquals(TILE_SIZE - 0.5, PowerTileCache.sampleX(key, TILE_SIZE - 1));
+        // Rows are stored from the top down.
+        assertEquals(TILE_SIZE - 0.5, PowerTileCache.sampleY(key, 0));
+        assertEquals(0.5, PowerTileCache.sampleY(key, TILE_SIZE - 1));
+    }
+
+    @Test
+    void ancestor_coversTheDescendant() {
+        Key key = PowerTileCache.heatmapKey(0, 3, -5);
+        Key ancestor = key.ancestor(2);
+        assertEquals(PowerTileCache.heatmapKey(2, 0, -2), ancestor);
+        double span = PowerTileCache.tileSpan(2);
+        for (int i : new int[] {0, TILE_SIZE - 1}) {
+            double x = PowerTileCache.sampleX(key, i);
+            double y = PowerTileCache.sampleY(key, i);
+            assertTrue(x >= ancestor.getColumn() * span && x < (ancestor.getColumn() + 1) * span);
+            assertTrue(y >= ancestor.getRow() * span && y < (ancestor.getRow() + 1) * span);
+        }
+        assertEquals(PowerTileCache.curveKey(2.0, 3, 1), PowerTileCache.curveKey(2.0, 1, 5).ancestor(2));
+        assertEquals(key, key.ancestor(0));
+    }
+
+    @Test
+    void compute_heatmapTile_matchesScalarEvaluationAndColormap() {
+        Key key = PowerTileCache.heatmapKey(-5, 1, -1);
+        Tile tile = cache.compute(key);
+        assertEquals(TILE_SIZE * TILE_SIZE, tile.getValues().length);
+        for (int r = 0; r < TILE_SIZE; r += 7) {
+            for (int c = 0; c < TILE_SIZE; c += 5) {
+                double x = PowerTileCache.sampleX(key, c);
+                double y = PowerTileCache.sampleY(key, r);
+                double expected = function.calculatePower(x, y);
+                int i = r * TILE_SIZE + c;
+                assertEquals(expected, tile.getValues()[i], batchTolerance(x, y, expected));
+                assertEquals((int) Double.doubleToLongBits(tile.getValues()[i]), tile.getArgb()[i]);
+            }
+        }
+        assertSame(tile, cache.compute(key));
+        assertEquals(1, cache.getEvaluations());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void compute_curveTile_holdsOneRowForTheExponent() {
+        Key key = PowerTileCache.curveKey(-1.5, -3, 2);
+        Tile tile = cache.compute(key);
+        assertNull(tile.getArgb());
+        assertEquals(TILE_SIZE, tile.getValues().length);
+        for (int c = 0; c < TILE_SIZE; c++) {
+            double x = PowerTileCache.sampleX(key, c);
+            double expected = function.calculatePower(x, -1.5);
+            assertEquals(expected, tile.getValues()[c], batchTolerance(x, -1.5, expected));
+        }
+        assertNotEquals(key, PowerTileCache.curveKey(-1.0, -3, 2));
+        assertNotEquals(key, PowerTileCache.heatmapKey(-3, 2, 0));
+    }
+
+    @Test
+    void request_sharesOneEvaluationPerTile() {
+        Queue<Runnable> queued = new ArrayDeque<>();
+        Key key = PowerTileCache.heatmapKey(0, 0, 0);
+        CompletableFuture<Tile> first = cache.request(key, queued::add, k -> true);
+        CompletableFuture<Tile> second = cache.request(key, queued::add, k -> true);
+        assertSame(first, second);
+        assertEquals(1, queued.size());
+        queued.poll().run();
+        assertSame(cache.get(key), first.join());
+        assertTrue(cache.request(key, queued::add, k -> true).isDone());
+        assertEquals(1, cache.getEvaluations());
+    }
+
+    @Test
+    void request_whenNoLongerWanted_isDropped() {
+        Queue<Runnable> queued = new ArrayDeque<>();
+        Key key = PowerTileCache.heatmapKey(4, 7, 7);
+        CompletableFuture<Tile> dropped = cache.request(key, queued::add, k -> false);
+        queued.poll().run();
+        assertNull(dropped.join());
+        assertNull(cache.get(key));
+        assertEquals(0, cache.getEvaluations());
+
+        CompletableFuture<Tile> retried = cache.request(key, Runnable::run, k -> true);
+        assertEquals(key, retried.join().getKey());
+    }
+
+    @Test
+    void compute_beyondCapacity_evictsLeastRecentlyUsed() {
+        PowerTileCache small = new PowerTileCache(function, v -> 0, 2);
+        Key a = PowerTileCache.curveKey(1.0, 0, 0);
+        Key b = PowerTileCache.curveKey(1.0, 0, 1);
+        Key c = PowerTileCache.curveKey(1.0, 0, 2);
+        small.compute(a);
+        small.compute(b);
+        small.get(a);
+        small.compute(c);
+        assertEquals(2, small.size());
+        assertNull(small.get(b));
+        assertEquals(a, small.get(a).getKey());
+        small.clear();
+        assertEquals(0, small.size());
+    }
+
+    @Test
+    void constructorAndKeys_withInvalidArguments_throwException() {
+        assertThrows(IllegalArgumentException.class, () -> new PowerTileCache(null, v -> 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new PowerTileCache(function, null, 1));
+        assertThrows(IllegalArgumentException.class, () -> new PowerTileCache(function, v -> 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> PowerTileCache.curveKey(Double.NaN, 0, 0));
+    }
+}
@@ -0,0 +1,79 @@
+package com.sep.f7;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for {@link PowerWarmup}, {@link StartupTimer} and the CDS
+ * training mode of {@link Launcher}.
+ *
+ * @see PowerWarmup
+ */
+class PowerWarmupTest {
+
+    @Test
+    void run_evaluatesEveryIterationAndIsDeterministic() {
+        AtomicInteger scalarCalls = new AtomicInteger();
+        PowerFunction counting = (x, y) -> {
+            scalarCalls.incrementAndGet();
+            return PowerEngine.MATH.getFunction().calculatePower(x, y);
+        };
+        double checksum = PowerWarmup.run(counting, 1000);
+        assertTrue(scalarCalls.get() >= 1000);
+        assertEquals(checksum, PowerWarmup.run(counting, 1000));
+        assertTrue(Double.isNaN(checksum) || checksum != 0.0);
+    }
+
+    @Test
+    void startInBackground_whenDisabled_startsNothing() throws Exception {
+        String previous = System.getProperty(PowerWarmup.WARMUP_PROPERTY);
+        try {
+            System.setProperty(PowerWarmup.WARMUP_PROPERTY, "false");
+            assertNull(PowerWarmup.startInBackground(PowerEngine.FAST.getFunction()));
+            System.setProperty(PowerWarmup.WARMUP_PROPERTY, "true");
+            Thread thread = PowerWarmup.startInBackground(PowerEngine.FAST.getFunction());
+            assertTrue(thread.isDaemon());
+            thread.join(60_000);
+        } finally {
+            if (previous == null) {
+                System.clearProperty(PowerWarmup.WARMUP_PROPERTY);
+            } else {
+                System.setProperty(PowerWarmup.WARMUP_PROPERTY, previous);
+            }
+        }
+    }
+
+    @Test
+    void startupTimer_formatsMilestones() {
+        assertEquals("Startup: window shown after 412 ms (JVM uptime 655 ms)",
+                StartupTimer.format("window shown", 412, 655));
+        StartupTimer.markStart();
+        assertTrue(StartupTimer.elapsedMillis() >= 0);
+    }
+
+    @Test
+    void startupTimer_keepsTheFirstMark() throws InterruptedException {
+        StartupTimer.markStart();
+        Thread.sleep(20);
+        // A later entry point, e.g. PowerCalculatorUI.main after Launcher.main.
+        StartupTimer.markStart();
+        assertTrue(StartupTimer.isMarked());
+        assertTrue(StartupTimer.elapsedMillis() >= 20);
+    }
+
+    @Test
+    void runCdsTraining_loadsSessionClasses() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        assertEquals(0, Launcher.runCdsTraining(new PrintStream(out, true), new PrintStream(err, true)));
+        assertTrue(out.toString().contains("session classes"), out.toString());
+        assertEquals("", err.toString());
+    }
+}
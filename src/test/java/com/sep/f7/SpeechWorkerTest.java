@@ -0,0 +1,108 @@
+package com.sep.f7;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for {@link SpeechWorker}, using a recording speaker in place
+ * of the FreeTTS voice.
+ *
+ * @see SpeechWorker
+ */
+class SpeechWorkerTest {
+
+    /** Records what it is asked to say; can be held to fill the queue. */
+    private static final class RecordingSpeaker implements SpeechWorker.Speaker {
+        final List<String> spoken = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final AtomicInteger closed = new AtomicInteger();
+        final boolean blocking;
+
+        RecordingSpeaker(boolean blocking) {
+            this.blocking = blocking;
+        }
+
+        @Override
+        public void speak(String text) {
+            started.countDown();
+            if (blocking) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            spoken.add(text);
+        }
+
+        @Override
+        public void close() {
+            closed.incrementAndGet();
+        }
+    }
+
+    @Test
+    void speak_speaksQueuedTextsInOrder() throws Exception {
+        RecordingSpeaker speaker = new RecordingSpeaker(false);
+        SpeechWorker worker = new SpeechWorker(() -> speaker, 8);
+        assertTrue(worker.speak("8.0"));
+        assertTrue(worker.speak("1024.0"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (speaker.spoken.size() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        worker.close();
+        assertEquals(Arrays.asList("8.0", "1024.0"), speaker.spoken);
+        assertEquals(1, speaker.closed.get());
+    }
+
+    @Test
+    void speak_whenQueueIsFull_dropsWithoutBlocking() throws Exception {
+        RecordingSpeaker speaker = new RecordingSpeaker(true);
+        SpeechWorker worker = new SpeechWorker(() -> speaker, 2);
+        assertTrue(worker.speak("first"));
+        assertTrue(speaker.started.await(5, TimeUnit.SECONDS));
+        assertTrue(worker.speak("second"));
+        assertTrue(worker.speak("third"));
+        assertFalse(worker.speak("fourth"));
+        speaker.release.countDown();
+        worker.close();
+        assertEquals("first", speaker.spoken.get(0));
+        assertFalse(speaker.spoken.contains("fourth"));
+        assertEquals(1, speaker.closed.get());
+        assertFalse(worker.speak("after close"));
+    }
+
+    @Test
+    void speak_withBlankTextOrNoVoice_doesNothing() {
+        SpeechWorker silent = new SpeechWorker(() -> null, 1);
+        assertFalse(silent.speak(""));
+        assertFalse(silent.speak(null));
+        assertTrue(silent.speak("ignored"));
+        silent.close();
+
+        SpeechWorker broken = new SpeechWorker(() -> {
+            throw new IllegalStateException("no audio device");
+        }, 1);
+        assertTrue(broken.speak("ignored"));
+        broken.close();
+    }
+
+    @Test
+    void constructor_withInvalidCapacity_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new SpeechWorker(() -> null, 0));
+    }
+}
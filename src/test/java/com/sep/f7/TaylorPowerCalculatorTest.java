@@ -0,0 +1,85 @@
+package com.sep.f7;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for the series-based {@link TaylorPowerCalculator}.
+ *
+ * @see TaylorPowerCalculator
+ */
+class TaylorPowerCalculatorTest {
+    TaylorPowerCalculator taylorCalculator = new TaylorPowerCalculator();
+
+    @ParameterizedTest
+    @CsvSource({
+            "2, 3, 8",
+            "2, -3, 0.125",
+            "4, 0.5, 2",
+            "27, 0.3333333333333333, 3",
+            "0, 0, 1",
+            "0, -2, Infinity",
+            "-8, 0.5, NaN"
+    })
+    void calculatePower_withSimpleCases_returnsExpected(double x, double y, double expected) {
+        assertEquals(expected, taylorCalculator.calculatePower(x, y), 1e-12);
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {1e-310, Double.MIN_VALUE, 1e-100, 0.3, 0.999999, 1.0, 1.5, 2.0, 1e10, 1e300,
+            Double.MAX_VALUE})
+    void log_acrossMagnitudes_isCloseToMathLog(double x) {
+        double expected = Math.log(x);
+        assertEquals(expected, taylorCalculator.log(x), 4 * Math.ulp(expected) + Double.MIN_VALUE);
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {-745.0, -720.0, -700.0, -50.0, -1.0, -1e-10, 0.0, 1e-10, 0.5, 1.0, 50.0, 700.0,
+            709.7})
+    void exp_acrossMagnitudes_isCloseToMathExp(double x) {
+        double expected = Math.exp(x);
+        assertEquals(expected, taylorCalculator.exp(x), 4 * Math.ulp(expected));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "1.0000001, 1000",
+            "-1.1, 4097",
+            "0.9, -333",
+            "1.0000000001, 123456789012"
+    })
+    void calculatePower_withLargeIntegerExponent_squaresIndependentlyOfFastEngine(double x, long n) {
+        assertEquals(taylorCalculator.calculatePowerBySquaring(x, n), taylorCalculator.calculatePower(x, (double) n));
+        assertEquals(taylorCalculator.calculatePowerBySquaring(x, n),
+                taylorCalculator.calculatePowerIntegerExponent(x, n));
+    }
+
+    @Test
+    void exp_withNonFiniteArguments_terminates() {
+        assertEquals(Double.POSITIVE_INFINITY, taylorCalculator.exp(Double.POSITIVE_INFINITY));
+        assertEquals(0.0, taylorCalculator.exp(Double.NEGATIVE_INFINITY));
+        assertEquals(Double.NaN, taylorCalculator.exp(Double.NaN));
+        assertEquals(Double.POSITIVE_INFINITY, taylorCalculator.exp(1e300));
+    }
+
+    @Test
+    void log_withNonPositiveValue_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> taylorCalculator.log(0.0));
+        assertThrows(IllegalArgumentException.class, () -> taylorCalculator.log(-1.0));
+    }
+
+    @Test
+    void calculatePower_withArrays_loopsOverSeries() {
+        double[] xs = {2.0, 9.0, 0.25};
+        double[] out = new double[3];
+        taylorCalculator.calculatePower(xs, 0.5, out);
+        for (int i = 0; i < xs.length; i++) {
+            assertEquals(taylorCalculator.calculatePower(xs[i], 0.5), out[i]);
+        }
+    }
+}